@@ -0,0 +1,329 @@
+package com.nazarov.footballmanager.analytics;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.dto.analytics.AnalyticsFootprintDto;
+import com.nazarov.footballmanager.dto.analytics.LeaderboardEntryDto;
+import com.nazarov.footballmanager.dto.analytics.PlayerCareerDto;
+import com.nazarov.footballmanager.dto.analytics.PlayerSeasonStatsDto;
+import com.nazarov.footballmanager.dto.analytics.TeamRecordDto;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Immutable columnar copy of completed seasons. Row i of the event columns is one match_stats row,
+// row j of the match columns one completed match. Players and tournaments are stored as dense codes,
+// stat types as their ordinal, names once per distinct value in a dictionary.
+public final class AnalyticsSnapshot {
+
+  private static final int STAT_TYPES = MatchStatType.values().length;
+  private static final String UNKNOWN_NAME = "Unknown";
+
+  private final Instant loadedAt;
+  private final long loadMillis;
+
+  private final IntDictionary tournaments;
+  private final StringDictionary tournamentNames;
+  private final int[] tournamentNameCodes;
+
+  private final IntDictionary players;
+  private final StringDictionary playerNames;
+  private final int[] playerNameCodes;
+
+  private final IntDictionary teams;
+  private final StringDictionary teamNames;
+  private final int[] teamNameCodes;
+
+  private final int[] eventTournament;
+  private final int[] eventPlayer;
+  private final int[] eventTeam;
+  private final byte[] eventStatType;
+
+  private final int[] matchTournament;
+  private final int[] matchHomeTeam;
+  private final int[] matchAwayTeam;
+  private final int[] matchHomeScore;
+  private final int[] matchAwayScore;
+
+  private AnalyticsSnapshot(Builder builder, long loadMillis) {
+    this.loadedAt = Instant.now();
+    this.loadMillis = loadMillis;
+    this.tournaments = builder.tournaments;
+    this.tournamentNames = builder.tournamentNames;
+    this.tournamentNameCodes = builder.tournamentNameCodes.toArray();
+    this.players = builder.players;
+    this.playerNames = builder.playerNames;
+    this.playerNameCodes = builder.playerNameCodes.toArray();
+    this.teams = builder.teams;
+    this.teamNames = builder.teamNames;
+    this.teamNameCodes = builder.teamNameCodes.toArray();
+    this.eventTournament = builder.eventTournament.toArray();
+    this.eventPlayer = builder.eventPlayer.toArray();
+    this.eventTeam = builder.eventTeam.toArray();
+    this.eventStatType = new byte[eventTournament.length];
+    int[] statTypes = builder.eventStatType.toArray();
+    for (int i = 0; i < statTypes.length; i++) {
+      eventStatType[i] = (byte) statTypes[i];
+    }
+    this.matchTournament = builder.matchTournament.toArray();
+    this.matchHomeTeam = builder.matchHomeTeam.toArray();
+    this.matchAwayTeam = builder.matchAwayTeam.toArray();
+    this.matchHomeScore = builder.matchHomeScore.toArray();
+    this.matchAwayScore = builder.matchAwayScore.toArray();
+  }
+
+  public static AnalyticsSnapshot empty() {
+    return new Builder().build(0);
+  }
+
+  public Optional<PlayerCareerDto> playerCareer(int playerId) {
+    int player = players.codeOf(playerId);
+    if (player < 0) {
+      return Optional.empty();
+    }
+    int[] counts = new int[tournaments.size() * STAT_TYPES];
+    for (int i = 0; i < eventPlayer.length; i++) {
+      if (eventPlayer[i] == player) {
+        counts[eventTournament[i] * STAT_TYPES + eventStatType[i]]++;
+      }
+    }
+
+    List<PlayerSeasonStatsDto> seasons = new ArrayList<>();
+    int[] totals = new int[STAT_TYPES];
+    for (int tournament = 0; tournament < tournaments.size(); tournament++) {
+      int offset = tournament * STAT_TYPES;
+      boolean any = false;
+      for (int type = 0; type < STAT_TYPES; type++) {
+        totals[type] += counts[offset + type];
+        any |= counts[offset + type] > 0;
+      }
+      if (any) {
+        seasons.add(PlayerSeasonStatsDto.builder()
+            .tournamentId(tournaments.idOf(tournament))
+            .tournamentName(tournamentNames.decode(tournamentNameCodes[tournament]))
+            .goals(counts[offset + MatchStatType.GOAL.ordinal()])
+            .assists(counts[offset + MatchStatType.ASSIST.ordinal()])
+            .yellowCards(counts[offset + MatchStatType.YELLOW_CARD.ordinal()])
+            .redCards(counts[offset + MatchStatType.RED_CARD.ordinal()])
+            .build());
+      }
+    }
+
+    return Optional.of(PlayerCareerDto.builder()
+        .playerId(playerId)
+        .playerName(playerNames.decode(playerNameCodes[player]))
+        .goals(totals[MatchStatType.GOAL.ordinal()])
+        .assists(totals[MatchStatType.ASSIST.ordinal()])
+        .yellowCards(totals[MatchStatType.YELLOW_CARD.ordinal()])
+        .redCards(totals[MatchStatType.RED_CARD.ordinal()])
+        .seasons(seasons)
+        .build());
+  }
+
+  public Optional<TeamRecordDto> teamRecord(int teamId) {
+    int team = teams.codeOf(teamId);
+    if (team < 0) {
+      return Optional.empty();
+    }
+    int played = 0;
+    int won = 0;
+    int drawn = 0;
+    int goalsFor = 0;
+    int goalsAgainst = 0;
+    boolean[] seasons = new boolean[tournaments.size()];
+    for (int i = 0; i < matchHomeTeam.length; i++) {
+      int scored;
+      int conceded;
+      if (matchHomeTeam[i] == team) {
+        scored = matchHomeScore[i];
+        conceded = matchAwayScore[i];
+      } else if (matchAwayTeam[i] == team) {
+        scored = matchAwayScore[i];
+        conceded = matchHomeScore[i];
+      } else {
+        continue;
+      }
+      played++;
+      goalsFor += scored;
+      goalsAgainst += conceded;
+      if (scored > conceded) {
+        won++;
+      } else if (scored == conceded) {
+        drawn++;
+      }
+      seasons[matchTournament[i]] = true;
+    }
+    int seasonCount = 0;
+    for (boolean season : seasons) {
+      seasonCount += season ? 1 : 0;
+    }
+
+    return Optional.of(TeamRecordDto.builder()
+        .teamId(teamId)
+        .teamName(teamNames.decode(teamNameCodes[team]))
+        .seasons(seasonCount)
+        .played(played)
+        .won(won)
+        .drawn(drawn)
+        .lost(played - won - drawn)
+        .goalsFor(goalsFor)
+        .goalsAgainst(goalsAgainst)
+        .build());
+  }
+
+  // All-time leaderboard for one stat type. The event columns are split into one chunk per
+  // worker, each chunk counts into its own array and the partial counts are summed.
+  public List<LeaderboardEntryDto> leaderboard(MatchStatType statType, int limit) {
+    byte type = (byte) statType.ordinal();
+    int playerCount = players.size();
+    int eventCount = eventPlayer.length;
+    int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 2, eventCount / 65_536));
+    int chunkSize = (eventCount + chunks - 1) / Math.max(chunks, 1);
+
+    int[] totals = IntStream.range(0, chunks).parallel()
+        .mapToObj(chunk -> {
+          int[] local = new int[playerCount];
+          int end = Math.min(eventCount, (chunk + 1) * chunkSize);
+          for (int i = chunk * chunkSize; i < end; i++) {
+            if (eventStatType[i] == type) {
+              local[eventPlayer[i]]++;
+            }
+          }
+          return local;
+        })
+        .reduce(new int[playerCount], (left, right) -> {
+          int[] sum = new int[playerCount];
+          for (int i = 0; i < playerCount; i++) {
+            sum[i] = left[i] + right[i];
+          }
+          return sum;
+        });
+
+    List<Integer> ranked = IntStream.range(0, playerCount)
+        .filter(player -> totals[player] > 0)
+        .boxed()
+        .sorted(Comparator.<Integer>comparingInt(player -> totals[player]).reversed()
+            .thenComparingInt(players::idOf))
+        .limit(limit)
+        .toList();
+
+    List<LeaderboardEntryDto> entries = new ArrayList<>(ranked.size());
+    for (int player : ranked) {
+      entries.add(LeaderboardEntryDto.builder()
+          .rank(entries.size() + 1)
+          .playerId(players.idOf(player))
+          .playerName(playerNames.decode(playerNameCodes[player]))
+          .count(totals[player])
+          .build());
+    }
+    return entries;
+  }
+
+  public AnalyticsFootprintDto footprint() {
+    long columnBytes = 4L * (eventTournament.length + eventPlayer.length + eventTeam.length)
+        + eventStatType.length
+        + 4L * (matchTournament.length + matchHomeTeam.length + matchAwayTeam.length
+            + matchHomeScore.length + matchAwayScore.length)
+        + 4L * (tournamentNameCodes.length + playerNameCodes.length + teamNameCodes.length);
+    long dictionaryBytes = tournaments.estimatedBytes() + tournamentNames.estimatedBytes()
+        + players.estimatedBytes() + playerNames.estimatedBytes()
+        + teams.estimatedBytes() + teamNames.estimatedBytes();
+    long totalBytes = columnBytes + dictionaryBytes;
+    return AnalyticsFootprintDto.builder()
+        .loadedAt(loadedAt)
+        .loadMillis(loadMillis)
+        .tournaments(tournaments.size())
+        .events(eventPlayer.length)
+        .matches(matchHomeTeam.length)
+        .players(players.size())
+        .teams(teams.size())
+        .columnBytes(columnBytes)
+        .dictionaryBytes(dictionaryBytes)
+        .totalBytes(totalBytes)
+        .bytesPerMillionEvents(eventPlayer.length == 0 ? 0 : totalBytes * 1_000_000 / eventPlayer.length)
+        .build();
+  }
+
+  // Single-threaded builder fed row by row from the streaming loader
+  public static final class Builder {
+
+    private final IntDictionary tournaments = new IntDictionary();
+    private final StringDictionary tournamentNames = new StringDictionary();
+    private final IntColumn tournamentNameCodes = new IntColumn(16);
+
+    private final IntDictionary players = new IntDictionary();
+    private final StringDictionary playerNames = new StringDictionary();
+    private final IntColumn playerNameCodes = new IntColumn(1024);
+
+    private final IntDictionary teams = new IntDictionary();
+    private final StringDictionary teamNames = new StringDictionary();
+    private final IntColumn teamNameCodes = new IntColumn(256);
+
+    private final IntColumn eventTournament = new IntColumn(1 << 16);
+    private final IntColumn eventPlayer = new IntColumn(1 << 16);
+    private final IntColumn eventTeam = new IntColumn(1 << 16);
+    private final IntColumn eventStatType = new IntColumn(1 << 16);
+
+    private final IntColumn matchTournament = new IntColumn(1 << 12);
+    private final IntColumn matchHomeTeam = new IntColumn(1 << 12);
+    private final IntColumn matchAwayTeam = new IntColumn(1 << 12);
+    private final IntColumn matchHomeScore = new IntColumn(1 << 12);
+    private final IntColumn matchAwayScore = new IntColumn(1 << 12);
+
+    public Builder addTournament(int tournamentId, String name) {
+      if (tournaments.codeOf(tournamentId) < 0) {
+        tournaments.encode(tournamentId);
+        tournamentNameCodes.add(tournamentNames.encode(name));
+      }
+      return this;
+    }
+
+    public Builder addTeam(int teamId, String name) {
+      if (teams.codeOf(teamId) < 0) {
+        teams.encode(teamId);
+        teamNameCodes.add(teamNames.encode(name));
+      }
+      return this;
+    }
+
+    public Builder addEvent(int tournamentId, int playerId, String playerName, int teamId, MatchStatType statType) {
+      int player = players.codeOf(playerId);
+      if (player < 0) {
+        player = players.encode(playerId);
+        playerNameCodes.add(playerNames.encode(playerName));
+      }
+      eventTournament.add(tournament(tournamentId));
+      eventPlayer.add(player);
+      eventTeam.add(team(teamId));
+      eventStatType.add(statType.ordinal());
+      return this;
+    }
+
+    public Builder addMatch(int tournamentId, int homeTeamId, int awayTeamId, int homeScore, int awayScore) {
+      matchTournament.add(tournament(tournamentId));
+      matchHomeTeam.add(team(homeTeamId));
+      matchAwayTeam.add(team(awayTeamId));
+      matchHomeScore.add(homeScore);
+      matchAwayScore.add(awayScore);
+      return this;
+    }
+
+    // Ids that were not registered with a name up front keep codes and name columns aligned
+    private int tournament(int tournamentId) {
+      addTournament(tournamentId, UNKNOWN_NAME);
+      return tournaments.codeOf(tournamentId);
+    }
+
+    private int team(int teamId) {
+      addTeam(teamId, UNKNOWN_NAME);
+      return teams.codeOf(teamId);
+    }
+
+    public AnalyticsSnapshot build(long loadMillis) {
+      return new AnalyticsSnapshot(this, loadMillis);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.nazarov.footballmanager.analytics;
+
+import java.util.Arrays;
+
+// Growable primitive int column used while loading; trimmed to an int[] once loading is done
+final class IntColumn {
+
+  private int[] values;
+  private int size;
+
+  IntColumn(int initialCapacity) {
+    this.values = new int[Math.max(initialCapacity, 16)];
+  }
+
+  void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, values.length + (values.length >> 1));
+    }
+    values[size++] = value;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+}
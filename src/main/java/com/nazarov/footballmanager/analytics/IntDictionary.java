@@ -0,0 +1,43 @@
+package com.nazarov.footballmanager.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Maps sparse database ids to dense codes, so per-entity aggregates can live in flat arrays
+final class IntDictionary {
+
+  private final Map<Integer, Integer> codes = new HashMap<>();
+  private int[] ids = new int[64];
+
+  int encode(int id) {
+    Integer code = codes.get(id);
+    if (code == null) {
+      code = codes.size();
+      if (code == ids.length) {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+      }
+      ids[code] = id;
+      codes.put(id, code);
+    }
+    return code;
+  }
+
+  // Returns -1 for ids that never appeared in the data
+  int codeOf(int id) {
+    return codes.getOrDefault(id, -1);
+  }
+
+  int idOf(int code) {
+    return ids[code];
+  }
+
+  int size() {
+    return codes.size();
+  }
+
+  long estimatedBytes() {
+    // id array + boxed key/value + HashMap entry per id
+    return 4L * ids.length + (16L + 16L + 32L) * codes.size();
+  }
+}
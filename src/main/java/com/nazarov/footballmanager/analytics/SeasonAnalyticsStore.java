@@ -0,0 +1,179 @@
+package com.nazarov.footballmanager.analytics;
+
+import com.nazarov.footballmanager.archive.SeasonArchive;
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchStatDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedTournamentDto;
+import com.nazarov.footballmanager.dto.analytics.AnalyticsFootprintDto;
+import com.nazarov.footballmanager.dto.analytics.LeaderboardEntryDto;
+import com.nazarov.footballmanager.dto.analytics.PlayerCareerDto;
+import com.nazarov.footballmanager.dto.analytics.TeamRecordDto;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.AnalyticsRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Cross-season analytics served from an in-memory columnar snapshot instead of the OLTP tables.
+// The snapshot only contains completed tournaments, so it only changes when a tournament completes.
+// Seasons detached from the live tables are read back from their archives.
+@Service
+@Slf4j
+public class SeasonAnalyticsStore {
+
+  private final AnalyticsRepository analyticsRepository;
+  private final SeasonArchiveRepository seasonArchiveRepository;
+  private final SeasonArchiveService seasonArchiveService;
+  private final InvalidationBus invalidationBus;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "analytics-loader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private volatile AnalyticsSnapshot snapshot = AnalyticsSnapshot.empty();
+
+  public SeasonAnalyticsStore(AnalyticsRepository analyticsRepository,
+      SeasonArchiveRepository seasonArchiveRepository,
+      SeasonArchiveService seasonArchiveService,
+      InvalidationBus invalidationBus,
+      TransactionTemplate transactionTemplate) {
+    this.analyticsRepository = analyticsRepository;
+    this.seasonArchiveRepository = seasonArchiveRepository;
+    this.seasonArchiveService = seasonArchiveService;
+    this.invalidationBus = invalidationBus;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    invalidationBus.register(CacheRegions.ANALYTICS_SEASON, key -> reloadAsync(), this::reloadAsync);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reloadAsync();
+  }
+
+  @EventListener
+  public void onTournamentCompleted(TournamentCompletedEvent event) {
+    log.info("Tournament {} completed, reloading analytics", event.tournamentId());
+    reloadAsync();
+  }
+
+  // A reload that read the live tables before the detach committed would miss the season, so every
+  // instance loads again once it has
+  @EventListener
+  public void onSeasonDetached(SeasonDetachedEvent event) {
+    invalidationBus.invalidate(CacheRegions.ANALYTICS_SEASON, event.tournamentId());
+  }
+
+  public CompletableFuture<AnalyticsFootprintDto> reloadAsync() {
+    return CompletableFuture.supplyAsync(this::reload, loader);
+  }
+
+  public AnalyticsFootprintDto reload() {
+    long start = System.nanoTime();
+    AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder();
+    // Rows of these seasons still in the live tables are skipped, the archive holds all of them
+    Set<Integer> detached = new HashSet<>(seasonArchiveRepository.findDetached());
+    Map<Integer, String> completed = new HashMap<>();
+    readOnlyTransactionTemplate.executeWithoutResult(status -> {
+      analyticsRepository.streamCompletedTournaments(rs -> {
+        String name = rs.getString("name") + " " + rs.getString("year_period");
+        completed.put(rs.getInt("tournament_id"), name);
+        builder.addTournament(rs.getInt("tournament_id"), name);
+      });
+      analyticsRepository.streamTeams(rs -> builder.addTeam(rs.getInt("team_id"), rs.getString("name")));
+      analyticsRepository.streamCompletedMatches(rs -> {
+        if (!detached.contains(rs.getInt("tournament_id"))) {
+          builder.addMatch(
+              rs.getInt("tournament_id"),
+              rs.getInt("home_team_id"),
+              rs.getInt("away_team_id"),
+              rs.getInt("home_score"),
+              rs.getInt("away_score"));
+        }
+      });
+      analyticsRepository.streamCompletedMatchStats(rs -> {
+        if (!detached.contains(rs.getInt("tournament_id"))) {
+          builder.addEvent(
+              rs.getInt("tournament_id"),
+              rs.getInt("player_id"),
+              rs.getString("player_name"),
+              rs.getInt("team_id"),
+              MatchStatType.fromDbValue(rs.getString("stat_type")));
+        }
+      });
+    });
+    // Outside the transaction, an archive may have to be fetched from the blob store first
+    for (int tournamentId : detached) {
+      addArchived(builder, tournamentId, completed.get(tournamentId));
+    }
+    snapshot = builder.build((System.nanoTime() - start) / 1_000_000);
+
+    AnalyticsFootprintDto footprint = snapshot.footprint();
+    log.info("Loaded analytics for {} tournaments: {} events, {} matches, {} bytes ({} bytes per million events) in {} ms",
+        footprint.getTournaments(), footprint.getEvents(), footprint.getMatches(), footprint.getTotalBytes(),
+        footprint.getBytesPerMillionEvents(), footprint.getLoadMillis());
+    return footprint;
+  }
+
+  private void addArchived(AnalyticsSnapshot.Builder builder, int tournamentId, String name) {
+    SeasonArchive archive = seasonArchiveService.getArchive(tournamentId);
+    if (name == null) {
+      ArchivedTournamentDto tournament = archive.getTournament();
+      name = tournament.getName() + " " + tournament.getYearPeriod();
+    }
+    builder.addTournament(tournamentId, name);
+    for (ArchivedMatchDto match : archive.getMatches(null)) {
+      if (match.getStatus() == MatchStatus.COMPLETED && match.getHomeScore() != null && match.getAwayScore() != null) {
+        builder.addMatch(tournamentId, match.getHomeTeamId(), match.getAwayTeamId(), match.getHomeScore(),
+            match.getAwayScore());
+      }
+    }
+    for (ArchivedMatchStatDto stat : archive.getStats()) {
+      builder.addEvent(tournamentId, stat.getPlayerId(), stat.getPlayerName(), stat.getTeamId(), stat.getStatType());
+    }
+  }
+
+  public PlayerCareerDto getPlayerCareer(int playerId) {
+    return snapshot.playerCareer(playerId)
+        .orElseThrow(() -> new ResourceNotFoundException("Player career", "playerId", playerId));
+  }
+
+  public TeamRecordDto getTeamRecord(int teamId) {
+    return snapshot.teamRecord(teamId)
+        .orElseThrow(() -> new ResourceNotFoundException("Team record", "teamId", teamId));
+  }
+
+  public List<LeaderboardEntryDto> getLeaderboard(MatchStatType statType, int limit) {
+    return snapshot.leaderboard(statType, limit);
+  }
+
+  public AnalyticsFootprintDto getFootprint() {
+    return snapshot.footprint();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    loader.shutdownNow();
+  }
+}
@@ -0,0 +1,37 @@
+package com.nazarov.footballmanager.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Assigns dense int codes to distinct strings so columns only store the codes
+final class StringDictionary {
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  int encode(String value) {
+    return codes.computeIfAbsent(value, v -> {
+      values.add(v);
+      return values.size() - 1;
+    });
+  }
+
+  String decode(int code) {
+    return values.get(code);
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  // Rough retained size: String header + Latin-1 bytes + backing array header, plus a HashMap entry
+  long estimatedBytes() {
+    long bytes = 0;
+    for (String value : values) {
+      bytes += 24 + 16 + value.length() + 32 + 8;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,9 @@
+package com.nazarov.footballmanager.archive;
+
+// Thrown when a file is not a readable season archive of the supported version
+public class ArchiveFormatException extends RuntimeException {
+
+  public ArchiveFormatException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,301 @@
+package com.nazarov.footballmanager.archive;
+
+import static com.nazarov.footballmanager.archive.SeasonArchiveFormat.*;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedLeagueDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchStatDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedStandingDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedTournamentDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+// Read-only view of a season archive file. The file is memory-mapped once and every query reads
+// the records it needs straight from the mapping, so nothing is loaded up front and no database is involved.
+// Lookups by league, team or player go through the key indexes when the file has them.
+// Instances are immutable and safe to share between threads (all reads use absolute positions).
+public final class SeasonArchive {
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final int tournamentId;
+  private final Instant createdAt;
+  private final SectionEntry[] sections = new SectionEntry[SECTION_COUNT + 1];
+
+  private SeasonArchive(Path path, MappedByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(HEADER_MAGIC) != MAGIC) {
+      throw new ArchiveFormatException(path + " is not a season archive");
+    }
+    short version = buffer.getShort(HEADER_VERSION);
+    if (version != VERSION && version != VERSION_WITHOUT_KEY_INDEXES) {
+      throw new ArchiveFormatException(path + " has unsupported archive version " + version);
+    }
+    int expectedSections = version == VERSION ? SECTION_COUNT : SECTION_COUNT_WITHOUT_KEY_INDEXES;
+    int sectionCount = buffer.getInt(HEADER_SECTION_COUNT);
+    if (sectionCount != expectedSections) {
+      throw new ArchiveFormatException(path + " has " + sectionCount + " sections, expected " + expectedSections);
+    }
+    if (buffer.capacity() < HEADER_SIZE + DIRECTORY_ENTRY_SIZE * sectionCount) {
+      throw new ArchiveFormatException(path + " is not a season archive");
+    }
+    ByteBuffer directory = buffer.slice(HEADER_SIZE, DIRECTORY_ENTRY_SIZE * sectionCount);
+    CRC32 directoryCrc = new CRC32();
+    directoryCrc.update(directory.duplicate());
+    if ((int) directoryCrc.getValue() != buffer.getInt(HEADER_DIRECTORY_CRC)) {
+      throw new ArchiveFormatException(path + " has a corrupt section directory");
+    }
+    for (int i = 0; i < sectionCount; i++) {
+      int base = i * DIRECTORY_ENTRY_SIZE;
+      SectionEntry entry = new SectionEntry(directory.getInt(base), directory.getInt(base + 4),
+          (int) directory.getLong(base + 8), directory.getInt(base + 16), directory.getInt(base + 20));
+      if (entry.type < 1 || entry.type > sectionCount || (long) entry.offset + entry.length > buffer.capacity()) {
+        throw new ArchiveFormatException(path + " has an invalid directory entry for section " + entry.type);
+      }
+      sections[entry.type] = entry;
+    }
+    this.tournamentId = buffer.getInt(HEADER_TOURNAMENT_ID);
+    this.createdAt = Instant.ofEpochMilli(buffer.getLong(HEADER_CREATED_AT));
+  }
+
+  public static SeasonArchive open(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return new SeasonArchive(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not open archive " + path, ex);
+    }
+  }
+
+  public int getTournamentId() {
+    return tournamentId;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  // Recomputes the checksum of every section. Opening only checks the directory, so run this after
+  // copying files around.
+  public ArchiveVerificationDto verify() {
+    List<String> corrupt = new ArrayList<>();
+    for (int type = 1; type <= SECTION_COUNT; type++) {
+      SectionEntry entry = sections[type];
+      if (entry == null) {
+        continue;
+      }
+      CRC32 crc = new CRC32();
+      crc.update(buffer.slice(entry.offset, entry.length));
+      if ((int) crc.getValue() != entry.crc) {
+        corrupt.add(sectionName(type));
+      }
+    }
+    return ArchiveVerificationDto.builder()
+        .tournamentId(tournamentId)
+        .fileName(path.getFileName().toString())
+        .sizeBytes(buffer.capacity())
+        .createdAt(createdAt)
+        .matchCount(sections[SECTION_MATCHES].records)
+        .statCount(sections[SECTION_STATS].records)
+        .valid(corrupt.isEmpty())
+        .corruptSections(corrupt)
+        .build();
+  }
+
+  public ArchivedTournamentDto getTournament() {
+    SectionEntry meta = sections[SECTION_META];
+    SectionEntry leagues = sections[SECTION_LEAGUES];
+    List<ArchivedLeagueDto> leagueDtos = new ArrayList<>(leagues.records);
+    for (int i = 0; i < leagues.records; i++) {
+      int position = leagues.offset + i * LEAGUE_RECORD_SIZE;
+      int leagueId = buffer.getInt(position);
+      int level = buffer.getInt(position + 8);
+      leagueDtos.add(ArchivedLeagueDto.builder()
+          .leagueId(leagueId)
+          .name(string(buffer.getInt(position + 4)))
+          .level(level >= 0 ? level : null)
+          .standings(getStandings(leagueId))
+          .build());
+    }
+    return ArchivedTournamentDto.builder()
+        .tournamentId(tournamentId)
+        .name(string(buffer.getInt(meta.offset)))
+        .yearPeriod(string(buffer.getInt(meta.offset + 4)))
+        .archivedAt(createdAt)
+        .matchCount(sections[SECTION_MATCHES].records)
+        .statCount(sections[SECTION_STATS].records)
+        .leagues(leagueDtos)
+        .build();
+  }
+
+  public List<ArchivedStandingDto> getStandings(int leagueId) {
+    SectionEntry standings = sections[SECTION_STANDINGS];
+    List<ArchivedStandingDto> result = new ArrayList<>();
+    for (int i : recordsWithKey(SECTION_STANDINGS_BY_LEAGUE, leagueId, standings.records)) {
+      int position = standings.offset + i * STANDING_RECORD_SIZE;
+      if (buffer.getInt(position) != leagueId) {
+        continue;
+      }
+      int finalRank = buffer.getInt(position + 12);
+      byte promotion = buffer.get(position + 16);
+      result.add(ArchivedStandingDto.builder()
+          .teamId(buffer.getInt(position + 4))
+          .teamName(string(buffer.getInt(position + 8)))
+          .finalRank(finalRank >= 0 ? finalRank : null)
+          .promotionStatus(promotion >= 0 ? PromotionStatus.values()[promotion] : null)
+          .build());
+    }
+    return result;
+  }
+
+  // Matches of the season, optionally only those the given team played in
+  public List<ArchivedMatchDto> getMatches(Integer teamId) {
+    SectionEntry matches = sections[SECTION_MATCHES];
+    List<ArchivedMatchDto> result = new ArrayList<>();
+    int[] candidates = teamId != null
+        ? recordsWithKey(SECTION_MATCHES_BY_TEAM, teamId, matches.records)
+        : allRecords(matches.records);
+    for (int i : candidates) {
+      int position = matches.offset + i * MATCH_RECORD_SIZE;
+      int homeTeamId = buffer.getInt(position + 8);
+      int awayTeamId = buffer.getInt(position + 12);
+      if (teamId != null && homeTeamId != teamId && awayTeamId != teamId) {
+        continue;
+      }
+      short homeScore = buffer.getShort(position + 24);
+      short awayScore = buffer.getShort(position + 26);
+      int locationRef = buffer.getInt(position + 29);
+      result.add(ArchivedMatchDto.builder()
+          .matchId(buffer.getInt(position))
+          .leagueId(buffer.getInt(position + 4))
+          .homeTeamId(homeTeamId)
+          .awayTeamId(awayTeamId)
+          .matchDateTime(Instant.ofEpochMilli(buffer.getLong(position + 16)))
+          .homeScore(homeScore >= 0 ? (int) homeScore : null)
+          .awayScore(awayScore >= 0 ? (int) awayScore : null)
+          .status(MatchStatus.values()[buffer.get(position + 28)])
+          .location(locationRef >= 0 ? string(locationRef) : null)
+          .build());
+    }
+    return result;
+  }
+
+  public List<ArchivedMatchStatDto> getPlayerStats(int playerId) {
+    SectionEntry stats = sections[SECTION_STATS];
+    List<ArchivedMatchStatDto> result = new ArrayList<>();
+    for (int i : recordsWithKey(SECTION_STATS_BY_PLAYER, playerId, stats.records)) {
+      int position = stats.offset + i * STAT_RECORD_SIZE;
+      if (buffer.getInt(position + 4) == playerId) {
+        result.add(stat(position));
+      }
+    }
+    return result;
+  }
+
+  // Every match event of the season, in file order
+  public List<ArchivedMatchStatDto> getStats() {
+    SectionEntry stats = sections[SECTION_STATS];
+    List<ArchivedMatchStatDto> result = new ArrayList<>(stats.records);
+    for (int i = 0; i < stats.records; i++) {
+      result.add(stat(stats.offset + i * STAT_RECORD_SIZE));
+    }
+    return result;
+  }
+
+  private ArchivedMatchStatDto stat(int position) {
+    short minute = buffer.getShort(position + 17);
+    return ArchivedMatchStatDto.builder()
+        .matchId(buffer.getInt(position))
+        .playerId(buffer.getInt(position + 4))
+        .playerName(string(buffer.getInt(position + 8)))
+        .teamId(buffer.getInt(position + 12))
+        .statType(MatchStatType.values()[buffer.get(position + 16)])
+        .minuteOfEvent(minute >= 0 ? (int) minute : null)
+        .build();
+  }
+
+  // Record numbers filed under the key, in file order. Without the key index (version 1 files) every
+  // record is a candidate; callers check the key of each record either way.
+  private int[] recordsWithKey(int keyIndexType, int key, int recordCount) {
+    SectionEntry index = sections[keyIndexType];
+    if (index == null) {
+      return allRecords(recordCount);
+    }
+    int low = 0;
+    int high = index.records;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (buffer.getInt(index.offset + middle * KEY_INDEX_RECORD_SIZE) < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    int end = low;
+    while (end < index.records && buffer.getInt(index.offset + end * KEY_INDEX_RECORD_SIZE) == key) {
+      end++;
+    }
+    int[] records = new int[end - low];
+    for (int i = low; i < end; i++) {
+      int record = buffer.getInt(index.offset + i * KEY_INDEX_RECORD_SIZE + 4);
+      if (record < 0 || record >= recordCount) {
+        throw new ArchiveFormatException(path + " has an index entry for unknown record " + record);
+      }
+      records[i - low] = record;
+    }
+    return records;
+  }
+
+  private static int[] allRecords(int recordCount) {
+    return IntStream.range(0, recordCount).toArray();
+  }
+
+  private String string(int ref) {
+    SectionEntry strings = sections[SECTION_STRINGS];
+    int count = buffer.getInt(strings.offset);
+    if (ref < 0 || ref >= count) {
+      throw new ArchiveFormatException(path + " references unknown string " + ref);
+    }
+    int offsets = strings.offset + 4;
+    int data = offsets + (count + 1) * 4;
+    int start = buffer.getInt(offsets + ref * 4);
+    int end = buffer.getInt(offsets + (ref + 1) * 4);
+    byte[] bytes = new byte[end - start];
+    buffer.get(data + start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static String sectionName(int type) {
+    return switch (type) {
+      case SECTION_META -> "META";
+      case SECTION_LEAGUES -> "LEAGUES";
+      case SECTION_STANDINGS -> "STANDINGS";
+      case SECTION_MATCHES -> "MATCHES";
+      case SECTION_STATS -> "STATS";
+      case SECTION_STRINGS -> "STRINGS";
+      case SECTION_STANDINGS_BY_LEAGUE -> "STANDINGS_BY_LEAGUE";
+      case SECTION_MATCHES_BY_TEAM -> "MATCHES_BY_TEAM";
+      case SECTION_STATS_BY_PLAYER -> "STATS_BY_PLAYER";
+      default -> "UNKNOWN(" + type + ")";
+    };
+  }
+
+  private record SectionEntry(int type, int records, int offset, int length, int crc) {
+  }
+}
@@ -0,0 +1,67 @@
+package com.nazarov.footballmanager.archive;
+
+// Binary layout of a season archive file (big-endian):
+//
+//   header     32 bytes  magic, version, tournament id, creation time, section count, CRC32 of the directory
+//   directory  24 bytes per section: type, record count, offset, length, CRC32 of the section
+//   sections   fixed-size records, so record i of a section starts at offset + i * record size
+//
+// Strings (names, locations) are stored once in the STRINGS section and referenced by their index.
+// Nullable numbers are written as -1. Files are immutable; a new format gets a new VERSION.
+// Version 2 adds key index sections: (key, record number) pairs sorted by key and then record, so the
+// records of one league, team or player are found by binary search instead of a scan. Version 1
+// files have none and are still read, by scanning.
+final class SeasonArchiveFormat {
+
+  static final int MAGIC = 0x464D5341; // "FMSA"
+  static final short VERSION = 2;
+  static final short VERSION_WITHOUT_KEY_INDEXES = 1;
+
+  static final int HEADER_SIZE = 32;
+  static final int DIRECTORY_ENTRY_SIZE = 24;
+
+  // Header field offsets
+  static final int HEADER_MAGIC = 0;
+  static final int HEADER_VERSION = 4;
+  static final int HEADER_TOURNAMENT_ID = 8;
+  static final int HEADER_CREATED_AT = 12;
+  static final int HEADER_SECTION_COUNT = 20;
+  static final int HEADER_DIRECTORY_CRC = 24;
+
+  // Section types. The directory lists them in file order, which keeps STRINGS last.
+  static final int SECTION_META = 1;
+  static final int SECTION_LEAGUES = 2;
+  static final int SECTION_STANDINGS = 3;
+  static final int SECTION_MATCHES = 4;
+  static final int SECTION_STATS = 5;
+  static final int SECTION_STRINGS = 6;
+  static final int SECTION_STANDINGS_BY_LEAGUE = 7;
+  static final int SECTION_MATCHES_BY_TEAM = 8;
+  static final int SECTION_STATS_BY_PLAYER = 9;
+  static final int SECTION_COUNT = 9;
+  static final int SECTION_COUNT_WITHOUT_KEY_INDEXES = 6;
+
+  // META: tournament name ref, year period ref
+  static final int META_RECORD_SIZE = 8;
+  // LEAGUES: league id, name ref, level
+  static final int LEAGUE_RECORD_SIZE = 12;
+  // STANDINGS: league id, team id, team name ref, final rank, promotion status ordinal (byte)
+  static final int STANDING_RECORD_SIZE = 17;
+  // MATCHES: match id, league id, home team id, away team id, kickoff epoch millis (long),
+  //          home score (short), away score (short), status ordinal (byte), location ref
+  static final int MATCH_RECORD_SIZE = 33;
+  // STATS: match id, player id, player name ref, team id, stat type ordinal (byte), minute (short)
+  static final int STAT_RECORD_SIZE = 19;
+  // STRINGS: count, then count + 1 int offsets into the UTF-8 data that follows
+  // Key indexes: key, record number. Every match is listed under its home and its away team.
+  static final int KEY_INDEX_RECORD_SIZE = 8;
+
+  static final String FILE_SUFFIX = ".fmsa";
+
+  private SeasonArchiveFormat() {
+  }
+
+  static String fileName(int tournamentId) {
+    return "tournament-" + tournamentId + FILE_SUFFIX;
+  }
+}
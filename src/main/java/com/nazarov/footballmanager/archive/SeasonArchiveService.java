@@ -0,0 +1,226 @@
+package com.nazarov.footballmanager.archive;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.media.Blob;
+import com.nazarov.footballmanager.media.BlobStore;
+import com.nazarov.footballmanager.repository.ArchiveRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository.SeasonArchiveRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Writes one archive file per completed tournament into the blob store shared by all instances, and
+// serves archive queries from memory-mapped local copies. season_archives names the blob of each
+// tournament; a copy is fetched and checked the first time an instance needs it.
+@Service
+@Slf4j
+public class SeasonArchiveService {
+
+  private final TournamentRepository tournamentRepository;
+  private final ArchiveRepository archiveRepository;
+  private final SeasonArchiveRepository seasonArchiveRepository;
+  private final BlobStore blobStore;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final Path directory;
+  private final Map<Integer, OpenArchive> openArchives = new ConcurrentHashMap<>();
+  private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "archive-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Keyed by tournament; an archive written again gets a new blob key and is opened anew
+  private record OpenArchive(String blobKey, SeasonArchive archive) {}
+
+  public SeasonArchiveService(TournamentRepository tournamentRepository, ArchiveRepository archiveRepository,
+      SeasonArchiveRepository seasonArchiveRepository, BlobStore blobStore, TransactionTemplate transactionTemplate,
+      @Value("${app.archive.directory}") Path directory) {
+    this.tournamentRepository = tournamentRepository;
+    this.archiveRepository = archiveRepository;
+    this.seasonArchiveRepository = seasonArchiveRepository;
+    this.blobStore = blobStore;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.directory = directory;
+  }
+
+  @EventListener
+  public void onTournamentCompleted(TournamentCompletedEvent event) {
+    writer.execute(() -> {
+      try {
+        writeArchive(event.tournamentId());
+      } catch (RuntimeException ex) {
+        log.error("Could not archive tournament {}", event.tournamentId(), ex);
+      }
+    });
+  }
+
+  public ArchiveVerificationDto writeArchive(int tournamentId) {
+    TournamentRow tournament = tournamentRepository.findById(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    if (tournament.status() != TournamentStatus.COMPLETED) {
+      throw new BadRequestException("Only completed tournaments can be archived.");
+    }
+    if (seasonArchiveRepository.findByTournamentId(tournamentId).map(row -> row.detachedAt() != null).orElse(false)) {
+      throw new BadRequestException("Tournament " + tournamentId + " is detached, its archive can no longer be rewritten.");
+    }
+
+    SeasonArchiveWriter archiveWriter =
+        new SeasonArchiveWriter(tournamentId, tournament.name(), tournament.yearPeriod());
+    readOnlyTransactionTemplate.executeWithoutResult(status -> {
+      archiveRepository.streamLeagues(tournamentId, rs -> archiveWriter.addLeague(
+          rs.getInt("league_id"), rs.getString("name"), rs.getObject("level", Integer.class)));
+      archiveRepository.streamStandings(tournamentId, rs -> {
+        String promotion = rs.getString("promotion_status");
+        archiveWriter.addStanding(rs.getInt("league_id"), rs.getInt("team_id"), rs.getString("team_name"),
+            rs.getObject("final_rank", Integer.class),
+            promotion != null ? PromotionStatus.fromDbValue(promotion) : null);
+      });
+      archiveRepository.streamMatches(tournamentId, rs -> archiveWriter.addMatch(
+          rs.getInt("match_id"),
+          rs.getInt("league_id"),
+          rs.getInt("home_team_id"),
+          rs.getInt("away_team_id"),
+          rs.getTimestamp("match_date_time").toInstant(),
+          rs.getObject("home_score", Integer.class),
+          rs.getObject("away_score", Integer.class),
+          MatchStatus.fromDbValue(rs.getString("status")),
+          rs.getString("location")));
+      archiveRepository.streamStats(tournamentId, rs -> archiveWriter.addStat(
+          rs.getInt("match_id"),
+          rs.getInt("player_id"),
+          rs.getString("player_name"),
+          rs.getInt("team_id"),
+          MatchStatType.fromDbValue(rs.getString("stat_type")),
+          rs.getObject("minute_of_event", Integer.class)));
+    });
+
+    Path file = archiveWriter.writeTo(directory);
+    try {
+      ArchiveVerificationDto written = SeasonArchive.open(file).verify();
+      String blobKey = sha256(file) + SeasonArchiveFormat.FILE_SUFFIX;
+      Path staged = blobStore.createStagingFile();
+      Files.copy(file, staged, StandardCopyOption.REPLACE_EXISTING);
+      blobStore.put(blobKey, staged);
+      // The local copy becomes this instance's cached copy of the blob
+      Files.move(file, directory.resolve(blobKey), StandardCopyOption.REPLACE_EXISTING);
+      seasonArchiveRepository.save(tournamentId, blobKey, written.getSizeBytes(), written.getMatchCount(),
+          written.getStatCount());
+      log.info("Archived tournament {} as blob {} ({} bytes)", tournamentId, blobKey, written.getSizeBytes());
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not store the archive of tournament " + tournamentId, ex);
+    }
+    return verifyStored(tournamentId);
+  }
+
+  public boolean isArchived(int tournamentId) {
+    return seasonArchiveRepository.findByTournamentId(tournamentId).isPresent();
+  }
+
+  public SeasonArchive getArchive(int tournamentId) {
+    SeasonArchiveRow row = findRow(tournamentId);
+    OpenArchive open = openArchives.get(tournamentId);
+    if (open == null || !open.blobKey().equals(row.blobKey())) {
+      Path local = directory.resolve(row.blobKey());
+      if (!Files.isRegularFile(local)) {
+        fetch(row.blobKey(), local);
+      }
+      open = new OpenArchive(row.blobKey(), SeasonArchive.open(local));
+      openArchives.put(tournamentId, open);
+    }
+    return open.archive();
+  }
+
+  // Checks the copy in the blob store itself, not a local copy, before anything relies on it being the only one
+  public ArchiveVerificationDto verifyStored(int tournamentId) {
+    SeasonArchiveRow row = findRow(tournamentId);
+    try {
+      Path copy = download(row.blobKey());
+      try {
+        return SeasonArchive.open(copy).verify();
+      } finally {
+        Files.deleteIfExists(copy);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not read the archive blob of tournament " + tournamentId, ex);
+    }
+  }
+
+  private SeasonArchiveRow findRow(int tournamentId) {
+    return seasonArchiveRepository.findByTournamentId(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Season archive", "tournamentId", tournamentId));
+  }
+
+  // A corrupt copy is deleted instead of being mapped, so the next request fetches it again
+  private void fetch(String blobKey, Path target) {
+    try {
+      Path copy = download(blobKey);
+      ArchiveVerificationDto verification = SeasonArchive.open(copy).verify();
+      if (!verification.isValid()) {
+        Files.deleteIfExists(copy);
+        throw new ArchiveFormatException("Archive blob " + blobKey + " has corrupt sections "
+            + verification.getCorruptSections());
+      }
+      Files.move(copy, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not fetch archive blob " + blobKey, ex);
+    }
+  }
+
+  private Path download(String blobKey) throws IOException {
+    Files.createDirectories(directory);
+    Path copy = Files.createTempFile(directory, "fetch-", ".tmp");
+    try (Blob blob = blobStore.open(blobKey)
+        .orElseThrow(() -> new IllegalStateException("Archive blob " + blobKey + " is missing from the blob store"));
+        InputStream in = blob.newInputStream()) {
+      Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException ex) {
+      Files.deleteIfExists(copy);
+      throw ex;
+    }
+    return copy;
+  }
+
+  private static String sha256(Path file) throws IOException {
+    try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file),
+        MessageDigest.getInstance("SHA-256"))) {
+      in.transferTo(OutputStream.nullOutputStream());
+      return HexFormat.of().formatHex(in.getMessageDigest().digest());
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writer.shutdownNow();
+  }
+}
@@ -0,0 +1,257 @@
+package com.nazarov.footballmanager.archive;
+
+import static com.nazarov.footballmanager.archive.SeasonArchiveFormat.*;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Collects the records of one tournament and writes them as an immutable archive file.
+// Records are appended in the order they are added; see SeasonArchiveFormat for the layout.
+public final class SeasonArchiveWriter {
+
+  private final int tournamentId;
+  private final Section meta = new Section(SECTION_META);
+  private final Section leagues = new Section(SECTION_LEAGUES);
+  private final Section standings = new Section(SECTION_STANDINGS);
+  private final Section matches = new Section(SECTION_MATCHES);
+  private final Section stats = new Section(SECTION_STATS);
+  private final KeyIndex standingsByLeague = new KeyIndex(SECTION_STANDINGS_BY_LEAGUE);
+  private final KeyIndex matchesByTeam = new KeyIndex(SECTION_MATCHES_BY_TEAM);
+  private final KeyIndex statsByPlayer = new KeyIndex(SECTION_STATS_BY_PLAYER);
+  private final Map<String, Integer> stringRefs = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+
+  public SeasonArchiveWriter(int tournamentId, String name, String yearPeriod) {
+    this.tournamentId = tournamentId;
+    meta.write(out -> {
+      out.writeInt(ref(name));
+      out.writeInt(ref(yearPeriod));
+    });
+  }
+
+  public SeasonArchiveWriter addLeague(int leagueId, String name, Integer level) {
+    leagues.write(out -> {
+      out.writeInt(leagueId);
+      out.writeInt(ref(name));
+      out.writeInt(level != null ? level : -1);
+    });
+    return this;
+  }
+
+  public SeasonArchiveWriter addStanding(int leagueId, int teamId, String teamName, Integer finalRank,
+      PromotionStatus promotionStatus) {
+    standingsByLeague.add(leagueId, standings.records);
+    standings.write(out -> {
+      out.writeInt(leagueId);
+      out.writeInt(teamId);
+      out.writeInt(ref(teamName));
+      out.writeInt(finalRank != null ? finalRank : -1);
+      out.writeByte(promotionStatus != null ? promotionStatus.ordinal() : -1);
+    });
+    return this;
+  }
+
+  public SeasonArchiveWriter addMatch(int matchId, int leagueId, int homeTeamId, int awayTeamId, Instant kickoff,
+      Integer homeScore, Integer awayScore, MatchStatus status, String location) {
+    matchesByTeam.add(homeTeamId, matches.records);
+    matchesByTeam.add(awayTeamId, matches.records);
+    matches.write(out -> {
+      out.writeInt(matchId);
+      out.writeInt(leagueId);
+      out.writeInt(homeTeamId);
+      out.writeInt(awayTeamId);
+      out.writeLong(kickoff.toEpochMilli());
+      out.writeShort(homeScore != null ? homeScore : -1);
+      out.writeShort(awayScore != null ? awayScore : -1);
+      out.writeByte(status.ordinal());
+      out.writeInt(location != null ? ref(location) : -1);
+    });
+    return this;
+  }
+
+  public SeasonArchiveWriter addStat(int matchId, int playerId, String playerName, int teamId,
+      MatchStatType statType, Integer minute) {
+    statsByPlayer.add(playerId, stats.records);
+    stats.write(out -> {
+      out.writeInt(matchId);
+      out.writeInt(playerId);
+      out.writeInt(ref(playerName));
+      out.writeInt(teamId);
+      out.writeByte(statType.ordinal());
+      out.writeShort(minute != null ? minute : -1);
+    });
+    return this;
+  }
+
+  // Writes to a temporary file of its own first and moves it into place, so readers never see a
+  // partial file and two writers of the same tournament never write into one file
+  public Path writeTo(Path directory) {
+    Path temp = null;
+    try {
+      Files.createDirectories(directory);
+      Path target = directory.resolve(fileName(tournamentId));
+      temp = Files.createTempFile(directory, fileName(tournamentId), ".tmp");
+
+      List<Section> sections = List.of(meta, leagues, standings, matches, stats, standingsByLeague.toSection(),
+          matchesByTeam.toSection(), statsByPlayer.toSection(), stringsSection());
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + DIRECTORY_ENTRY_SIZE * SECTION_COUNT);
+      ByteBuffer directoryEntries = header.duplicate().position(HEADER_SIZE).slice();
+      long offset = HEADER_SIZE + (long) DIRECTORY_ENTRY_SIZE * SECTION_COUNT;
+      for (Section section : sections) {
+        directoryEntries.putInt(section.type);
+        directoryEntries.putInt(section.records);
+        directoryEntries.putLong(offset);
+        directoryEntries.putInt(section.bytes.size());
+        directoryEntries.putInt(section.crc());
+        offset += section.bytes.size();
+      }
+      CRC32 directoryCrc = new CRC32();
+      directoryCrc.update(directoryEntries.flip());
+
+      header.putInt(HEADER_MAGIC, MAGIC);
+      header.putShort(HEADER_VERSION, VERSION);
+      header.putInt(HEADER_TOURNAMENT_ID, tournamentId);
+      header.putLong(HEADER_CREATED_AT, Instant.now().toEpochMilli());
+      header.putInt(HEADER_SECTION_COUNT, SECTION_COUNT);
+      header.putInt(HEADER_DIRECTORY_CRC, (int) directoryCrc.getValue());
+      header.rewind();
+
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        writeFully(channel, header);
+        for (Section section : sections) {
+          writeFully(channel, ByteBuffer.wrap(section.bytes.toByteArray()));
+        }
+        channel.force(true);
+      }
+      Path written = Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      temp = null;
+      return written;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not write archive of tournament " + tournamentId, ex);
+    } finally {
+      deleteQuietly(temp);
+    }
+  }
+
+  private static void deleteQuietly(Path temp) {
+    if (temp == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(temp);
+    } catch (IOException ex) {
+      // Left for the next cleanup of the directory
+    }
+  }
+
+  private Section stringsSection() {
+    Section section = new Section(SECTION_STRINGS);
+    List<byte[]> encoded = strings.stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).toList();
+    section.write(out -> {
+      out.writeInt(encoded.size());
+      int position = 0;
+      for (byte[] bytes : encoded) {
+        out.writeInt(position);
+        position += bytes.length;
+      }
+      out.writeInt(position);
+      for (byte[] bytes : encoded) {
+        out.write(bytes);
+      }
+    });
+    section.records = encoded.size();
+    return section;
+  }
+
+  private int ref(String value) {
+    return stringRefs.computeIfAbsent(value != null ? value : "", v -> {
+      strings.add(v);
+      return strings.size() - 1;
+    });
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  @FunctionalInterface
+  private interface RecordWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  // Collects (key, record number) pairs while records are added and writes them sorted
+  private static final class KeyIndex {
+    private final int type;
+    private long[] entries = new long[64];
+    private int size;
+
+    private KeyIndex(int type) {
+      this.type = type;
+    }
+
+    private void add(int key, int record) {
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size * 2);
+      }
+      // Record numbers are never negative, so the packed values sort by key and then record
+      entries[size++] = (long) key << 32 | record;
+    }
+
+    private Section toSection() {
+      long[] sorted = Arrays.copyOf(entries, size);
+      Arrays.sort(sorted);
+      Section section = new Section(type);
+      for (long entry : sorted) {
+        section.write(out -> out.writeLong(entry));
+      }
+      return section;
+    }
+  }
+
+  private static final class Section {
+    private final int type;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private int records;
+
+    private Section(int type) {
+      this.type = type;
+    }
+
+    private void write(RecordWriter writer) {
+      try {
+        writer.write(out);
+        records++;
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    private int crc() {
+      CRC32 crc = new CRC32();
+      crc.update(bytes.toByteArray());
+      return (int) crc.getValue();
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package com.nazarov.footballmanager.async;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.job.JobErrorDto;
+import com.nazarov.footballmanager.exception.ErrorStatus;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.exception.UnexpectedErrorLogger;
+import com.nazarov.footballmanager.repository.AsyncJobRepository;
+import com.nazarov.footballmanager.repository.AsyncJobRepository.AsyncJobRow;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+// Runs long operations off the request thread. Jobs are rows in async_jobs, so status polls can hit
+// any instance; the work itself runs on the bounded executor of the instance that accepted it.
+// Submissions with the same type and dedup key while a job is queued or running get that job back.
+@Service
+@Slf4j
+public class AsyncJobService {
+
+  private static final int SUBMIT_ATTEMPTS = 3;
+
+  private final AsyncJobRepository asyncJobRepository;
+  private final ObjectMapper objectMapper;
+  private final ExecutorService executor;
+  private final UnexpectedErrorLogger unexpectedErrorLogger;
+  private final long progressIntervalMillis;
+
+  // Jobs running on this instance, kept alive by the heartbeat
+  private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+
+  public AsyncJobService(AsyncJobRepository asyncJobRepository,
+      ObjectMapper objectMapper,
+      @Qualifier("asyncJobExecutor") ExecutorService executor,
+      UnexpectedErrorLogger unexpectedErrorLogger,
+      @Value("${app.async-jobs.progress-interval}") Duration progressInterval) {
+    this.asyncJobRepository = asyncJobRepository;
+    this.objectMapper = objectMapper;
+    this.executor = executor;
+    this.unexpectedErrorLogger = unexpectedErrorLogger;
+    this.progressIntervalMillis = progressInterval.toMillis();
+  }
+
+  public AsyncJobDto submit(String jobType, Object dedupKey, AsyncTask task) {
+    String key = dedupKey != null ? dedupKey.toString() : null;
+    for (int attempt = 0; attempt < SUBMIT_ATTEMPTS; attempt++) {
+      UUID jobId = UUID.randomUUID();
+      if (asyncJobRepository.insertIfNoneActive(jobId, jobType, key, currentUser())) {
+        log.info("Submitted {} job {} for {}", jobType, jobId, key);
+        dispatch(jobId, jobType, task);
+        return getJob(jobId);
+      }
+      Optional<AsyncJobRow> active = asyncJobRepository.findActive(jobType, key);
+      if (active.isPresent()) {
+        log.info("{} job for {} is already {}, returning job {}", jobType, key, active.get().state(),
+            active.get().jobId());
+        return toDto(active.get());
+      }
+      // The active job finished between the insert and the lookup
+    }
+    throw new IllegalStateException("Could not submit " + jobType + " job for " + key);
+  }
+
+  public AsyncJobDto getJob(UUID jobId) {
+    return asyncJobRepository.findById(jobId).map(this::toDto)
+        .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId));
+  }
+
+  public Optional<AsyncJobDto> findLatest(String jobType, Object dedupKey) {
+    return asyncJobRepository.findLatest(jobType, dedupKey.toString()).map(this::toDto);
+  }
+
+  @Scheduled(fixedDelayString = "${app.async-jobs.heartbeat-interval}")
+  public void heartbeat() {
+    asyncJobRepository.heartbeat(Set.copyOf(runningJobs));
+  }
+
+  private void dispatch(UUID jobId, String jobType, AsyncTask task) {
+    try {
+      executor.execute(() -> execute(jobId, jobType, task));
+    } catch (RejectedExecutionException ex) {
+      log.warn("Async job queue is full, rejecting {} job {}", jobType, jobId);
+      HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+      asyncJobRepository.fail(jobId, status.value(), status.getReasonPhrase(),
+          "Too many jobs are queued, try again later.");
+    }
+  }
+
+  private void execute(UUID jobId, String jobType, AsyncTask task) {
+    runningJobs.add(jobId);
+    Progress progress = new Progress(jobId);
+    long start = System.nanoTime();
+    try {
+      asyncJobRepository.markRunning(jobId);
+      Object result = task.run(progress);
+      asyncJobRepository.complete(jobId, progress.done.get(), progress.total(), toJson(result));
+      log.info("{} job {} succeeded in {} ms", jobType, jobId, (System.nanoTime() - start) / 1_000_000);
+    } catch (Exception ex) {
+      // The job row is what the client polls, so it gets the same message a synchronous request would
+      HttpStatus status = ErrorStatus.of(ex);
+      if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+        unexpectedErrorLogger.log(ex, jobType + " job " + jobId);
+      } else {
+        log.warn("{} job {} failed: {}", jobType, jobId, ex.getMessage());
+      }
+      asyncJobRepository.fail(jobId, status.value(), status.getReasonPhrase(), ErrorStatus.messageOf(ex));
+    } finally {
+      runningJobs.remove(jobId);
+    }
+  }
+
+  private String toJson(Object result) throws JsonProcessingException {
+    return result != null ? objectMapper.writeValueAsString(result) : null;
+  }
+
+  private AsyncJobDto toDto(AsyncJobRow row) {
+    JobErrorDto error = row.errorStatus() == null ? null : JobErrorDto.builder()
+        .status(row.errorStatus())
+        .error(row.errorTitle())
+        .message(row.errorMessage())
+        .build();
+    try {
+      return AsyncJobDto.builder()
+          .jobId(row.jobId())
+          .jobType(row.jobType())
+          .state(row.state())
+          .progressDone(row.progressDone())
+          .progressTotal(row.progressTotal())
+          .result(row.result() != null ? objectMapper.readTree(row.result()) : null)
+          .error(error)
+          .createdAt(row.createdAt())
+          .startedAt(row.startedAt())
+          .finishedAt(row.finishedAt())
+          .build();
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Stored result of job " + row.jobId() + " is not valid JSON", ex);
+    }
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null ? authentication.getName() : null;
+  }
+
+  // Writes progress at most once per interval, so per-item reporting stays cheap
+  private final class Progress implements JobProgress {
+
+    private final UUID jobId;
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger(-1);
+    private final AtomicLong lastWrite = new AtomicLong(System.currentTimeMillis());
+
+    private Progress(UUID jobId) {
+      this.jobId = jobId;
+    }
+
+    @Override
+    public void setTotal(int total) {
+      this.total.set(total);
+      asyncJobRepository.updateProgress(jobId, done.get(), total);
+    }
+
+    @Override
+    public void advance() {
+      int current = done.incrementAndGet();
+      long now = System.currentTimeMillis();
+      long last = lastWrite.get();
+      if (now - last >= progressIntervalMillis && lastWrite.compareAndSet(last, now)) {
+        asyncJobRepository.updateProgress(jobId, current, total());
+      }
+    }
+
+    private Integer total() {
+      int value = total.get();
+      return value >= 0 ? value : null;
+    }
+  }
+}
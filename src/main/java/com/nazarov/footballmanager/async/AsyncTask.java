@@ -0,0 +1,9 @@
+package com.nazarov.footballmanager.async;
+
+// Body of an async job. The returned value is stored as the job's JSON result; thrown exceptions
+// become the job's error, with the status GlobalExceptionHandler would have used.
+@FunctionalInterface
+public interface AsyncTask {
+
+  Object run(JobProgress progress) throws Exception;
+}
@@ -0,0 +1,9 @@
+package com.nazarov.footballmanager.async;
+
+// Progress reporting for a running job; safe to call from several threads
+public interface JobProgress {
+
+  void setTotal(int total);
+
+  void advance();
+}
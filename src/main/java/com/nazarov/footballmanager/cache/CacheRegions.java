@@ -0,0 +1,29 @@
+package com.nazarov.footballmanager.cache;
+
+// Names of the cache regions kept in line by InvalidationBus; they travel in every NOTIFY payload
+public final class CacheRegions {
+
+  public static final String USER_PRINCIPAL = "user-principal";
+  // Keyed by email: memoized /api/users/me profiles
+  public static final String USER_PROFILE = "user-profile";
+  public static final String SEASON_SIMULATION = "season-simulation";
+  // Keyed by tournament id: active tournaments and their leagues
+  public static final String TOURNAMENT_CATALOG = "tournament-catalog";
+  // Keyed by tournament id, covering every league of the tournament
+  public static final String STANDINGS = "standings";
+  public static final String UPCOMING_FIXTURES = "upcoming-fixtures";
+  // Keyed by tournament id: pre-serialized whole-tournament documents
+  public static final String TOURNAMENT_SNAPSHOT = "tournament-snapshot";
+  // Keyed by match id: fixtures of the in-memory schedule index to re-read
+  public static final String SCHEDULE = "schedule";
+  // Keyed by tournament id: detached seasons whose fixtures leave the schedule index
+  public static final String SCHEDULE_SEASON = "schedule-season";
+  // Keyed by tournament id: detached seasons the analytics snapshot is reloaded without
+  public static final String ANALYTICS_SEASON = "analytics-season";
+  public static final String ROLES = "roles";
+  // Keys are revocations to add to the token Bloom filter rather than entries to drop
+  public static final String TOKEN_REVOCATION = "token-revocation";
+
+  private CacheRegions() {
+  }
+}
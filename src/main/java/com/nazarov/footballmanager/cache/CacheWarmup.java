@@ -0,0 +1,155 @@
+package com.nazarov.footballmanager.cache;
+
+import com.nazarov.footballmanager.dto.tournament.LeagueDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.service.RoleService;
+import com.nazarov.footballmanager.service.TournamentQueryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Fills the hot caches before the instance reports ready. Spring Boot only switches readiness to
+// ACCEPTING_TRAFFIC after all ApplicationRunners return, so the load balancer keeps traffic away until
+// this is done. Loads run on a fixed number of threads, capping the connections warm-up takes.
+// A failed or slow warm-up is logged and the instance starts with whatever got loaded.
+@Component
+@Slf4j
+public class CacheWarmup implements ApplicationRunner {
+
+  private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+  private final RoleService roleService;
+  private final TournamentQueryService tournamentQueryService;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final int dbConcurrency;
+  private final Duration timeout;
+
+  public CacheWarmup(RoleService roleService,
+      TournamentQueryService tournamentQueryService,
+      MeterRegistry meterRegistry,
+      @Value("${app.warmup.enabled}") boolean enabled,
+      @Value("${app.warmup.db-concurrency}") int dbConcurrency,
+      @Value("${app.warmup.timeout}") Duration timeout) {
+    this.roleService = roleService;
+    this.tournamentQueryService = tournamentQueryService;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.dbConcurrency = dbConcurrency;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) {
+      return;
+    }
+    long start = System.nanoTime();
+    Map<String, CacheTiming> timings = new ConcurrentHashMap<>();
+    ExecutorService executor = Executors.newFixedThreadPool(dbConcurrency, runnable -> {
+      Thread thread = new Thread(runnable, "cache-warmup");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      CompletableFuture<?> roles = load("roles", timings, executor, roleService::preload, count -> count);
+      CompletableFuture<?> tournaments = load("tournaments", timings, executor,
+          tournamentQueryService::getActiveTournaments, List::size)
+          .thenCompose(active -> active != null ? warmTournaments(active, timings, executor) : DONE);
+      CompletableFuture.allOf(roles, tournaments).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      log.info("Cache warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    } catch (TimeoutException ex) {
+      log.warn("Cache warm-up did not finish within {}, starting with partly warm caches", timeout);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      log.error("Cache warm-up failed, starting with partly warm caches", ex);
+    } finally {
+      executor.shutdownNow();
+    }
+    timings.forEach((cache, timing) -> {
+      long wallNanos = timing.lastEnd.get() - timing.firstStart.get();
+      Timer.builder("cache.warmup.duration").tag("cache", cache).register(meterRegistry)
+          .record(Math.max(wallNanos, 0), TimeUnit.NANOSECONDS);
+      log.info("Warmed cache {}: {} entries from {} loads ({} failed) in {} ms ({} ms of load time)", cache,
+          timing.entries.get(), timing.loads.get(), timing.failures.get(), wallNanos / 1_000_000,
+          timing.loadNanos.get() / 1_000_000);
+    });
+  }
+
+  private CompletableFuture<Void> warmTournaments(List<TournamentDto> active, Map<String, CacheTiming> timings,
+      ExecutorService executor) {
+    List<CompletableFuture<?>> loads = new ArrayList<>();
+    for (TournamentDto tournament : active) {
+      loads.add(load("leagues", timings, executor,
+          () -> tournamentQueryService.getLeagues(tournament.getTournamentId()), List::size)
+          .thenCompose(leagues -> leagues != null ? warmLeagues(leagues, timings, executor) : DONE));
+    }
+    return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new));
+  }
+
+  private CompletableFuture<Void> warmLeagues(List<LeagueDto> leagues, Map<String, CacheTiming> timings,
+      ExecutorService executor) {
+    List<CompletableFuture<?>> loads = new ArrayList<>();
+    for (LeagueDto league : leagues) {
+      loads.add(load("standings", timings, executor,
+          () -> tournamentQueryService.getStandings(league.getLeagueId()), standings -> 1));
+      loads.add(load("upcoming-fixtures", timings, executor,
+          () -> tournamentQueryService.getUpcomingFixtures(league.getLeagueId(),
+              TournamentQueryService.UPCOMING_FIXTURES_CACHED), fixtures -> 1));
+    }
+    return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new));
+  }
+
+  // Runs one load on the bounded executor and books its time and cached entries on the cache
+  private static <T> CompletableFuture<T> load(String cache, Map<String, CacheTiming> timings,
+      ExecutorService executor, Supplier<T> loader, ToIntFunction<T> entries) {
+    CacheTiming timing = timings.computeIfAbsent(cache, name -> new CacheTiming());
+    return CompletableFuture.supplyAsync(() -> {
+      long start = System.nanoTime();
+      timing.firstStart.accumulateAndGet(start, Math::min);
+      try {
+        T value = loader.get();
+        timing.entries.addAndGet(entries.applyAsInt(value));
+        return value;
+      } catch (RuntimeException ex) {
+        // One failed load only leaves its own entries cold
+        log.warn("Could not warm cache {}: {}", cache, ex.getMessage());
+        timing.failures.incrementAndGet();
+        return null;
+      } finally {
+        long end = System.nanoTime();
+        timing.loads.incrementAndGet();
+        timing.loadNanos.addAndGet(end - start);
+        timing.lastEnd.accumulateAndGet(end, Math::max);
+      }
+    }, executor);
+  }
+
+  private static final class CacheTiming {
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger entries = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+  }
+}
@@ -0,0 +1,268 @@
+package com.nazarov.footballmanager.cache;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Keeps the in-process caches of all instances in line with the database.
+//
+// Caches register a region with an evict-one and an evict-all callback. Writers call invalidate()
+// inside their transaction; the keys are collected per transaction and, after commit only, evicted
+// locally and queued for the other instances. A single thread per instance owns a dedicated
+// connection: it sends the queued keys as one pg_notify per coalesce window and evicts what the
+// other instances announce. Messages sent while the connection was down are lost, so every
+// reconnect flushes all regions.
+@Component
+@Slf4j
+public class InvalidationBus {
+
+  private static final int MAX_PAYLOAD_BYTES = 7_900;
+  // Evicting a region wholesale is cheaper than many single keys once a burst gets this big
+  private static final int MAX_KEYS_PER_REGION = 256;
+
+  private final DataSourceProperties dataSourceProperties;
+  private final boolean enabled;
+  private final String channel;
+  private final Duration coalesceWindow;
+  private final Duration maxReconnectDelay;
+  private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+  private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+  // Keys committed locally and not yet announced; guarded by itself
+  private final Map<String, Set<String>> outbound = new LinkedHashMap<>();
+
+  private volatile boolean running;
+  private Thread listener;
+
+  public InvalidationBus(DataSourceProperties dataSourceProperties,
+      @Value("${app.cache.invalidation.enabled}") boolean enabled,
+      @Value("${app.cache.invalidation.channel}") String channel,
+      @Value("${app.cache.invalidation.coalesce-window}") Duration coalesceWindow,
+      @Value("${app.cache.invalidation.max-reconnect-delay}") Duration maxReconnectDelay) {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+    }
+    this.dataSourceProperties = dataSourceProperties;
+    this.enabled = enabled;
+    this.channel = channel;
+    this.coalesceWindow = coalesceWindow;
+    this.maxReconnectDelay = maxReconnectDelay;
+  }
+
+  public void register(String region, Consumer<String> evictKey, Runnable evictAll) {
+    if (!region.matches("[a-z0-9-]+")) {
+      throw new IllegalArgumentException("Region names are lower-case letters, digits and dashes: " + region);
+    }
+    if (regions.putIfAbsent(region, new Region(evictKey, evictAll)) != null) {
+      throw new IllegalStateException("Cache region " + region + " is already registered");
+    }
+  }
+
+  public void invalidate(String region, Object key) {
+    enqueue(region, String.valueOf(key));
+  }
+
+  public void invalidateAll(String region) {
+    enqueue(region, InvalidationMessage.ALL);
+  }
+
+  @EventListener(ApplicationStartedEvent.class) // Before runners, so cache warm-up already sees remote evictions
+  public void start() {
+    if (!enabled || running) {
+      return;
+    }
+    running = true;
+    listener = new Thread(this::listen, "cache-invalidation");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (listener != null) {
+      listener.join(coalesceWindow.toMillis() * 4 + 1_000);
+    }
+  }
+
+  private void enqueue(String region, String key) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      committed(Map.of(region, Set.of(key)));
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, Set<String>> pending = (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      Map<String, Set<String>> collected = new LinkedHashMap<>();
+      TransactionSynchronizationManager.bindResource(this, collected);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+          if (status == STATUS_COMMITTED) {
+            committed(collected);
+          }
+        }
+      });
+      pending = collected;
+    }
+    pending.computeIfAbsent(region, r -> new LinkedHashSet<>()).add(key);
+  }
+
+  private void committed(Map<String, Set<String>> keysByRegion) {
+    evict(keysByRegion);
+    if (!enabled) {
+      return;
+    }
+    synchronized (outbound) {
+      merge(outbound, keysByRegion);
+    }
+  }
+
+  private void listen() {
+    Connection connection = null;
+    boolean reconnect = false;
+    long delayMillis = 0;
+    while (running) {
+      try {
+        if (connection == null) {
+          connection = connect();
+          if (reconnect) {
+            log.warn("Cache invalidation channel reconnected, flushing all {} cache regions", regions.size());
+            regions.values().forEach(region -> region.evictAll().run());
+          }
+          reconnect = true;
+          delayMillis = 0;
+        }
+        send(connection);
+        PGNotification[] notifications = connection.unwrap(PGConnection.class)
+            .getNotifications((int) coalesceWindow.toMillis());
+        if (notifications != null && notifications.length > 0) {
+          receive(notifications);
+        }
+      } catch (SQLException | RuntimeException ex) {
+        close(connection);
+        connection = null;
+        delayMillis = Math.min(Math.max(delayMillis * 2, 100), maxReconnectDelay.toMillis());
+        log.warn("Cache invalidation channel failed, reconnecting in {} ms: {}", delayMillis, ex.getMessage());
+        try {
+          Thread.sleep(delayMillis);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          running = false;
+        }
+      }
+    }
+    close(connection);
+  }
+
+  private Connection connect() throws SQLException {
+    // Own connection rather than one from the pool: it stays open for the life of the instance
+    Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LISTEN " + channel);
+    }
+    log.info("Listening for cache invalidations on channel {} as node {}", channel, nodeId);
+    return connection;
+  }
+
+  private void send(Connection connection) throws SQLException {
+    Map<String, Set<String>> batch;
+    synchronized (outbound) {
+      if (outbound.isEmpty()) {
+        return;
+      }
+      batch = new LinkedHashMap<>(outbound);
+      outbound.clear();
+    }
+    List<String> messages = InvalidationMessage.encode(nodeId, capped(batch), MAX_PAYLOAD_BYTES);
+    try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+      for (String message : messages) {
+        statement.setString(1, channel);
+        statement.setString(2, message);
+        statement.execute();
+      }
+    } catch (SQLException ex) {
+      // Put the batch back so it goes out after the reconnect
+      synchronized (outbound) {
+        merge(outbound, batch);
+      }
+      throw ex;
+    }
+  }
+
+  private void receive(PGNotification[] notifications) {
+    Map<String, Set<String>> keysByRegion = new HashMap<>();
+    for (PGNotification notification : notifications) {
+      try {
+        InvalidationMessage message = InvalidationMessage.decode(notification.getParameter());
+        if (!message.nodeId().equals(nodeId)) {
+          merge(keysByRegion, message.keysByRegion());
+        }
+      } catch (IllegalArgumentException ex) {
+        log.warn("Ignoring cache invalidation message: {}", ex.getMessage());
+      }
+    }
+    evict(capped(keysByRegion));
+  }
+
+  private void evict(Map<String, Set<String>> keysByRegion) {
+    keysByRegion.forEach((name, keys) -> {
+      Region region = regions.get(name);
+      if (region == null) {
+        return;
+      }
+      if (keys.contains(InvalidationMessage.ALL)) {
+        region.evictAll().run();
+      } else {
+        keys.forEach(region.evictKey());
+      }
+    });
+  }
+
+  private static Map<String, Set<String>> capped(Map<String, Set<String>> keysByRegion) {
+    keysByRegion.replaceAll((region, keys) -> keys.size() > MAX_KEYS_PER_REGION ? Set.of(InvalidationMessage.ALL) : keys);
+    return keysByRegion;
+  }
+
+  private static void merge(Map<String, Set<String>> target, Map<String, Set<String>> source) {
+    source.forEach((region, keys) -> target.computeIfAbsent(region, r -> new LinkedHashSet<>()).addAll(keys));
+  }
+
+  private static void close(Connection connection) {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.close();
+    } catch (SQLException ex) {
+      log.debug("Closing the cache invalidation connection failed", ex);
+    }
+  }
+
+  private record Region(Consumer<String> evictKey, Runnable evictAll) {}
+}
@@ -0,0 +1,72 @@
+package com.nazarov.footballmanager.cache;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Wire format of one NOTIFY payload: "<node>|<region>=<key>,<key>;<region>=*".
+// Keys are URL-encoded so they cannot contain the separators; "*" evicts the whole region.
+// Postgres limits a payload to 8000 bytes, so larger batches are split into several messages.
+record InvalidationMessage(String nodeId, Map<String, Set<String>> keysByRegion) {
+
+  static final String ALL = "*";
+
+  static List<String> encode(String nodeId, Map<String, Set<String>> keysByRegion, int maxBytes) {
+    List<String> messages = new ArrayList<>();
+    StringBuilder message = new StringBuilder(nodeId).append('|');
+    int emptyLength = message.length();
+    for (Map.Entry<String, Set<String>> region : keysByRegion.entrySet()) {
+      Set<String> keys = region.getValue().contains(ALL) ? Set.of(ALL) : region.getValue();
+      boolean regionOpen = false;
+      for (String key : keys) {
+        String encoded = ALL.equals(key) ? ALL : URLEncoder.encode(key, StandardCharsets.UTF_8);
+        // Encoded payloads are ASCII, so length is the byte count
+        int needed = encoded.length() + (regionOpen ? 1 : region.getKey().length() + 2);
+        if (message.length() + needed > maxBytes && message.length() > emptyLength) {
+          messages.add(message.toString());
+          message.setLength(emptyLength);
+          regionOpen = false;
+        }
+        if (regionOpen) {
+          message.append(',');
+        } else {
+          if (message.length() > emptyLength) {
+            message.append(';');
+          }
+          message.append(region.getKey()).append('=');
+          regionOpen = true;
+        }
+        message.append(encoded);
+      }
+    }
+    if (message.length() > emptyLength) {
+      messages.add(message.toString());
+    }
+    return messages;
+  }
+
+  static InvalidationMessage decode(String payload) {
+    int separator = payload.indexOf('|');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+    }
+    Map<String, Set<String>> keysByRegion = new LinkedHashMap<>();
+    for (String part : payload.substring(separator + 1).split(";")) {
+      int equals = part.indexOf('=');
+      if (equals <= 0) {
+        continue;
+      }
+      Set<String> keys = keysByRegion.computeIfAbsent(part.substring(0, equals), region -> new LinkedHashSet<>());
+      for (String key : part.substring(equals + 1).split(",")) {
+        keys.add(ALL.equals(key) ? ALL : URLDecoder.decode(key, StandardCharsets.UTF_8));
+      }
+    }
+    return new InvalidationMessage(payload.substring(0, separator), keysByRegion);
+  }
+}
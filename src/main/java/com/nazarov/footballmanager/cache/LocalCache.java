@@ -0,0 +1,49 @@
+package com.nazarov.footballmanager.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// In-process cache kept in line by InvalidationBus. A value loaded while an eviction happened is
+// returned to its caller but not stored, so a load racing a write cannot bring the old value back.
+public final class LocalCache<K, V> {
+
+  private final Map<K, V> entries = new ConcurrentHashMap<>();
+  private final AtomicLong evictions = new AtomicLong();
+
+  public V get(K key, Function<K, V> loader) {
+    V cached = entries.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    long generation = evictions.get();
+    V loaded = loader.apply(key);
+    if (loaded != null && evictions.get() == generation && entries.putIfAbsent(key, loaded) == null
+        && evictions.get() != generation) {
+      // An eviction slipped in between the check and the put and may have missed the new entry
+      entries.remove(key, loaded);
+    }
+    return loaded;
+  }
+
+  public void evict(K key) {
+    evictions.incrementAndGet();
+    entries.remove(key);
+  }
+
+  public void evictIf(Predicate<V> predicate) {
+    evictions.incrementAndGet();
+    entries.values().removeIf(predicate);
+  }
+
+  public void clear() {
+    evictions.incrementAndGet();
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+}
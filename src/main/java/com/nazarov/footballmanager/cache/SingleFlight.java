@@ -0,0 +1,113 @@
+package com.nazarov.footballmanager.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Collapses concurrent loads of the same key into one: the first caller runs the loader, everyone
+// arriving while it runs waits for its result, and the result is reused for memoizeFor afterwards.
+// A failed load is shared with its waiters but never memoized. evict/clear only affect later calls,
+// so callers that must not see a value from before a write still evict their own cache after it.
+public final class SingleFlight<K, V> {
+
+  // Expired memoized results are swept once this many keys are held
+  private static final int SWEEP_THRESHOLD = 1024;
+
+  private final long memoizeNanos;
+  private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+  private final Counter memoized;
+
+  private static final class Flight<V> {
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+    private volatile long completedAt;
+  }
+
+  SingleFlight(String name, Duration memoizeFor, MeterRegistry meterRegistry) {
+    this.memoizeNanos = memoizeFor.toNanos();
+    this.executed = counter(meterRegistry, name, "executed");
+    this.coalesced = counter(meterRegistry, name, "coalesced");
+    this.memoized = counter(meterRegistry, name, "memoized");
+  }
+
+  public V get(K key, Function<K, V> loader) {
+    while (true) {
+      Flight<V> flight = flights.get(key);
+      if (flight == null) {
+        Flight<V> started = new Flight<>();
+        if (flights.putIfAbsent(key, started) == null) {
+          return run(key, started, loader);
+        }
+      } else if (!flight.result.isDone()) {
+        coalesced.increment();
+        return await(flight);
+      } else if (System.nanoTime() - flight.completedAt < memoizeNanos) {
+        memoized.increment();
+        return await(flight);
+      } else {
+        flights.remove(key, flight);
+      }
+    }
+  }
+
+  public void evict(K key) {
+    flights.remove(key);
+  }
+
+  public void clear() {
+    flights.clear();
+  }
+
+  private V run(K key, Flight<V> flight, Function<K, V> loader) {
+    executed.increment();
+    V value;
+    try {
+      value = loader.apply(key);
+    } catch (RuntimeException | Error ex) {
+      flights.remove(key, flight);
+      flight.result.completeExceptionally(ex);
+      throw ex;
+    }
+    flight.completedAt = System.nanoTime();
+    flight.result.complete(value);
+    if (memoizeNanos <= 0) {
+      flights.remove(key, flight);
+    } else if (flights.size() > SWEEP_THRESHOLD) {
+      sweep();
+    }
+    return value;
+  }
+
+  private void sweep() {
+    long now = System.nanoTime();
+    flights.values().removeIf(flight -> flight.result.isDone() && now - flight.completedAt >= memoizeNanos);
+  }
+
+  // Waiters see the leader's exception itself, not a CompletionException around it
+  private static <V> V await(Flight<V> flight) {
+    try {
+      return flight.result.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+    return Counter.builder("single.flight.calls")
+        .tag("name", name)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,29 @@
+package com.nazarov.footballmanager.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Creates the SingleFlight of a read path; name tags its single.flight.calls metrics
+@Component
+public class SingleFlights {
+
+  private final MeterRegistry meterRegistry;
+  private final Duration defaultMemoizeFor;
+
+  public SingleFlights(MeterRegistry meterRegistry,
+      @Value("${app.single-flight.memoize-for}") Duration defaultMemoizeFor) {
+    this.meterRegistry = meterRegistry;
+    this.defaultMemoizeFor = defaultMemoizeFor;
+  }
+
+  public <K, V> SingleFlight<K, V> create(String name) {
+    return create(name, defaultMemoizeFor);
+  }
+
+  // Duration.ZERO for reads whose result is cached elsewhere and only needs the coalescing
+  public <K, V> SingleFlight<K, V> create(String name, Duration memoizeFor) {
+    return new SingleFlight<>(name, memoizeFor, meterRegistry);
+  }
+}
@@ -0,0 +1,50 @@
+package com.nazarov.footballmanager.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyConfig {
+
+  // Dedicated pool for per-league work that talks to the database, so blocking JDBC calls
+  // never occupy the common pool. Keep it below the connection pool size.
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool leagueTaskPool(@Value("${app.tournament.league-task-parallelism}") int parallelism) {
+    return new ForkJoinPool(parallelism);
+  }
+
+  // CPU-bound work such as season simulations; sized to the machine, never used for blocking calls
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool computePool() {
+    return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  // Workers of long-running operations submitted over HTTP. The queue is bounded; beyond it new
+  // jobs are rejected instead of piling up.
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService asyncJobExecutor(@Value("${app.async-jobs.worker-threads}") int workerThreads,
+      @Value("${app.async-jobs.queue-capacity}") int queueCapacity) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> new Thread(runnable, "async-job-" + threadCount.incrementAndGet()));
+  }
+
+  // Renders thumbnails of uploaded images. Decoding is memory hungry, so few threads and a bounded
+  // queue; when it is full the upload is still stored and served at full size.
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService thumbnailExecutor(@Value("${app.media.thumbnail-threads}") int threads,
+      @Value("${app.media.thumbnail-queue-capacity}") int queueCapacity) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet()));
+  }
+}
@@ -2,16 +2,24 @@ package com.nazarov.footballmanager.config;
 
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import java.util.List;
+import org.springdoc.core.customizers.OpenApiCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class OpenAPIConfiguration {
 
+  // Endpoints without an explicit produces are documented under */*
+  private static final List<String> JSON_TYPES = List.of("application/json", "*/*");
+  private static final List<String> BINARY_TYPES = List.of("application/cbor", "application/x-jackson-smile");
+
   @Bean
   public OpenAPI defineOpenApi() {
     String authSchema = "bearerAuth";
@@ -40,7 +48,9 @@ public class OpenAPIConfiguration {
         .title("Football Tournament API")
         .version("1.0")
         .description(
-            "REST API for managing football tournaments, leagues, teams, players, and statistics.")
+            "REST API for managing football tournaments, leagues, teams, players, and statistics. "
+                + "Responses documented as application/json are also available as application/cbor "
+                + "and application/x-jackson-smile, with the same schema.")
         .contact(myContact);
 
     return new OpenAPI().info(information)
@@ -48,4 +58,26 @@ public class OpenAPIConfiguration {
         .addServersItem(serverQa)
         .components(components);
   }
+
+  // The binary encodings carry the same fields as the JSON, so every JSON response schema is listed
+  // under them too and generated clients can pick either
+  @Bean
+  public OpenApiCustomizer binaryMediaTypes() {
+    return openApi -> openApi.getPaths().values().forEach(path -> path.readOperations().forEach(operation -> {
+      if (operation.getResponses() == null) {
+        return;
+      }
+      operation.getResponses().values().forEach(response -> {
+        Content content = response.getContent();
+        if (content == null) {
+          return;
+        }
+        JSON_TYPES.stream().map(content::get).filter(json -> json != null && json.getSchema() != null)
+            .filter(json -> !"binary".equals(json.getSchema().getFormat())) // Raw bytes such as media or snapshots
+            .findFirst()
+            .ifPresent(json -> BINARY_TYPES.forEach(type ->
+                content.putIfAbsent(type, new MediaType().schema(json.getSchema()))));
+      });
+    }));
+  }
 }
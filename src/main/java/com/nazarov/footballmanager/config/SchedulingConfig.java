@@ -0,0 +1,10 @@
+package com.nazarov.footballmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background pollers such as the outbox dispatcher
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -43,6 +44,7 @@ public class SecurityConfig {
       "/v3/api-docs/**", // OpenAPI spec
       "/swagger-ui/**", // Swagger UI
       "/swagger-ui.html",
+      "/actuator/health/**", // Liveness and readiness probes
   };
 
   @Bean
@@ -77,6 +79,7 @@ public class SecurityConfig {
         // Define authorization rules for HTTP requests
         .authorizeHttpRequests(auth -> auth
             .requestMatchers(PUBLIC_MATCHERS).permitAll() // Allow public access to specified paths
+            .requestMatchers(HttpMethod.GET, "/api/media/*").permitAll() // Images are public, their URLs unguessable
             .anyRequest().authenticated() // Require authentication for any other request
         );
 
@@ -94,7 +97,7 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:" + serverPort)); // Allow frontend origin
         configuration.setAllowedMethods(Arrays.asList("GET","POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "Idempotency-Key"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
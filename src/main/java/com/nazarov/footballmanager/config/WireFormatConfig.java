@@ -0,0 +1,28 @@
+package com.nazarov.footballmanager.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Binary encodings of the same DTOs for high-volume clients: Accept application/cbor or
+// application/x-jackson-smile instead of application/json. Both mappers come from the application's
+// Jackson builder, so field names, dates and modules match the JSON output and one schema describes
+// all three. JSON stays first, so clients that do not ask for a binary type are unaffected.
+@Configuration
+public class WireFormatConfig {
+
+  // Replaces the converter Spring MVC would otherwise build from a plain, unconfigured mapper
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+}
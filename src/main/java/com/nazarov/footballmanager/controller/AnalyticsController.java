@@ -0,0 +1,80 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.analytics.SeasonAnalyticsStore;
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.dto.analytics.AnalyticsFootprintDto;
+import com.nazarov.footballmanager.dto.analytics.LeaderboardEntryDto;
+import com.nazarov.footballmanager.dto.analytics.PlayerCareerDto;
+import com.nazarov.footballmanager.dto.analytics.TeamRecordDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "Cross-season statistics of completed tournaments")
+public class AnalyticsController {
+
+  private final SeasonAnalyticsStore seasonAnalyticsStore;
+
+  private static final int MAX_LEADERBOARD_SIZE = 100;
+
+  @Operation(summary = "Get a player's career statistics across completed seasons",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Career statistics retrieved")
+  @ApiResponse(responseCode = "404", description = "Player has no events in completed seasons")
+  @GetMapping("/players/{playerId}/career")
+  public ResponseEntity<PlayerCareerDto> getPlayerCareer(@PathVariable Integer playerId) {
+    return ResponseEntity.ok(seasonAnalyticsStore.getPlayerCareer(playerId));
+  }
+
+  @Operation(summary = "Get a team's all-time record across completed seasons",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Team record retrieved")
+  @ApiResponse(responseCode = "404", description = "Team has no matches in completed seasons")
+  @GetMapping("/teams/{teamId}/record")
+  public ResponseEntity<TeamRecordDto> getTeamRecord(@PathVariable Integer teamId) {
+    return ResponseEntity.ok(seasonAnalyticsStore.getTeamRecord(teamId));
+  }
+
+  @Operation(summary = "Get the all-time leaderboard for a stat type",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Leaderboard retrieved")
+  @GetMapping("/leaderboard")
+  public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(
+      @RequestParam(defaultValue = "GOAL") MatchStatType statType,
+      @RequestParam(defaultValue = "10") int limit) {
+    int boundedLimit = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+    return ResponseEntity.ok(seasonAnalyticsStore.getLeaderboard(statType, boundedLimit));
+  }
+
+  @Operation(summary = "Get the memory footprint of the analytics store",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Footprint retrieved")
+  @GetMapping("/footprint")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AnalyticsFootprintDto> getFootprint() {
+    return ResponseEntity.ok(seasonAnalyticsStore.getFootprint());
+  }
+
+  @Operation(summary = "Reload the analytics store from the database",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Store reloaded, new footprint returned")
+  @PostMapping("/reload")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AnalyticsFootprintDto> reload() {
+    return ResponseEntity.ok(seasonAnalyticsStore.reloadAsync().join());
+  }
+}
@@ -0,0 +1,80 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchStatDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedTournamentDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive/tournaments")
+@RequiredArgsConstructor
+@Tag(name = "Season Archive", description = "Read access to archived seasons without touching the database")
+public class ArchiveController {
+
+  private final SeasonArchiveService seasonArchiveService;
+
+  @Operation(summary = "Get an archived tournament with its leagues and final standings",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Archived tournament retrieved")
+  @ApiResponse(responseCode = "404", description = "Tournament has no archive")
+  @GetMapping("/{tournamentId}")
+  public ResponseEntity<ArchivedTournamentDto> getTournament(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(seasonArchiveService.getArchive(tournamentId).getTournament());
+  }
+
+  @Operation(summary = "Get the matches of an archived tournament, optionally for one team",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Archived matches retrieved")
+  @ApiResponse(responseCode = "404", description = "Tournament has no archive")
+  @GetMapping("/{tournamentId}/matches")
+  public ResponseEntity<List<ArchivedMatchDto>> getMatches(@PathVariable Integer tournamentId,
+      @RequestParam(required = false) Integer teamId) {
+    return ResponseEntity.ok(seasonArchiveService.getArchive(tournamentId).getMatches(teamId));
+  }
+
+  @Operation(summary = "Get a player's match events in an archived tournament",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Archived player events retrieved")
+  @ApiResponse(responseCode = "404", description = "Tournament has no archive")
+  @GetMapping("/{tournamentId}/players/{playerId}/stats")
+  public ResponseEntity<List<ArchivedMatchStatDto>> getPlayerStats(@PathVariable Integer tournamentId,
+      @PathVariable Integer playerId) {
+    return ResponseEntity.ok(seasonArchiveService.getArchive(tournamentId).getPlayerStats(playerId));
+  }
+
+  @Operation(summary = "Verify the checksums of an archive file",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Verification result returned")
+  @ApiResponse(responseCode = "404", description = "Tournament has no archive")
+  @GetMapping("/{tournamentId}/verification")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<ArchiveVerificationDto> verify(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(seasonArchiveService.getArchive(tournamentId).verify());
+  }
+
+  @Operation(summary = "(Re)write the archive file of a completed tournament",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Archive written and verified")
+  @ApiResponse(responseCode = "400", description = "Tournament is not completed")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @PostMapping("/{tournamentId}")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<ArchiveVerificationDto> writeArchive(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(seasonArchiveService.writeArchive(tournamentId));
+  }
+}
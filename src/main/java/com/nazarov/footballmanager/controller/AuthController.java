@@ -4,6 +4,8 @@ import com.nazarov.footballmanager.domain.User;
 import com.nazarov.footballmanager.dto.user.JwtAuthenticationResponseDto;
 import com.nazarov.footballmanager.dto.user.LoginRequestDto;
 import com.nazarov.footballmanager.dto.user.UserRegistrationDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.idempotency.Idempotent;
 import com.nazarov.footballmanager.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,9 +13,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.net.URI;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,12 +27,17 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Authentication", description = "APIs for user registration and login")
 public class AuthController {
 
+  private static final String BEARER_PREFIX = "Bearer ";
+
   private final AuthService authService;
 
   @Operation(summary = "Register a new user")
   @ApiResponse(responseCode = "201", description = "User registered successfully")
   @ApiResponse(responseCode = "400", description = "Invalid input or email already exists")
+  @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed")
+  @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
   @PostMapping("/register")
+  @Idempotent
   public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
     User user = authService.registerUser(registrationDto);
     return ResponseEntity.created(URI.create("/api/users/" + user.getUserId()))
@@ -44,4 +53,17 @@ public class AuthController {
     JwtAuthenticationResponseDto jwtResponse = authService.loginUser(loginRequestDto);
     return ResponseEntity.ok(jwtResponse);
   }
+
+  @Operation(summary = "Revoke the presented JWT token")
+  @ApiResponse(responseCode = "204", description = "Token revoked")
+  @ApiResponse(responseCode = "400", description = "Missing, invalid or expired token")
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+      throw new BadRequestException("Expected a bearer token.");
+    }
+    authService.logout(authorization.substring(BEARER_PREFIX.length()));
+    return ResponseEntity.noContent().build();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.async.AsyncJobService;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.net.URI;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Jobs", description = "Status of long-running operations")
+public class JobController {
+
+  // Suggested delay before the next status poll
+  private static final String POLL_AFTER_SECONDS = "2";
+
+  private final AsyncJobService asyncJobService;
+
+  @Operation(summary = "Get the state, progress and result of a job",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Job retrieved; failed jobs carry the error they ended with")
+  @ApiResponse(responseCode = "404", description = "Job not found or already cleaned up")
+  @GetMapping("/{jobId}")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AsyncJobDto> getJob(@PathVariable UUID jobId) {
+    return ResponseEntity.ok(asyncJobService.getJob(jobId));
+  }
+
+  // 202 response for a submitted job, pointing at its status resource
+  static ResponseEntity<AsyncJobDto> accepted(AsyncJobDto job) {
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/jobs/" + job.getJobId()))
+        .header(HttpHeaders.RETRY_AFTER, POLL_AFTER_SECONDS)
+        .body(job);
+  }
+}
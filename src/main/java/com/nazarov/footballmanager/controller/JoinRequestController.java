@@ -0,0 +1,39 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.dto.joinrequest.BatchApprovalRequestDto;
+import com.nazarov.footballmanager.dto.joinrequest.BatchApprovalResultDto;
+import com.nazarov.footballmanager.service.JoinRequestApprovalService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/join-requests")
+@RequiredArgsConstructor
+@Tag(name = "Join Requests", description = "APIs for processing team join requests")
+public class JoinRequestController {
+
+  private final JoinRequestApprovalService joinRequestApprovalService;
+
+  @Operation(summary = "Approve a batch of join requests",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Batch processed, outcome reported per request")
+  @ApiResponse(responseCode = "400", description = "Invalid input")
+  @ApiResponse(responseCode = "403", description = "User is not a team manager or administrator")
+  @PostMapping("/approvals")
+  @PreAuthorize("hasAnyRole('TEAM_MANAGER', 'ADMINISTRATOR')")
+  public ResponseEntity<BatchApprovalResultDto> approveRequests(
+      @Valid @RequestBody BatchApprovalRequestDto approvalRequestDto) {
+    BatchApprovalResultDto result = joinRequestApprovalService.approveRequests(approvalRequestDto.getRequestIds());
+    return ResponseEntity.ok(result);
+  }
+}
@@ -0,0 +1,46 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.service.TournamentQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leagues")
+@RequiredArgsConstructor
+@Tag(name = "League", description = "League standings and fixtures")
+public class LeagueController {
+
+  private final TournamentQueryService tournamentQueryService;
+
+  @Operation(summary = "Get the current standings of a league",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Standings retrieved")
+  @ApiResponse(responseCode = "404", description = "League not found")
+  @GetMapping("/{leagueId}/standings")
+  public ResponseEntity<List<StandingDto>> getStandings(@PathVariable Integer leagueId) {
+    return ResponseEntity.ok(tournamentQueryService.getStandings(leagueId));
+  }
+
+  @Operation(summary = "Get the next scheduled fixtures of a league",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Fixtures retrieved")
+  @ApiResponse(responseCode = "404", description = "League not found")
+  @GetMapping("/{leagueId}/fixtures/upcoming")
+  public ResponseEntity<List<MatchDto>> getUpcomingFixtures(@PathVariable Integer leagueId,
+      @RequestParam(defaultValue = "10") int limit) {
+    int cappedLimit = Math.max(1, Math.min(limit, TournamentQueryService.UPCOMING_FIXTURES_CACHED));
+    return ResponseEntity.ok(tournamentQueryService.getUpcomingFixtures(leagueId, cappedLimit));
+  }
+}
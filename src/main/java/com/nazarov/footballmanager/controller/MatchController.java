@@ -0,0 +1,144 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.CalendarPageDto;
+import com.nazarov.footballmanager.dto.match.FixtureRequestDto;
+import com.nazarov.footballmanager.dto.match.LiveEventAckDto;
+import com.nazarov.footballmanager.dto.match.LiveEventRequestDto;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.match.MatchResultRequestDto;
+import com.nazarov.footballmanager.dto.match.ScheduleBatchDto;
+import com.nazarov.footballmanager.dto.match.ScheduleValidationResultDto;
+import com.nazarov.footballmanager.idempotency.Idempotent;
+import com.nazarov.footballmanager.schedule.ScheduleService;
+import com.nazarov.footballmanager.service.LiveEventService;
+import com.nazarov.footballmanager.service.MatchCalendarService;
+import com.nazarov.footballmanager.service.MatchResultService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/matches")
+@RequiredArgsConstructor
+@Tag(name = "Matches", description = "Fixtures, schedule and match results")
+public class MatchController {
+
+  private final MatchResultService matchResultService;
+  private final ScheduleService scheduleService;
+  private final MatchCalendarService matchCalendarService;
+  private final LiveEventService liveEventService;
+
+  @Operation(summary = "List matches of a league, team or date range in kick-off order",
+      description = "'from' is inclusive and 'to' exclusive (ISO-8601 instants, at most 366 days apart). "
+          + "teamId matches home and away fixtures. Pass nextCursor of a page as cursor to get the next one.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Matches retrieved")
+  @ApiResponse(responseCode = "400", description = "Invalid window, status or cursor")
+  @ApiResponse(responseCode = "404", description = "League not found")
+  @GetMapping("/calendar")
+  public ResponseEntity<CalendarPageDto> getCalendar(@RequestParam(required = false) Integer leagueId,
+      @RequestParam(required = false) Integer teamId,
+      @RequestParam(required = false) List<MatchStatus> status,
+      @RequestParam Instant from,
+      @RequestParam Instant to,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + MatchCalendarService.DEFAULT_LIMIT) int limit) {
+    return ResponseEntity.ok(matchCalendarService.findMatches(leagueId, teamId, status, from, to, cursor, limit));
+  }
+
+  @Operation(summary = "Get a match with the version of its result",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Match retrieved")
+  @ApiResponse(responseCode = "404", description = "Match not found")
+  @GetMapping("/{matchId}")
+  public ResponseEntity<MatchDto> getMatch(@PathVariable Integer matchId) {
+    return ResponseEntity.ok(matchResultService.getMatch(matchId));
+  }
+
+  @Operation(summary = "Record the final score of a match",
+      description = "Pass the resultVersion the edit is based on as expectedVersion to be told when another "
+          + "administrator changed the result in the meantime; without it the stored result is overwritten.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Result recorded")
+  @ApiResponse(responseCode = "400", description = "Invalid score, cancelled match or tournament not active")
+  @ApiResponse(responseCode = "404", description = "Match not found")
+  @ApiResponse(responseCode = "409", description = "The result changed since expectedVersion, or a request with the same Idempotency-Key is still being processed")
+  @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
+  @PutMapping("/{matchId}/result")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  @Idempotent
+  public ResponseEntity<MatchDto> recordResult(@PathVariable Integer matchId,
+      @Valid @RequestBody MatchResultRequestDto request) {
+    return ResponseEntity.ok(matchResultService.recordResult(matchId, request));
+  }
+
+  @Operation(summary = "Record a goal, assist or card during a match",
+      description = "Acknowledged once durable; the event shows up in match stats shortly after. "
+          + "Send a client-generated eventId and reuse it when retrying, so the event is stored once.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "202", description = "Event accepted")
+  @ApiResponse(responseCode = "400", description = "Invalid event, team not in the match, cancelled match or tournament not active")
+  @ApiResponse(responseCode = "404", description = "Match not found")
+  @ApiResponse(responseCode = "503", description = "Too many events waiting to be stored; retry after the Retry-After delay")
+  @PostMapping("/{matchId}/events")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<LiveEventAckDto> recordEvent(@PathVariable Integer matchId,
+      @Valid @RequestBody LiveEventRequestDto request) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(liveEventService.record(matchId, request));
+  }
+
+  @Operation(summary = "Create a fixture",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "201", description = "Fixture created")
+  @ApiResponse(responseCode = "400", description = "Invalid fixture or tournament already completed")
+  @ApiResponse(responseCode = "404", description = "League not found")
+  @ApiResponse(responseCode = "409", description = "A team or the venue is already booked in that window, or a request with the same Idempotency-Key is still being processed")
+  @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
+  @PostMapping
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  @Idempotent
+  public ResponseEntity<MatchDto> createFixture(@Valid @RequestBody FixtureRequestDto request) {
+    MatchDto match = scheduleService.createFixture(request);
+    return ResponseEntity.created(URI.create("/api/matches/" + match.getMatchId())).body(match);
+  }
+
+  @Operation(summary = "Check a set of fixture moves for conflicts without applying them",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Conflict report returned")
+  @ApiResponse(responseCode = "404", description = "A match does not exist or is cancelled")
+  @PostMapping("/schedule/validation")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<ScheduleValidationResultDto> validateSchedule(@Valid @RequestBody ScheduleBatchDto request) {
+    return ResponseEntity.ok(scheduleService.validate(request.getEdits()));
+  }
+
+  @Operation(summary = "Move one or more fixtures; all moves are applied or none",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Fixtures moved")
+  @ApiResponse(responseCode = "400", description = "Invalid edit or completed match")
+  @ApiResponse(responseCode = "404", description = "A match does not exist or is cancelled")
+  @ApiResponse(responseCode = "409", description = "The edit creates conflicts; nothing was changed")
+  @PutMapping("/schedule")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<ScheduleValidationResultDto> reschedule(@Valid @RequestBody ScheduleBatchDto request) {
+    return ResponseEntity.ok(scheduleService.reschedule(request.getEdits()));
+  }
+}
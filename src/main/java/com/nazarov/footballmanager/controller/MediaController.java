@@ -0,0 +1,68 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.dto.media.MediaDto;
+import com.nazarov.footballmanager.media.BlobResponseWriter;
+import com.nazarov.footballmanager.media.MediaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Tag(name = "Media", description = "Profile pictures and team logos")
+public class MediaController {
+
+  private final MediaService mediaService;
+  private final BlobResponseWriter blobResponseWriter;
+
+  @Operation(summary = "Upload the current user's profile picture as a raw PNG or JPEG body",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Picture stored and set on the profile")
+  @ApiResponse(responseCode = "400", description = "Unsupported type, invalid image or too large")
+  @PutMapping("/users/me/profile-picture")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<MediaDto> uploadProfilePicture(
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body) {
+    return ResponseEntity.ok(mediaService.uploadProfilePicture(contentType, body));
+  }
+
+  @Operation(summary = "Upload a team logo as a raw PNG or JPEG body (Admin only)",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Logo stored and set on the team")
+  @ApiResponse(responseCode = "400", description = "Unsupported type, invalid image or too large")
+  @ApiResponse(responseCode = "404", description = "Team not found")
+  @PutMapping("/teams/{teamId}/logo")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<MediaDto> uploadTeamLogo(@PathVariable Integer teamId,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body) {
+    return ResponseEntity.ok(mediaService.uploadTeamLogo(teamId, contentType, body));
+  }
+
+  @Operation(summary = "Download an image or one of its thumbnails; supports Range requests")
+  @ApiResponse(responseCode = "200", description = "Image returned")
+  @ApiResponse(responseCode = "206", description = "Requested byte range returned")
+  @ApiResponse(responseCode = "304", description = "Image unchanged")
+  @ApiResponse(responseCode = "404", description = "Image not found")
+  @ApiResponse(responseCode = "416", description = "Range outside the image")
+  @GetMapping("/{name}")
+  public void getMedia(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    blobResponseWriter.write(request, response, mediaService.open(name));
+  }
+}
@@ -0,0 +1,57 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.rating.TeamRatingDto;
+import com.nazarov.footballmanager.service.TeamRatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/ratings")
+@RequiredArgsConstructor
+@Tag(name = "Ratings", description = "Elo ratings of teams")
+public class RatingController {
+
+  private final TeamRatingService teamRatingService;
+
+  private static final int MAX_RATINGS = 500;
+
+  @Operation(summary = "Get the highest rated teams",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Ratings retrieved")
+  @GetMapping("/teams")
+  public ResponseEntity<List<TeamRatingDto>> getRatings(@RequestParam(defaultValue = "50") int limit) {
+    int boundedLimit = Math.max(1, Math.min(limit, MAX_RATINGS));
+    return ResponseEntity.ok(teamRatingService.getRatings(boundedLimit));
+  }
+
+  @Operation(summary = "Get a team's current rating",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Rating retrieved")
+  @ApiResponse(responseCode = "404", description = "Team has no rated matches")
+  @GetMapping("/teams/{teamId}")
+  public ResponseEntity<TeamRatingDto> getRating(@PathVariable Integer teamId) {
+    return ResponseEntity.ok(teamRatingService.getRating(teamId));
+  }
+
+  @Operation(summary = "Rebuild all ratings from the match history",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "202", description = "Recompute job submitted, or the one already running returned")
+  @PostMapping("/recompute")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AsyncJobDto> recompute() {
+    return JobController.accepted(teamRatingService.startRecompute());
+  }
+}
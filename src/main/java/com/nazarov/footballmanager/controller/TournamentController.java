@@ -0,0 +1,135 @@
+package com.nazarov.footballmanager.controller;
+
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.simulation.SeasonSimulationDto;
+import com.nazarov.footballmanager.dto.tournament.LeagueDto;
+import com.nazarov.footballmanager.dto.tournament.RolloverRequestDto;
+import com.nazarov.footballmanager.dto.tournament.RolloverResultDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.service.SeasonFinalizationService;
+import com.nazarov.footballmanager.service.SeasonPartitionService;
+import com.nazarov.footballmanager.service.SeasonRolloverService;
+import com.nazarov.footballmanager.service.SeasonSimulationService;
+import com.nazarov.footballmanager.service.TournamentQueryService;
+import com.nazarov.footballmanager.service.TournamentSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/tournaments")
+@RequiredArgsConstructor
+@Tag(name = "Tournament", description = "APIs for managing tournaments")
+public class TournamentController {
+
+  private final SeasonFinalizationService seasonFinalizationService;
+  private final SeasonRolloverService seasonRolloverService;
+  private final SeasonPartitionService seasonPartitionService;
+  private final SeasonSimulationService seasonSimulationService;
+  private final TournamentQueryService tournamentQueryService;
+  private final TournamentSnapshotService tournamentSnapshotService;
+
+  @Operation(summary = "Get all active tournaments",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Active tournaments retrieved")
+  @GetMapping("/active")
+  public ResponseEntity<List<TournamentDto>> getActiveTournaments() {
+    return ResponseEntity.ok(tournamentQueryService.getActiveTournaments());
+  }
+
+  @Operation(summary = "Get the leagues of a tournament",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Leagues retrieved")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @GetMapping("/{tournamentId}/leagues")
+  public ResponseEntity<List<LeagueDto>> getLeagues(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(tournamentQueryService.getLeagues(tournamentId));
+  }
+
+  @Operation(summary = "Get the whole tournament as one document: leagues, standings, upcoming fixtures and results",
+      description = "Served pre-serialized and Brotli- or gzip-compressed when the client accepts it. Send the "
+          + "ETag back in If-None-Match to get 304 while the tournament is unchanged.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Snapshot retrieved")
+  @ApiResponse(responseCode = "304", description = "Snapshot unchanged since the given ETag")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @GetMapping("/{tournamentId}/snapshot")
+  public ResponseEntity<byte[]> getSnapshot(@PathVariable Integer tournamentId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    return tournamentSnapshotService.getSnapshot(tournamentId).toResponse(ifNoneMatch, acceptEncoding);
+  }
+
+  @Operation(summary = "Finalize a tournament: write final ranks and promotion statuses for every league",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "202", description = "Finalization job submitted, or the one already running returned")
+  @ApiResponse(responseCode = "400", description = "Tournament has not started or has unfinished matches")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @PostMapping("/{tournamentId}/finalization")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AsyncJobDto> finalizeTournament(@PathVariable Integer tournamentId) {
+    return JobController.accepted(seasonFinalizationService.startFinalization(tournamentId));
+  }
+
+  @Operation(summary = "Get the progress of the latest finalization run",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Finalization status retrieved")
+  @ApiResponse(responseCode = "404", description = "No finalization has been started for the tournament")
+  @GetMapping("/{tournamentId}/finalization")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<AsyncJobDto> getFinalizationStatus(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(seasonFinalizationService.getFinalizationStatus(tournamentId));
+  }
+
+  @Operation(summary = "Create next season's tournament from a completed one, applying promotions and relegations",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "201", description = "Next season created")
+  @ApiResponse(responseCode = "400", description = "Tournament is not completed, not finalized or already rolled over")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @PostMapping("/{tournamentId}/rollover")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<RolloverResultDto> rolloverTournament(@PathVariable Integer tournamentId,
+      @Valid @RequestBody RolloverRequestDto rolloverRequestDto) {
+    RolloverResultDto result = seasonRolloverService.rollover(tournamentId, rolloverRequestDto);
+    return ResponseEntity.created(URI.create("/api/tournaments/" + result.getTournamentId())).body(result);
+  }
+
+  @Operation(summary = "Detach a completed season's match partitions from the live tables",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "204",
+      description = "Partitions moved to the archive schema; they are dropped from the database after a grace period")
+  @ApiResponse(responseCode = "400",
+      description = "Tournament is not completed, already detached, or its archive is missing, corrupt or out of date")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @PostMapping("/{tournamentId}/partitions/detach")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<Void> detachPartitions(@PathVariable Integer tournamentId) {
+    seasonPartitionService.detachSeason(tournamentId);
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(summary = "Get title, promotion and relegation probabilities from simulating the rest of the season",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "200", description = "Simulation result retrieved")
+  @ApiResponse(responseCode = "400", description = "Tournament is not active")
+  @ApiResponse(responseCode = "404", description = "Tournament not found")
+  @GetMapping("/{tournamentId}/simulation")
+  public ResponseEntity<SeasonSimulationDto> getSimulation(@PathVariable Integer tournamentId) {
+    return ResponseEntity.ok(seasonSimulationService.simulate(tournamentId));
+  }
+}
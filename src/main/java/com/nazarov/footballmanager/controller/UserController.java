@@ -1,6 +1,7 @@
 package com.nazarov.footballmanager.controller;
 
 import com.nazarov.footballmanager.dto.user.UserViewDto;
+import com.nazarov.footballmanager.service.AuthService;
 import com.nazarov.footballmanager.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
   private final UserService userService;
+  private final AuthService authService;
 
   @Operation(summary = "Get current user's profile",
       security = @SecurityRequirement(name = "bearerAuth")) // Link to security scheme in OpenAPI config
@@ -32,4 +36,16 @@ public class UserController {
     return ResponseEntity.ok(userProfile);
   }
 
+  @Operation(summary = "Revoke every token of a user (Admin only)",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponse(responseCode = "204", description = "All tokens issued so far are revoked")
+  @ApiResponse(responseCode = "403", description = "Forbidden - caller is not an administrator")
+  @ApiResponse(responseCode = "404", description = "User not found")
+  @PostMapping("/{userId}/token-revocation")
+  @PreAuthorize("hasRole('ADMINISTRATOR')")
+  public ResponseEntity<Void> revokeTokens(@PathVariable Integer userId) {
+    authService.revokeAllTokens(userId);
+    return ResponseEntity.noContent().build();
+  }
+
 }
\ No newline at end of file
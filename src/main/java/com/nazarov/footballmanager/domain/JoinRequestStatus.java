@@ -0,0 +1,28 @@
+package com.nazarov.footballmanager.domain;
+
+import java.util.Arrays;
+
+// Mirrors the join_request_status Postgres enum
+public enum JoinRequestStatus {
+  PENDING("pending"),
+  APPROVED("approved"),
+  REJECTED("rejected"),
+  CANCELLED("cancelled");
+
+  private final String dbValue;
+
+  JoinRequestStatus(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  public String getDbValue() {
+    return dbValue;
+  }
+
+  public static JoinRequestStatus fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(status -> status.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown join request status: " + dbValue));
+  }
+}
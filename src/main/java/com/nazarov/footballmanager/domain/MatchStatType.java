@@ -0,0 +1,28 @@
+package com.nazarov.footballmanager.domain;
+
+import java.util.Arrays;
+
+// Mirrors the match_stat_type Postgres enum
+public enum MatchStatType {
+  GOAL("Goal"),
+  ASSIST("Assist"),
+  YELLOW_CARD("Yellow Card"),
+  RED_CARD("Red Card");
+
+  private final String dbValue;
+
+  MatchStatType(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  public String getDbValue() {
+    return dbValue;
+  }
+
+  public static MatchStatType fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(type -> type.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown match stat type: " + dbValue));
+  }
+}
@@ -0,0 +1,28 @@
+package com.nazarov.footballmanager.domain;
+
+import java.util.Arrays;
+
+// Mirrors the match_status Postgres enum
+public enum MatchStatus {
+  SCHEDULED("Scheduled"),
+  COMPLETED("Completed"),
+  POSTPONED("Postponed"),
+  CANCELLED("Cancelled");
+
+  private final String dbValue;
+
+  MatchStatus(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  public String getDbValue() {
+    return dbValue;
+  }
+
+  public static MatchStatus fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(status -> status.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown match status: " + dbValue));
+  }
+}
@@ -0,0 +1,27 @@
+package com.nazarov.footballmanager.domain;
+
+import java.util.Arrays;
+
+// Mirrors the promotion_relegation_status Postgres enum
+public enum PromotionStatus {
+  PROMOTED("Promoted"),
+  RELEGATED("Relegated"),
+  STAY("Stay");
+
+  private final String dbValue;
+
+  PromotionStatus(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  public String getDbValue() {
+    return dbValue;
+  }
+
+  public static PromotionStatus fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(status -> status.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown promotion status: " + dbValue));
+  }
+}
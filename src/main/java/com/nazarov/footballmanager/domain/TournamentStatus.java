@@ -0,0 +1,27 @@
+package com.nazarov.footballmanager.domain;
+
+import java.util.Arrays;
+
+// Mirrors the tournament_status Postgres enum
+public enum TournamentStatus {
+  SETUP("Setup"),
+  ACTIVE("Active"),
+  COMPLETED("Completed");
+
+  private final String dbValue;
+
+  TournamentStatus(String dbValue) {
+    this.dbValue = dbValue;
+  }
+
+  public String getDbValue() {
+    return dbValue;
+  }
+
+  public static TournamentStatus fromDbValue(String dbValue) {
+    return Arrays.stream(values())
+        .filter(status -> status.dbValue.equals(dbValue))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown tournament status: " + dbValue));
+  }
+}
@@ -0,0 +1,25 @@
+package com.nazarov.footballmanager.dto.analytics;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsFootprintDto {
+  private Instant loadedAt;
+  private long loadMillis;
+  private int tournaments;
+  private int events;
+  private int matches;
+  private int players;
+  private int teams;
+  private long columnBytes;
+  private long dictionaryBytes;
+  private long totalBytes;
+  private long bytesPerMillionEvents;
+}
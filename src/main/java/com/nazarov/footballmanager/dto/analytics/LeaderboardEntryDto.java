@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+  private int rank;
+  private Integer playerId;
+  private String playerName;
+  private int count;
+}
@@ -0,0 +1,21 @@
+package com.nazarov.footballmanager.dto.analytics;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerCareerDto {
+  private Integer playerId;
+  private String playerName;
+  private int goals;
+  private int assists;
+  private int yellowCards;
+  private int redCards;
+  private List<PlayerSeasonStatsDto> seasons;
+}
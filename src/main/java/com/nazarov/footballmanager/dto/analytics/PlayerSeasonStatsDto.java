@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSeasonStatsDto {
+  private Integer tournamentId;
+  private String tournamentName;
+  private int goals;
+  private int assists;
+  private int yellowCards;
+  private int redCards;
+}
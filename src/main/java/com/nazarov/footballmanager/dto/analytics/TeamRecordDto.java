@@ -0,0 +1,22 @@
+package com.nazarov.footballmanager.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamRecordDto {
+  private Integer teamId;
+  private String teamName;
+  private int seasons;
+  private int played;
+  private int won;
+  private int drawn;
+  private int lost;
+  private int goalsFor;
+  private int goalsAgainst;
+}
@@ -0,0 +1,23 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveVerificationDto {
+  private Integer tournamentId;
+  private String fileName;
+  private long sizeBytes;
+  private Instant createdAt;
+  private int matchCount;
+  private int statCount;
+  private boolean valid;
+  private List<String> corruptSections;
+}
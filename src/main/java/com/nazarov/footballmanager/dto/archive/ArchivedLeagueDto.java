@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLeagueDto {
+  private Integer leagueId;
+  private String name;
+  private Integer level;
+  private List<ArchivedStandingDto> standings;
+}
@@ -0,0 +1,24 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedMatchDto {
+  private Integer matchId;
+  private Integer leagueId;
+  private Integer homeTeamId;
+  private Integer awayTeamId;
+  private Instant matchDateTime;
+  private Integer homeScore;
+  private Integer awayScore;
+  private MatchStatus status;
+  private String location;
+}
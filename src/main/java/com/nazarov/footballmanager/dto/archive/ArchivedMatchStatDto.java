@@ -0,0 +1,20 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedMatchStatDto {
+  private Integer matchId;
+  private Integer playerId;
+  private String playerName;
+  private Integer teamId;
+  private MatchStatType statType;
+  private Integer minuteOfEvent;
+}
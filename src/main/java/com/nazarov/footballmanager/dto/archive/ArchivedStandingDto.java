@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedStandingDto {
+  private Integer teamId;
+  private String teamName;
+  private Integer finalRank;
+  private PromotionStatus promotionStatus;
+}
@@ -0,0 +1,22 @@
+package com.nazarov.footballmanager.dto.archive;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTournamentDto {
+  private Integer tournamentId;
+  private String name;
+  private String yearPeriod;
+  private Instant archivedAt;
+  private int matchCount;
+  private int statCount;
+  private List<ArchivedLeagueDto> leagues;
+}
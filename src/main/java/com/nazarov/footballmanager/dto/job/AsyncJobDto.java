@@ -0,0 +1,29 @@
+package com.nazarov.footballmanager.dto.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncJobDto {
+
+  public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+  private UUID jobId;
+  private String jobType;
+  private State state;
+  private int progressDone;
+  private Integer progressTotal;
+  private JsonNode result;
+  private JobErrorDto error;
+  private Instant createdAt;
+  private Instant startedAt;
+  private Instant finishedAt;
+}
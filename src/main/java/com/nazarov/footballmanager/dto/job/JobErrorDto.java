@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Same status, error and message a synchronous request would have answered with
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobErrorDto {
+  private int status;
+  private String error;
+  private String message;
+}
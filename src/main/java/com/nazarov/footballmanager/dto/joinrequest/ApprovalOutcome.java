@@ -0,0 +1,11 @@
+package com.nazarov.footballmanager.dto.joinrequest;
+
+public enum ApprovalOutcome {
+  APPROVED,
+  // Another request for the same player earlier in the batch won
+  SUPERSEDED,
+  ALREADY_ASSIGNED,
+  NOT_PENDING,
+  NOT_FOUND,
+  FORBIDDEN
+}
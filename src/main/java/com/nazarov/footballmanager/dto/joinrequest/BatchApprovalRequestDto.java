@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.joinrequest;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchApprovalRequestDto {
+
+  @NotEmpty(message = "At least one join request id is required")
+  @Size(max = 1000, message = "A batch cannot contain more than 1000 join requests")
+  private List<@NotNull(message = "Join request id cannot be null") Integer> requestIds;
+}
@@ -0,0 +1,14 @@
+package com.nazarov.footballmanager.dto.joinrequest;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchApprovalResultDto {
+  private int approvedCount;
+  private List<JoinRequestOutcomeDto> outcomes;
+  // Other pending requests of approved players that were rejected automatically
+  private List<Integer> autoRejectedRequestIds;
+}
@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.joinrequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JoinRequestOutcomeDto {
+  private Integer requestId;
+  private Integer userId;
+  private Integer teamId;
+  private ApprovalOutcome outcome;
+}
@@ -0,0 +1,16 @@
+package com.nazarov.footballmanager.dto.match;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarPageDto {
+  private List<MatchDto> matches;
+  private String nextCursor; // Pass back as cursor for the next page; null on the last page
+}
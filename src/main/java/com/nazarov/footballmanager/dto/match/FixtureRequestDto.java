@@ -0,0 +1,27 @@
+package com.nazarov.footballmanager.dto.match;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FixtureRequestDto {
+
+  @NotNull(message = "League id cannot be null")
+  private Integer leagueId;
+
+  @NotNull(message = "Home team id cannot be null")
+  private Integer homeTeamId;
+
+  @NotNull(message = "Away team id cannot be null")
+  private Integer awayTeamId;
+
+  @NotNull(message = "Match date and time cannot be null")
+  private Instant matchDateTime;
+
+  @Size(max = 255, message = "Location cannot exceed 255 characters")
+  private String location;
+}
@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.match;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEventAckDto {
+  private UUID eventId;
+  private Integer matchId;
+  private Instant acknowledgedAt; // Durable from here on; visible in match stats shortly after
+}
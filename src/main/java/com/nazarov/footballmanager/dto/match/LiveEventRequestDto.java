@@ -0,0 +1,34 @@
+package com.nazarov.footballmanager.dto.match;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEventRequestDto {
+
+  // Generated by the client so a retry after a timeout is stored once; assigned by the server if missing
+  private UUID eventId;
+
+  @NotNull(message = "Player ID cannot be null")
+  private Integer playerId;
+
+  @NotNull(message = "Team ID cannot be null")
+  private Integer teamId;
+
+  @NotNull(message = "Stat type cannot be null")
+  private MatchStatType statType;
+
+  @Min(value = 0, message = "Minute cannot be negative")
+  @Max(value = 150, message = "Minute is not realistic")
+  private Integer minute;
+}
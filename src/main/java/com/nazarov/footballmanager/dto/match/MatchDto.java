@@ -0,0 +1,26 @@
+package com.nazarov.footballmanager.dto.match;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchDto {
+  private Integer matchId;
+  private Integer tournamentId;
+  private Integer leagueId;
+  private Integer homeTeamId;
+  private Integer awayTeamId;
+  private Instant matchDateTime;
+  private String location;
+  private MatchStatus status;
+  private Integer homeScore;
+  private Integer awayScore;
+  private Integer resultVersion; // Pass as expectedVersion when editing the result; only set by match and result endpoints
+}
@@ -0,0 +1,27 @@
+package com.nazarov.footballmanager.dto.match;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MatchResultRequestDto {
+
+  @NotNull(message = "Home score cannot be null")
+  @Min(value = 0, message = "Home score cannot be negative")
+  @Max(value = 99, message = "Home score is not realistic")
+  private Integer homeScore;
+
+  @NotNull(message = "Away score cannot be null")
+  @Min(value = 0, message = "Away score cannot be negative")
+  @Max(value = 99, message = "Away score is not realistic")
+  private Integer awayScore;
+
+  // resultVersion of the match this edit is based on; refused with 409 if the result changed since.
+  // Without it the request overwrites whatever result is stored.
+  @Min(value = 0, message = "Expected version cannot be negative")
+  private Integer expectedVersion;
+}
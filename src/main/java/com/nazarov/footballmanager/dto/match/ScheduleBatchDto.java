@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.match;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ScheduleBatchDto {
+
+  @NotEmpty(message = "At least one schedule edit is required")
+  @Size(max = 1000, message = "A batch cannot contain more than 1000 schedule edits")
+  private List<@Valid @NotNull(message = "Schedule edit cannot be null") ScheduleEditDto> edits;
+}
@@ -0,0 +1,30 @@
+package com.nazarov.footballmanager.dto.match;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictDto {
+
+  public enum Type {
+    TEAM, // a team would play two overlapping matches
+    VENUE // a location would host two overlapping matches
+  }
+
+  private Type type;
+  // Fixture being created (null id) or moved
+  private Integer matchId;
+  private Instant matchDateTime;
+  private Integer conflictingMatchId;
+  private Instant conflictingMatchDateTime;
+  // The team or location both matches need
+  private Integer teamId;
+  private String location;
+  private String message;
+}
@@ -0,0 +1,22 @@
+package com.nazarov.footballmanager.dto.match;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Data;
+
+// New slot of an existing fixture; a null location keeps the current one
+@Data
+@Builder
+public class ScheduleEditDto {
+
+  @NotNull(message = "Match id cannot be null")
+  private Integer matchId;
+
+  @NotNull(message = "Match date and time cannot be null")
+  private Instant matchDateTime;
+
+  @Size(max = 255, message = "Location cannot exceed 255 characters")
+  private String location;
+}
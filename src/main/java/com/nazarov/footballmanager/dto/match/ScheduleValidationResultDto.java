@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.match;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleValidationResultDto {
+  private boolean valid;
+  private int checkedFixtures;
+  private List<ScheduleConflictDto> conflicts;
+}
@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.media;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaDto {
+  private String url;
+  private String contentType;
+  private long size;
+  // Thumbnail URL by box size in pixels; served at full size until generated
+  private Map<Integer, String> thumbnails;
+}
@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.rating;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingRecomputeResultDto {
+  private int tournaments;
+  private int leagues;
+  private long matches;
+  private int teams;
+  private long elapsedMillis;
+}
@@ -0,0 +1,20 @@
+package com.nazarov.footballmanager.dto.rating;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamRatingDto {
+  private Integer teamId;
+  private String teamName;
+  private double rating;
+  private int matchesRated;
+  private Integer lastMatchId;
+  private Instant updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.simulation;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueSimulationDto {
+  private Integer leagueId;
+  private String leagueName;
+  private Integer level;
+  private int remainingMatches;
+  private List<TeamOutcomeDto> teams;
+}
@@ -0,0 +1,20 @@
+package com.nazarov.footballmanager.dto.simulation;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonSimulationDto {
+  private Integer tournamentId;
+  private int iterations;
+  private Instant simulatedAt;
+  private long elapsedMillis;
+  private List<LeagueSimulationDto> leagues;
+}
@@ -0,0 +1,23 @@
+package com.nazarov.footballmanager.dto.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamOutcomeDto {
+  private int currentPosition;
+  private Integer teamId;
+  private String teamName;
+  private int currentPoints;
+  private double expectedPoints;
+  private double titleProbability;
+  private double promotionProbability;
+  private double relegationProbability;
+  // Probability of each final position, index 0 is first place
+  private double[] positionProbabilities;
+}
@@ -0,0 +1,16 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinalizationResultDto {
+  private Integer tournamentId;
+  private int leagues;
+  private long elapsedMillis;
+}
@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueDto {
+  private Integer leagueId;
+  private Integer tournamentId;
+  private String name;
+  private Integer level;
+}
@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueSnapshotDto {
+  private LeagueDto league;
+  private List<StandingDto> standings; // One row per team of the league, also those yet to play
+  private List<MatchDto> upcomingFixtures; // Scheduled and postponed, in kick-off order
+  private List<MatchDto> results; // Completed, in kick-off order
+}
@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RolloverRequestDto {
+
+  @NotBlank(message = "Name cannot be blank")
+  @Size(max = 255, message = "Name cannot exceed 255 characters")
+  private String name;
+
+  @NotBlank(message = "Year period cannot be blank")
+  @Size(max = 100, message = "Year period cannot exceed 100 characters")
+  private String yearPeriod;
+}
@@ -0,0 +1,19 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverResultDto {
+  private Integer sourceTournamentId;
+  private Integer tournamentId;
+  private String name;
+  private String yearPeriod;
+  private int leagueCount;
+  private int teamCount;
+}
@@ -0,0 +1,24 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingDto {
+  private int position;
+  private Integer teamId;
+  private String teamName;
+  private int played;
+  private int won;
+  private int drawn;
+  private int lost;
+  private int goalsFor;
+  private int goalsAgainst;
+  private int goalDifference;
+  private int points;
+}
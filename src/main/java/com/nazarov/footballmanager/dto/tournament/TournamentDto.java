@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentDto {
+  private Integer tournamentId;
+  private String name;
+  private String yearPeriod;
+  private TournamentStatus status;
+}
@@ -0,0 +1,18 @@
+package com.nazarov.footballmanager.dto.tournament;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Everything a tournament page shows, read from one database snapshot. Nothing in it depends on when
+// it was built, so equal content serializes to equal bytes and keeps its ETag.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentSnapshotDto {
+  private TournamentDto tournament;
+  private List<LeagueSnapshotDto> leagues;
+}
@@ -0,0 +1,21 @@
+package com.nazarov.footballmanager.dto.user;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CareerSummaryDto {
+  // Totals over all seasons
+  private int appearances;
+  private int goals;
+  private int assists;
+  private int yellowCards;
+  private int redCards;
+  private List<SeasonStatsDto> seasons;
+}
@@ -0,0 +1,22 @@
+package com.nazarov.footballmanager.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonStatsDto {
+  private Integer tournamentId;
+  private String tournamentName;
+  private String yearPeriod;
+  private Integer teamId;
+  private int appearances;
+  private int goals;
+  private int assists;
+  private int yellowCards;
+  private int redCards;
+}
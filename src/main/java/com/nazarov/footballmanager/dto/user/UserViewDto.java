@@ -2,11 +2,15 @@ package com.nazarov.footballmanager.dto.user;
 
 import java.time.LocalDate;
 import java.util.Set;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserViewDto {
   private Integer id;
   private String name;
@@ -16,4 +20,5 @@ public class UserViewDto {
   private String profilePictureUrl;
   private String contactNumber;
   private Set<String> roles;
+  private CareerSummaryDto careerSummary;
 }
\ No newline at end of file
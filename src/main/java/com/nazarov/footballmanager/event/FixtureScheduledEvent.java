@@ -0,0 +1,7 @@
+package com.nazarov.footballmanager.event;
+
+import java.time.Instant;
+
+// A fixture was created or moved to a new slot; rescheduled tells the two apart
+public record FixtureScheduledEvent(int tournamentId, int matchId, int homeTeamId, int awayTeamId,
+    Instant matchDateTime, String location, boolean rescheduled) {}
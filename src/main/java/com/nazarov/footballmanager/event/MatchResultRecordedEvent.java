@@ -0,0 +1,7 @@
+package com.nazarov.footballmanager.event;
+
+// Published inside the transaction that stores a match result. correction is true when the match already
+// had a result, so anything derived from the old score has to be rebuilt rather than updated.
+// Listeners that cache derived data should react after commit.
+public record MatchResultRecordedEvent(int tournamentId, int leagueId, int matchId, int homeTeamId, int awayTeamId,
+    int homeScore, int awayScore, boolean correction) {}
@@ -0,0 +1,12 @@
+package com.nazarov.footballmanager.event;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import java.util.List;
+import java.util.UUID;
+
+// Live goals and cards of one match stored by one flush of the live event ingestor. Events replayed
+// after a crash that were already stored are left out, so every event id is published once.
+public record MatchStatsRecordedEvent(int tournamentId, int matchId, List<Stat> stats) {
+
+  public record Stat(UUID eventId, int playerId, int teamId, MatchStatType statType, Integer minute) {}
+}
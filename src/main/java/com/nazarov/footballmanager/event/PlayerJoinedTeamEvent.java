@@ -0,0 +1,4 @@
+package com.nazarov.footballmanager.event;
+
+// A join request was approved and the player is now assigned to the team
+public record PlayerJoinedTeamEvent(int requestId, int userId, int teamId) {}
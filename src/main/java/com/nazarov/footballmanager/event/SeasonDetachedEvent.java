@@ -0,0 +1,5 @@
+package com.nazarov.footballmanager.event;
+
+// Published inside the transaction that moves a completed season's match partitions out of the live
+// tables; from then on its matches and stats are only in the archive schema and the archive file
+public record SeasonDetachedEvent(int tournamentId) {}
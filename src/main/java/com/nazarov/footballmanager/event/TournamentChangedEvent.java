@@ -0,0 +1,5 @@
+package com.nazarov.footballmanager.event;
+
+// Published inside the transaction of every write to a tournament row or its leagues: creation,
+// rollover and status changes. Completion publishes TournamentCompletedEvent as well.
+public record TournamentChangedEvent(int tournamentId) {}
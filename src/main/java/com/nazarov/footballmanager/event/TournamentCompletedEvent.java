@@ -0,0 +1,4 @@
+package com.nazarov.footballmanager.event;
+
+// Published once all leagues of a tournament are finalized and its status is Completed
+public record TournamentCompletedEvent(int tournamentId) {}
@@ -0,0 +1,4 @@
+package com.nazarov.footballmanager.event;
+
+// A new account was created; carries no personal data, listeners load what they need
+public record UserRegisteredEvent(int userId) {}
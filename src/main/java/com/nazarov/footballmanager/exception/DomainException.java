@@ -0,0 +1,11 @@
+package com.nazarov.footballmanager.exception;
+
+// Base of the exceptions that answer a client mistake (400, 404, 409) or shed load (503). They are
+// expected, often provoked on purpose by scanners, and the message says everything, so no stack trace
+// is captured: filling it in is most of the cost of throwing.
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(String message) {
+    super(message, null, false, false);
+  }
+}
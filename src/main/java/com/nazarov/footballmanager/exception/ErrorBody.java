@@ -0,0 +1,82 @@
+package com.nazarov.footballmanager.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+// The standard error payload {timestamp, status, error, message, path} with everything but the
+// timestamp and path serialized up front. Rendering is two byte copies and the escaping of the path,
+// so answering a flood of bad requests costs no reflection-based JSON work. Bodies of fixed messages
+// are built once through constant; messages carrying ids or request values go through of.
+public final class ErrorBody {
+
+  // Only messages written in the code, so the map is bounded by the code base
+  private static final Map<HttpStatus, Map<String, ErrorBody>> CONSTANTS = new ConcurrentHashMap<>();
+  private static final byte[] TIMESTAMP_PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+  private final HttpStatus status;
+  private final byte[] middle; // ","status":...,"path":"
+
+  private ErrorBody(HttpStatus status, String message) {
+    this.status = status;
+    this.middle = ("\",\"status\":" + status.value()
+        + ",\"error\":" + quote(status.getReasonPhrase())
+        + ",\"message\":" + (message == null ? "null" : quote(message))
+        + ",\"path\":\"").getBytes(StandardCharsets.UTF_8);
+  }
+
+  // A fixed message, serialized on first use and shared from then on
+  public static ErrorBody constant(HttpStatus status, String message) {
+    return CONSTANTS.computeIfAbsent(status, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(Objects.requireNonNull(message), key -> new ErrorBody(status, key));
+  }
+
+  // A message built from the request or the failing entity, serialized for this response only
+  public static ErrorBody of(HttpStatus status, String message) {
+    return new ErrorBody(status, message);
+  }
+
+  public HttpStatus status() {
+    return status;
+  }
+
+  public byte[] render(String path) {
+    byte[] timestamp = Instant.now().toString().getBytes(StandardCharsets.US_ASCII);
+    byte[] escapedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+    ByteArrayOutputStream out = new ByteArrayOutputStream(TIMESTAMP_PREFIX.length + timestamp.length
+        + middle.length + escapedPath.length + SUFFIX.length);
+    out.writeBytes(TIMESTAMP_PREFIX);
+    out.writeBytes(timestamp);
+    out.writeBytes(middle);
+    out.writeBytes(escapedPath);
+    out.writeBytes(SUFFIX);
+    return out.toByteArray();
+  }
+
+  public ResponseEntity<byte[]> toResponse(String path) {
+    return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(render(path));
+  }
+
+  // For filters and entry points that answer before Spring MVC is involved
+  public void write(HttpServletResponse response, String path) throws IOException {
+    byte[] body = render(path);
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private static String quote(String value) {
+    return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + '"';
+  }
+}
@@ -0,0 +1,28 @@
+package com.nazarov.footballmanager.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+// http.server.errors counted per exception type and status. Counters are looked up once per pair,
+// not rebuilt on every error.
+@Component
+@RequiredArgsConstructor
+public class ErrorMetrics {
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Class<?>, Map<HttpStatus, Counter>> counters = new ConcurrentHashMap<>();
+
+  public void count(Class<? extends Throwable> type, HttpStatus status) {
+    counters.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(status, key -> Counter.builder("http.server.errors")
+            .tag("exception", type.getSimpleName())
+            .tag("status", String.valueOf(status.value()))
+            .register(meterRegistry))
+        .increment();
+  }
+}
@@ -0,0 +1,34 @@
+package com.nazarov.footballmanager.exception;
+
+import org.springframework.http.HttpStatus;
+
+// HTTP status of an exception, following GlobalExceptionHandler, for failures that happen off the request thread
+public final class ErrorStatus {
+
+  // All a client learns of an unexpected error; the cause can name tables, classes or internal state
+  public static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred.";
+
+  private ErrorStatus() {
+  }
+
+  public static HttpStatus of(Throwable ex) {
+    if (ex instanceof ResourceNotFoundException) {
+      return HttpStatus.NOT_FOUND;
+    }
+    if (ex instanceof BadRequestException) {
+      return HttpStatus.BAD_REQUEST;
+    }
+    if (ex instanceof ScheduleConflictException || ex instanceof ResultConflictException) {
+      return HttpStatus.CONFLICT;
+    }
+    if (ex instanceof ServiceUnavailableException) {
+      return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+    return HttpStatus.INTERNAL_SERVER_ERROR;
+  }
+
+  // The message a client may see: the exception's own for expected errors, the generic one otherwise
+  public static String messageOf(Throwable ex) {
+    return of(ex) == HttpStatus.INTERNAL_SERVER_ERROR ? UNEXPECTED_ERROR_MESSAGE : ex.getMessage();
+  }
+}
@@ -2,57 +2,125 @@ package com.nazarov.footballmanager.exception;
 
 import com.fasterxml.jackson.databind.JsonMappingException.Reference;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+// Client errors are answered from pre-serialized ErrorBody payloads and only counted; a stack trace
+// is logged for unexpected errors alone, and then once per origin and interval.
 @ControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+  private static final ErrorBody NO_ENDPOINT = ErrorBody.constant(HttpStatus.NOT_FOUND,
+      "No endpoint matches the request.");
+  private static final ErrorBody UNSUPPORTED_MEDIA_TYPE = ErrorBody.constant(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+      "The request content type is not supported.");
+  private static final ErrorBody UNREADABLE_BODY = ErrorBody.constant(HttpStatus.BAD_REQUEST,
+      "Invalid request body format or type mismatch.");
+  // The cause of an unexpected error is logged, never sent
+  private static final ErrorBody INTERNAL_ERROR = ErrorBody.constant(HttpStatus.INTERNAL_SERVER_ERROR,
+      ErrorStatus.UNEXPECTED_ERROR_MESSAGE);
+
+  private final ErrorMetrics errorMetrics;
+  private final UnexpectedErrorLogger unexpectedErrorLogger;
+
   @ExceptionHandler(ResourceNotFoundException.class)
-  public ResponseEntity<ErrorDetails> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), request.getDescription(false));
-    log.warn("Resource not found: {}", ex.getMessage());
-    return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+  public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+    log.debug("Resource not found: {}", ex.getMessage());
+    return respond(ex, ErrorBody.of(HttpStatus.NOT_FOUND, ex.getMessage()), request);
   }
 
   @ExceptionHandler(BadRequestException.class)
-  public ResponseEntity<ErrorDetails> handleBadRequestException(BadRequestException ex, WebRequest request) {
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Bad Request", ex.getMessage(), request.getDescription(false));
+  public ResponseEntity<byte[]> handleBadRequestException(BadRequestException ex, WebRequest request) {
     log.warn("Bad request: {}", ex.getMessage());
-    return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    return respond(ex, ErrorBody.of(HttpStatus.BAD_REQUEST, ex.getMessage()), request);
+  }
+
+  @ExceptionHandler(ScheduleConflictException.class)
+  public ResponseEntity<ConflictErrorDetails> handleScheduleConflictException(ScheduleConflictException ex, WebRequest request) {
+    ConflictErrorDetails errorDetails = new ConflictErrorDetails(Instant.now(), HttpStatus.CONFLICT.value(), "Conflict", ex.getMessage(), ex.getConflicts(), request.getDescription(false));
+    log.warn("Schedule conflict: {}", ex.getMessage());
+    errorMetrics.count(ex.getClass(), HttpStatus.CONFLICT);
+    return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(ResultConflictException.class)
+  public ResponseEntity<byte[]> handleResultConflictException(ResultConflictException ex, WebRequest request) {
+    log.info("Result conflict: {}", ex.getMessage());
+    return respond(ex, ErrorBody.of(HttpStatus.CONFLICT, ex.getMessage()), request);
+  }
+
+  // Retry-After keeps well-behaved clients from retrying in a tight loop
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<byte[]> handleServiceUnavailableException(ServiceUnavailableException ex,
+      WebRequest request) {
+    log.warn("Service unavailable: {}", ex.getMessage());
+    errorMetrics.count(ex.getClass(), HttpStatus.SERVICE_UNAVAILABLE);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(ErrorBody.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()).render(request.getDescription(false)));
   }
 
   @ExceptionHandler(HttpMessageNotReadableException.class)
-  public ResponseEntity<ErrorDetails> handleHttpMessageNotReadable(
+  public ResponseEntity<byte[]> handleHttpMessageNotReadable(
       HttpMessageNotReadableException ex, WebRequest request) {
-    String specificMessage = "Invalid request body format or type mismatch.";
+    ErrorBody body = UNREADABLE_BODY;
     if (ex.getCause() instanceof InvalidFormatException ife) {
       String fieldName = ife.getPath().stream()
           .map(Reference::getFieldName)
           .collect(Collectors.joining("."));
-      specificMessage = String.format("Invalid format for field '%s'. Expected format compatible with %s.",
-          fieldName, ife.getTargetType().getSimpleName());
+      body = ErrorBody.of(HttpStatus.BAD_REQUEST, String.format(
+          "Invalid format for field '%s'. Expected format compatible with %s.",
+          fieldName, ife.getTargetType().getSimpleName()));
     } else if (ex.getMessage() != null) {
-      specificMessage = "Invalid JSON request: " + ex.getMessage().split(";")[0];
+      body = ErrorBody.of(HttpStatus.BAD_REQUEST, "Invalid JSON request: " + ex.getMessage().split(";")[0]);
     }
 
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Bad Request", specificMessage, request.getDescription(false));
     log.warn("HTTP message not readable: {}", ex.getMessage());
-    return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    return respond(ex, body, request);
+  }
+
+  // Query and path parameters that cannot be converted, e.g. an unknown status or a malformed timestamp
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<byte[]> handleMethodArgumentTypeMismatch(
+      MethodArgumentTypeMismatchException ex, WebRequest request) {
+    String expected = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "a different type";
+    String message = String.format("Invalid value '%s' for parameter '%s'. Expected %s.",
+        ex.getValue(), ex.getName(), expected);
+    log.warn("Parameter type mismatch: {}", message);
+    return respond(ex, ErrorBody.of(HttpStatus.BAD_REQUEST, message), request);
+  }
+
+  @ExceptionHandler(MissingServletRequestParameterException.class)
+  public ResponseEntity<byte[]> handleMissingParameter(
+      MissingServletRequestParameterException ex, WebRequest request) {
+    log.warn("Missing parameter: {}", ex.getParameterName());
+    return respond(ex, ErrorBody.of(HttpStatus.BAD_REQUEST, ex.getMessage()), request);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -65,35 +133,69 @@ public class GlobalExceptionHandler {
     });
     ValidationErrorDetails errorDetails = new ValidationErrorDetails(Instant.now(), HttpStatus.BAD_REQUEST.value(), "Validation Failed", errors, request.getDescription(false));
     log.warn("Validation failed: {}", errors);
+    errorMetrics.count(ex.getClass(), HttpStatus.BAD_REQUEST);
     return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
   }
 
+  // Requests for paths nothing is mapped to, mostly scanners probing for well-known files
+  @ExceptionHandler(NoResourceFoundException.class)
+  public ResponseEntity<byte[]> handleNoResourceFound(NoResourceFoundException ex, WebRequest request) {
+    log.debug("No endpoint for {}", ex.getResourcePath());
+    return respond(ex, NO_ENDPOINT, request);
+  }
+
+  @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+  public ResponseEntity<byte[]> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex,
+      WebRequest request) {
+    log.debug("Method not supported: {}", ex.getMethod());
+    errorMetrics.count(ex.getClass(), HttpStatus.METHOD_NOT_ALLOWED);
+    ErrorBody body = ErrorBody.of(HttpStatus.METHOD_NOT_ALLOWED,
+        "Request method '" + ex.getMethod() + "' is not supported.");
+    HttpHeaders headers = new HttpHeaders();
+    if (ex.getSupportedHttpMethods() != null) {
+      headers.setAllow(ex.getSupportedHttpMethods());
+    }
+    return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).headers(headers)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(body.render(request.getDescription(false)));
+  }
+
+  @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+  public ResponseEntity<byte[]> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex,
+      WebRequest request) {
+    log.debug("Content type not supported: {}", ex.getContentType());
+    return respond(ex, UNSUPPORTED_MEDIA_TYPE, request);
+  }
+
   // Security exceptions
   @ExceptionHandler(AuthenticationException.class)
-  public ResponseEntity<ErrorDetails> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.UNAUTHORIZED.value(), "Unauthorized", ex.getMessage(), request.getDescription(false));
+  public ResponseEntity<byte[]> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
     log.warn("Authentication failed: {}", ex.getMessage());
-    return new ResponseEntity<>(errorDetails, HttpStatus.UNAUTHORIZED);
+    return respond(ex, ErrorBody.of(HttpStatus.UNAUTHORIZED, ex.getMessage()), request);
   }
 
   @ExceptionHandler(AccessDeniedException.class)
-  public ResponseEntity<ErrorDetails> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.FORBIDDEN.value(), "Forbidden", ex.getMessage(), request.getDescription(false));
+  public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
     log.warn("Access denied: {}", ex.getMessage());
-    return new ResponseEntity<>(errorDetails, HttpStatus.FORBIDDEN);
+    return respond(ex, ErrorBody.of(HttpStatus.FORBIDDEN, ex.getMessage()), request);
   }
 
 
   // Global fallback exception handler
   @ExceptionHandler(Exception.class)
-  public ResponseEntity<ErrorDetails> handleGlobalException(Exception ex, WebRequest request) {
-    ErrorDetails errorDetails = new ErrorDetails(Instant.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error", ex.getMessage(), request.getDescription(false));
-    log.error("An unexpected error occurred: ", ex);
-    return new ResponseEntity<>(errorDetails, HttpStatus.INTERNAL_SERVER_ERROR);
+  public ResponseEntity<byte[]> handleGlobalException(Exception ex, WebRequest request) {
+    String path = request.getDescription(false);
+    unexpectedErrorLogger.log(ex, path);
+    return respond(ex, INTERNAL_ERROR, request);
+  }
+
+  private ResponseEntity<byte[]> respond(Exception ex, ErrorBody body, WebRequest request) {
+    errorMetrics.count(ex.getClass(), body.status());
+    return body.toResponse(request.getDescription(false));
   }
 
 
-  private record ErrorDetails(Instant timestamp, int status, String error, String message, String path) {}
+  private record ConflictErrorDetails(Instant timestamp, int status, String error, String message, List<ScheduleConflictDto> conflicts, String path) {}
   private record ValidationErrorDetails(Instant timestamp, int status, String error, Map<String, String> validationErrors, String path) {}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.nazarov.footballmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A result edit based on a version of the match that another administrator has changed since
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResultConflictException extends DomainException {
+  public ResultConflictException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,21 @@
+package com.nazarov.footballmanager.exception;
+
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ScheduleConflictException extends DomainException {
+
+  private final List<ScheduleConflictDto> conflicts;
+
+  public ScheduleConflictException(List<ScheduleConflictDto> conflicts) {
+    super(conflicts.size() + " scheduling conflicts found.");
+    this.conflicts = List.copyOf(conflicts);
+  }
+
+  public List<ScheduleConflictDto> getConflicts() {
+    return conflicts;
+  }
+}
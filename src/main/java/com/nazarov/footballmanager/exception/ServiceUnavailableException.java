@@ -0,0 +1,12 @@
+package com.nazarov.footballmanager.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Load shedding: the request was fine but the instance cannot take it right now. Clients retry.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends DomainException {
+  public ServiceUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,74 @@
+package com.nazarov.footballmanager.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Logs the full trace of an unexpected error once per trace-log-interval per origin (exception type
+// and throwing frame). Repeats in between are only counted and reported with the next trace, so a
+// failing dependency or a request that reliably hits a bug cannot turn the log into the bottleneck.
+@Component
+@Slf4j
+public class UnexpectedErrorLogger {
+
+  // Origins tracked at once; beyond that the map starts over rather than grow without bound
+  private static final int MAX_ORIGINS = 1000;
+
+  private final long intervalNanos;
+  private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+
+  private static final class Origin {
+    private final AtomicLong suppressed = new AtomicLong();
+    private volatile long loggedAt;
+
+    private Origin(long loggedAt) {
+      this.loggedAt = loggedAt;
+    }
+  }
+
+  public UnexpectedErrorLogger(@Value("${app.errors.trace-log-interval}") Duration interval) {
+    this.intervalNanos = interval.toNanos();
+  }
+
+  public void log(Throwable ex, String path) {
+    if (origins.size() >= MAX_ORIGINS) {
+      origins.clear();
+    }
+    long now = System.nanoTime();
+    // A new origin counts as last logged one interval ago, so its first occurrence is logged
+    Origin origin = origins.computeIfAbsent(originOf(ex), key -> new Origin(now - intervalNanos));
+    long loggedAt = origin.loggedAt;
+    if (now - loggedAt < intervalNanos) {
+      origin.suppressed.incrementAndGet();
+      return;
+    }
+    synchronized (origin) {
+      if (origin.loggedAt != loggedAt) {
+        origin.suppressed.incrementAndGet(); // Another thread just logged this origin
+        return;
+      }
+      origin.loggedAt = now;
+    }
+    long suppressed = origin.suppressed.getAndSet(0);
+    if (suppressed == 0) {
+      log.error("Unexpected error on {}", path, ex);
+    } else {
+      log.error("Unexpected error on {} ({} similar errors since the last trace)", path, suppressed, ex);
+    }
+  }
+
+  // Type and throwing frame of the root cause, plus the outermost type
+  static String originOf(Throwable ex) {
+    Throwable root = ex;
+    while (root.getCause() != null && root.getCause() != root) {
+      root = root.getCause();
+    }
+    StackTraceElement[] frames = root.getStackTrace();
+    String frame = frames.length > 0 ? frames[0].toString() : "";
+    return ex.getClass().getName() + '|' + root.getClass().getName() + '|' + frame;
+  }
+}
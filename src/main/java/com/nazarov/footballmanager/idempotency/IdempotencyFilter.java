@@ -0,0 +1,241 @@
+package com.nazarov.footballmanager.idempotency;
+
+import com.nazarov.footballmanager.exception.ErrorBody;
+import com.nazarov.footballmanager.idempotency.IdempotencyStore.Attempt;
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+// Replays the stored response of an @Idempotent endpoint when a client retries with the same
+// Idempotency-Key, instead of running the handler (and its bcrypt work or inserts) again. Registered
+// as a plain servlet filter, so it runs after Spring Security and keys are scoped to the caller.
+// Server errors are not stored, so a retry after one runs the request again.
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH");
+
+  private final IdempotencyStore idempotencyStore;
+  private final RequestMappingHandlerMapping handlerMapping;
+  private final int maxBodyBytes;
+  private final Map<HandlerMethod, Boolean> idempotentHandlers = new ConcurrentHashMap<>();
+
+  public IdempotencyFilter(IdempotencyStore idempotencyStore,
+      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+      @Value("${app.idempotency.max-body-size}") DataSize maxBodySize) {
+    this.idempotencyStore = idempotencyStore;
+    this.handlerMapping = handlerMapping;
+    this.maxBodyBytes = (int) maxBodySize.toBytes();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !WRITE_METHODS.contains(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (!isIdempotent(request)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      writeError(request, response, HttpStatus.BAD_REQUEST,
+          IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+      return;
+    }
+    byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+    if (body.length > maxBodyBytes) {
+      writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+          "Request body is too large for a request with an " + IDEMPOTENCY_KEY_HEADER + ".");
+      return;
+    }
+
+    Attempt attempt;
+    try {
+      attempt = idempotencyStore.begin(scope(request), key, hash(request, body));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServletException("Interrupted while waiting for a request with the same key", ex);
+    }
+    switch (attempt.decision()) {
+      case REPLAY -> replay(attempt.response(), response);
+      case MISMATCH -> writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+          IDEMPOTENCY_KEY_HEADER + " was already used for a different request.");
+      case BUSY -> {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        writeError(request, response, HttpStatus.CONFLICT,
+            "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed.");
+      }
+      case EXECUTE -> execute(new CachedBodyRequest(request, body), response, filterChain, attempt);
+    }
+  }
+
+  private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+      Attempt attempt) throws ServletException, IOException {
+    ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+    StoredResponse stored = null;
+    try {
+      filterChain.doFilter(request, responseWrapper);
+      if (responseWrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+        stored = new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+            responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getContentAsByteArray());
+      }
+    } finally {
+      idempotencyStore.finish(attempt, stored);
+      responseWrapper.copyBodyToResponse();
+    }
+  }
+
+  private boolean isIdempotent(HttpServletRequest request) {
+    HandlerExecutionChain chain;
+    try {
+      chain = handlerMapping.getHandler(request);
+    } catch (Exception ex) {
+      return false;
+    }
+    return chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod
+        && idempotentHandlers.computeIfAbsent(handlerMethod, method -> method.hasMethodAnnotation(Idempotent.class));
+  }
+
+  private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+    response.setStatus(stored.status());
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    if (stored.location() != null) {
+      response.setHeader(HttpHeaders.LOCATION, stored.location());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    response.setContentLength(stored.body().length);
+    response.getOutputStream().write(stored.body());
+  }
+
+  // Every message here is fixed text, so its body is serialized once
+  private static void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+      String message) throws IOException {
+    ErrorBody.constant(status, message).write(response, "uri=" + request.getRequestURI());
+  }
+
+  // Anonymous callers have no name, so their client address keeps two of them that happen to pick
+  // the same key from sharing (and replaying) one stored response
+  private static String scope(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    String caller = authentication != null && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)
+        ? authentication.getName()
+        : "- " + request.getRemoteAddr();
+    return request.getMethod() + ' ' + request.getRequestURI() + ' ' + caller;
+  }
+
+  private static byte[] hash(HttpServletRequest request, byte[] body) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      if (request.getQueryString() != null) {
+        digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update((byte) 0);
+      digest.update(body);
+      return digest.digest();
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  // The body had to be read for hashing, so the handler reads it from memory
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return input.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package com.nazarov.footballmanager.idempotency;
+
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository;
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository.StoredKey;
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository.StoredResponse;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Decides whether a keyed request runs or gets a stored response. Completed responses are kept in a
+// bounded in-memory tier in front of the table. A duplicate of a request that is still running on this
+// instance waits on it in memory; a duplicate of one running on another instance polls the table.
+// Claims of running requests are kept alive by a heartbeat, so only the claim of a dead instance
+// expires and is taken over.
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+  public enum Decision { EXECUTE, REPLAY, MISMATCH, BUSY }
+
+  // Result of begin(); an EXECUTE attempt must be passed to finish()
+  public record Attempt(Decision decision, StoredResponse response, String scope, String key, InFlight inFlight) {}
+
+  record InFlight(byte[] requestHash, UUID claimToken, CompletableFuture<StoredResponse> response) {}
+
+  private record HotEntry(byte[] requestHash, StoredResponse response, long expiresAtMillis) {}
+
+  private static final long POLL_MILLIS = 100;
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final Duration ttl;
+  private final Duration processingTimeout;
+  private final Duration waitTimeout;
+  private final int hotTierSize;
+
+  private final Map<String, HotEntry> hotTier = new ConcurrentHashMap<>();
+  private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+      @Value("${app.idempotency.ttl}") Duration ttl,
+      @Value("${app.idempotency.processing-timeout}") Duration processingTimeout,
+      @Value("${app.idempotency.wait-timeout}") Duration waitTimeout,
+      @Value("${app.idempotency.hot-tier-size}") int hotTierSize) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.ttl = ttl;
+    this.processingTimeout = processingTimeout;
+    this.waitTimeout = waitTimeout;
+    this.hotTierSize = hotTierSize;
+  }
+
+  public Attempt begin(String scope, String key, byte[] requestHash) throws InterruptedException {
+    String id = scope + ' ' + key;
+    HotEntry hot = hotTier.get(id);
+    if (hot != null && hot.expiresAtMillis > System.currentTimeMillis()) {
+      return matches(hot.requestHash, requestHash) ? replay(hot.response) : decision(Decision.MISMATCH);
+    }
+
+    InFlight own = new InFlight(requestHash, UUID.randomUUID(), new CompletableFuture<>());
+    InFlight running = inFlight.putIfAbsent(id, own);
+    if (running != null) {
+      return awaitLocal(running, requestHash);
+    }
+    try {
+      if (idempotencyKeyRepository.claim(scope, key, requestHash, own.claimToken(), processingTimeout, ttl)) {
+        return new Attempt(Decision.EXECUTE, null, scope, key, own);
+      }
+      Attempt attempt = awaitRemote(scope, key, requestHash, own);
+      if (attempt.decision() != Decision.EXECUTE) {
+        release(id, own, attempt.response());
+      }
+      return attempt;
+    } catch (RuntimeException | InterruptedException ex) {
+      release(id, own, null);
+      throw ex;
+    }
+  }
+
+  // response is null when the request failed in a way that must not be replayed
+  public void finish(Attempt attempt, StoredResponse response) {
+    String id = attempt.scope() + ' ' + attempt.key();
+    try {
+      UUID claimToken = attempt.inFlight().claimToken();
+      if (response == null) {
+        idempotencyKeyRepository.release(attempt.scope(), attempt.key(), claimToken);
+      } else if (idempotencyKeyRepository.complete(attempt.scope(), attempt.key(), claimToken, response)) {
+        remember(id, attempt.inFlight().requestHash(), response);
+      } else {
+        log.warn("Claim of idempotency key {} was taken over while the request ran; keeping the other response",
+            attempt.key());
+      }
+    } finally {
+      release(id, attempt.inFlight(), response);
+    }
+  }
+
+  // Claims of requests waiting for a remote one are not in the table under their token and are skipped
+  @Scheduled(fixedDelayString = "${app.idempotency.heartbeat-interval}")
+  public void heartbeat() {
+    try {
+      idempotencyKeyRepository.heartbeat(
+          inFlight.values().stream().map(InFlight::claimToken).toList(), processingTimeout);
+    } catch (RuntimeException ex) {
+      log.warn("Extending idempotency claims failed: {}", ex.getMessage());
+    }
+  }
+
+  // Drops expired responses from the in-memory tier; the rows are purged by IdempotencyKeyPurgeJob
+  @Scheduled(fixedDelayString = "${app.idempotency.purge-interval}")
+  public void evictExpired() {
+    long now = System.currentTimeMillis();
+    hotTier.values().removeIf(entry -> entry.expiresAtMillis <= now);
+  }
+
+  private Attempt awaitLocal(InFlight running, byte[] requestHash) throws InterruptedException {
+    if (!matches(running.requestHash(), requestHash)) {
+      return decision(Decision.MISMATCH);
+    }
+    try {
+      StoredResponse response = running.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      return response != null ? replay(response) : decision(Decision.BUSY);
+    } catch (TimeoutException | ExecutionException ex) {
+      return decision(Decision.BUSY);
+    }
+  }
+
+  private Attempt awaitRemote(String scope, String key, byte[] requestHash, InFlight own)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+    do {
+      Optional<StoredKey> stored = idempotencyKeyRepository.find(scope, key);
+      if (stored.isEmpty()) {
+        // Released or expired in the meantime, so this request may run after all
+        if (idempotencyKeyRepository.claim(scope, key, requestHash, own.claimToken(), processingTimeout, ttl)) {
+          return new Attempt(Decision.EXECUTE, null, scope, key, own);
+        }
+      } else if (!matches(stored.get().requestHash(), requestHash)) {
+        return decision(Decision.MISMATCH);
+      } else if (stored.get().response() != null) {
+        remember(scope + ' ' + key, requestHash, stored.get().response());
+        return replay(stored.get().response());
+      }
+      Thread.sleep(POLL_MILLIS);
+    } while (System.nanoTime() < deadline);
+    return decision(Decision.BUSY);
+  }
+
+  private void remember(String id, byte[] requestHash, StoredResponse response) {
+    if (hotTier.size() >= hotTierSize) {
+      evictExpired();
+      if (hotTier.size() >= hotTierSize) {
+        return;
+      }
+    }
+    hotTier.put(id, new HotEntry(requestHash, response, System.currentTimeMillis() + ttl.toMillis()));
+  }
+
+  private void release(String id, InFlight own, StoredResponse response) {
+    inFlight.remove(id, own);
+    own.response().complete(response);
+  }
+
+  private static boolean matches(byte[] stored, byte[] requestHash) {
+    return MessageDigest.isEqual(stored, requestHash);
+  }
+
+  private static Attempt replay(StoredResponse response) {
+    return new Attempt(Decision.REPLAY, response, null, null, null);
+  }
+
+  private static Attempt decision(Decision decision) {
+    return new Attempt(decision, null, null, null, null);
+  }
+}
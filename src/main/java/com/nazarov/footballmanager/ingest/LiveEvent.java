@@ -0,0 +1,48 @@
+package com.nazarov.footballmanager.ingest;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+// A match_stats row on its way through the live event log. sequence is assigned by the log and only
+// orders the events of one instance; eventId identifies the event everywhere, also in match_stats.
+public record LiveEvent(long sequence, UUID eventId, int tournamentId, int matchId, int playerId, int teamId,
+    MatchStatType statType, Integer minute, Instant receivedAt) {
+
+  // sequence, eventId, tournament, match, player, team, type, minute, receivedAt
+  static final int ENCODED_SIZE = Long.BYTES + 2 * Long.BYTES + 4 * Integer.BYTES + 1 + Integer.BYTES + Long.BYTES;
+
+  private static final MatchStatType[] STAT_TYPES = MatchStatType.values();
+
+  public LiveEvent withSequence(long sequence) {
+    return new LiveEvent(sequence, eventId, tournamentId, matchId, playerId, teamId, statType, minute, receivedAt);
+  }
+
+  void encode(ByteBuffer buffer) {
+    buffer.putLong(sequence)
+        .putLong(eventId.getMostSignificantBits())
+        .putLong(eventId.getLeastSignificantBits())
+        .putInt(tournamentId)
+        .putInt(matchId)
+        .putInt(playerId)
+        .putInt(teamId)
+        .put((byte) statType.ordinal())
+        .putInt(minute == null ? -1 : minute)
+        .putLong(receivedAt.toEpochMilli());
+  }
+
+  static LiveEvent decode(ByteBuffer buffer) {
+    long sequence = buffer.getLong();
+    UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+    int tournamentId = buffer.getInt();
+    int matchId = buffer.getInt();
+    int playerId = buffer.getInt();
+    int teamId = buffer.getInt();
+    MatchStatType statType = STAT_TYPES[buffer.get()];
+    int minute = buffer.getInt();
+    Instant receivedAt = Instant.ofEpochMilli(buffer.getLong());
+    return new LiveEvent(sequence, eventId, tournamentId, matchId, playerId, teamId, statType,
+        minute < 0 ? null : minute, receivedAt);
+  }
+}
@@ -0,0 +1,319 @@
+package com.nazarov.footballmanager.ingest;
+
+import com.nazarov.footballmanager.event.MatchStatsRecordedEvent;
+import com.nazarov.footballmanager.exception.ServiceUnavailableException;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.MatchStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+// Write-behind path for live match events. append() returns once the event is durable in the local
+// LiveEventLog; a single flusher thread then stores the events in match_stats, one transaction per
+// batch, so a burst costs one commit rather than one per event. Neither thread waits to fill a
+// batch: whatever queued up during the previous fsync or commit goes out together, so batches grow
+// with the load and a quiet match is stored right away.
+//
+// Events acknowledged before a crash are still in the log and stored on the next start. Their ids
+// make the insert idempotent, so events stored just before the crash are not counted twice.
+// Each flush publishes one MatchStatsRecordedEvent per match to the outbox, in the same transaction.
+// An acknowledged event is never dropped: one the database refuses is parked in live_event_rejects.
+@Component
+@Slf4j
+public class LiveEventIngestor {
+
+  private static final long POLL_MILLIS = 100;
+  private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+  private record Pending(LiveEvent event, long enqueuedAt, CompletableFuture<LiveEvent> durable) {}
+
+  private final MatchStatsRepository matchStatsRepository;
+  private final OutboxPublisher outboxPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final LiveEventLog eventLog;
+  private final int batchSize;
+  private final int maxBacklog;
+  private final Duration ackTimeout;
+  private final Duration drainTimeout;
+
+  private final BlockingQueue<Pending> appendQueue = new LinkedBlockingQueue<>();
+  // Durable in the log, not yet in Postgres; recovered events first
+  private final BlockingQueue<LiveEvent> flushQueue = new LinkedBlockingQueue<>();
+  private final AtomicLong backlog = new AtomicLong();
+
+  private final Counter appended;
+  private final Counter flushed;
+  private final Counter overloaded;
+  private final Counter invalid;
+  private final Timer appendLatency;
+  private final Timer flushLatency;
+  private final DistributionSummary batchSizes;
+
+  private volatile boolean running;
+  private volatile long drainDeadline = Long.MAX_VALUE;
+  private Thread writer;
+  private Thread flusher;
+
+  public LiveEventIngestor(MatchStatsRepository matchStatsRepository,
+      OutboxPublisher outboxPublisher,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.live-events.log-dir}") Path logDir,
+      @Value("${app.live-events.segment-size}") DataSize segmentSize,
+      @Value("${app.live-events.fsync}") boolean fsync,
+      @Value("${app.live-events.batch-size}") int batchSize,
+      @Value("${app.live-events.max-backlog}") int maxBacklog,
+      @Value("${app.live-events.ack-timeout}") Duration ackTimeout,
+      @Value("${app.live-events.drain-timeout}") Duration drainTimeout) throws IOException {
+    this.matchStatsRepository = matchStatsRepository;
+    this.outboxPublisher = outboxPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.eventLog = LiveEventLog.open(logDir, segmentSize.toBytes(), fsync);
+    this.batchSize = batchSize;
+    this.maxBacklog = maxBacklog;
+    this.ackTimeout = ackTimeout;
+    this.drainTimeout = drainTimeout;
+
+    List<LiveEvent> recovered = eventLog.takeUnflushed();
+    flushQueue.addAll(recovered);
+    backlog.set(recovered.size());
+
+    this.appended = Counter.builder("live.events.appended").register(meterRegistry);
+    this.flushed = Counter.builder("live.events.flushed").register(meterRegistry);
+    this.overloaded = Counter.builder("live.events.rejected").tag("reason", "overload").register(meterRegistry);
+    this.invalid = Counter.builder("live.events.rejected").tag("reason", "invalid").register(meterRegistry);
+    this.appendLatency = Timer.builder("live.events.append.latency")
+        .description("From receiving an event to its acknowledgement, including the log fsync")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.flushLatency = Timer.builder("live.events.flush.latency")
+        .description("From acknowledging the oldest event of a batch to the commit that stored it")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.batchSizes = DistributionSummary.builder("live.events.flush.batch.size").register(meterRegistry);
+    Gauge.builder("live.events.backlog", backlog, AtomicLong::get).register(meterRegistry);
+    Gauge.builder("live.events.log.segments", eventLog, LiveEventLog::segmentCount).register(meterRegistry);
+  }
+
+  @EventListener(ApplicationStartedEvent.class)
+  public void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    writer = new Thread(this::writeLoop, "live-event-log");
+    flusher = new Thread(this::flushLoop, "live-event-flusher");
+    writer.setDaemon(true);
+    flusher.setDaemon(true);
+    writer.start();
+    flusher.start();
+  }
+
+  // Blocks until the event is in the log. A timeout leaves the outcome open, so clients retry with
+  // the same event id.
+  public LiveEvent append(LiveEvent event) {
+    if (!running) {
+      throw new ServiceUnavailableException("Live event ingestion is not running.");
+    }
+    if (backlog.get() + appendQueue.size() >= maxBacklog) {
+      overloaded.increment();
+      throw new ServiceUnavailableException("Too many live events are waiting to be stored, try again later.");
+    }
+    Pending pending = new Pending(event, System.nanoTime(), new CompletableFuture<>());
+    appendQueue.add(pending);
+    try {
+      return pending.durable().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      throw new ServiceUnavailableException("The live event was not confirmed in time, retry with the same eventId.");
+    } catch (ExecutionException ex) {
+      throw new ServiceUnavailableException("The live event log cannot be written, try again later.");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("The live event was not confirmed, retry with the same eventId.");
+    }
+  }
+
+  // Stops taking events, stores what it can within the drain timeout and leaves the rest to the next start
+  @PreDestroy
+  public void stop() throws InterruptedException, IOException {
+    if (!running) {
+      eventLog.close();
+      return;
+    }
+    running = false;
+    drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+    writer.join(drainTimeout.toMillis());
+    flusher.join(drainTimeout.toMillis() + MAX_RETRY_DELAY_MILLIS);
+    if (!flushQueue.isEmpty()) {
+      log.warn("{} live events remain in the log and are stored on the next start", flushQueue.size());
+    }
+    eventLog.close();
+  }
+
+  private void writeLoop() {
+    List<Pending> batch = new ArrayList<>(batchSize);
+    while (running || !appendQueue.isEmpty()) {
+      try {
+        Pending first = appendQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        appendQueue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<Pending> batch) {
+    List<LiveEvent> logged;
+    try {
+      logged = eventLog.append(batch.stream().map(Pending::event).toList());
+    } catch (IOException ex) {
+      log.error("Cannot append {} live events to the log", batch.size(), ex);
+      batch.forEach(pending -> pending.durable().completeExceptionally(ex));
+      return;
+    }
+    backlog.addAndGet(logged.size());
+    flushQueue.addAll(logged);
+    appended.increment(logged.size());
+    long now = System.nanoTime();
+    for (int i = 0; i < batch.size(); i++) {
+      Pending pending = batch.get(i);
+      appendLatency.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+      pending.durable().complete(logged.get(i));
+    }
+  }
+
+  private void flushLoop() {
+    List<LiveEvent> batch = new ArrayList<>(batchSize);
+    while (draining()) {
+      try {
+        LiveEvent first = flushQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        flushQueue.drainTo(batch, batchSize - 1);
+        if (!flush(batch)) {
+          return;
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  // Retries until the batch is stored; false if shutdown cut it short, the log still has the events
+  private boolean flush(List<LiveEvent> batch) throws InterruptedException {
+    long delayMillis = 0;
+    while (true) {
+      try {
+        int rejected = 0;
+        try {
+          store(batch);
+        } catch (DataIntegrityViolationException ex) {
+          rejected = storeEachOrReject(batch);
+        }
+        completed(batch, rejected);
+        return true;
+      } catch (RuntimeException ex) {
+        if (!draining()) {
+          return false;
+        }
+        delayMillis = Math.min(Math.max(delayMillis * 2, 100), MAX_RETRY_DELAY_MILLIS);
+        log.warn("Cannot store {} live events, retrying in {} ms: {}", batch.size(), delayMillis, ex.getMessage());
+        Thread.sleep(delayMillis);
+      }
+    }
+  }
+
+  private void store(List<LiveEvent> events) {
+    transactionTemplate.executeWithoutResult(status -> publish(matchStatsRepository.insertAll(events)));
+  }
+
+  private void publish(List<LiveEvent> inserted) {
+    Map<Integer, List<LiveEvent>> byMatch = new LinkedHashMap<>();
+    inserted.forEach(event -> byMatch.computeIfAbsent(event.matchId(), key -> new ArrayList<>()).add(event));
+    byMatch.forEach((matchId, events) -> outboxPublisher.publish(OutboxEvents.MATCH, matchId,
+        new MatchStatsRecordedEvent(events.get(0).tournamentId(), matchId, events.stream()
+            .map(event -> new MatchStatsRecordedEvent.Stat(event.eventId(), event.playerId(), event.teamId(),
+                event.statType(), event.minute()))
+            .toList())));
+  }
+
+  // One bad event (a player or match deleted after it was acknowledged) must not hold back the batch
+  // it came with; it is parked rather than dropped
+  private int storeEachOrReject(List<LiveEvent> batch) {
+    int rejected = 0;
+    for (LiveEvent event : batch) {
+      try {
+        store(List.of(event));
+      } catch (DataIntegrityViolationException ex) {
+        String reason = ex.getMostSpecificCause().getMessage();
+        transactionTemplate.executeWithoutResult(status -> matchStatsRepository.reject(event, reason));
+        rejected++;
+        invalid.increment();
+        log.warn("Parked live event {} of match {} in live_event_rejects: {}", event.eventId(), event.matchId(),
+            reason);
+      }
+    }
+    return rejected;
+  }
+
+  private void completed(List<LiveEvent> batch, int rejected) {
+    flushLatency.record(Duration.between(batch.get(0).receivedAt(), Instant.now()));
+    batchSizes.record(batch.size());
+    flushed.increment(batch.size() - rejected);
+    backlog.addAndGet(-batch.size());
+    try {
+      eventLog.checkpoint(batch.get(batch.size() - 1).sequence());
+    } catch (IOException ex) {
+      log.warn("Cannot checkpoint the live event log, the events are stored again on the next start: {}",
+          ex.getMessage());
+    }
+  }
+
+  // After stop() the writer may still be appending the last requests
+  private boolean draining() {
+    if (running) {
+      return true;
+    }
+    return System.nanoTime() < drainDeadline && (writer.isAlive() || !flushQueue.isEmpty());
+  }
+}
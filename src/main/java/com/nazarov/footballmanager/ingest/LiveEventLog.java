@@ -0,0 +1,233 @@
+package com.nazarov.footballmanager.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+// Append-only log of acknowledged live events, split into segment files named after their first
+// sequence. A frame is [length][crc32c][event]; a crash can leave a torn frame at the tail of a
+// segment, which is cut off when the log is opened. The checkpoint file holds the last sequence
+// stored in Postgres, and segments with nothing newer are deleted when it moves.
+//
+// append() is called by one writer thread and checkpoint() by one flusher thread.
+@Slf4j
+final class LiveEventLog implements Closeable {
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String CHECKPOINT = "checkpoint";
+  private static final int FRAME_HEADER = 2 * Integer.BYTES;
+  static final int FRAME_SIZE = FRAME_HEADER + LiveEvent.ENCODED_SIZE;
+
+  private final Path directory;
+  private final long segmentSize;
+  private final boolean fsync;
+  private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+  private final CRC32C crc = new CRC32C();
+  private List<LiveEvent> unflushed = new ArrayList<>();
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(FRAME_SIZE * 256);
+  private FileChannel current;
+  private volatile long currentFirstSequence;
+  private long currentSize;
+  private long nextSequence;
+
+  private LiveEventLog(Path directory, long segmentSize, boolean fsync) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.fsync = fsync;
+  }
+
+  // Reads what the previous run left behind and starts a new segment
+  static LiveEventLog open(Path directory, long segmentSize, boolean fsync) throws IOException {
+    Files.createDirectories(directory);
+    LiveEventLog eventLog = new LiveEventLog(directory, segmentSize, fsync);
+    eventLog.recover();
+    return eventLog;
+  }
+
+  // Events acknowledged by an earlier run but not checkpointed, in sequence order; handed out once
+  List<LiveEvent> takeUnflushed() {
+    List<LiveEvent> events = unflushed;
+    unflushed = List.of();
+    return events;
+  }
+
+  // Writes the events as one write and, with fsync, one force: they are durable when this returns
+  List<LiveEvent> append(List<LiveEvent> events) throws IOException {
+    if (currentSize >= segmentSize) {
+      roll();
+    }
+    int bytes = events.size() * FRAME_SIZE;
+    if (buffer.capacity() < bytes) {
+      buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+    }
+    buffer.clear();
+    List<LiveEvent> appended = new ArrayList<>(events.size());
+    for (LiveEvent event : events) {
+      LiveEvent sequenced = event.withSequence(nextSequence++);
+      int start = buffer.position();
+      buffer.putInt(LiveEvent.ENCODED_SIZE).putInt(0);
+      sequenced.encode(buffer);
+      crc.reset();
+      crc.update(buffer.slice(start + FRAME_HEADER, LiveEvent.ENCODED_SIZE));
+      buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+      appended.add(sequenced);
+    }
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        current.write(buffer);
+      }
+      if (fsync) {
+        current.force(false);
+      }
+    } catch (IOException ex) {
+      discardPartialWrite();
+      throw ex;
+    }
+    currentSize += bytes;
+    return appended;
+  }
+
+  // Not forced: a checkpoint lost in a crash only makes the next start replay events Postgres already
+  // has, and those inserts are no-ops
+  void checkpoint(long flushedSequence) throws IOException {
+    Path temp = directory.resolve(CHECKPOINT + ".tmp");
+    Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(flushedSequence).array());
+    Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    // A segment is done once the next one starts right after the checkpoint or earlier
+    for (Map.Entry<Long, Path> segment : segments.headMap(currentFirstSequence, false).entrySet()) {
+      Long next = segments.higherKey(segment.getKey());
+      if (next == null || next - 1 > flushedSequence) {
+        break;
+      }
+      Files.deleteIfExists(segment.getValue());
+      segments.remove(segment.getKey());
+    }
+  }
+
+  int segmentCount() {
+    return segments.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (current != null) {
+      current.close();
+    }
+  }
+
+  private void recover() throws IOException {
+    long checkpoint = readCheckpoint();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())),
+            file);
+      }
+    }
+    long lastSequence = checkpoint;
+    for (Map.Entry<Long, Path> segment : List.copyOf(segments.entrySet())) {
+      long last = readSegment(segment.getValue(), checkpoint);
+      if (last == 0) {
+        Files.delete(segment.getValue());
+        segments.remove(segment.getKey());
+      }
+      lastSequence = Math.max(lastSequence, last);
+    }
+    nextSequence = lastSequence + 1;
+    if (!unflushed.isEmpty()) {
+      log.info("Recovered {} live events not yet stored, sequences {} to {}", unflushed.size(),
+          unflushed.get(0).sequence(), unflushed.get(unflushed.size() - 1).sequence());
+    }
+    roll();
+  }
+
+  // Collects the events after the checkpoint and returns the last sequence in the segment, 0 if none
+  private long readSegment(Path file, long checkpoint) throws IOException {
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+    long last = 0;
+    while (content.remaining() >= FRAME_SIZE) {
+      int start = content.position();
+      int length = content.getInt();
+      int checksum = content.getInt();
+      if (length != LiveEvent.ENCODED_SIZE) {
+        content.position(start);
+        break;
+      }
+      crc.reset();
+      crc.update(content.slice(start + FRAME_HEADER, LiveEvent.ENCODED_SIZE));
+      if ((int) crc.getValue() != checksum) {
+        content.position(start);
+        break;
+      }
+      LiveEvent event = LiveEvent.decode(content);
+      last = event.sequence();
+      if (last > checkpoint) {
+        unflushed.add(event);
+      }
+    }
+    if (content.position() < content.limit()) {
+      log.warn("Cutting off torn tail of live event segment {} at byte {} of {}", file.getFileName(),
+          content.position(), content.limit());
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.truncate(content.position());
+      }
+    }
+    return last;
+  }
+
+  private long readCheckpoint() throws IOException {
+    Path file = directory.resolve(CHECKPOINT);
+    if (!Files.exists(file)) {
+      return 0;
+    }
+    byte[] content = Files.readAllBytes(file);
+    if (content.length != Long.BYTES) {
+      log.warn("Ignoring unreadable live event checkpoint, replaying every segment");
+      return 0;
+    }
+    return ByteBuffer.wrap(content).getLong();
+  }
+
+  private void roll() throws IOException {
+    if (current != null) {
+      current.close();
+    }
+    Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+    current = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    segments.put(nextSequence, file);
+    currentFirstSequence = nextSequence;
+    currentSize = 0;
+  }
+
+  // A failed write may have left part of a frame behind, which would hide everything after it on replay
+  private void discardPartialWrite() {
+    try {
+      current.truncate(currentSize);
+      current.position(currentSize);
+    } catch (IOException ex) {
+      log.error("Cannot cut off a failed live event write, starting a new segment", ex);
+      try {
+        roll();
+      } catch (IOException rollFailure) {
+        ex.addSuppressed(rollFailure);
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.repository.AsyncJobRepository;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+// Fails async jobs whose instance died mid-run and deletes finished jobs past their retention
+@Component
+@Slf4j
+public class AsyncJobReaperJob implements ClusterJob {
+
+  private final AsyncJobRepository asyncJobRepository;
+  private final JobSchedule schedule;
+  private final Duration staleAfter;
+  private final Duration retention;
+
+  public AsyncJobReaperJob(AsyncJobRepository asyncJobRepository,
+      @Value("${app.async-jobs.reap-interval}") Duration interval,
+      @Value("${app.async-jobs.stale-after}") Duration staleAfter,
+      @Value("${app.async-jobs.retention}") Duration retention) {
+    this.asyncJobRepository = asyncJobRepository;
+    this.schedule = JobSchedule.fixedRate(interval);
+    this.staleAfter = staleAfter;
+    this.retention = retention;
+  }
+
+  @Override
+  public String name() {
+    return "async-job-reaper";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+    int abandoned = asyncJobRepository.failAbandoned(staleAfter, status.value(), status.getReasonPhrase(),
+        "The instance running the job stopped responding.");
+    if (abandoned > 0) {
+      log.warn("Failed {} abandoned async jobs", abandoned);
+    }
+    log.info("Deleted {} finished async jobs", asyncJobRepository.deleteFinishedBefore(Instant.now().minus(retention)));
+  }
+}
@@ -0,0 +1,37 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.service.PlayerCareerStatsService;
+import java.time.ZoneId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Nightly comparison of the career stats rollup with match_stats, to catch writes that bypassed the trigger
+@Component
+@Slf4j
+public class CareerStatsVerificationJob implements ClusterJob {
+
+  private final PlayerCareerStatsService playerCareerStatsService;
+  private final JobSchedule schedule;
+
+  public CareerStatsVerificationJob(PlayerCareerStatsService playerCareerStatsService,
+      @Value("${app.career-stats.verify-cron}") String cron) {
+    this.playerCareerStatsService = playerCareerStatsService;
+    this.schedule = JobSchedule.cron(cron, ZoneId.systemDefault());
+  }
+
+  @Override
+  public String name() {
+    return "career-stats-verification";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    log.info("Career stats verification found {} drifted rows", playerCareerStatsService.verify());
+  }
+}
@@ -0,0 +1,13 @@
+package com.nazarov.footballmanager.jobs;
+
+// A background job that runs on exactly one instance per due time. Runs interrupted by a crash are
+// repeated elsewhere, so run() must be safe to repeat.
+public interface ClusterJob {
+
+  // Stable name; also the key of the job's advisory lock and scheduled_jobs row
+  String name();
+
+  JobSchedule schedule();
+
+  void run();
+}
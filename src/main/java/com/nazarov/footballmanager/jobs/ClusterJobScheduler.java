@@ -0,0 +1,162 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.jobs.JobLeadership.Lease;
+import com.nazarov.footballmanager.repository.ScheduledJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Runs every ClusterJob bean once per due time across all instances.
+//
+// Every instance polls the jobs it believes are due and hands them to a small worker pool. A worker
+// tries the job's advisory lock; the holder re-reads next_run_at, runs the job if it is still due and
+// advances the row before releasing the lock, so the other instances find the job not due any more.
+// If the leader dies mid-run the row was never advanced and the next instance to get the lock reruns it.
+@Component
+@Slf4j
+public class ClusterJobScheduler {
+
+  private static final int MAX_ERROR_LENGTH = 2_000;
+
+  private final List<ClusterJob> jobs;
+  private final JobLeadership jobLeadership;
+  private final ScheduledJobRepository scheduledJobRepository;
+  private final MeterRegistry meterRegistry;
+  private final Duration pollInterval;
+  private final ExecutorService workers;
+  private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+  // When this instance should next try each job; a hint only, the row decides
+  private final Map<String, Instant> nextAttempt = new ConcurrentHashMap<>();
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+  private ScheduledExecutorService ticker;
+
+  public ClusterJobScheduler(List<ClusterJob> jobs,
+      JobLeadership jobLeadership,
+      ScheduledJobRepository scheduledJobRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.jobs.poll-interval}") Duration pollInterval,
+      @Value("${app.jobs.worker-threads}") int workerThreads) {
+    this.jobs = jobs;
+    this.jobLeadership = jobLeadership;
+    this.scheduledJobRepository = scheduledJobRepository;
+    this.meterRegistry = meterRegistry;
+    this.pollInterval = pollInterval;
+    // Keep below the connection pool size: every running job holds one connection for its lock
+    this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+      Thread thread = new Thread(runnable, "cluster-job");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    Instant now = Instant.now();
+    for (ClusterJob job : jobs) {
+      scheduledJobRepository.ensureJob(job.name(), job.schedule().next(now));
+      nextAttempt.put(job.name(), now);
+      log.info("Scheduled cluster job {} ({})", job.name(), job.schedule());
+    }
+    ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "cluster-job-ticker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ticker.scheduleWithFixedDelay(this::tick, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+    workers.shutdown();
+    if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("Cluster jobs still running at shutdown: {}", inFlight);
+      workers.shutdownNow();
+    }
+  }
+
+  void tick() {
+    Instant now = Instant.now();
+    for (ClusterJob job : jobs) {
+      if (!nextAttempt.getOrDefault(job.name(), now).isAfter(now) && inFlight.add(job.name())) {
+        workers.execute(() -> {
+          try {
+            runIfDue(job);
+          } catch (RuntimeException ex) {
+            log.error("Cluster job {} could not be scheduled", job.name(), ex);
+            nextAttempt.put(job.name(), Instant.now().plus(pollInterval));
+          } finally {
+            inFlight.remove(job.name());
+          }
+        });
+      }
+    }
+  }
+
+  void runIfDue(ClusterJob job) {
+    Optional<Lease> lease = jobLeadership.tryAcquire(job.name());
+    if (lease.isEmpty()) {
+      // Another instance is running it; try again once it may have finished
+      nextAttempt.put(job.name(), Instant.now().plus(pollInterval));
+      return;
+    }
+    try (Lease held = lease.get()) {
+      Instant startedAt = Instant.now();
+      Instant dueAt = scheduledJobRepository.findNextRunAt(job.name()).orElse(startedAt);
+      if (dueAt.isAfter(startedAt)) {
+        nextAttempt.put(job.name(), dueAt);
+        return;
+      }
+
+      String status = "SUCCEEDED";
+      String error = null;
+      long start = System.nanoTime();
+      try {
+        job.run();
+      } catch (RuntimeException ex) {
+        status = "FAILED";
+        error = truncate(ex.toString());
+        log.error("Cluster job {} failed", job.name(), ex);
+        Counter.builder("cluster.job.failures").tag("job", job.name()).register(meterRegistry).increment();
+      }
+      Timer.builder("cluster.job.duration")
+          .tag("job", job.name())
+          .tag("outcome", status.toLowerCase())
+          .register(meterRegistry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+      Instant finishedAt = Instant.now();
+      Instant next = job.schedule().nextAfterRun(dueAt, finishedAt);
+      scheduledJobRepository.recordRun(job.name(), next, startedAt, finishedAt, status, error, owner);
+      nextAttempt.put(job.name(), next);
+      log.info("Cluster job {} {} in {} ms, next run at {}", job.name(), status.toLowerCase(),
+          Duration.between(startedAt, finishedAt).toMillis(), next);
+    }
+  }
+
+  private static String truncate(String error) {
+    return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+  }
+}
@@ -0,0 +1,41 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.service.SeasonPartitionService;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Drops season partitions detached longer than app.archive.drop-detached-after ago, so archived
+// seasons leave the database for good
+@Component
+@Slf4j
+public class DetachedPartitionDropJob implements ClusterJob {
+
+  private final SeasonPartitionService seasonPartitionService;
+  private final JobSchedule schedule;
+
+  public DetachedPartitionDropJob(SeasonPartitionService seasonPartitionService,
+      @Value("${app.jobs.detached-partition-drop-interval}") Duration interval) {
+    this.seasonPartitionService = seasonPartitionService;
+    this.schedule = JobSchedule.fixedRate(interval);
+  }
+
+  @Override
+  public String name() {
+    return "detached-partition-drop";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    int dropped = seasonPartitionService.dropDetachedSeasons();
+    if (dropped > 0) {
+      log.info("Dropped the detached partitions of {} tournaments", dropped);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Deletes stored idempotent responses past their TTL
+@Component
+@Slf4j
+public class IdempotencyKeyPurgeJob implements ClusterJob {
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final JobSchedule schedule;
+
+  public IdempotencyKeyPurgeJob(IdempotencyKeyRepository idempotencyKeyRepository,
+      @Value("${app.idempotency.purge-interval}") Duration interval) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.schedule = JobSchedule.fixedRate(interval);
+  }
+
+  @Override
+  public String name() {
+    return "idempotency-key-purge";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    log.info("Purged {} expired idempotency keys", idempotencyKeyRepository.deleteExpired());
+  }
+}
@@ -0,0 +1,100 @@
+package com.nazarov.footballmanager.jobs;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Per-job leadership through session-level advisory locks. The lock lives on a connection held for
+// the whole run, so it is released when the run ends or, if the instance dies, as soon as Postgres
+// drops the connection; the short server-side keepalives make that take seconds, not hours.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLeadership {
+
+  // High half of every job lock key, keeping them apart from other advisory locks
+  private static final long NAMESPACE = 0x4A4F_4253L << 32;
+
+  private final DataSource dataSource;
+
+  public interface Lease extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+
+  public Optional<Lease> tryAcquire(String jobName) {
+    long key = lockKey(jobName);
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      connection.setAutoCommit(true);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("SET tcp_keepalives_idle = 10");
+        statement.execute("SET tcp_keepalives_interval = 5");
+        statement.execute("SET tcp_keepalives_count = 3");
+      }
+      boolean acquired;
+      try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+        statement.setLong(1, key);
+        try (ResultSet rs = statement.executeQuery()) {
+          acquired = rs.next() && rs.getBoolean(1);
+        }
+      }
+      if (!acquired) {
+        resetAndClose(connection);
+        return Optional.empty();
+      }
+      Connection held = connection;
+      return Optional.of(() -> release(held, key));
+    } catch (SQLException ex) {
+      log.warn("Could not try the lock of job {}: {}", jobName, ex.getMessage());
+      if (connection != null) {
+        resetAndClose(connection);
+      }
+      return Optional.empty();
+    }
+  }
+
+  static long lockKey(String jobName) {
+    CRC32 crc = new CRC32();
+    crc.update(jobName.getBytes(StandardCharsets.UTF_8));
+    return NAMESPACE | crc.getValue();
+  }
+
+  private static void release(Connection connection, long key) {
+    try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+      statement.setLong(1, key);
+      statement.execute();
+    } catch (SQLException ex) {
+      // A broken connection has lost the lock already
+      log.warn("Could not release job lock {}: {}", key, ex.getMessage());
+    }
+    resetAndClose(connection);
+  }
+
+  // The connection goes back to the pool, so undo the session settings
+  private static void resetAndClose(Connection connection) {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("RESET tcp_keepalives_idle");
+      statement.execute("RESET tcp_keepalives_interval");
+      statement.execute("RESET tcp_keepalives_count");
+    } catch (SQLException ex) {
+      log.debug("Could not reset job lock session settings", ex);
+    }
+    try {
+      connection.close();
+    } catch (SQLException ex) {
+      log.debug("Could not close job lock connection", ex);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.nazarov.footballmanager.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.springframework.scheduling.support.CronExpression;
+
+// When a ClusterJob is due: every fixed period, or at the times of a Spring cron expression
+public final class JobSchedule {
+
+  private final Duration period;
+  private final CronExpression cron;
+  private final ZoneId zone;
+
+  private JobSchedule(Duration period, CronExpression cron, ZoneId zone) {
+    this.period = period;
+    this.cron = cron;
+    this.zone = zone;
+  }
+
+  public static JobSchedule fixedRate(Duration period) {
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Job period must be positive: " + period);
+    }
+    return new JobSchedule(period, null, null);
+  }
+
+  public static JobSchedule cron(String expression, ZoneId zone) {
+    return new JobSchedule(null, CronExpression.parse(expression), zone);
+  }
+
+  // First due time strictly after the given one
+  public Instant next(Instant after) {
+    if (period != null) {
+      return after.plus(period);
+    }
+    ZonedDateTime next = cron.next(after.atZone(zone));
+    if (next == null) {
+      throw new IllegalStateException("Cron expression " + cron + " has no future run");
+    }
+    return next.toInstant();
+  }
+
+  // Next due time after a run that was due at dueAt and finished at finishedAt. Times missed while no
+  // instance was running are skipped instead of being caught up one by one.
+  public Instant nextAfterRun(Instant dueAt, Instant finishedAt) {
+    Instant next = next(dueAt);
+    return next.isAfter(finishedAt) ? next : next(finishedAt);
+  }
+
+  @Override
+  public String toString() {
+    return period != null ? "every " + period : "cron " + cron + " " + zone;
+  }
+}
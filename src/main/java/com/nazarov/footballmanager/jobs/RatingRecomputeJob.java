@@ -0,0 +1,35 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.service.TeamRatingService;
+import java.time.ZoneId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Nightly full replay, repairing any drift of the incrementally updated ratings from the results
+@Component
+public class RatingRecomputeJob implements ClusterJob {
+
+  private final TeamRatingService teamRatingService;
+  private final JobSchedule schedule;
+
+  public RatingRecomputeJob(TeamRatingService teamRatingService,
+      @Value("${app.jobs.rating-recompute-cron}") String cron) {
+    this.teamRatingService = teamRatingService;
+    this.schedule = JobSchedule.cron(cron, ZoneId.systemDefault());
+  }
+
+  @Override
+  public String name() {
+    return "rating-recompute";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    teamRatingService.recompute();
+  }
+}
@@ -0,0 +1,37 @@
+package com.nazarov.footballmanager.jobs;
+
+import com.nazarov.footballmanager.repository.TokenRevocationRepository;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Deletes revocations whose tokens have expired; the per-instance Bloom filters drop them on their next rebuild
+@Component
+@Slf4j
+public class TokenRevocationPurgeJob implements ClusterJob {
+
+  private final TokenRevocationRepository tokenRevocationRepository;
+  private final JobSchedule schedule;
+
+  public TokenRevocationPurgeJob(TokenRevocationRepository tokenRevocationRepository,
+      @Value("${app.jobs.token-revocation-purge-interval}") Duration interval) {
+    this.tokenRevocationRepository = tokenRevocationRepository;
+    this.schedule = JobSchedule.fixedRate(interval);
+  }
+
+  @Override
+  public String name() {
+    return "token-revocation-purge";
+  }
+
+  @Override
+  public JobSchedule schedule() {
+    return schedule;
+  }
+
+  @Override
+  public void run() {
+    log.info("Purged {} expired token revocations", tokenRevocationRepository.deleteExpired());
+  }
+}
@@ -0,0 +1,22 @@
+package com.nazarov.footballmanager.media;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// An open, immutable blob
+public interface Blob extends Closeable {
+
+  long size();
+
+  // Copies count bytes starting at position to the target; file-backed stores use FileChannel.transferTo
+  void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+  InputStream newInputStream() throws IOException;
+
+  // Local file behind the blob, if any, so the servlet container can send it with sendfile
+  Optional<Path> localFile();
+}
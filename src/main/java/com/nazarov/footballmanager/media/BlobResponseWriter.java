@@ -0,0 +1,123 @@
+package com.nazarov.footballmanager.media;
+
+import com.nazarov.footballmanager.media.MediaService.ServedMedia;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+// Writes a blob as the response body with single byte-range support. Large local files are handed to
+// Tomcat's sendfile, which copies them from the page cache to the socket without passing through
+// the JVM; everything else goes through FileChannel.transferTo on the response channel.
+@Component
+public class BlobResponseWriter {
+
+  static final String IMMUTABLE = "public, max-age=31536000, immutable";
+  static final String REVALIDATE = "public, max-age=60";
+
+  // Below this a plain copy is cheaper than setting up sendfile; same threshold as Tomcat's DefaultServlet
+  private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  // Inclusive byte range
+  record ByteRange(long start, long end) {
+    long length() {
+      return end - start + 1;
+    }
+  }
+
+  static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+  public void write(HttpServletRequest request, HttpServletResponse response, ServedMedia media) throws IOException {
+    try (Blob blob = media.blob()) {
+      long size = blob.size();
+      response.setContentType(media.contentType());
+      response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+      response.setHeader(HttpHeaders.CACHE_CONTROL, media.immutable() ? IMMUTABLE : REVALIDATE);
+      if (media.etag() != null) {
+        response.setHeader(HttpHeaders.ETAG, media.etag());
+        if (media.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+          response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+          return;
+        }
+      }
+
+      ByteRange range = new ByteRange(0, size - 1);
+      String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+      String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+      if (rangeHeader != null && (ifRange == null || ifRange.equals(media.etag()))) {
+        ByteRange requested = parseRange(rangeHeader, size);
+        if (requested == UNSATISFIABLE) {
+          response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+          response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+          return;
+        }
+        if (requested != null) {
+          range = requested;
+          response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+          response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + '-' + range.end() + '/' + size);
+        }
+      }
+      response.setContentLengthLong(range.length());
+      if ("HEAD".equals(request.getMethod()) || range.length() == 0) {
+        return;
+      }
+
+      Optional<Path> file = blob.localFile();
+      if (file.isPresent() && range.length() >= SENDFILE_MIN_BYTES
+          && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+        request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+        request.setAttribute(SENDFILE_START, range.start());
+        request.setAttribute(SENDFILE_END, range.end() + 1);
+        return;
+      }
+      WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+      blob.transferTo(range.start(), range.length(), output);
+      response.flushBuffer();
+    }
+  }
+
+  // Null for a header to ignore (malformed, or several ranges, which get the whole body),
+  // UNSATISFIABLE for a range outside the blob
+  static ByteRange parseRange(String header, long size) {
+    if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+      return null;
+    }
+    String spec = header.substring("bytes=".length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return null;
+    }
+    try {
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+      if (first.isEmpty()) {
+        // Suffix range: the last N bytes
+        long suffix = Long.parseLong(last);
+        if (suffix < 0) {
+          return null;
+        }
+        return suffix == 0 || size == 0 ? UNSATISFIABLE : new ByteRange(Math.max(0, size - suffix), size - 1);
+      }
+      long start = Long.parseLong(first);
+      long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+      if (start < 0) {
+        return null;
+      }
+      if (start >= size) {
+        return UNSATISFIABLE;
+      }
+      return start <= end ? new ByteRange(start, end) : null;
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.nazarov.footballmanager.media;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// Storage for media files. Keys are content hashes plus an extension, so a stored blob never changes
+// and putting an existing key again is a no-op.
+public interface BlobStore {
+
+  // Scratch file to stream an upload into before its key is known
+  Path createStagingFile() throws IOException;
+
+  // Stores the staged file under the key; the file may be moved away
+  void put(String key, Path stagedFile) throws IOException;
+
+  boolean exists(String key);
+
+  Optional<Blob> open(String key) throws IOException;
+}
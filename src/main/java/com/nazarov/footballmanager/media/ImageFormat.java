@@ -0,0 +1,52 @@
+package com.nazarov.footballmanager.media;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Image types accepted for upload, recognised by their leading bytes rather than the declared type alone
+enum ImageFormat {
+  PNG("png", "image/png", "png", new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+  JPEG("jpg", "image/jpeg", "jpeg", new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+
+  static final int HEADER_LENGTH = 8;
+
+  private final String extension;
+  private final String contentType;
+  private final String imageIoName;
+  private final byte[] magic;
+
+  ImageFormat(String extension, String contentType, String imageIoName, byte[] magic) {
+    this.extension = extension;
+    this.contentType = contentType;
+    this.imageIoName = imageIoName;
+    this.magic = magic;
+  }
+
+  String extension() {
+    return extension;
+  }
+
+  String contentType() {
+    return contentType;
+  }
+
+  String imageIoName() {
+    return imageIoName;
+  }
+
+  boolean matches(byte[] header) {
+    return header.length >= magic.length && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+  }
+
+  static Optional<ImageFormat> fromContentType(String contentType) {
+    if (contentType == null) {
+      return Optional.empty();
+    }
+    String mimeType = contentType.split(";")[0].trim();
+    return Arrays.stream(values()).filter(format -> format.contentType.equalsIgnoreCase(mimeType)).findFirst();
+  }
+
+  static Optional<ImageFormat> fromExtension(String extension) {
+    return Arrays.stream(values()).filter(format -> format.extension.equals(extension)).findFirst();
+  }
+}
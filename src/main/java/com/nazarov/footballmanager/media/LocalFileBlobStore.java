@@ -0,0 +1,114 @@
+package com.nazarov.footballmanager.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Blobs as files under a root directory, fanned out by the first two characters of the key. Staging
+// files live under the same root so storing one is an atomic rename.
+@Component
+public class LocalFileBlobStore implements BlobStore {
+
+  private static final Pattern KEY = Pattern.compile("[0-9a-z][0-9a-z.-]+");
+
+  private final Path root;
+  private final Path staging;
+
+  public LocalFileBlobStore(@Value("${app.media.storage-dir}") Path root) throws IOException {
+    this.root = root.toAbsolutePath();
+    this.staging = Files.createDirectories(this.root.resolve("staging"));
+  }
+
+  @Override
+  public Path createStagingFile() throws IOException {
+    return Files.createTempFile(staging, "upload-", ".tmp");
+  }
+
+  @Override
+  public void put(String key, Path stagedFile) throws IOException {
+    Path target = resolve(key);
+    if (Files.exists(target)) {
+      return;
+    }
+    Files.createDirectories(target.getParent());
+    try {
+      Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException ex) {
+      // Same content stored concurrently
+    }
+  }
+
+  @Override
+  public boolean exists(String key) {
+    return Files.exists(resolve(key));
+  }
+
+  @Override
+  public Optional<Blob> open(String key) throws IOException {
+    Path file = resolve(key);
+    try {
+      return Optional.of(new FileBlob(file, FileChannel.open(file, StandardOpenOption.READ)));
+    } catch (NoSuchFileException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private Path resolve(String key) {
+    if (!KEY.matcher(key).matches()) {
+      throw new IllegalArgumentException("Invalid blob key: " + key);
+    }
+    return root.resolve(key.substring(0, 2)).resolve(key);
+  }
+
+  private record FileBlob(Path file, FileChannel channel) implements Blob {
+
+    @Override
+    public long size() {
+      try {
+        return channel.size();
+      } catch (IOException ex) {
+        throw new IllegalStateException("Cannot read size of " + file, ex);
+      }
+    }
+
+    @Override
+    public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+      long end = position + count;
+      while (position < end) {
+        // transferTo may send fewer bytes than asked for
+        long sent = channel.transferTo(position, end - position, target);
+        if (sent <= 0) {
+          throw new IOException("Unexpected end of " + file);
+        }
+        position += sent;
+      }
+    }
+
+    @Override
+    public InputStream newInputStream() {
+      return Channels.newInputStream(channel);
+    }
+
+    @Override
+    public Optional<Path> localFile() {
+      return Optional.of(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.nazarov.footballmanager.media;
+
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.dto.media.MediaDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.TeamRepository;
+import com.nazarov.footballmanager.repository.UserRepository;
+import com.nazarov.footballmanager.service.UserService;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+// Profile pictures and team logos. Uploads are streamed into the blob store under the SHA-256 of
+// their content, so every URL names exactly one immutable image and can be cached forever.
+// Thumbnails are rendered in the background; until one exists its URL serves the original.
+// The upload is stored before any transaction starts, so a slow client never holds a connection;
+// only the URL update runs in one. A failed update leaves an unreferenced blob, never a broken URL.
+@Service
+@Slf4j
+public class MediaService {
+
+  public static final String URL_PREFIX = "/api/media/";
+
+  // <sha-256>[-<thumbnail size>].<extension>
+  private static final Pattern MEDIA_NAME = Pattern.compile("([0-9a-f]{64})(?:-(\\d{1,4}))?\\.([a-z]{3,4})");
+
+  // An image with the exact requested content, or the original while its thumbnail is missing
+  public record ServedMedia(Blob blob, String contentType, String etag, boolean immutable) {}
+
+  private final BlobStore blobStore;
+  private final UserService userService;
+  private final UserRepository userRepository;
+  private final TeamRepository teamRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService thumbnailExecutor;
+  private final long maxUploadBytes;
+  private final List<Integer> thumbnailSizes;
+  private final long maxPixels;
+
+  public MediaService(BlobStore blobStore,
+      UserService userService,
+      UserRepository userRepository,
+      TeamRepository teamRepository,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("thumbnailExecutor") ExecutorService thumbnailExecutor,
+      @Value("${app.media.max-upload-size}") DataSize maxUploadSize,
+      @Value("${app.media.thumbnail-sizes}") List<Integer> thumbnailSizes,
+      @Value("${app.media.max-pixels}") long maxPixels) {
+    this.blobStore = blobStore;
+    this.userService = userService;
+    this.userRepository = userRepository;
+    this.teamRepository = teamRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.thumbnailExecutor = thumbnailExecutor;
+    this.maxUploadBytes = maxUploadSize.toBytes();
+    this.thumbnailSizes = List.copyOf(thumbnailSizes);
+    this.maxPixels = maxPixels;
+  }
+
+  public MediaDto uploadProfilePicture(String contentType, InputStream content) {
+    User user = userService.getCurrentUserEntity();
+    MediaDto media = store(contentType, content);
+    transactionTemplate.executeWithoutResult(status -> {
+      userRepository.updateProfilePictureUrl(user.getUserId(), media.getUrl());
+      userService.evictProfile(user.getEmail());
+    });
+    log.info("User {} uploaded profile picture {}", user.getUserId(), media.getUrl());
+    return media;
+  }
+
+  public MediaDto uploadTeamLogo(int teamId, String contentType, InputStream content) {
+    MediaDto media = store(contentType, content);
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!teamRepository.updateLogoUrl(teamId, media.getUrl())) {
+        throw new ResourceNotFoundException("Team", "id", teamId);
+      }
+    });
+    log.info("Team {} got logo {}", teamId, media.getUrl());
+    return media;
+  }
+
+  public ServedMedia open(String name) throws IOException {
+    Matcher matcher = MEDIA_NAME.matcher(name);
+    Optional<ImageFormat> format = matcher.matches() ? ImageFormat.fromExtension(matcher.group(3)) : Optional.empty();
+    if (format.isEmpty()) {
+      throw new ResourceNotFoundException("Media", "name", name);
+    }
+    String hash = matcher.group(1);
+    if (matcher.group(2) != null) {
+      int size = Integer.parseInt(matcher.group(2));
+      if (!thumbnailSizes.contains(size)) {
+        throw new ResourceNotFoundException("Media", "name", name);
+      }
+      Optional<Blob> thumbnail = blobStore.open(thumbnailKey(hash, size, format.get()));
+      if (thumbnail.isPresent()) {
+        return new ServedMedia(thumbnail.get(), format.get().contentType(), '"' + hash + '-' + size + '"', true);
+      }
+    }
+    Blob original = blobStore.open(originalKey(hash, format.get()))
+        .orElseThrow(() -> new ResourceNotFoundException("Media", "name", name));
+    // A thumbnail URL answered with the original must not be cached as the thumbnail
+    boolean exact = matcher.group(2) == null;
+    return new ServedMedia(original, format.get().contentType(), exact ? '"' + hash + '"' : null, exact);
+  }
+
+  private MediaDto store(String contentType, InputStream content) {
+    ImageFormat format = ImageFormat.fromContentType(contentType)
+        .orElseThrow(() -> new BadRequestException("Only PNG and JPEG images are supported."));
+    try {
+      Path staged = blobStore.createStagingFile();
+      try {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long size = copyLimited(content, staged, digest);
+        if (size == 0) {
+          throw new BadRequestException("The image is empty.");
+        }
+        byte[] header;
+        try (InputStream stagedInput = Files.newInputStream(staged)) {
+          header = stagedInput.readNBytes(ImageFormat.HEADER_LENGTH);
+        }
+        if (!format.matches(header)) {
+          throw new BadRequestException("The content is not a valid " + format.contentType() + " image.");
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        blobStore.put(originalKey(hash, format), staged);
+        scheduleThumbnails(hash, format);
+        return toDto(hash, format, size);
+      } finally {
+        Files.deleteIfExists(staged);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not store the uploaded image", ex);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  // Streams the upload to disk while hashing it, stopping as soon as it exceeds the limit
+  private long copyLimited(InputStream content, Path target, MessageDigest digest) throws IOException {
+    byte[] buffer = new byte[8192];
+    long total = 0;
+    try (OutputStream output = Files.newOutputStream(target)) {
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        total += read;
+        if (total > maxUploadBytes) {
+          throw new BadRequestException("The image is larger than " + maxUploadBytes + " bytes.");
+        }
+        digest.update(buffer, 0, read);
+        output.write(buffer, 0, read);
+      }
+    }
+    return total;
+  }
+
+  private void scheduleThumbnails(String hash, ImageFormat format) {
+    List<Integer> missing = thumbnailSizes.stream()
+        .filter(size -> !blobStore.exists(thumbnailKey(hash, size, format)))
+        .toList();
+    if (missing.isEmpty()) {
+      return;
+    }
+    try {
+      thumbnailExecutor.execute(() -> generateThumbnails(hash, format, missing));
+    } catch (RejectedExecutionException ex) {
+      log.warn("Thumbnail queue is full; {} is served at full size until it is uploaded again", hash);
+    }
+  }
+
+  void generateThumbnails(String hash, ImageFormat format, List<Integer> sizes) {
+    long start = System.nanoTime();
+    try {
+      BufferedImage image;
+      Optional<Blob> original = blobStore.open(originalKey(hash, format));
+      if (original.isEmpty()) {
+        return;
+      }
+      try (Blob blob = original.get(); InputStream input = blob.newInputStream()) {
+        image = Thumbnails.decode(input, maxPixels);
+      }
+      for (int size : sizes) {
+        Path staged = blobStore.createStagingFile();
+        try {
+          BufferedImage thumbnail = Thumbnails.fit(image, size, format == ImageFormat.PNG);
+          if (!ImageIO.write(thumbnail, format.imageIoName(), staged.toFile())) {
+            throw new IOException("No writer for " + format);
+          }
+          blobStore.put(thumbnailKey(hash, size, format), staged);
+        } finally {
+          Files.deleteIfExists(staged);
+        }
+      }
+      log.debug("Rendered {} thumbnails of {} in {} ms", sizes.size(), hash, (System.nanoTime() - start) / 1_000_000);
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Could not render thumbnails of {}: {}", hash, ex.getMessage());
+    }
+  }
+
+  private MediaDto toDto(String hash, ImageFormat format, long size) {
+    Map<Integer, String> thumbnails = new LinkedHashMap<>();
+    for (int thumbnailSize : thumbnailSizes) {
+      thumbnails.put(thumbnailSize, URL_PREFIX + thumbnailKey(hash, thumbnailSize, format));
+    }
+    return MediaDto.builder()
+        .url(URL_PREFIX + originalKey(hash, format))
+        .contentType(format.contentType())
+        .size(size)
+        .thumbnails(thumbnails)
+        .build();
+  }
+
+  private static String originalKey(String hash, ImageFormat format) {
+    return hash + '.' + format.extension();
+  }
+
+  private static String thumbnailKey(String hash, int size, ImageFormat format) {
+    return hash + '-' + size + '.' + format.extension();
+  }
+}
@@ -0,0 +1,56 @@
+package com.nazarov.footballmanager.media;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+final class Thumbnails {
+
+  private Thumbnails() {
+  }
+
+  // Decodes an image, refusing ones whose pixel count would blow up the heap before decoding them
+  static BufferedImage decode(InputStream input, long maxPixels) throws IOException {
+    try (ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+      if (!readers.hasNext()) {
+        throw new IOException("Unsupported image format");
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(imageInput, true, true);
+        long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+        if (pixels > maxPixels) {
+          throw new IOException("Image has " + pixels + " pixels, the limit is " + maxPixels);
+        }
+        return reader.read(0);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  // Scales the image down to fit a size x size box, keeping its aspect ratio; never scales up
+  static BufferedImage fit(BufferedImage source, int size, boolean keepAlpha) {
+    double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+    int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+    BufferedImage target = new BufferedImage(width, height,
+        keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+}
@@ -0,0 +1,17 @@
+package com.nazarov.footballmanager.outbox;
+
+import java.time.Instant;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+// An outbox event delivered by OutboxDispatcher. Listen with @EventListener on DispatchedEvent<SomeEvent>.
+// Delivery is at least once: a listener can see the same eventId again and must tolerate that.
+// A listener that throws makes the whole event retry later, including listeners that already succeeded.
+public record DispatchedEvent<T>(long eventId, String aggregateType, String aggregateId, Instant createdAt,
+    int attempt, T payload) implements ResolvableTypeProvider {
+
+  @Override
+  public ResolvableType getResolvableType() {
+    return ResolvableType.forClassWithGenerics(DispatchedEvent.class, ResolvableType.forInstance(payload));
+  }
+}
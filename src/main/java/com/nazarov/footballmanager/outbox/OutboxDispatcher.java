@@ -0,0 +1,123 @@
+package com.nazarov.footballmanager.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.repository.OutboxRepository;
+import com.nazarov.footballmanager.repository.OutboxRepository.OutboxRow;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Drains the outbox in batches and publishes every event to in-process listeners as a DispatchedEvent.
+//
+// Each batch is claimed in a short transaction (FOR UPDATE SKIP LOCKED plus a lease), delivered outside
+// of it, and acknowledged in a second transaction. Several instances can poll at the same time without
+// blocking each other or delivering the same event concurrently.
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+  private static final int MAX_ERROR_LENGTH = 2_000;
+
+  private final OutboxRepository outboxRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration lease;
+  private final int maxAttempts;
+
+  public OutboxDispatcher(OutboxRepository outboxRepository,
+      ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper,
+      TransactionTemplate transactionTemplate,
+      @Value("${app.outbox.batch-size}") int batchSize,
+      @Value("${app.outbox.lease}") Duration lease,
+      @Value("${app.outbox.max-attempts}") int maxAttempts) {
+    this.outboxRepository = outboxRepository;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.lease = lease;
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval}")
+  public void poll() {
+    try {
+      // Keep draining while batches come back full, so a backlog does not wait for the next tick
+      while (dispatchBatch() == batchSize) {
+        log.debug("Outbox batch was full, draining further");
+      }
+    } catch (RuntimeException ex) {
+      log.error("Outbox dispatch failed", ex);
+    }
+  }
+
+  // Returns the number of claimed events
+  public int dispatchBatch() {
+    List<OutboxRow> batch = transactionTemplate.execute(status -> outboxRepository.claimBatch(batchSize, lease));
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    List<Long> delivered = new ArrayList<>(batch.size());
+    List<FailedDelivery> failed = new ArrayList<>();
+    for (OutboxRow row : batch) {
+      try {
+        eventPublisher.publishEvent(toDispatchedEvent(row));
+        delivered.add(row.eventId());
+      } catch (RuntimeException ex) {
+        log.warn("Delivery of outbox event {} ({}) failed on attempt {}", row.eventId(), row.eventType(),
+            row.attempts(), ex);
+        failed.add(new FailedDelivery(row, ex));
+      }
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      outboxRepository.deleteDelivered(delivered);
+      for (FailedDelivery failure : failed) {
+        String error = truncate(failure.error().toString());
+        if (failure.row().attempts() >= maxAttempts) {
+          log.error("Outbox event {} ({}) gave up after {} attempts", failure.row().eventId(),
+              failure.row().eventType(), failure.row().attempts());
+          outboxRepository.markFailed(failure.row().eventId(), error);
+        } else {
+          outboxRepository.scheduleRetry(failure.row().eventId(), backoff(failure.row().attempts()), error);
+        }
+      }
+    });
+    return batch.size();
+  }
+
+  private DispatchedEvent<?> toDispatchedEvent(OutboxRow row) {
+    Object payload;
+    try {
+      Class<?> type = Class.forName(OutboxEvents.EVENT_PACKAGE + "." + row.eventType());
+      payload = objectMapper.readValue(row.payload(), type);
+    } catch (ClassNotFoundException | IOException ex) {
+      throw new IllegalStateException("Cannot read outbox event of type " + row.eventType(), ex);
+    }
+    return new DispatchedEvent<>(row.eventId(), row.aggregateType(), row.aggregateId(), row.createdAt(),
+        row.attempts(), payload);
+  }
+
+  // 2, 4, 8 ... seconds, capped at ten minutes
+  static Duration backoff(int attempts) {
+    long seconds = 1L << Math.min(attempts, 10);
+    return Duration.ofSeconds(Math.min(seconds, 600));
+  }
+
+  private static String truncate(String error) {
+    return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private record FailedDelivery(OutboxRow row, RuntimeException error) {}
+}
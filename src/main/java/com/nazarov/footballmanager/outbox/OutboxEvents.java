@@ -0,0 +1,14 @@
+package com.nazarov.footballmanager.outbox;
+
+// Aggregate types and the package outbox payloads are resolved from
+public final class OutboxEvents {
+
+  static final String EVENT_PACKAGE = "com.nazarov.footballmanager.event";
+
+  public static final String MATCH = "match";
+  public static final String JOIN_REQUEST = "join_request";
+  public static final String USER = "user";
+
+  private OutboxEvents() {
+  }
+}
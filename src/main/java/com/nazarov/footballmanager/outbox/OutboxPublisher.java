@@ -0,0 +1,32 @@
+package com.nazarov.footballmanager.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Records a domain event in the outbox. Must be called inside the transaction that makes the change,
+// so the event exists exactly when the change is committed.
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+  private final OutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void publish(String aggregateType, Object aggregateId, Object event) {
+    if (!event.getClass().getPackageName().equals(OutboxEvents.EVENT_PACKAGE)) {
+      throw new IllegalArgumentException("Outbox events must live in " + OutboxEvents.EVENT_PACKAGE);
+    }
+    try {
+      outboxRepository.insert(aggregateType, String.valueOf(aggregateId), event.getClass().getSimpleName(),
+          objectMapper.writeValueAsString(event));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), ex);
+    }
+  }
+}
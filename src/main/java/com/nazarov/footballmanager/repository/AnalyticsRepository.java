@@ -0,0 +1,53 @@
+package com.nazarov.footballmanager.repository;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// Streams completed seasons row by row. The Postgres driver only uses a server-side cursor
+// when a fetch size is set and auto-commit is off, so callers must run inside a transaction.
+@Repository
+public class AnalyticsRepository {
+
+  private static final int FETCH_SIZE = 10_000;
+
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  public AnalyticsRepository(DataSource dataSource) {
+    this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+  }
+
+  public void streamCompletedTournaments(RowCallbackHandler handler) {
+    streamingJdbcTemplate.query(
+        "SELECT tournament_id, name, year_period FROM tournaments WHERE status = 'Completed' ORDER BY tournament_id",
+        handler);
+  }
+
+  public void streamTeams(RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("SELECT team_id, name FROM teams", handler);
+  }
+
+  public void streamCompletedMatches(RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT m.tournament_id, m.home_team_id, m.away_team_id, m.home_score, m.away_score
+            FROM matches m
+            JOIN tournaments t ON t.tournament_id = m.tournament_id
+            WHERE t.status = 'Completed' AND m.status = 'Completed'
+              AND m.home_score IS NOT NULL AND m.away_score IS NOT NULL
+            """,
+        handler);
+  }
+
+  public void streamCompletedMatchStats(RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT ms.tournament_id, ms.player_id, u.name AS player_name, ms.team_id, ms.stat_type::text AS stat_type
+            FROM match_stats ms
+            JOIN tournaments t ON t.tournament_id = ms.tournament_id
+            JOIN users u ON u.user_id = ms.player_id
+            WHERE t.status = 'Completed'
+            """,
+        handler);
+  }
+}
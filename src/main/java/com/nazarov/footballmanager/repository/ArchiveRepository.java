@@ -0,0 +1,62 @@
+package com.nazarov.footballmanager.repository;
+
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// Streams everything that goes into a season archive file, ordered so the file is deterministic
+@Repository
+public class ArchiveRepository {
+
+  private static final int FETCH_SIZE = 5_000;
+
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  public ArchiveRepository(DataSource dataSource) {
+    this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+  }
+
+  public void streamLeagues(int tournamentId, RowCallbackHandler handler) {
+    streamingJdbcTemplate.query(
+        "SELECT league_id, name, level FROM leagues WHERE tournament_id = ? ORDER BY league_id",
+        handler, tournamentId);
+  }
+
+  public void streamStandings(int tournamentId, RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT tlt.league_id, tlt.team_id, t.name AS team_name, tlt.final_rank,
+                   tlt.promotion_status::text AS promotion_status
+            FROM tournament_league_teams tlt
+            JOIN leagues l ON l.league_id = tlt.league_id
+            JOIN teams t ON t.team_id = tlt.team_id
+            WHERE l.tournament_id = ?
+            ORDER BY tlt.league_id, tlt.final_rank NULLS LAST, tlt.team_id
+            """,
+        handler, tournamentId);
+  }
+
+  public void streamMatches(int tournamentId, RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT match_id, league_id, home_team_id, away_team_id, match_date_time, home_score, away_score,
+                   status::text AS status, location
+            FROM matches
+            WHERE tournament_id = ?
+            ORDER BY match_id
+            """,
+        handler, tournamentId);
+  }
+
+  public void streamStats(int tournamentId, RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT ms.match_id, ms.player_id, u.name AS player_name, ms.team_id, ms.stat_type::text AS stat_type,
+                   ms.minute_of_event
+            FROM match_stats ms
+            JOIN users u ON u.user_id = ms.player_id
+            WHERE ms.tournament_id = ?
+            ORDER BY ms.match_id, ms.stat_id
+            """,
+        handler, tournamentId);
+  }
+}
@@ -0,0 +1,148 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.dto.job.AsyncJobDto.State;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class AsyncJobRepository {
+
+  private static final String COLUMNS = """
+      job_id, job_type, state, progress_done, progress_total, result::text AS result, error_status, error_title,
+      error_message, created_at, started_at, finished_at
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public record AsyncJobRow(UUID jobId, String jobType, State state, int progressDone, Integer progressTotal,
+      String result, Integer errorStatus, String errorTitle, String errorMessage, Instant createdAt,
+      Instant startedAt, Instant finishedAt) {}
+
+  // Returns false when a job with the same type and key is already queued or running
+  public boolean insertIfNoneActive(UUID jobId, String jobType, String dedupKey, String submittedBy) {
+    return jdbcTemplate.update("""
+            INSERT INTO async_jobs (job_id, job_type, dedup_key, state, submitted_by)
+            VALUES (?, ?, ?, 'QUEUED', ?)
+            ON CONFLICT (job_type, dedup_key) WHERE state IN ('QUEUED', 'RUNNING') DO NOTHING
+            """,
+        jobId, jobType, dedupKey, submittedBy) == 1;
+  }
+
+  public Optional<AsyncJobRow> findById(UUID jobId) {
+    return jdbcTemplate.query("SELECT " + COLUMNS + " FROM async_jobs WHERE job_id = ?",
+        AsyncJobRepository::mapRow, jobId).stream().findFirst();
+  }
+
+  public Optional<AsyncJobRow> findActive(String jobType, String dedupKey) {
+    return jdbcTemplate.query("SELECT " + COLUMNS + """
+             FROM async_jobs
+            WHERE job_type = ? AND dedup_key = ? AND state IN ('QUEUED', 'RUNNING')
+            """,
+        AsyncJobRepository::mapRow, jobType, dedupKey).stream().findFirst();
+  }
+
+  public Optional<AsyncJobRow> findLatest(String jobType, String dedupKey) {
+    return jdbcTemplate.query("SELECT " + COLUMNS + """
+             FROM async_jobs
+            WHERE job_type = ? AND dedup_key = ?
+            ORDER BY created_at DESC
+            LIMIT 1
+            """,
+        AsyncJobRepository::mapRow, jobType, dedupKey).stream().findFirst();
+  }
+
+  public void markRunning(UUID jobId) {
+    jdbcTemplate.update("""
+            UPDATE async_jobs
+            SET state = 'RUNNING', started_at = CURRENT_TIMESTAMP, heartbeat_at = CURRENT_TIMESTAMP
+            WHERE job_id = ? AND state = 'QUEUED'
+            """,
+        jobId);
+  }
+
+  public void updateProgress(UUID jobId, int done, Integer total) {
+    jdbcTemplate.update("""
+            UPDATE async_jobs
+            SET progress_done = ?, progress_total = ?, heartbeat_at = CURRENT_TIMESTAMP
+            WHERE job_id = ? AND state = 'RUNNING'
+            """,
+        done, total, jobId);
+  }
+
+  public void heartbeat(Collection<UUID> jobIds) {
+    if (jobIds.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("""
+            UPDATE async_jobs SET heartbeat_at = CURRENT_TIMESTAMP
+            WHERE job_id IN (:ids) AND state = 'RUNNING'
+            """,
+        new MapSqlParameterSource("ids", jobIds));
+  }
+
+  public void complete(UUID jobId, int done, Integer total, String result) {
+    jdbcTemplate.update("""
+            UPDATE async_jobs
+            SET state = 'SUCCEEDED', progress_done = ?, progress_total = ?, result = CAST(? AS jsonb),
+                finished_at = CURRENT_TIMESTAMP
+            WHERE job_id = ? AND state = 'RUNNING'
+            """,
+        done, total, result, jobId);
+  }
+
+  public void fail(UUID jobId, int status, String title, String message) {
+    jdbcTemplate.update("""
+            UPDATE async_jobs
+            SET state = 'FAILED', error_status = ?, error_title = ?, error_message = ?, finished_at = CURRENT_TIMESTAMP
+            WHERE job_id = ? AND state IN ('QUEUED', 'RUNNING')
+            """,
+        status, title, message, jobId);
+  }
+
+  // Fails jobs whose instance stopped sending heartbeats, which also frees their dedup key
+  public int failAbandoned(Duration staleAfter, int status, String title, String message) {
+    return jdbcTemplate.update("""
+            UPDATE async_jobs
+            SET state = 'FAILED', error_status = ?, error_title = ?, error_message = ?, finished_at = CURRENT_TIMESTAMP
+            WHERE state IN ('QUEUED', 'RUNNING') AND heartbeat_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond'
+            """,
+        status, title, message, staleAfter.toMillis());
+  }
+
+  public int deleteFinishedBefore(Instant cutoff) {
+    return jdbcTemplate.update("DELETE FROM async_jobs WHERE finished_at < ?", Timestamp.from(cutoff));
+  }
+
+  private static AsyncJobRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+    return new AsyncJobRow(
+        rs.getObject("job_id", UUID.class),
+        rs.getString("job_type"),
+        State.valueOf(rs.getString("state")),
+        rs.getInt("progress_done"),
+        rs.getObject("progress_total", Integer.class),
+        rs.getString("result"),
+        rs.getObject("error_status", Integer.class),
+        rs.getString("error_title"),
+        rs.getString("error_message"),
+        toInstant(rs.getTimestamp("created_at")),
+        toInstant(rs.getTimestamp("started_at")),
+        toInstant(rs.getTimestamp("finished_at")));
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+}
@@ -0,0 +1,96 @@
+package com.nazarov.footballmanager.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public record StoredResponse(int status, String contentType, String location, byte[] body) {}
+
+  // response is null while the first request is still running
+  public record StoredKey(byte[] requestHash, StoredResponse response) {}
+
+  // Claims the key for running the request. Expired keys, and claims abandoned by a dead instance
+  // for the same request, are taken over; any other existing row makes the claim fail. The claim
+  // token identifies this claim in complete, release and heartbeat.
+  public boolean claim(String scope, String key, byte[] requestHash, UUID claimToken, Duration lockFor,
+      Duration ttl) {
+    return jdbcTemplate.update("""
+            INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, status, claim_token, locked_until,
+                                          expires_at)
+            VALUES (?, ?, ?, 'IN_PROGRESS', ?, CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond',
+                    CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond')
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', response_status = NULL,
+                response_content_type = NULL, response_location = NULL, response_body = NULL,
+                claim_token = EXCLUDED.claim_token, locked_until = EXCLUDED.locked_until,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < CURRENT_TIMESTAMP
+               OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.locked_until < CURRENT_TIMESTAMP
+                   AND idempotency_keys.request_hash = EXCLUDED.request_hash)
+            """,
+        scope, key, requestHash, claimToken, lockFor.toMillis(), ttl.toMillis()) == 1;
+  }
+
+  public Optional<StoredKey> find(String scope, String key) {
+    return jdbcTemplate.query("""
+            SELECT request_hash, status, response_status, response_content_type, response_location, response_body
+            FROM idempotency_keys
+            WHERE scope = ? AND idempotency_key = ? AND expires_at >= CURRENT_TIMESTAMP
+            """,
+        (rs, rowNum) -> new StoredKey(rs.getBytes("request_hash"), "COMPLETED".equals(rs.getString("status"))
+            ? new StoredResponse(rs.getInt("response_status"), rs.getString("response_content_type"),
+                rs.getString("response_location"), rs.getBytes("response_body"))
+            : null),
+        scope, key).stream().findFirst();
+  }
+
+  // False if the claim was taken over in the meantime; the response of the new claim is kept
+  public boolean complete(String scope, String key, UUID claimToken, StoredResponse response) {
+    return jdbcTemplate.update("""
+            UPDATE idempotency_keys
+            SET status = 'COMPLETED', response_status = ?, response_content_type = ?, response_location = ?,
+                response_body = ?
+            WHERE scope = ? AND idempotency_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'
+            """,
+        response.status(), response.contentType(), response.location(), response.body(), scope, key,
+        claimToken) == 1;
+  }
+
+  // Drops the claim of a request that failed with a server error, so a retry runs it again
+  public void release(String scope, String key, UUID claimToken) {
+    jdbcTemplate.update("""
+            DELETE FROM idempotency_keys
+            WHERE scope = ? AND idempotency_key = ? AND claim_token = ? AND status = 'IN_PROGRESS'
+            """,
+        scope, key, claimToken);
+  }
+
+  // Extends the lock of claims whose requests are still running, so they are not taken over
+  public void heartbeat(Collection<UUID> claimTokens, Duration lockFor) {
+    if (claimTokens.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("""
+            UPDATE idempotency_keys SET locked_until = CURRENT_TIMESTAMP + :lockFor * INTERVAL '1 millisecond'
+            WHERE claim_token IN (:tokens) AND status = 'IN_PROGRESS'
+            """,
+        new MapSqlParameterSource("tokens", claimTokens).addValue("lockFor", lockFor.toMillis()));
+  }
+
+  public int deleteExpired() {
+    return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < CURRENT_TIMESTAMP");
+  }
+}
@@ -0,0 +1,94 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.domain.JoinRequestStatus;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Set-based access to join_requests / player_team_assignments for bulk approvals
+@Repository
+@RequiredArgsConstructor
+public class JoinRequestBatchRepository {
+
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final JdbcTemplate jdbcTemplate;
+
+  public record JoinRequestRow(int requestId, int userId, int teamId, JoinRequestStatus status) {}
+
+  // Locks every join request of the players referenced by the given requests.
+  // Rows are locked in (user_id, request_id) order so concurrent batches cannot deadlock.
+  public List<JoinRequestRow> lockRequestsOfPlayers(Collection<Integer> requestIds) {
+    String sql = """
+        SELECT jr.request_id, jr.user_id, jr.team_id, jr.status::text AS status
+        FROM join_requests jr
+        WHERE jr.user_id IN (SELECT r.user_id FROM join_requests r WHERE r.request_id IN (:ids))
+        ORDER BY jr.user_id, jr.request_id
+        FOR UPDATE OF jr
+        """;
+    return namedJdbcTemplate.query(sql, new MapSqlParameterSource("ids", requestIds),
+        (rs, rowNum) -> new JoinRequestRow(
+            rs.getInt("request_id"),
+            rs.getInt("user_id"),
+            rs.getInt("team_id"),
+            JoinRequestStatus.fromDbValue(rs.getString("status"))));
+  }
+
+  public Set<Integer> findAssignedUserIds(Collection<Integer> userIds) {
+    return new HashSet<>(namedJdbcTemplate.queryForList(
+        "SELECT user_id FROM player_team_assignments WHERE user_id IN (:userIds)",
+        new MapSqlParameterSource("userIds", userIds), Integer.class));
+  }
+
+  public Set<Integer> findManagedTeamIds(Integer managerUserId) {
+    return new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT team_id FROM team_managers WHERE user_id = ?", Integer.class, managerUserId));
+  }
+
+  // Inserts all assignments in one statement. Returns the players that were actually assigned;
+  // players assigned concurrently by someone else are skipped instead of failing the batch.
+  public Set<Integer> insertAssignments(Map<Integer, Integer> teamIdByUserId) {
+    String sql = """
+        INSERT INTO player_team_assignments (user_id, team_id)
+        SELECT a.user_id, a.team_id FROM unnest(?, ?) AS a(user_id, team_id)
+        ORDER BY a.user_id
+        ON CONFLICT (user_id) DO NOTHING
+        RETURNING user_id
+        """;
+    Integer[] userIds = teamIdByUserId.keySet().toArray(Integer[]::new);
+    Integer[] teamIds = new Integer[userIds.length];
+    for (int i = 0; i < userIds.length; i++) {
+      teamIds[i] = teamIdByUserId.get(userIds[i]);
+    }
+    return new HashSet<>(jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(sql);
+      Array userArray = con.createArrayOf("integer", userIds);
+      Array teamArray = con.createArrayOf("integer", teamIds);
+      ps.setArray(1, userArray);
+      ps.setArray(2, teamArray);
+      return ps;
+    }, (rs, rowNum) -> rs.getInt("user_id")));
+  }
+
+  public int updateStatus(Collection<Integer> requestIds, JoinRequestStatus status) {
+    if (requestIds.isEmpty()) {
+      return 0;
+    }
+    String sql = """
+        UPDATE join_requests
+        SET status = CAST(:status AS join_request_status), responded_at = CURRENT_TIMESTAMP
+        WHERE request_id IN (:ids)
+        """;
+    return namedJdbcTemplate.update(sql, new MapSqlParameterSource()
+        .addValue("ids", requestIds)
+        .addValue("status", status.getDbValue()));
+  }
+}
@@ -0,0 +1,42 @@
+package com.nazarov.footballmanager.repository;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class LeagueRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // level is optional in the schema; 1 is the highest league
+  public record LeagueRow(int leagueId, int tournamentId, String name, Integer level) {}
+
+  private static final RowMapper<LeagueRow> LEAGUE_ROW_MAPPER = (rs, rowNum) -> new LeagueRow(
+      rs.getInt("league_id"),
+      rs.getInt("tournament_id"),
+      rs.getString("name"),
+      rs.getObject("level", Integer.class));
+
+  public List<LeagueRow> findByTournamentId(int tournamentId) {
+    return jdbcTemplate.query("""
+            SELECT league_id, tournament_id, name, level
+            FROM leagues
+            WHERE tournament_id = ?
+            ORDER BY level NULLS LAST, league_id
+            """,
+        LEAGUE_ROW_MAPPER, tournamentId);
+  }
+
+  public Optional<LeagueRow> findById(int leagueId) {
+    return jdbcTemplate.query(
+            "SELECT league_id, tournament_id, name, level FROM leagues WHERE league_id = ?",
+            LEAGUE_ROW_MAPPER, leagueId)
+        .stream()
+        .findFirst();
+  }
+}
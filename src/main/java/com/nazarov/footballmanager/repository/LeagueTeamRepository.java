@@ -0,0 +1,44 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Access to tournament_league_teams, the participation of a team in a league
+@Repository
+@RequiredArgsConstructor
+public class LeagueTeamRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record LeagueTeamRow(int teamId, String teamName) {}
+
+  public record FinalPlacement(int teamId, int finalRank, PromotionStatus promotionStatus) {}
+
+  public List<LeagueTeamRow> findTeams(int leagueId) {
+    return jdbcTemplate.query("""
+            SELECT t.team_id, t.name
+            FROM tournament_league_teams tlt
+            JOIN teams t ON t.team_id = tlt.team_id
+            WHERE tlt.league_id = ?
+            ORDER BY t.team_id
+            """,
+        (rs, rowNum) -> new LeagueTeamRow(rs.getInt("team_id"), rs.getString("name")), leagueId);
+  }
+
+  public void updateFinalPlacements(int leagueId, List<FinalPlacement> placements) {
+    jdbcTemplate.batchUpdate("""
+            UPDATE tournament_league_teams
+            SET final_rank = ?, promotion_status = CAST(? AS promotion_relegation_status)
+            WHERE league_id = ? AND team_id = ?
+            """,
+        placements, placements.size(), (ps, placement) -> {
+          ps.setInt(1, placement.finalRank());
+          ps.setString(2, placement.promotionStatus().getDbValue());
+          ps.setInt(3, leagueId);
+          ps.setInt(4, placement.teamId());
+        });
+  }
+}
@@ -0,0 +1,190 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class MatchRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record MatchResultRow(int homeTeamId, int awayTeamId, int homeScore, int awayScore) {}
+
+  public record FixtureRow(int homeTeamId, int awayTeamId) {}
+
+  public record MatchRow(int matchId, int tournamentId, int leagueId, int homeTeamId, int awayTeamId,
+      Instant matchDateTime, String location, MatchStatus status, Integer homeScore, Integer awayScore) {}
+
+  // A match with the version of its result columns, for optimistic locking of result changes
+  public record VersionedMatchRow(MatchRow match, int resultVersion) {}
+
+  // Calendar filter; null fields are not filtered on. afterDateTime/afterMatchId is the last row of the previous page
+  public record CalendarQuery(Integer tournamentId, Integer leagueId, Integer teamId, Set<MatchStatus> statuses,
+      Instant from, Instant to, Instant afterDateTime, Integer afterMatchId, int limit) {}
+
+  private static final RowMapper<MatchRow> MATCH_ROW_MAPPER = (rs, rowNum) -> new MatchRow(
+      rs.getInt("match_id"),
+      rs.getInt("tournament_id"),
+      rs.getInt("league_id"),
+      rs.getInt("home_team_id"),
+      rs.getInt("away_team_id"),
+      rs.getTimestamp("match_date_time").toInstant(),
+      rs.getString("location"),
+      MatchStatus.fromDbValue(rs.getString("status")),
+      rs.getObject("home_score", Integer.class),
+      rs.getObject("away_score", Integer.class));
+
+  private static final String MATCH_COLUMNS = """
+      match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+      status::text AS status, home_score, away_score
+      """;
+
+  // Looks in every partition; callers that know the tournament should use a tournament-scoped query
+  public Optional<MatchRow> findById(int matchId) {
+    return jdbcTemplate.query("SELECT " + MATCH_COLUMNS + " FROM matches WHERE match_id = ?",
+            MATCH_ROW_MAPPER, matchId)
+        .stream()
+        .findFirst();
+  }
+
+  public Optional<VersionedMatchRow> findWithResultVersion(int matchId) {
+    return jdbcTemplate.query("SELECT " + MATCH_COLUMNS + ", result_version FROM matches WHERE match_id = ?",
+            (rs, rowNum) -> new VersionedMatchRow(MATCH_ROW_MAPPER.mapRow(rs, rowNum), rs.getInt("result_version")),
+            matchId)
+        .stream()
+        .findFirst();
+  }
+
+  // Only applies if nobody changed the result since expectedVersion was read: 0 rows updated means a
+  // concurrent change. No lock is held between the read and this statement.
+  public int recordResult(int matchId, int tournamentId, int homeScore, int awayScore, int recordedByAdminId,
+      int expectedVersion) {
+    return jdbcTemplate.update("""
+            UPDATE matches
+            SET home_score = ?, away_score = ?, status = 'Completed', recorded_by_admin_id = ?,
+                recorded_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP, result_version = result_version + 1
+            WHERE tournament_id = ? AND match_id = ? AND result_version = ?
+            """,
+        homeScore, awayScore, recordedByAdminId, tournamentId, matchId, expectedVersion);
+  }
+
+  // matches is partitioned by tournament_id: always pass it so only one partition is scanned
+  public List<MatchResultRow> findCompletedResults(int tournamentId, int leagueId) {
+    return jdbcTemplate.query("""
+            SELECT home_team_id, away_team_id, home_score, away_score
+            FROM matches
+            WHERE tournament_id = ? AND league_id = ? AND status = 'Completed'
+              AND home_score IS NOT NULL AND away_score IS NOT NULL
+            """,
+        (rs, rowNum) -> new MatchResultRow(
+            rs.getInt("home_team_id"),
+            rs.getInt("away_team_id"),
+            rs.getInt("home_score"),
+            rs.getInt("away_score")),
+        tournamentId, leagueId);
+  }
+
+  // Fixtures still to be played in a league, postponed ones included
+  public List<FixtureRow> findRemainingFixtures(int tournamentId, int leagueId) {
+    return jdbcTemplate.query("""
+            SELECT home_team_id, away_team_id
+            FROM matches
+            WHERE tournament_id = ? AND league_id = ? AND status IN ('Scheduled', 'Postponed')
+            ORDER BY match_id
+            """,
+        (rs, rowNum) -> new FixtureRow(rs.getInt("home_team_id"), rs.getInt("away_team_id")),
+        tournamentId, leagueId);
+  }
+
+  // Next fixtures of a league from the given time on, postponed ones included
+  public List<MatchRow> findUpcomingFixtures(int tournamentId, int leagueId, Instant from, int limit) {
+    return jdbcTemplate.query("SELECT " + MATCH_COLUMNS + """
+            FROM matches
+            WHERE tournament_id = ? AND league_id = ? AND status IN ('Scheduled', 'Postponed')
+              AND match_date_time >= ?
+            ORDER BY match_date_time, match_id
+            LIMIT ?
+            """,
+        MATCH_ROW_MAPPER, tournamentId, leagueId, Timestamp.from(from), limit);
+  }
+
+  // Every match of a league that was not cancelled, in kick-off order from the league calendar index
+  public List<MatchRow> findByLeague(int tournamentId, int leagueId) {
+    return jdbcTemplate.query("SELECT " + MATCH_COLUMNS + """
+            FROM matches
+            WHERE tournament_id = ? AND league_id = ? AND status <> 'Cancelled'
+            ORDER BY match_date_time, match_id
+            """,
+        MATCH_ROW_MAPPER, tournamentId, leagueId);
+  }
+
+  // Matches that still have to be played (or rescheduled) before a tournament can be closed
+  public int countOpenMatches(int tournamentId) {
+    Integer count = jdbcTemplate.queryForObject("""
+            SELECT count(*)
+            FROM matches
+            WHERE tournament_id = ? AND status IN ('Scheduled', 'Postponed')
+            """,
+        Integer.class, tournamentId);
+    return count != null ? count : 0;
+  }
+
+  // Matches in kick-off order, read from the V11 calendar indexes
+  public List<MatchRow> findCalendar(CalendarQuery query) {
+    List<Object> args = new ArrayList<>();
+    String sql;
+    if (query.teamId() == null) {
+      sql = calendarBranch(query, null, args);
+    } else {
+      // home OR away would become a bitmap scan plus a sort of the whole window; two ordered index scans
+      // that each stop after a page are merged instead. A team never plays itself, so no row appears twice.
+      sql = "(" + calendarBranch(query, "home_team_id", args) + ") UNION ALL ("
+          + calendarBranch(query, "away_team_id", args) + ") ORDER BY match_date_time, match_id LIMIT ?";
+      args.add(query.limit());
+    }
+    return jdbcTemplate.query(sql, MATCH_ROW_MAPPER, args.toArray());
+  }
+
+  private static String calendarBranch(CalendarQuery query, String teamColumn, List<Object> args) {
+    List<String> conditions = new ArrayList<>();
+    if (query.tournamentId() != null) {
+      conditions.add("tournament_id = ?"); // Prunes to a single partition
+      args.add(query.tournamentId());
+    }
+    if (query.leagueId() != null) {
+      conditions.add("league_id = ?");
+      args.add(query.leagueId());
+    }
+    if (teamColumn != null) {
+      conditions.add(teamColumn + " = ?");
+      args.add(query.teamId());
+    }
+    if (query.statuses() != null && !query.statuses().isEmpty()) {
+      conditions.add("status IN (" + String.join(", ",
+          query.statuses().stream().map(status -> "CAST(? AS match_status)").toList()) + ")");
+      query.statuses().forEach(status -> args.add(status.getDbValue()));
+    }
+    conditions.add("match_date_time >= ?");
+    args.add(Timestamp.from(query.from()));
+    conditions.add("match_date_time < ?");
+    args.add(Timestamp.from(query.to()));
+    if (query.afterDateTime() != null) {
+      conditions.add("(match_date_time, match_id) > (?, ?)");
+      args.add(Timestamp.from(query.afterDateTime()));
+      args.add(query.afterMatchId());
+    }
+    args.add(query.limit());
+    return "SELECT " + MATCH_COLUMNS + " FROM matches WHERE " + String.join(" AND ", conditions)
+        + " ORDER BY match_date_time, match_id LIMIT ?";
+  }
+}
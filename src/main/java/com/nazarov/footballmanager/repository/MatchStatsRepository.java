@@ -0,0 +1,65 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.ingest.LiveEvent;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class MatchStatsRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // One batched statement; events already stored under their id (a replay) are skipped. The career
+  // stats trigger only fires for rows actually inserted, and only those are returned.
+  public List<LiveEvent> insertAll(List<LiveEvent> events) {
+    int[][] counts = jdbcTemplate.batchUpdate("""
+            INSERT INTO match_stats (event_id, tournament_id, match_id, player_id, team_id, stat_type,
+                                     minute_of_event, created_at)
+            VALUES (?, ?, ?, ?, ?, CAST(? AS match_stat_type), ?, ?)
+            ON CONFLICT (event_id, tournament_id) DO NOTHING
+            """,
+        events, events.size(), (ps, event) -> {
+          ps.setObject(1, event.eventId());
+          ps.setInt(2, event.tournamentId());
+          ps.setInt(3, event.matchId());
+          ps.setInt(4, event.playerId());
+          ps.setInt(5, event.teamId());
+          ps.setString(6, event.statType().getDbValue());
+          if (event.minute() == null) {
+            ps.setNull(7, Types.INTEGER);
+          } else {
+            ps.setInt(7, event.minute());
+          }
+          ps.setTimestamp(8, Timestamp.from(event.receivedAt()));
+        });
+    List<LiveEvent> inserted = new ArrayList<>(events.size());
+    int index = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        if (count != 0) { // A driver that reports no count (SUCCESS_NO_INFO) is taken as an insert
+          inserted.add(events.get(index));
+        }
+        index++;
+      }
+    }
+    return inserted;
+  }
+
+  // Parks an event that match_stats refused, once; a replay of the same event is a no-op
+  public void reject(LiveEvent event, String reason) {
+    jdbcTemplate.update("""
+            INSERT INTO live_event_rejects (event_id, tournament_id, match_id, player_id, team_id, stat_type,
+                                            minute_of_event, received_at, reason)
+            VALUES (?, ?, ?, ?, ?, CAST(? AS match_stat_type), ?, ?, ?)
+            ON CONFLICT (event_id) DO NOTHING
+            """,
+        event.eventId(), event.tournamentId(), event.matchId(), event.playerId(), event.teamId(),
+        event.statType().getDbValue(), event.minute(), Timestamp.from(event.receivedAt()), reason);
+  }
+}
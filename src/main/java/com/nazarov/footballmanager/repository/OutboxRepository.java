@@ -0,0 +1,92 @@
+package com.nazarov.footballmanager.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public record OutboxRow(long eventId, String aggregateType, String aggregateId, String eventType, String payload,
+      Instant createdAt, int attempts) {}
+
+  public void insert(String aggregateType, String aggregateId, String eventType, String payload) {
+    jdbcTemplate.update("""
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, CAST(? AS jsonb))
+            """,
+        aggregateType, aggregateId, eventType, payload);
+  }
+
+  // Claims the oldest due events: rows locked by another dispatcher are skipped, and the claimed rows
+  // become invisible to others for the lease by moving available_at forward. If this instance dies,
+  // the events are delivered again once the lease runs out.
+  public List<OutboxRow> claimBatch(int batchSize, Duration lease) {
+    return jdbcTemplate.query("""
+            WITH due AS (
+                SELECT event_id
+                FROM outbox_events
+                WHERE failed_at IS NULL AND available_at <= CURRENT_TIMESTAMP
+                ORDER BY event_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE outbox_events o
+            SET available_at = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond', attempts = o.attempts + 1
+            FROM due
+            WHERE o.event_id = due.event_id
+            RETURNING o.event_id, o.aggregate_type, o.aggregate_id, o.event_type, o.payload::text AS payload,
+                      o.created_at, o.attempts
+            """,
+        (rs, rowNum) -> new OutboxRow(
+            rs.getLong("event_id"),
+            rs.getString("aggregate_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getInt("attempts")),
+        batchSize, lease.toMillis());
+  }
+
+  public void deleteDelivered(List<Long> eventIds) {
+    if (eventIds.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("DELETE FROM outbox_events WHERE event_id IN (:ids)",
+        new MapSqlParameterSource("ids", eventIds));
+  }
+
+  public void scheduleRetry(long eventId, Duration delay, String error) {
+    jdbcTemplate.update("""
+            UPDATE outbox_events
+            SET available_at = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond', last_error = ?
+            WHERE event_id = ?
+            """,
+        delay.toMillis(), error, eventId);
+  }
+
+  public void markFailed(long eventId, String error) {
+    jdbcTemplate.update("""
+            UPDATE outbox_events
+            SET failed_at = CURRENT_TIMESTAMP, last_error = ?
+            WHERE event_id = ?
+            """,
+        error, eventId);
+  }
+
+  public int countPending() {
+    Integer count = jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM outbox_events WHERE failed_at IS NULL", Integer.class);
+    return count != null ? count : 0;
+  }
+}
@@ -0,0 +1,137 @@
+package com.nazarov.footballmanager.repository;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// player_career_stats rows. Event columns are kept up to date by a trigger on match_stats (V12);
+// appearances are added here when a match is completed.
+@Repository
+@RequiredArgsConstructor
+public class PlayerCareerStatsRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record CareerStatsRow(int tournamentId, String tournamentName, String yearPeriod, Integer teamId,
+      int appearances, int goals, int assists, int yellowCards, int redCards) {}
+
+  // Event counts of a player and tournament that differ between match_stats and the rollup
+  public record DriftRow(int playerId, int expectedGoals, int storedGoals, int expectedAssists, int storedAssists,
+      int expectedYellowCards, int storedYellowCards, int expectedRedCards, int storedRedCards) {}
+
+  // Counts of match_stats per player of one tournament, partition pruned
+  private static final String ACTUAL_EVENTS = """
+      SELECT player_id,
+             count(*) FILTER (WHERE stat_type = 'Goal') AS goals,
+             count(*) FILTER (WHERE stat_type = 'Assist') AS assists,
+             count(*) FILTER (WHERE stat_type = 'Yellow Card') AS yellow_cards,
+             count(*) FILTER (WHERE stat_type = 'Red Card') AS red_cards
+      FROM match_stats
+      WHERE tournament_id = ?
+      GROUP BY player_id
+      """;
+
+  // One lookup on the primary key prefix; tournaments are joined by their primary key
+  public List<CareerStatsRow> findByPlayerId(int playerId) {
+    return jdbcTemplate.query("""
+            SELECT pcs.tournament_id, t.name, t.year_period, pcs.team_id, pcs.appearances, pcs.goals, pcs.assists,
+                   pcs.yellow_cards, pcs.red_cards
+            FROM player_career_stats pcs
+            JOIN tournaments t ON t.tournament_id = pcs.tournament_id
+            WHERE pcs.player_id = ?
+            ORDER BY pcs.tournament_id
+            """,
+        (rs, rowNum) -> new CareerStatsRow(
+            rs.getInt("tournament_id"),
+            rs.getString("name"),
+            rs.getString("year_period"),
+            rs.getObject("team_id", Integer.class),
+            rs.getInt("appearances"),
+            rs.getInt("goals"),
+            rs.getInt("assists"),
+            rs.getInt("yellow_cards"),
+            rs.getInt("red_cards")),
+        playerId);
+  }
+
+  // Every player assigned to one of the teams since before kick-off made an appearance
+  public int addAppearances(int tournamentId, int matchId, int homeTeamId, int awayTeamId) {
+    return jdbcTemplate.update("""
+            INSERT INTO player_career_stats AS pcs (player_id, tournament_id, team_id, appearances)
+            SELECT pta.user_id, m.tournament_id, pta.team_id, 1
+            FROM matches m
+            JOIN player_team_assignments pta ON pta.team_id IN (?, ?) AND pta.assigned_at <= m.match_date_time
+            WHERE m.tournament_id = ? AND m.match_id = ?
+            ON CONFLICT (player_id, tournament_id) DO UPDATE
+            SET appearances = pcs.appearances + 1, team_id = EXCLUDED.team_id, updated_at = CURRENT_TIMESTAMP
+            """,
+        homeTeamId, awayTeamId, tournamentId, matchId);
+  }
+
+  // Detached seasons have no match_stats left to compare with, so only attached ones are verified
+  public List<Integer> findTournamentsWithAttachedPartitions() {
+    return jdbcTemplate.queryForList("""
+            SELECT tournament_id
+            FROM tournaments
+            WHERE to_regclass('public.matches_t' || tournament_id) IS NOT NULL
+            ORDER BY tournament_id
+            """,
+        Integer.class);
+  }
+
+  public List<DriftRow> findDrift(int tournamentId) {
+    return jdbcTemplate.query("WITH actual AS (" + ACTUAL_EVENTS + """
+            )
+            SELECT coalesce(a.player_id, pcs.player_id) AS player_id,
+                   coalesce(a.goals, 0) AS expected_goals, coalesce(pcs.goals, 0) AS stored_goals,
+                   coalesce(a.assists, 0) AS expected_assists, coalesce(pcs.assists, 0) AS stored_assists,
+                   coalesce(a.yellow_cards, 0) AS expected_yellow_cards,
+                   coalesce(pcs.yellow_cards, 0) AS stored_yellow_cards,
+                   coalesce(a.red_cards, 0) AS expected_red_cards, coalesce(pcs.red_cards, 0) AS stored_red_cards
+            FROM actual a
+            FULL JOIN (SELECT * FROM player_career_stats WHERE tournament_id = ?) pcs ON pcs.player_id = a.player_id
+            WHERE (coalesce(a.goals, 0), coalesce(a.assists, 0), coalesce(a.yellow_cards, 0), coalesce(a.red_cards, 0))
+                  <> (coalesce(pcs.goals, 0), coalesce(pcs.assists, 0), coalesce(pcs.yellow_cards, 0),
+                      coalesce(pcs.red_cards, 0))
+            ORDER BY 1
+            """,
+        (rs, rowNum) -> new DriftRow(
+            rs.getInt("player_id"),
+            rs.getInt("expected_goals"),
+            rs.getInt("stored_goals"),
+            rs.getInt("expected_assists"),
+            rs.getInt("stored_assists"),
+            rs.getInt("expected_yellow_cards"),
+            rs.getInt("stored_yellow_cards"),
+            rs.getInt("expected_red_cards"),
+            rs.getInt("stored_red_cards")),
+        tournamentId, tournamentId);
+  }
+
+  // Rewrites the event counts of a tournament from match_stats; appearances are left alone
+  public int repairEvents(int tournamentId) {
+    int upserted = jdbcTemplate.update("""
+            INSERT INTO player_career_stats AS pcs (player_id, tournament_id, goals, assists, yellow_cards, red_cards)
+            SELECT player_id, ?, goals, assists, yellow_cards, red_cards
+            FROM (""" + ACTUAL_EVENTS + """
+            ) actual
+            ON CONFLICT (player_id, tournament_id) DO UPDATE
+            SET goals = EXCLUDED.goals, assists = EXCLUDED.assists, yellow_cards = EXCLUDED.yellow_cards,
+                red_cards = EXCLUDED.red_cards, updated_at = CURRENT_TIMESTAMP
+            WHERE (pcs.goals, pcs.assists, pcs.yellow_cards, pcs.red_cards)
+                  <> (EXCLUDED.goals, EXCLUDED.assists, EXCLUDED.yellow_cards, EXCLUDED.red_cards)
+            """,
+        tournamentId, tournamentId);
+    int cleared = jdbcTemplate.update("""
+            UPDATE player_career_stats pcs
+            SET goals = 0, assists = 0, yellow_cards = 0, red_cards = 0, updated_at = CURRENT_TIMESTAMP
+            WHERE pcs.tournament_id = ?
+              AND (pcs.goals, pcs.assists, pcs.yellow_cards, pcs.red_cards) <> (0, 0, 0, 0)
+              AND NOT EXISTS (SELECT 1 FROM match_stats ms
+                              WHERE ms.tournament_id = pcs.tournament_id AND ms.player_id = pcs.player_id)
+            """,
+        tournamentId);
+    return upserted + cleared;
+  }
+}
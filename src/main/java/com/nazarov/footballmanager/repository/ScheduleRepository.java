@@ -0,0 +1,85 @@
+package com.nazarov.footballmanager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// Writes to the schedule of matches, plus the stream the in-memory schedule index is loaded from
+@Repository
+public class ScheduleRepository {
+
+  private static final int FETCH_SIZE = 5_000;
+  // Advisory lock serializing schedule writes across instances
+  private static final long SCHEDULE_WRITE_LOCK = 0x5343_4844L << 32;
+
+  private static final String SELECT_SLOT = """
+      SELECT match_id, tournament_id, home_team_id, away_team_id, match_date_time, location, status::text AS status
+      FROM matches
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  public ScheduleRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+  }
+
+  // Every match that occupies its teams and venue; cancelled ones free their slot. Must run inside a transaction.
+  public void streamOccupiedSlots(RowCallbackHandler handler) {
+    streamingJdbcTemplate.query(SELECT_SLOT + " WHERE status <> 'Cancelled'", handler);
+  }
+
+  // Held until commit; the conflict check and the write of one edit see no other edit in between
+  public void lockSchedule() {
+    jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null,
+        SCHEDULE_WRITE_LOCK);
+  }
+
+  // The slot of one match, unless it was cancelled
+  public void findOccupiedSlot(int matchId, RowCallbackHandler handler) {
+    jdbcTemplate.query(SELECT_SLOT + " WHERE match_id = ? AND status <> 'Cancelled'", handler, matchId);
+  }
+
+  // Matches kicking off strictly between the bounds that need either team or the venue. The venue is
+  // compared as ScheduleIndex keys it: trimmed and lower-case.
+  public void streamOccupiedSlotsNear(int homeTeamId, int awayTeamId, String venueKey, Instant from, Instant to,
+      RowCallbackHandler handler) {
+    jdbcTemplate.query(SELECT_SLOT + """
+            WHERE status <> 'Cancelled' AND match_date_time > ? AND match_date_time < ?
+              AND (home_team_id IN (?, ?) OR away_team_id IN (?, ?) OR lower(btrim(location)) = CAST(? AS text))
+            """,
+        handler, Timestamp.from(from), Timestamp.from(to), homeTeamId, awayTeamId, homeTeamId, awayTeamId, venueKey);
+  }
+
+  public int insertFixture(int tournamentId, int leagueId, int homeTeamId, int awayTeamId, Instant matchDateTime,
+      String location) {
+    Integer matchId = jdbcTemplate.queryForObject("""
+            INSERT INTO matches (tournament_id, league_id, home_team_id, away_team_id, match_date_time, location)
+            VALUES (?, ?, ?, ?, ?, ?)
+            RETURNING match_id
+            """,
+        Integer.class, tournamentId, leagueId, homeTeamId, awayTeamId, Timestamp.from(matchDateTime), location);
+    if (matchId == null) {
+      throw new IllegalStateException("Insert into matches returned no id");
+    }
+    return matchId;
+  }
+
+  // A postponed match that gets a new slot is scheduled again. The status change commutes with
+  // recording a result (either order ends Completed), so result_version is left alone.
+  public int updateSlot(int matchId, int tournamentId, Instant matchDateTime, String location) {
+    return jdbcTemplate.update("""
+            UPDATE matches
+            SET match_date_time = ?, location = ?, updated_at = CURRENT_TIMESTAMP,
+                status = CASE WHEN status = 'Postponed' THEN 'Scheduled'::match_status ELSE status END
+            WHERE tournament_id = ? AND match_id = ?
+            """,
+        Timestamp.from(matchDateTime), location, tournamentId, matchId);
+  }
+}
@@ -0,0 +1,69 @@
+package com.nazarov.footballmanager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ScheduledJobRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record ScheduledJobRow(String jobName, Instant nextRunAt, Instant lastStartedAt, Instant lastFinishedAt,
+      String lastStatus, String lastError, String lastOwner) {}
+
+  // Keeps the existing row, so restarts do not move a job's next run
+  public void ensureJob(String jobName, Instant firstRunAt) {
+    jdbcTemplate.update("""
+            INSERT INTO scheduled_jobs (job_name, next_run_at)
+            VALUES (?, ?)
+            ON CONFLICT (job_name) DO NOTHING
+            """,
+        jobName, Timestamp.from(firstRunAt));
+  }
+
+  public Optional<Instant> findNextRunAt(String jobName) {
+    return jdbcTemplate.query("SELECT next_run_at FROM scheduled_jobs WHERE job_name = ?",
+            (rs, rowNum) -> rs.getTimestamp("next_run_at").toInstant(),
+            jobName)
+        .stream()
+        .findFirst();
+  }
+
+  public void recordRun(String jobName, Instant nextRunAt, Instant startedAt, Instant finishedAt, String status,
+      String error, String owner) {
+    jdbcTemplate.update("""
+            UPDATE scheduled_jobs
+            SET next_run_at = ?, last_started_at = ?, last_finished_at = ?, last_status = ?, last_error = ?,
+                last_owner = ?
+            WHERE job_name = ?
+            """,
+        Timestamp.from(nextRunAt), Timestamp.from(startedAt), Timestamp.from(finishedAt), status, error, owner,
+        jobName);
+  }
+
+  public List<ScheduledJobRow> findAll() {
+    return jdbcTemplate.query("""
+            SELECT job_name, next_run_at, last_started_at, last_finished_at, last_status, last_error, last_owner
+            FROM scheduled_jobs
+            ORDER BY job_name
+            """,
+        (rs, rowNum) -> new ScheduledJobRow(
+            rs.getString("job_name"),
+            rs.getTimestamp("next_run_at").toInstant(),
+            toInstant(rs.getTimestamp("last_started_at")),
+            toInstant(rs.getTimestamp("last_finished_at")),
+            rs.getString("last_status"),
+            rs.getString("last_error"),
+            rs.getString("last_owner")));
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+}
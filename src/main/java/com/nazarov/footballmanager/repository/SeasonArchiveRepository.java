@@ -0,0 +1,96 @@
+package com.nazarov.footballmanager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+// Which blob holds the archive of a tournament, and how far its partitions have been taken out of the database
+@Repository
+@RequiredArgsConstructor
+public class SeasonArchiveRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record SeasonArchiveRow(int tournamentId, String blobKey, long sizeBytes, int matchCount, int statCount,
+      Instant createdAt, Instant detachedAt) {}
+
+  private static final RowMapper<SeasonArchiveRow> ROW_MAPPER = (rs, rowNum) -> {
+    Timestamp detachedAt = rs.getTimestamp("detached_at");
+    return new SeasonArchiveRow(
+        rs.getInt("tournament_id"),
+        rs.getString("blob_key"),
+        rs.getLong("size_bytes"),
+        rs.getInt("match_count"),
+        rs.getInt("stat_count"),
+        rs.getTimestamp("created_at").toInstant(),
+        detachedAt != null ? detachedAt.toInstant() : null);
+  };
+
+  public Optional<SeasonArchiveRow> findByTournamentId(int tournamentId) {
+    return jdbcTemplate.query("""
+            SELECT tournament_id, blob_key, size_bytes, match_count, stat_count, created_at, detached_at
+            FROM season_archives
+            WHERE tournament_id = ?
+            """,
+        ROW_MAPPER, tournamentId).stream().findFirst();
+  }
+
+  // Writing an archive again replaces the blob it points to; once detached, the live data is gone
+  public void save(int tournamentId, String blobKey, long sizeBytes, int matchCount, int statCount) {
+    jdbcTemplate.update("""
+            INSERT INTO season_archives (tournament_id, blob_key, size_bytes, match_count, stat_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (tournament_id) DO UPDATE
+            SET blob_key = EXCLUDED.blob_key, size_bytes = EXCLUDED.size_bytes,
+                match_count = EXCLUDED.match_count, stat_count = EXCLUDED.stat_count,
+                created_at = CURRENT_TIMESTAMP
+            WHERE season_archives.detached_at IS NULL
+            """,
+        tournamentId, blobKey, sizeBytes, matchCount, statCount);
+  }
+
+  public int countMatches(int tournamentId) {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM matches WHERE tournament_id = ?", Integer.class,
+        tournamentId);
+  }
+
+  public int countStats(int tournamentId) {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM match_stats WHERE tournament_id = ?", Integer.class,
+        tournamentId);
+  }
+
+  public void markDetached(int tournamentId) {
+    jdbcTemplate.update("UPDATE season_archives SET detached_at = CURRENT_TIMESTAMP WHERE tournament_id = ?",
+        tournamentId);
+  }
+
+  // Seasons whose matches are no longer in the live tables, dropped or not
+  public List<Integer> findDetached() {
+    return jdbcTemplate.queryForList(
+        "SELECT tournament_id FROM season_archives WHERE detached_at IS NOT NULL ORDER BY tournament_id",
+        Integer.class);
+  }
+
+  public List<Integer> findDetachedBefore(Instant cutoff) {
+    return jdbcTemplate.queryForList("""
+            SELECT tournament_id FROM season_archives
+            WHERE detached_at < ? AND dropped_at IS NULL
+            ORDER BY tournament_id
+            """,
+        Integer.class, Timestamp.from(cutoff));
+  }
+
+  // Drops the detached tables of the tournament from the archive schema and records it
+  public void dropDetachedPartitions(int tournamentId) {
+    jdbcTemplate.query("SELECT drop_detached_tournament_partitions(?)", (ResultSetExtractor<Void>) rs -> null,
+        tournamentId);
+    jdbcTemplate.update("UPDATE season_archives SET dropped_at = CURRENT_TIMESTAMP WHERE tournament_id = ?",
+        tournamentId);
+  }
+}
@@ -0,0 +1,116 @@
+package com.nazarov.footballmanager.repository;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Set-based statements that clone a tournament into the next season without loading entities
+@Repository
+@RequiredArgsConstructor
+public class SeasonRolloverRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public List<Integer> findDuplicateLevels(int tournamentId) {
+    return jdbcTemplate.queryForList("""
+            SELECT level
+            FROM leagues
+            WHERE tournament_id = ? AND level IS NOT NULL
+            GROUP BY level
+            HAVING count(*) > 1
+            """,
+        Integer.class, tournamentId);
+  }
+
+  public int countUnfinalizedTeams(int tournamentId) {
+    Integer count = jdbcTemplate.queryForObject("""
+            SELECT count(*)
+            FROM tournament_league_teams tlt
+            JOIN leagues l ON l.league_id = tlt.league_id
+            WHERE l.tournament_id = ? AND tlt.promotion_status IS NULL
+            """,
+        Integer.class, tournamentId);
+    return count != null ? count : 0;
+  }
+
+  // The tournament already rolled over from the given one, if any
+  public Optional<Integer> findSuccessor(int tournamentId) {
+    return jdbcTemplate.queryForList("SELECT tournament_id FROM tournaments WHERE previous_tournament_id = ?",
+        Integer.class, tournamentId).stream().findFirst();
+  }
+
+  // Throws DuplicateKeyException when the source already has a successor
+  public int insertTournament(int sourceTournamentId, String name, String yearPeriod) {
+    return jdbcTemplate.queryForObject("""
+            INSERT INTO tournaments (name, year_period, status, previous_tournament_id)
+            VALUES (?, ?, 'Setup', ?)
+            RETURNING tournament_id
+            """,
+        Integer.class, name, yearPeriod, sourceTournamentId);
+  }
+
+  public int copyLeagues(int sourceTournamentId, int targetTournamentId) {
+    return jdbcTemplate.update("""
+            INSERT INTO leagues (tournament_id, name, level)
+            SELECT ?, name, level
+            FROM leagues
+            WHERE tournament_id = ?
+            ORDER BY league_id
+            """,
+        targetTournamentId, sourceTournamentId);
+  }
+
+  // Moves every team of a levelled league one tier up (Promoted), one tier down (Relegated) or keeps it.
+  // Tiers are the dense rank of the league levels, so gaps in level numbers do not strand teams,
+  // and teams already in the top or bottom tier stay there.
+  public int copyTeamsAcrossLevels(int sourceTournamentId, int targetTournamentId) {
+    String sql = """
+        WITH source_tiers AS (
+            SELECT league_id, name,
+                   DENSE_RANK() OVER (ORDER BY level) AS tier,
+                   COUNT(*) OVER () AS tier_count
+            FROM leagues
+            WHERE tournament_id = :sourceId AND level IS NOT NULL
+        ),
+        moves AS (
+            SELECT tlt.team_id,
+                   LEAST(GREATEST(st.tier + CASE tlt.promotion_status
+                                                WHEN 'Promoted' THEN -1
+                                                WHEN 'Relegated' THEN 1
+                                                ELSE 0 END, 1), st.tier_count) AS target_tier
+            FROM tournament_league_teams tlt
+            JOIN source_tiers st ON st.league_id = tlt.league_id
+        )
+        INSERT INTO tournament_league_teams (league_id, team_id)
+        SELECT target.league_id, m.team_id
+        FROM moves m
+        JOIN source_tiers destination ON destination.tier = m.target_tier
+        JOIN leagues target ON target.tournament_id = :targetId AND target.name = destination.name
+        ORDER BY target.league_id, m.team_id
+        """;
+    return namedJdbcTemplate.update(sql, new MapSqlParameterSource()
+        .addValue("sourceId", sourceTournamentId)
+        .addValue("targetId", targetTournamentId));
+  }
+
+  // Leagues without a level take no part in promotion, their teams simply carry over
+  public int copyTeamsOfUnlevelledLeagues(int sourceTournamentId, int targetTournamentId) {
+    String sql = """
+        INSERT INTO tournament_league_teams (league_id, team_id)
+        SELECT target.league_id, tlt.team_id
+        FROM tournament_league_teams tlt
+        JOIN leagues source ON source.league_id = tlt.league_id
+        JOIN leagues target ON target.tournament_id = :targetId AND target.name = source.name
+        WHERE source.tournament_id = :sourceId AND source.level IS NULL
+        ORDER BY target.league_id, tlt.team_id
+        """;
+    return namedJdbcTemplate.update(sql, new MapSqlParameterSource()
+        .addValue("sourceId", sourceTournamentId)
+        .addValue("targetId", targetTournamentId));
+  }
+}
@@ -0,0 +1,169 @@
+package com.nazarov.footballmanager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+// Access to team_ratings, plus the chronological result streams a full recompute is built from
+@Repository
+public class TeamRatingRepository {
+
+  private static final int FETCH_SIZE = 2_000;
+  // Advisory lock between incremental updates (shared) and the write of a recompute (exclusive)
+  private static final long RATING_WRITE_LOCK = 0x5241_5445L << 32;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final JdbcTemplate streamingJdbcTemplate;
+
+  public TeamRatingRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+    this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+  }
+
+  public record TeamRatingRow(int teamId, String teamName, double rating, int matchesRated, Integer lastMatchId,
+      Instant updatedAt) {}
+
+  public record RatingState(double rating, int matchesRated, Integer lastMatchId) {}
+
+  // Tournament with the time of its first match, the order a recompute replays seasons in
+  public record TournamentPlayOrder(int tournamentId, Instant firstMatchAt) {}
+
+  private static final RowMapper<TeamRatingRow> TEAM_RATING_ROW_MAPPER = (rs, rowNum) -> new TeamRatingRow(
+      rs.getInt("team_id"),
+      rs.getString("team_name"),
+      rs.getDouble("rating"),
+      rs.getInt("matches_rated"),
+      rs.getObject("last_match_id", Integer.class),
+      rs.getTimestamp("updated_at").toInstant());
+
+  private static final String SELECT_RATINGS = """
+      SELECT tr.team_id, t.name AS team_name, tr.rating, tr.matches_rated, tr.last_match_id, tr.updated_at
+      FROM team_ratings tr
+      JOIN teams t ON t.team_id = tr.team_id
+      """;
+
+  public List<TeamRatingRow> findAll(int limit) {
+    return jdbcTemplate.query(SELECT_RATINGS + " ORDER BY tr.rating DESC, tr.team_id LIMIT ?",
+        TEAM_RATING_ROW_MAPPER, limit);
+  }
+
+  public Optional<TeamRatingRow> findByTeamId(int teamId) {
+    return jdbcTemplate.query(SELECT_RATINGS + " WHERE tr.team_id = ?", TEAM_RATING_ROW_MAPPER, teamId)
+        .stream()
+        .findFirst();
+  }
+
+  // Held until commit, so a recompute cannot replace the ratings while a result is being applied
+  public void lockForIncrement() {
+    jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(?)", (ResultSetExtractor<Void>) rs -> null,
+        RATING_WRITE_LOCK);
+  }
+
+  // Waits for the result transactions applying a delta to commit and holds new ones off until commit
+  public void lockForReplace() {
+    jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null,
+        RATING_WRITE_LOCK);
+  }
+
+  // Start of the oldest open transaction; a result committed from now on was recorded at or after it
+  public Instant findOldestTransactionStart() {
+    return jdbcTemplate.queryForObject("""
+            SELECT coalesce(min(xact_start), now())
+            FROM pg_stat_activity
+            WHERE datname = current_database() AND xact_start IS NOT NULL
+            """,
+        Timestamp.class).toInstant();
+  }
+
+  // Locks the rows of both teams in team id order so concurrent updates cannot deadlock.
+  // Teams without a row yet are missing from the result.
+  public Map<Integer, Double> lockRatings(int firstTeamId, int secondTeamId) {
+    Map<Integer, Double> ratings = new HashMap<>();
+    jdbcTemplate.query("""
+            SELECT team_id, rating
+            FROM team_ratings
+            WHERE team_id IN (?, ?)
+            ORDER BY team_id
+            FOR UPDATE
+            """,
+        (RowCallbackHandler) rs -> ratings.put(rs.getInt("team_id"), rs.getDouble("rating")),
+        firstTeamId, secondTeamId);
+    return ratings;
+  }
+
+  public void applyDelta(int teamId, double initialRating, double delta, int matchId) {
+    jdbcTemplate.update("""
+            INSERT INTO team_ratings (team_id, rating, matches_rated, last_match_id)
+            VALUES (?, ? + ?, 1, ?)
+            ON CONFLICT (team_id) DO UPDATE
+            SET rating = team_ratings.rating + ?, matches_rated = team_ratings.matches_rated + 1,
+                last_match_id = EXCLUDED.last_match_id, updated_at = CURRENT_TIMESTAMP
+            """,
+        teamId, initialRating, delta, matchId, delta);
+  }
+
+  // Replaces every rating with the result of a recompute
+  public void replaceAll(Map<Integer, RatingState> ratings) {
+    jdbcTemplate.update("DELETE FROM team_ratings");
+    List<Map.Entry<Integer, RatingState>> rows = new ArrayList<>(ratings.entrySet());
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate("""
+            INSERT INTO team_ratings (team_id, rating, matches_rated, last_match_id, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """,
+        rows, 500, (ps, row) -> {
+          ps.setInt(1, row.getKey());
+          ps.setDouble(2, row.getValue().rating());
+          ps.setInt(3, row.getValue().matchesRated());
+          ps.setObject(4, row.getValue().lastMatchId());
+          ps.setTimestamp(5, now);
+        });
+  }
+
+  public List<TournamentPlayOrder> findTournamentsInPlayOrder() {
+    return jdbcTemplate.query("""
+            SELECT tournament_id, min(match_date_time) AS first_match_at
+            FROM matches
+            WHERE status = 'Completed'
+            GROUP BY tournament_id
+            ORDER BY first_match_at, tournament_id
+            """,
+        (rs, rowNum) -> new TournamentPlayOrder(rs.getInt("tournament_id"),
+            rs.getTimestamp("first_match_at").toInstant()));
+  }
+
+  // Streams a league's completed results oldest first through a cursor; must run inside a transaction
+  public void streamCompletedResults(int tournamentId, int leagueId, RowCallbackHandler handler) {
+    streamingJdbcTemplate.query("""
+            SELECT match_id, home_team_id, away_team_id, home_score, away_score
+            FROM matches
+            WHERE tournament_id = ? AND league_id = ? AND status = 'Completed'
+              AND home_score IS NOT NULL AND away_score IS NOT NULL
+            ORDER BY match_date_time, match_id
+            """,
+        handler, tournamentId, leagueId);
+  }
+
+  // Completed results recorded at or after the given time, in the order they were recorded
+  public void streamResultsRecordedSince(Instant since, RowCallbackHandler handler) {
+    jdbcTemplate.query("""
+            SELECT match_id, home_team_id, away_team_id, home_score, away_score
+            FROM matches
+            WHERE recorded_at >= ? AND status = 'Completed'
+              AND home_score IS NOT NULL AND away_score IS NOT NULL
+            ORDER BY recorded_at, match_id
+            """,
+        handler, Timestamp.from(since));
+  }
+}
@@ -0,0 +1,25 @@
+package com.nazarov.footballmanager.repository;
+
+import java.util.HashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public Set<Integer> findPlayerIds(int teamId) {
+    return new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT user_id FROM player_team_assignments WHERE team_id = ?", Integer.class, teamId));
+  }
+
+  // Returns false when the team does not exist
+  public boolean updateLogoUrl(int teamId, String logoUrl) {
+    return jdbcTemplate.update("UPDATE teams SET logo_url = ?, updated_at = CURRENT_TIMESTAMP WHERE team_id = ?",
+        logoUrl, teamId) == 1;
+  }
+}
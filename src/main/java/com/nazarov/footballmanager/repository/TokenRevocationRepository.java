@@ -0,0 +1,75 @@
+package com.nazarov.footballmanager.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TokenRevocationRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // Revoking the same key again moves revoked_at forward and keeps the later expiry
+  public void revoke(String revocationKey, Instant expiresAt) {
+    jdbcTemplate.update("""
+            INSERT INTO token_revocations (revocation_key, expires_at)
+            VALUES (?, ?)
+            ON CONFLICT (revocation_key) DO UPDATE
+            SET revoked_at = CURRENT_TIMESTAMP,
+                expires_at = GREATEST(token_revocations.expires_at, EXCLUDED.expires_at)
+            """,
+        revocationKey, Timestamp.from(expiresAt));
+  }
+
+  public Optional<Instant> findRevokedAt(String revocationKey) {
+    return jdbcTemplate.query(
+            "SELECT revoked_at FROM token_revocations WHERE revocation_key = ? AND expires_at > CURRENT_TIMESTAMP",
+            (rs, rowNum) -> rs.getTimestamp("revoked_at").toInstant(),
+            revocationKey)
+        .stream()
+        .findFirst();
+  }
+
+  public int countActive() {
+    Integer count = jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM token_revocations WHERE expires_at > CURRENT_TIMESTAMP", Integer.class);
+    return count != null ? count : 0;
+  }
+
+  public void forEachActiveKey(Consumer<String> consumer) {
+    jdbcTemplate.query("SELECT revocation_key FROM token_revocations WHERE expires_at > CURRENT_TIMESTAMP",
+        rs -> {
+          consumer.accept(rs.getString("revocation_key"));
+        });
+  }
+
+  // Start of the oldest open transaction; a revocation committed from now on has revoked_at at or after it
+  public Instant findOldestTransactionStart() {
+    return jdbcTemplate.queryForObject("""
+            SELECT coalesce(min(xact_start), now())
+            FROM pg_stat_activity
+            WHERE datname = current_database() AND xact_start IS NOT NULL
+            """,
+        Timestamp.class).toInstant();
+  }
+
+  public void forEachKeyRevokedSince(Instant since, Consumer<String> consumer) {
+    jdbcTemplate.query("""
+            SELECT revocation_key FROM token_revocations
+            WHERE revoked_at >= ? AND expires_at > CURRENT_TIMESTAMP
+            """,
+        rs -> {
+          consumer.accept(rs.getString("revocation_key"));
+        },
+        Timestamp.from(since));
+  }
+
+  public int deleteExpired() {
+    return jdbcTemplate.update("DELETE FROM token_revocations WHERE expires_at <= CURRENT_TIMESTAMP");
+  }
+}
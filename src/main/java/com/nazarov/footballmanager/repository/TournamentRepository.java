@@ -0,0 +1,63 @@
+package com.nazarov.footballmanager.repository;
+
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class TournamentRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public record TournamentRow(int tournamentId, String name, String yearPeriod, TournamentStatus status) {}
+
+  private static final RowMapper<TournamentRow> TOURNAMENT_ROW_MAPPER = (rs, rowNum) -> new TournamentRow(
+      rs.getInt("tournament_id"),
+      rs.getString("name"),
+      rs.getString("year_period"),
+      TournamentStatus.fromDbValue(rs.getString("status")));
+
+  public Optional<TournamentRow> findById(int tournamentId) {
+    return jdbcTemplate.query(
+            "SELECT tournament_id, name, year_period, status::text AS status FROM tournaments WHERE tournament_id = ?",
+            TOURNAMENT_ROW_MAPPER, tournamentId)
+        .stream()
+        .findFirst();
+  }
+
+  public List<TournamentRow> findByStatus(TournamentStatus status) {
+    return jdbcTemplate.query("""
+            SELECT tournament_id, name, year_period, status::text AS status
+            FROM tournaments
+            WHERE status = CAST(? AS tournament_status)
+            ORDER BY tournament_id
+            """,
+        TOURNAMENT_ROW_MAPPER, status.getDbValue());
+  }
+
+  // Callers publish TournamentChangedEvent, which keeps the cached tournament catalog in line
+  public int updateStatus(int tournamentId, TournamentStatus status) {
+    return jdbcTemplate.update("""
+            UPDATE tournaments
+            SET status = CAST(? AS tournament_status), updated_at = CURRENT_TIMESTAMP
+            WHERE tournament_id = ?
+            """,
+        status.getDbValue(), tournamentId);
+  }
+
+  public boolean hasAttachedPartitions(int tournamentId) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+        "SELECT to_regclass(?) IS NOT NULL", Boolean.class, "public.matches_t" + tournamentId));
+  }
+
+  // Detaches the tournament's matches/match_stats partitions and moves them to the archive schema
+  public void detachPartitions(int tournamentId) {
+    jdbcTemplate.query("SELECT detach_tournament_partitions(?)", (ResultSetExtractor<Void>) rs -> null, tournamentId);
+  }
+}
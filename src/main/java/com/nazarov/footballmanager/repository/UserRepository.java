@@ -3,6 +3,9 @@ package com.nazarov.footballmanager.repository;
 import com.nazarov.footballmanager.domain.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
 
   Boolean existsByEmail(String email);
+
+  @Modifying
+  @Query("UPDATE User u SET u.profilePictureUrl = :url WHERE u.userId = :userId")
+  int updateProfilePictureUrl(@Param("userId") Integer userId, @Param("url") String url);
 }
@@ -0,0 +1,177 @@
+package com.nazarov.footballmanager.schedule;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// In-memory interval index of the match schedule, one sorted set of kick-off times per team and per venue.
+//
+// Every match occupies the same window length, so two matches overlap exactly when their kick-offs are
+// less than one window apart. A conflict check is therefore a range query on a sorted set:
+// O(log n + k) for n matches of the team or venue and k hits, instead of a scan over matches.
+//
+// Not thread-safe; ScheduleService serializes access.
+public final class ScheduleIndex {
+
+  public record Fixture(int matchId, int tournamentId, int homeTeamId, int awayTeamId, Instant matchDateTime,
+      String location, MatchStatus status) {
+
+    Fixture withSlot(Instant newMatchDateTime, String newLocation) {
+      return new Fixture(matchId, tournamentId, homeTeamId, awayTeamId, newMatchDateTime, newLocation, status);
+    }
+
+    Fixture withStatus(MatchStatus newStatus) {
+      return new Fixture(matchId, tournamentId, homeTeamId, awayTeamId, matchDateTime, location, newStatus);
+    }
+  }
+
+  // Ordered by kick-off, then match id so equal kick-offs can coexist
+  private record Slot(long start, int matchId) {}
+
+  private static final Comparator<Slot> SLOT_ORDER =
+      Comparator.comparingLong(Slot::start).thenComparingInt(Slot::matchId);
+
+  private final long windowMillis;
+  private final Map<Integer, Fixture> fixtures = new HashMap<>();
+  private final Map<Integer, NavigableSet<Slot>> byTeam = new HashMap<>();
+  private final Map<String, NavigableSet<Slot>> byVenue = new HashMap<>();
+
+  public ScheduleIndex(Duration matchWindow) {
+    this.windowMillis = matchWindow.toMillis();
+  }
+
+  public int size() {
+    return fixtures.size();
+  }
+
+  public Optional<Fixture> find(int matchId) {
+    return Optional.ofNullable(fixtures.get(matchId));
+  }
+
+  public void put(Fixture fixture) {
+    remove(fixture.matchId());
+    fixtures.put(fixture.matchId(), fixture);
+    Slot slot = slotOf(fixture);
+    byTeam.computeIfAbsent(fixture.homeTeamId(), id -> new TreeSet<>(SLOT_ORDER)).add(slot);
+    byTeam.computeIfAbsent(fixture.awayTeamId(), id -> new TreeSet<>(SLOT_ORDER)).add(slot);
+    String venue = venueKey(fixture.location());
+    if (venue != null) {
+      byVenue.computeIfAbsent(venue, key -> new TreeSet<>(SLOT_ORDER)).add(slot);
+    }
+  }
+
+  public void remove(int matchId) {
+    Fixture fixture = fixtures.remove(matchId);
+    if (fixture == null) {
+      return;
+    }
+    Slot slot = slotOf(fixture);
+    removeSlot(byTeam, fixture.homeTeamId(), slot);
+    removeSlot(byTeam, fixture.awayTeamId(), slot);
+    String venue = venueKey(fixture.location());
+    if (venue != null) {
+      removeSlot(byVenue, venue, slot);
+    }
+  }
+
+  // Returns the number of fixtures removed
+  public int removeTournament(int tournamentId) {
+    List<Integer> matchIds = fixtures.values().stream()
+        .filter(fixture -> fixture.tournamentId() == tournamentId)
+        .map(Fixture::matchId)
+        .toList();
+    matchIds.forEach(this::remove);
+    return matchIds.size();
+  }
+
+  public void updateStatus(int matchId, MatchStatus status) {
+    Fixture fixture = fixtures.get(matchId);
+    if (fixture != null) {
+      fixtures.put(matchId, fixture.withStatus(status));
+    }
+  }
+
+  // Conflicts of a candidate fixture with the indexed ones, ignoring the given matches (e.g. those being moved)
+  public List<ScheduleConflictDto> conflicts(Fixture candidate, Set<Integer> ignoredMatchIds) {
+    List<ScheduleConflictDto> conflicts = new ArrayList<>();
+    for (int teamId : new int[] {candidate.homeTeamId(), candidate.awayTeamId()}) {
+      for (Fixture other : overlapping(byTeam.get(teamId), candidate, ignoredMatchIds)) {
+        conflicts.add(conflict(Type.TEAM, candidate, other, teamId, null,
+            "Team " + teamId + " already plays match " + other.matchId() + " at " + other.matchDateTime()));
+      }
+    }
+    String venue = venueKey(candidate.location());
+    if (venue != null) {
+      for (Fixture other : overlapping(byVenue.get(venue), candidate, ignoredMatchIds)) {
+        conflicts.add(conflict(Type.VENUE, candidate, other, null, candidate.location(),
+            "'" + candidate.location() + "' already hosts match " + other.matchId() + " at " + other.matchDateTime()));
+      }
+    }
+    return conflicts;
+  }
+
+  private Collection<Fixture> overlapping(NavigableSet<Slot> slots, Fixture candidate, Set<Integer> ignored) {
+    if (slots == null) {
+      return List.of();
+    }
+    long start = candidate.matchDateTime().toEpochMilli();
+    List<Fixture> hits = new ArrayList<>();
+    // Kick-offs strictly less than one window before or after the candidate
+    for (Slot slot : slots.subSet(new Slot(start - windowMillis + 1, Integer.MIN_VALUE), true,
+        new Slot(start + windowMillis - 1, Integer.MAX_VALUE), true)) {
+      if (slot.matchId() != candidate.matchId() && !ignored.contains(slot.matchId())) {
+        hits.add(fixtures.get(slot.matchId()));
+      }
+    }
+    return hits;
+  }
+
+  private static ScheduleConflictDto conflict(Type type, Fixture candidate, Fixture other, Integer teamId,
+      String location, String message) {
+    return ScheduleConflictDto.builder()
+        .type(type)
+        .matchId(candidate.matchId() > 0 ? candidate.matchId() : null)
+        .matchDateTime(candidate.matchDateTime())
+        .conflictingMatchId(other.matchId())
+        .conflictingMatchDateTime(other.matchDateTime())
+        .teamId(teamId)
+        .location(location)
+        .message(message)
+        .build();
+  }
+
+  private static Slot slotOf(Fixture fixture) {
+    return new Slot(fixture.matchDateTime().toEpochMilli(), fixture.matchId());
+  }
+
+  private static <K> void removeSlot(Map<K, NavigableSet<Slot>> index, K key, Slot slot) {
+    NavigableSet<Slot> slots = index.get(key);
+    if (slots != null) {
+      slots.remove(slot);
+      if (slots.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  // Venues are free text; "Central Park " and "central park" are the same place
+  static String venueKey(String location) {
+    if (location == null || location.isBlank()) {
+      return null;
+    }
+    return location.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,316 @@
+package com.nazarov.footballmanager.schedule;
+
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.match.FixtureRequestDto;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
+import com.nazarov.footballmanager.dto.match.ScheduleEditDto;
+import com.nazarov.footballmanager.dto.match.ScheduleValidationResultDto;
+import com.nazarov.footballmanager.event.FixtureScheduledEvent;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.exception.ScheduleConflictException;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.ScheduleRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import com.nazarov.footballmanager.schedule.ScheduleIndex.Fixture;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Creates and moves fixtures, rejecting team double-bookings and double-booked venues.
+// The in-memory ScheduleIndex answers validations and rejects most conflicts without a query. The
+// database decides: every write takes the schedule advisory lock and checks the edit again against
+// the matches near its slots, so edits made on different instances cannot both pass. Committed
+// edits reach the index of every instance through the invalidation bus.
+@Service
+@Slf4j
+public class ScheduleService {
+
+  private final ScheduleRepository scheduleRepository;
+  private final LeagueRepository leagueRepository;
+  private final LeagueTeamRepository leagueTeamRepository;
+  private final TournamentRepository tournamentRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxPublisher outboxPublisher;
+  private final InvalidationBus invalidationBus;
+  private final Duration matchWindow;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private ScheduleIndex index;
+
+  public ScheduleService(ScheduleRepository scheduleRepository,
+      LeagueRepository leagueRepository,
+      LeagueTeamRepository leagueTeamRepository,
+      TournamentRepository tournamentRepository,
+      TransactionTemplate transactionTemplate,
+      OutboxPublisher outboxPublisher,
+      InvalidationBus invalidationBus,
+      @Value("${app.scheduling.match-window}") Duration matchWindow) {
+    this.scheduleRepository = scheduleRepository;
+    this.leagueRepository = leagueRepository;
+    this.leagueTeamRepository = leagueTeamRepository;
+    this.tournamentRepository = tournamentRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.outboxPublisher = outboxPublisher;
+    this.invalidationBus = invalidationBus;
+    this.matchWindow = matchWindow;
+    this.index = new ScheduleIndex(matchWindow);
+    invalidationBus.register(CacheRegions.SCHEDULE, key -> refresh(Integer.parseInt(key)), this::reload);
+    invalidationBus.register(CacheRegions.SCHEDULE_SEASON, key -> dropSeason(Integer.parseInt(key)), this::reload);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  public int reload() {
+    long start = System.nanoTime();
+    ScheduleIndex loaded = new ScheduleIndex(matchWindow);
+    transactionTemplate.executeWithoutResult(
+        status -> scheduleRepository.streamOccupiedSlots(rs -> loaded.put(toFixture(rs))));
+    return withLock(() -> {
+      index = loaded;
+      log.info("Loaded schedule index with {} fixtures in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+      return loaded.size();
+    });
+  }
+
+  public MatchDto createFixture(FixtureRequestDto request) {
+    if (request.getHomeTeamId().equals(request.getAwayTeamId())) {
+      throw new BadRequestException("A team cannot play against itself.");
+    }
+    LeagueRow league = leagueRepository.findById(request.getLeagueId())
+        .orElseThrow(() -> new ResourceNotFoundException("League", "id", request.getLeagueId()));
+    TournamentRow tournament = tournamentRepository.findById(league.tournamentId())
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", league.tournamentId()));
+    if (tournament.status() == TournamentStatus.COMPLETED) {
+      throw new BadRequestException("Fixtures cannot be added to a completed tournament.");
+    }
+    Set<Integer> leagueTeams = new HashSet<>(
+        leagueTeamRepository.findTeams(league.leagueId()).stream().map(LeagueTeamRow::teamId).toList());
+    if (!leagueTeams.contains(request.getHomeTeamId()) || !leagueTeams.contains(request.getAwayTeamId())) {
+      throw new BadRequestException("Both teams must be registered in league " + league.leagueId() + ".");
+    }
+
+    Fixture candidate = new Fixture(0, league.tournamentId(), request.getHomeTeamId(), request.getAwayTeamId(),
+        request.getMatchDateTime(), request.getLocation(), MatchStatus.SCHEDULED);
+    return withLock(() -> {
+      List<ScheduleConflictDto> conflicts = index.conflicts(candidate, Set.of());
+      if (!conflicts.isEmpty()) {
+        throw new ScheduleConflictException(conflicts);
+      }
+      Fixture created = transactionTemplate.execute(status -> {
+        checkInDatabase(List.of(candidate), Set.of());
+        int matchId = scheduleRepository.insertFixture(league.tournamentId(), league.leagueId(),
+            request.getHomeTeamId(), request.getAwayTeamId(), request.getMatchDateTime(), request.getLocation());
+        Fixture fixture = new Fixture(matchId, candidate.tournamentId(), candidate.homeTeamId(),
+            candidate.awayTeamId(), candidate.matchDateTime(), candidate.location(), candidate.status());
+        publishScheduled(fixture, false);
+        return fixture;
+      });
+      index.put(created);
+      return toDto(created, league.leagueId());
+    });
+  }
+
+  // Checks a set of moves as one edit: the moved fixtures are checked against the rest of the schedule
+  // and against each other, never against their own old slots
+  public ScheduleValidationResultDto validate(List<ScheduleEditDto> edits) {
+    return withLock(() -> {
+      List<ScheduleConflictDto> conflicts = check(resolve(edits));
+      return ScheduleValidationResultDto.builder()
+          .valid(conflicts.isEmpty())
+          .checkedFixtures(edits.size())
+          .conflicts(conflicts)
+          .build();
+    });
+  }
+
+  // Applies a set of moves atomically: all of them or, on any conflict, none
+  public ScheduleValidationResultDto reschedule(List<ScheduleEditDto> edits) {
+    return withLock(() -> {
+      List<Fixture> moved = resolve(edits);
+      List<ScheduleConflictDto> conflicts = check(moved);
+      if (!conflicts.isEmpty()) {
+        throw new ScheduleConflictException(conflicts);
+      }
+      transactionTemplate.executeWithoutResult(status -> {
+        checkInDatabase(moved, movedIds(moved));
+        moved.forEach(fixture -> {
+          // The index may still hold a match whose season was detached meanwhile; roll the whole batch back
+          if (scheduleRepository.updateSlot(fixture.matchId(), fixture.tournamentId(), fixture.matchDateTime(),
+              fixture.location()) != 1) {
+            throw new ResourceNotFoundException("Match", "id", fixture.matchId());
+          }
+          publishScheduled(fixture, true);
+        });
+      });
+      for (Fixture fixture : moved) {
+        index.put(fixture.status() == MatchStatus.POSTPONED ? fixture.withStatus(MatchStatus.SCHEDULED) : fixture);
+      }
+      log.info("Rescheduled {} fixtures", moved.size());
+      return ScheduleValidationResultDto.builder().valid(true).checkedFixtures(moved.size()).conflicts(List.of()).build();
+    });
+  }
+
+  // Runs inside the transaction that records the result; every instance refreshes the match after commit
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    invalidationBus.invalidate(CacheRegions.SCHEDULE, event.matchId());
+  }
+
+  // Runs inside the detach transaction; every instance drops the season's fixtures after commit
+  @EventListener
+  public void onSeasonDetached(SeasonDetachedEvent event) {
+    invalidationBus.invalidate(CacheRegions.SCHEDULE_SEASON, event.tournamentId());
+  }
+
+  // Its matches left the tables the index is loaded from, so they are dropped without reading anything
+  private void dropSeason(int tournamentId) {
+    int removed = withLock(() -> index.removeTournament(tournamentId));
+    log.info("Dropped {} fixtures of detached tournament {} from the schedule index", removed, tournamentId);
+  }
+
+  // Re-reads one match into the index after another edit committed, possibly on another instance
+  private void refresh(int matchId) {
+    List<Fixture> found = new ArrayList<>(1);
+    scheduleRepository.findOccupiedSlot(matchId, rs -> found.add(toFixture(rs)));
+    withLock(() -> {
+      if (found.isEmpty()) {
+        index.remove(matchId);
+      } else {
+        index.put(found.get(0));
+      }
+      return null;
+    });
+  }
+
+  // Repeats the check against the matches the database has near each slot, under the schedule lock.
+  // Whatever the index had missed is put into it, so the next checks here catch it up front.
+  private void checkInDatabase(List<Fixture> fixtures, Set<Integer> movedIds) {
+    scheduleRepository.lockSchedule();
+    List<ScheduleConflictDto> conflicts = new ArrayList<>();
+    for (Fixture fixture : fixtures) {
+      ScheduleIndex near = new ScheduleIndex(matchWindow);
+      scheduleRepository.streamOccupiedSlotsNear(fixture.homeTeamId(), fixture.awayTeamId(),
+          ScheduleIndex.venueKey(fixture.location()), fixture.matchDateTime().minus(matchWindow),
+          fixture.matchDateTime().plus(matchWindow), rs -> {
+            Fixture stored = toFixture(rs);
+            near.put(stored);
+            if (!movedIds.contains(stored.matchId())) {
+              index.put(stored);
+            }
+          });
+      conflicts.addAll(near.conflicts(fixture, movedIds));
+    }
+    if (!conflicts.isEmpty()) {
+      log.info("Schedule edit conflicts with fixtures this instance had not indexed yet: {}", conflicts.size());
+      throw new ScheduleConflictException(conflicts);
+    }
+  }
+
+  private List<Fixture> resolve(List<ScheduleEditDto> edits) {
+    Set<Integer> seen = new HashSet<>();
+    List<Fixture> moved = new ArrayList<>(edits.size());
+    for (ScheduleEditDto edit : edits) {
+      if (!seen.add(edit.getMatchId())) {
+        throw new BadRequestException("Match " + edit.getMatchId() + " appears more than once in the edit.");
+      }
+      Fixture current = index.find(edit.getMatchId())
+          .orElseThrow(() -> new ResourceNotFoundException("Scheduled match", "id", edit.getMatchId()));
+      if (current.status() == MatchStatus.COMPLETED) {
+        throw new BadRequestException("Match " + edit.getMatchId() + " is already completed.");
+      }
+      moved.add(current.withSlot(edit.getMatchDateTime(),
+          edit.getLocation() != null ? edit.getLocation() : current.location()));
+    }
+    return moved;
+  }
+
+  private List<ScheduleConflictDto> check(List<Fixture> moved) {
+    Set<Integer> movedIds = movedIds(moved);
+    ScheduleIndex overlay = new ScheduleIndex(matchWindow);
+    List<ScheduleConflictDto> conflicts = new ArrayList<>();
+    for (Fixture fixture : moved) {
+      conflicts.addAll(index.conflicts(fixture, movedIds));
+      conflicts.addAll(overlay.conflicts(fixture, Set.of()));
+      overlay.put(fixture);
+    }
+    return conflicts;
+  }
+
+  private static Set<Integer> movedIds(List<Fixture> moved) {
+    Set<Integer> movedIds = new HashSet<>();
+    moved.forEach(fixture -> movedIds.add(fixture.matchId()));
+    return movedIds;
+  }
+
+  // Also drops the cached simulations, fixture lists and snapshots, which depend on the remaining fixtures
+  private void publishScheduled(Fixture fixture, boolean rescheduled) {
+    invalidationBus.invalidate(CacheRegions.SCHEDULE, fixture.matchId());
+    invalidationBus.invalidate(CacheRegions.SEASON_SIMULATION, fixture.tournamentId());
+    invalidationBus.invalidate(CacheRegions.UPCOMING_FIXTURES, fixture.tournamentId());
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_SNAPSHOT, fixture.tournamentId());
+    outboxPublisher.publish(OutboxEvents.MATCH, fixture.matchId(), new FixtureScheduledEvent(fixture.tournamentId(),
+        fixture.matchId(), fixture.homeTeamId(), fixture.awayTeamId(), fixture.matchDateTime(), fixture.location(),
+        rescheduled));
+  }
+
+  private <T> T withLock(Supplier<T> action) {
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Fixture toFixture(ResultSet rs) throws SQLException {
+    return new Fixture(
+        rs.getInt("match_id"),
+        rs.getInt("tournament_id"),
+        rs.getInt("home_team_id"),
+        rs.getInt("away_team_id"),
+        rs.getTimestamp("match_date_time").toInstant(),
+        rs.getString("location"),
+        MatchStatus.fromDbValue(rs.getString("status")));
+  }
+
+  private static MatchDto toDto(Fixture fixture, int leagueId) {
+    return MatchDto.builder()
+        .matchId(fixture.matchId())
+        .tournamentId(fixture.tournamentId())
+        .leagueId(leagueId)
+        .homeTeamId(fixture.homeTeamId())
+        .awayTeamId(fixture.awayTeamId())
+        .matchDateTime(fixture.matchDateTime())
+        .location(fixture.location())
+        .status(fixture.status())
+        .build();
+  }
+}
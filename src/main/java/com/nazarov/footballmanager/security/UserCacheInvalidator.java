@@ -0,0 +1,84 @@
+package com.nazarov.footballmanager.security;
+
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.service.UserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+// Evicts the cached principal and profile of every user that is updated, deleted or gets different
+// roles, whichever code path flushed the change. Roles live in a join table, so a role change only
+// shows up as a collection update. The evictions are published after the transaction commits.
+@Component
+public class UserCacheInvalidator
+    implements PostUpdateEventListener, PostDeleteEventListener, PostCollectionUpdateEventListener {
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final UserDetailsServiceImpl userDetailsService;
+  private final UserService userService;
+
+  public UserCacheInvalidator(EntityManagerFactory entityManagerFactory, UserDetailsServiceImpl userDetailsService,
+      UserService userService) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.userDetailsService = userDetailsService;
+    this.userService = userService;
+  }
+
+  @PostConstruct
+  void register() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry().requireService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_UPDATE, this);
+    registry.appendListeners(EventType.POST_DELETE, this);
+    registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof User user) {
+      evict(user.getEmail());
+      // Tokens carry the old email, which must not keep resolving to the cached principal
+      if (event.getOldState() != null) {
+        Object oldEmail = event.getOldState()[event.getPersister().getPropertyIndex("email")];
+        if (oldEmail instanceof String email && !Objects.equals(email, user.getEmail())) {
+          evict(email);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof User user) {
+      evict(user.getEmail());
+    }
+  }
+
+  @Override
+  public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+    if (event.getAffectedOwnerOrNull() instanceof User user) {
+      evict(user.getEmail());
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private void evict(String email) {
+    userDetailsService.evictPrincipal(email);
+    userService.evictProfile(email);
+  }
+}
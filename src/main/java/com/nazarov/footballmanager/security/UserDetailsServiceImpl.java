@@ -1,7 +1,11 @@
 package com.nazarov.footballmanager.security;
 
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.LocalCache;
 import com.nazarov.footballmanager.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -9,10 +13,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+  private static final int MAX_CACHED_PRINCIPALS = 10_000;
+
   private final UserRepository userRepository;
+  private final InvalidationBus invalidationBus;
+
+  // Principals of token-authenticated requests by email. UserCacheInvalidator evicts them whenever a
+  // user row or its roles change, so every instance drops the stale entry.
+  private final LocalCache<String, UserDetails> principals = new LocalCache<>();
+
+  public UserDetailsServiceImpl(UserRepository userRepository, InvalidationBus invalidationBus) {
+    this.userRepository = userRepository;
+    this.invalidationBus = invalidationBus;
+    invalidationBus.register(CacheRegions.USER_PRINCIPAL, principals::evict, principals::clear);
+  }
 
   @Override
   @Transactional(readOnly = true)
@@ -28,4 +44,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         () -> new UsernameNotFoundException("User not found with id : " + id)
     );
   }
-}
\ No newline at end of file
+
+  // Immutable snapshot without the password hash, for requests that already carry a valid token
+  public UserDetails loadPrincipal(String email) {
+    if (principals.size() >= MAX_CACHED_PRINCIPALS) {
+      principals.clear();
+    }
+    return principals.get(email, key -> {
+      UserDetails user = loadUserByUsername(key);
+      return User.withUsername(user.getUsername())
+          .password("")
+          .authorities(List.copyOf(user.getAuthorities()))
+          .accountLocked(!user.isAccountNonLocked())
+          .disabled(!user.isEnabled())
+          .build();
+    });
+  }
+
+  public void evictPrincipal(String email) {
+    invalidationBus.invalidate(CacheRegions.USER_PRINCIPAL, email);
+  }
+}
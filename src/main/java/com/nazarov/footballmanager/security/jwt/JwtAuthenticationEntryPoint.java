@@ -1,25 +1,36 @@
 package com.nazarov.footballmanager.security.jwt;
 
+import com.nazarov.footballmanager.exception.ErrorBody;
+import com.nazarov.footballmanager.exception.ErrorMetrics;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-  // Called when an unauthenticated user tries to access a secured resource
+  private static final ErrorBody UNAUTHORIZED = ErrorBody.constant(HttpStatus.UNAUTHORIZED,
+      "Full authentication is required to access this resource.");
+
+  private final ErrorMetrics errorMetrics;
+
+  // Called when an unauthenticated user tries to access a secured resource. The body is written
+  // directly instead of through sendError, which would dispatch to /error and run the filter chain again.
   @Override
   public void commence(HttpServletRequest request,
       HttpServletResponse response,
       AuthenticationException authException) throws IOException, ServletException {
-    log.error("Responding with unauthorized error. Message - {}", authException.getMessage());
-    // Send standard 401 Unauthorized response
-    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, authException.getMessage());
+    log.debug("Responding with unauthorized error. Message - {}", authException.getMessage());
+    errorMetrics.count(authException.getClass(), HttpStatus.UNAUTHORIZED);
+    UNAUTHORIZED.write(response, "uri=" + request.getRequestURI());
   }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.nazarov.footballmanager.security.jwt;
 
 import com.nazarov.footballmanager.security.UserDetailsServiceImpl;
+import com.nazarov.footballmanager.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Date;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtTokenProvider tokenProvider;
   private final UserDetailsServiceImpl userDetailsService;
+  private final TokenRevocationService tokenRevocationService;
 
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private static final String BEARER_PREFIX = "Bearer ";
@@ -34,10 +39,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     try {
       String jwt = getJwtFromRequest(request);
 
-      if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-        String username = tokenProvider.getUsernameFromJWT(jwt);
+      Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : Optional.empty();
+      if (claims.isPresent() && !isRevoked(claims.get())) {
+        String username = claims.get().getSubject();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        UserDetails userDetails = userDetailsService.loadPrincipal(username);
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
             userDetails, null, userDetails.getAuthorities());
         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -51,6 +57,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private boolean isRevoked(Claims claims) {
+    Date issuedAt = claims.getIssuedAt();
+    if (tokenRevocationService.isRevoked(claims.getId(), claims.getSubject(),
+        issuedAt != null ? issuedAt.toInstant() : null)) {
+      log.info("Rejected revoked token of {}", claims.getSubject());
+      return true;
+    }
+    return false;
+  }
+
   private String getJwtFromRequest(HttpServletRequest request) {
     String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
     if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
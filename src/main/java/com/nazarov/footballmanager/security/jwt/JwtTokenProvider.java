@@ -9,6 +9,8 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +43,7 @@ public class JwtTokenProvider {
     Date expiryDate = new Date(now.getTime() + jwtExpirationInMs * 1000);
 
     return Jwts.builder()
+        .id(UUID.randomUUID().toString()) // Lets a single token be revoked
         .subject(username)
         .issuedAt(now)
         .expiration(expiryDate)
@@ -59,9 +62,13 @@ public class JwtTokenProvider {
   }
 
   public boolean validateToken(String authToken) {
+    return parseClaims(authToken).isPresent();
+  }
+
+  // Claims of a token with a valid signature that has not expired
+  public Optional<Claims> parseClaims(String authToken) {
     try {
-      Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
-      return true;
+      return Optional.of(Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken).getPayload());
     } catch (SignatureException ex) {
       log.error("Invalid JWT signature");
     } catch (MalformedJwtException ex) {
@@ -73,6 +80,6 @@ public class JwtTokenProvider {
     } catch (IllegalArgumentException ex) {
       log.error("JWT claims string is empty.");
     }
-    return false;
+    return Optional.empty();
   }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.nazarov.footballmanager.security.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed-size Bloom filter over strings. Lock-free: put() sets bits with CAS, so concurrent readers
+// may miss a key that is being added but never see a false negative for a completed put().
+final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  private BloomFilter(long bitCount, int hashCount) {
+    this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+    this.bitCount = (long) words.length() << 6;
+    this.hashCount = hashCount;
+  }
+
+  static BloomFilter create(int expectedKeys, double falsePositiveRate) {
+    int keys = Math.max(expectedKeys, 1);
+    long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int hashes = Math.max(1, (int) Math.round((double) bits / keys * Math.log(2)));
+    return new BloomFilter(Math.max(bits, 64), hashes);
+  }
+
+  void put(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = words.get(word);
+      } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  boolean mightContain(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long bitCount() {
+    return bitCount;
+  }
+
+  private long index(int combined) {
+    return (combined & 0x7fff_ffffL) % bitCount;
+  }
+
+  // FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so both halves are usable
+  private static long hash(String key) {
+    long hash = 0xcbf2_9ce4_8422_2325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x0100_0000_01b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51_afd7_ed55_8ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ce_b9fe_1a85_ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,147 @@
+package com.nazarov.footballmanager.security.revocation;
+
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.repository.TokenRevocationRepository;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// Deny-list for access tokens that must stop working before they expire.
+//
+// token_revocations is the authoritative set. Every node keeps a Bloom filter of its keys so the
+// common case, a token that was never revoked, is answered without a query; only filter positives
+// are looked up. New revocations reach the filters of all nodes through the invalidation bus. The
+// bus is best-effort: a node that dies between commit and notify never announces its keys, so each
+// node also polls the table for keys revoked since its last poll, which bounds the delay to the poll
+// interval. The filter is rebuilt from the table periodically, which drops expired keys and
+// re-sizes it. Expired rows are deleted by TokenRevocationPurgeJob.
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+  private static final String TOKEN_PREFIX = "jti:";
+  private static final String SUBJECT_PREFIX = "sub:";
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+  private static final int MIN_CAPACITY = 1_024;
+
+  private final TokenRevocationRepository tokenRevocationRepository;
+  private final InvalidationBus invalidationBus;
+  private final long tokenValiditySeconds;
+
+  private volatile BloomFilter filter = BloomFilter.create(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+  // Until the first rebuild the filter is empty, so every check goes to the table
+  private volatile boolean loaded;
+  // Keys added while a rebuild runs, replayed into the new filter; null outside of a rebuild
+  private volatile Queue<String> addedDuringRebuild;
+  // Every key revoked before this is in the filter; null until the first rebuild
+  private Instant polledUpTo;
+
+  public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+      InvalidationBus invalidationBus,
+      @Value("${app.security.jwt.token-validity-in-seconds}") long tokenValiditySeconds) {
+    this.tokenRevocationRepository = tokenRevocationRepository;
+    this.invalidationBus = invalidationBus;
+    this.tokenValiditySeconds = tokenValiditySeconds;
+    invalidationBus.register(CacheRegions.TOKEN_REVOCATION, this::add, this::rebuild);
+  }
+
+  // Revokes one token, e.g. on logout. Must run inside the transaction that should own the revocation.
+  public void revokeToken(String tokenId, Instant expiresAt) {
+    revoke(TOKEN_PREFIX + tokenId, expiresAt);
+  }
+
+  // Revokes every token of the account issued up to now, e.g. after a compromise
+  public void revokeAllTokensOf(String subject) {
+    revoke(SUBJECT_PREFIX + subject, Instant.now().plusSeconds(tokenValiditySeconds));
+  }
+
+  // Tokens carry their issue time in whole seconds, so a token issued in the same second as an
+  // account-wide revocation counts as revoked
+  public boolean isRevoked(String tokenId, String subject, Instant issuedAt) {
+    if (tokenId != null && isListed(TOKEN_PREFIX + tokenId).isPresent()) {
+      return true;
+    }
+    Optional<Instant> revokedAt = isListed(SUBJECT_PREFIX + subject);
+    return revokedAt.isPresent() && (issuedAt == null || !issuedAt.isAfter(revokedAt.get()));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    rebuild();
+  }
+
+  @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval}",
+      initialDelayString = "${app.security.revocation.rebuild-interval}")
+  public synchronized void rebuild() {
+    long start = System.nanoTime();
+    addedDuringRebuild = new ConcurrentLinkedQueue<>();
+    try {
+      Instant upTo = tokenRevocationRepository.findOldestTransactionStart();
+      int active = tokenRevocationRepository.countActive();
+      // Twice the current size leaves room for revocations until the next rebuild
+      BloomFilter next = BloomFilter.create(Math.max(active * 2, MIN_CAPACITY), FALSE_POSITIVE_RATE);
+      tokenRevocationRepository.forEachActiveKey(next::put);
+      filter = next;
+      addedDuringRebuild.forEach(next::put);
+      loaded = true;
+      polledUpTo = upTo;
+      log.info("Rebuilt token revocation filter with {} keys ({} bits) in {} ms", active, next.bitCount(),
+          (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException ex) {
+      log.error("Rebuilding the token revocation filter failed, keeping the previous one", ex);
+    } finally {
+      addedDuringRebuild = null;
+    }
+  }
+
+  // revoked_at is the start of the revoking transaction, so the next poll starts from the oldest
+  // transaction still open rather than from now; keys read twice are harmless
+  @Scheduled(fixedDelayString = "${app.security.revocation.poll-interval}")
+  public synchronized void pollRevocations() {
+    if (polledUpTo == null) {
+      return;
+    }
+    try {
+      Instant upTo = tokenRevocationRepository.findOldestTransactionStart();
+      tokenRevocationRepository.forEachKeyRevokedSince(polledUpTo, this::add);
+      polledUpTo = upTo;
+    } catch (RuntimeException ex) {
+      log.warn("Polling new token revocations failed, retrying from {}: {}", polledUpTo, ex.getMessage());
+    }
+  }
+
+  private void revoke(String key, Instant expiresAt) {
+    tokenRevocationRepository.revoke(key, expiresAt);
+    // Adds the key to the filter of every node once the revocation commits
+    invalidationBus.invalidate(CacheRegions.TOKEN_REVOCATION, key);
+  }
+
+  private Optional<Instant> isListed(String key) {
+    if (loaded && !filter.mightContain(key)) {
+      return Optional.empty();
+    }
+    return tokenRevocationRepository.findRevokedAt(key);
+  }
+
+  // A key either lands in the filter a concurrent rebuild installs, or in its replay queue, or is
+  // put into the new filter here after the swap
+  private void add(String key) {
+    BloomFilter current = filter;
+    current.put(key);
+    Queue<String> pending = addedDuringRebuild;
+    if (pending != null) {
+      pending.add(key);
+    }
+    if (current != filter) {
+      filter.put(key);
+    }
+  }
+}
@@ -5,11 +5,16 @@ import com.nazarov.footballmanager.domain.User;
 import com.nazarov.footballmanager.dto.user.JwtAuthenticationResponseDto;
 import com.nazarov.footballmanager.dto.user.LoginRequestDto;
 import com.nazarov.footballmanager.dto.user.UserRegistrationDto;
+import com.nazarov.footballmanager.event.UserRegisteredEvent;
 import com.nazarov.footballmanager.exception.BadRequestException;
 import com.nazarov.footballmanager.exception.ResourceNotFoundException;
-import com.nazarov.footballmanager.repository.RoleRepository;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
 import com.nazarov.footballmanager.repository.UserRepository;
+import com.nazarov.footballmanager.security.UserDetailsServiceImpl;
 import com.nazarov.footballmanager.security.jwt.JwtTokenProvider;
+import com.nazarov.footballmanager.security.revocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
@@ -30,9 +35,12 @@ public class AuthService {
 
   private final AuthenticationManager authenticationManager;
   private final UserRepository userRepository;
-  private final RoleRepository roleRepository;
+  private final RoleService roleService;
   private final PasswordEncoder passwordEncoder;
   private final JwtTokenProvider tokenProvider;
+  private final OutboxPublisher outboxPublisher;
+  private final TokenRevocationService tokenRevocationService;
+  private final UserDetailsServiceImpl userDetailsService;
 
   private static final String DEFAULT_USER_ROLE = "ROLE_USER";
 
@@ -46,7 +54,7 @@ public class AuthService {
     }
 
     // Find the default role
-    Role userRole = roleRepository.findByName(DEFAULT_USER_ROLE)
+    Role userRole = roleService.findByName(DEFAULT_USER_ROLE)
         .orElseThrow(() -> new ResourceNotFoundException("Role not set: " + DEFAULT_USER_ROLE));
 
     LocalDate dob = null;
@@ -75,6 +83,7 @@ public class AuthService {
         .build();
 
     User savedUser = userRepository.save(user);
+    outboxPublisher.publish(OutboxEvents.USER, savedUser.getUserId(), new UserRegisteredEvent(savedUser.getUserId()));
     log.info("User registered successfully with email: {}", registrationDto.getEmail());
     return savedUser;
   }
@@ -95,4 +104,28 @@ public class AuthService {
     log.info("User {} logged in successfully.", loginRequestDto.getEmail());
     return new JwtAuthenticationResponseDto(jwt);
   }
+
+  // Revokes the presented token until it would have expired anyway
+  @Transactional
+  public void logout(String token) {
+    Claims claims = tokenProvider.parseClaims(token)
+        .orElseThrow(() -> new BadRequestException("Invalid or expired token."));
+    if (claims.getId() == null) {
+      // Tokens issued before token ids existed can only be revoked together with the rest of the account
+      tokenRevocationService.revokeAllTokensOf(claims.getSubject());
+    } else {
+      tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+    }
+    log.info("User {} logged out.", claims.getSubject());
+  }
+
+  // Signs the user out everywhere, e.g. after the account was compromised
+  @Transactional
+  public void revokeAllTokens(Integer userId) {
+    User user = userRepository.findById(userId.longValue())
+        .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+    tokenRevocationService.revokeAllTokensOf(user.getEmail());
+    userDetailsService.evictPrincipal(user.getEmail());
+    log.warn("Revoked all tokens of user {}", userId);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.nazarov.footballmanager.service;
+
+// Elo rating change of a single match, World Football Elo style: the home side gets a rating bonus when
+// the expectation is computed, and wins by two or more goals count more than narrow ones.
+// The away team's change is always the negated home change, so the rating sum stays constant.
+public final class EloCalculator {
+
+  private final double kFactor;
+  private final double homeAdvantage;
+
+  public EloCalculator(double kFactor, double homeAdvantage) {
+    this.kFactor = kFactor;
+    this.homeAdvantage = homeAdvantage;
+  }
+
+  public double homeDelta(double homeRating, double awayRating, int homeScore, int awayScore) {
+    double expected = 1.0 / (1.0 + Math.pow(10, (awayRating - homeRating - homeAdvantage) / 400.0));
+    double actual = homeScore > awayScore ? 1.0 : homeScore == awayScore ? 0.5 : 0.0;
+    return kFactor * marginMultiplier(Math.abs(homeScore - awayScore)) * (actual - expected);
+  }
+
+  private static double marginMultiplier(int goalDifference) {
+    if (goalDifference <= 1) {
+      return 1.0;
+    }
+    if (goalDifference == 2) {
+      return 1.5;
+    }
+    return (11.0 + goalDifference) / 8.0;
+  }
+}
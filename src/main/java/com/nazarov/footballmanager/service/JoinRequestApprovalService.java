@@ -0,0 +1,154 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.domain.JoinRequestStatus;
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.dto.joinrequest.ApprovalOutcome;
+import com.nazarov.footballmanager.dto.joinrequest.BatchApprovalResultDto;
+import com.nazarov.footballmanager.dto.joinrequest.JoinRequestOutcomeDto;
+import com.nazarov.footballmanager.event.PlayerJoinedTeamEvent;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.JoinRequestBatchRepository;
+import com.nazarov.footballmanager.repository.JoinRequestBatchRepository.JoinRequestRow;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JoinRequestApprovalService {
+
+  private final JoinRequestBatchRepository joinRequestBatchRepository;
+  private final UserService userService;
+  private final OutboxPublisher outboxPublisher;
+
+  private static final String ADMIN_ROLE = "ROLE_ADMINISTRATOR";
+
+  // Approves a batch of join requests in a single transaction:
+  //  1. lock all requests of the affected players in a deterministic order,
+  //  2. decide every outcome in memory (earliest request id wins per player),
+  //  3. apply the result with a handful of set-based statements.
+  @Transactional
+  public BatchApprovalResultDto approveRequests(List<Integer> requestIds) {
+    User currentUser = userService.getCurrentUserEntity();
+    Set<Integer> distinctIds = new LinkedHashSet<>(requestIds);
+    log.info("User {} approving {} join requests", currentUser.getEmail(), distinctIds.size());
+
+    List<JoinRequestRow> lockedRows = joinRequestBatchRepository.lockRequestsOfPlayers(distinctIds);
+    Map<Integer, JoinRequestRow> rowsById = lockedRows.stream()
+        .collect(Collectors.toMap(JoinRequestRow::requestId, Function.identity()));
+
+    Set<Integer> managedTeamIds = isAdministrator(currentUser)
+        ? null
+        : joinRequestBatchRepository.findManagedTeamIds(currentUser.getUserId());
+    Set<Integer> userIds = lockedRows.stream().map(JoinRequestRow::userId).collect(Collectors.toSet());
+    Set<Integer> assignedUserIds = userIds.isEmpty()
+        ? Collections.emptySet()
+        : joinRequestBatchRepository.findAssignedUserIds(userIds);
+
+    // Decide in ascending request id order so the outcome does not depend on input order
+    Map<Integer, ApprovalOutcome> outcomes = new TreeMap<>();
+    Map<Integer, JoinRequestRow> winnerByUserId = new LinkedHashMap<>();
+    for (Integer requestId : new TreeSet<>(distinctIds)) {
+      JoinRequestRow row = rowsById.get(requestId);
+      ApprovalOutcome outcome;
+      if (row == null) {
+        outcome = ApprovalOutcome.NOT_FOUND;
+      } else if (managedTeamIds != null && !managedTeamIds.contains(row.teamId())) {
+        outcome = ApprovalOutcome.FORBIDDEN;
+      } else if (row.status() != JoinRequestStatus.PENDING) {
+        outcome = ApprovalOutcome.NOT_PENDING;
+      } else if (assignedUserIds.contains(row.userId())) {
+        outcome = ApprovalOutcome.ALREADY_ASSIGNED;
+      } else if (winnerByUserId.containsKey(row.userId())) {
+        outcome = ApprovalOutcome.SUPERSEDED;
+      } else {
+        winnerByUserId.put(row.userId(), row);
+        outcome = ApprovalOutcome.APPROVED;
+      }
+      outcomes.put(requestId, outcome);
+    }
+
+    List<Integer> autoRejected = new ArrayList<>();
+    if (!winnerByUserId.isEmpty()) {
+      Map<Integer, Integer> teamIdByUserId = new TreeMap<>();
+      winnerByUserId.forEach((userId, row) -> teamIdByUserId.put(userId, row.teamId()));
+      Set<Integer> inserted = joinRequestBatchRepository.insertAssignments(teamIdByUserId);
+
+      // Players assigned by a concurrent writer in the meantime keep their pending request
+      winnerByUserId.values().removeIf(row -> {
+        if (!inserted.contains(row.userId())) {
+          outcomes.put(row.requestId(), ApprovalOutcome.ALREADY_ASSIGNED);
+          return true;
+        }
+        return false;
+      });
+
+      autoRejected.addAll(applyStatusChanges(lockedRows, winnerByUserId));
+      winnerByUserId.values().forEach(row -> outboxPublisher.publish(OutboxEvents.JOIN_REQUEST, row.requestId(),
+          new PlayerJoinedTeamEvent(row.requestId(), row.userId(), row.teamId())));
+    }
+
+    List<JoinRequestOutcomeDto> outcomeDtos = distinctIds.stream()
+        .map(requestId -> {
+          JoinRequestRow row = rowsById.get(requestId);
+          return JoinRequestOutcomeDto.builder()
+              .requestId(requestId)
+              .userId(row != null ? row.userId() : null)
+              .teamId(row != null ? row.teamId() : null)
+              .outcome(outcomes.get(requestId))
+              .build();
+        })
+        .toList();
+
+    log.info("Batch approval finished: {} approved, {} auto-rejected", winnerByUserId.size(), autoRejected.size());
+    return BatchApprovalResultDto.builder()
+        .approvedCount(winnerByUserId.size())
+        .outcomes(outcomeDtos)
+        .autoRejectedRequestIds(autoRejected)
+        .build();
+  }
+
+  // Only pending requests change; answered requests of the same player stay as history
+  private List<Integer> applyStatusChanges(List<JoinRequestRow> lockedRows,
+      Map<Integer, JoinRequestRow> winnerByUserId) {
+    Map<JoinRequestStatus, Set<Integer>> transitions = new EnumMap<>(JoinRequestStatus.class);
+    transitions.put(JoinRequestStatus.APPROVED, new TreeSet<>());
+    transitions.put(JoinRequestStatus.REJECTED, new TreeSet<>());
+    List<Integer> autoRejected = new ArrayList<>();
+
+    for (JoinRequestRow row : lockedRows) {
+      JoinRequestRow winner = winnerByUserId.get(row.userId());
+      if (winner == null || row.status() != JoinRequestStatus.PENDING) {
+        continue;
+      }
+      if (row.requestId() == winner.requestId()) {
+        transitions.get(JoinRequestStatus.APPROVED).add(row.requestId());
+      } else {
+        transitions.get(JoinRequestStatus.REJECTED).add(row.requestId());
+        autoRejected.add(row.requestId());
+      }
+    }
+
+    transitions.forEach((status, ids) -> joinRequestBatchRepository.updateStatus(ids, status));
+    return autoRejected;
+  }
+
+  private boolean isAdministrator(User user) {
+    return user.getAuthorities().stream().anyMatch(authority -> ADMIN_ROLE.equals(authority.getAuthority()));
+  }
+}
@@ -0,0 +1,81 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.cache.SingleFlight;
+import com.nazarov.footballmanager.cache.SingleFlights;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.LiveEventAckDto;
+import com.nazarov.footballmanager.dto.match.LiveEventRequestDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.ingest.LiveEvent;
+import com.nazarov.footballmanager.ingest.LiveEventIngestor;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.TeamRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Goals and cards entered during a match. They are checked against the match and the roster of the
+// team and acknowledged once durable in the live event log; LiveEventIngestor stores them in
+// match_stats shortly after. Whatever match_stats would refuse is refused here, before the acknowledgement.
+@Service
+public class LiveEventService {
+
+  private final MatchRepository matchRepository;
+  private final TeamRepository teamRepository;
+  private final TournamentQueryService tournamentQueryService;
+  private final LiveEventIngestor liveEventIngestor;
+
+  // Events keep coming for the same few live matches, so a match is read once per lookup TTL rather
+  // than once per event; a cancellation is noticed within that time
+  private final SingleFlight<Integer, Optional<MatchRow>> matches;
+  // Player ids per team, read on the same terms; a player who just joined is accepted within that time
+  private final SingleFlight<Integer, Set<Integer>> rosters;
+
+  public LiveEventService(MatchRepository matchRepository,
+      TeamRepository teamRepository,
+      TournamentQueryService tournamentQueryService,
+      LiveEventIngestor liveEventIngestor,
+      SingleFlights singleFlights,
+      @Value("${app.live-events.match-lookup-ttl}") Duration matchLookupTtl) {
+    this.matchRepository = matchRepository;
+    this.teamRepository = teamRepository;
+    this.tournamentQueryService = tournamentQueryService;
+    this.liveEventIngestor = liveEventIngestor;
+    this.matches = singleFlights.create("live-event-matches", matchLookupTtl);
+    this.rosters = singleFlights.create("live-event-rosters", matchLookupTtl);
+  }
+
+  public LiveEventAckDto record(int matchId, LiveEventRequestDto request) {
+    MatchRow match = matches.get(matchId, matchRepository::findById)
+        .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+    if (match.status() == MatchStatus.CANCELLED) {
+      throw new BadRequestException("Match " + matchId + " was cancelled.");
+    }
+    if (tournamentQueryService.getActiveTournaments().stream()
+        .noneMatch(tournament -> tournament.getTournamentId() == match.tournamentId())) {
+      throw new BadRequestException("Match events can only be recorded while the tournament is active.");
+    }
+    if (request.getTeamId() != match.homeTeamId() && request.getTeamId() != match.awayTeamId()) {
+      throw new BadRequestException("Team " + request.getTeamId() + " does not play in match " + matchId + ".");
+    }
+    if (!rosters.get(request.getTeamId(), teamRepository::findPlayerIds).contains(request.getPlayerId())) {
+      throw new BadRequestException("Player " + request.getPlayerId() + " does not play for team "
+          + request.getTeamId() + ".");
+    }
+
+    UUID eventId = request.getEventId() != null ? request.getEventId() : UUID.randomUUID();
+    LiveEvent logged = liveEventIngestor.append(new LiveEvent(0, eventId, match.tournamentId(), matchId,
+        request.getPlayerId(), request.getTeamId(), request.getStatType(), request.getMinute(), Instant.now()));
+    return LiveEventAckDto.builder()
+        .eventId(logged.eventId())
+        .matchId(matchId)
+        .acknowledgedAt(logged.receivedAt())
+        .build();
+  }
+}
@@ -0,0 +1,104 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.CalendarPageDto;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.CalendarQuery;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// "Matches of a league, team or date range", paged by kick-off time. Pages are keyset based on
+// (match_date_time, match_id), so deep pages cost the same as the first one.
+@Service
+@RequiredArgsConstructor
+public class MatchCalendarService {
+
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 200;
+  // Bounds the index range a single request can walk
+  static final Duration MAX_WINDOW = Duration.ofDays(366);
+
+  private final MatchRepository matchRepository;
+  private final LeagueRepository leagueRepository;
+
+  public CalendarPageDto findMatches(Integer leagueId, Integer teamId, List<MatchStatus> statuses,
+      Instant from, Instant to, String cursor, int limit) {
+    if (!from.isBefore(to)) {
+      throw new BadRequestException("'from' must be before 'to'.");
+    }
+    if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+      throw new BadRequestException("The time window must not exceed " + MAX_WINDOW.toDays() + " days.");
+    }
+    // A league lives in one tournament, which limits the scan to that tournament's partition
+    Integer tournamentId = leagueId == null ? null : leagueRepository.findById(leagueId)
+        .orElseThrow(() -> new ResourceNotFoundException("League", "id", leagueId))
+        .tournamentId();
+    Set<MatchStatus> statusFilter = statuses == null || statuses.isEmpty()
+        ? null : EnumSet.copyOf(statuses);
+    int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+    Cursor after = cursor == null || cursor.isBlank() ? null : Cursor.decode(cursor);
+
+    List<MatchRow> rows = matchRepository.findCalendar(new CalendarQuery(tournamentId, leagueId, teamId,
+        statusFilter, from, to, after != null ? after.matchDateTime() : null, after != null ? after.matchId() : null,
+        cappedLimit));
+
+    // A full page may be followed by more rows; the next request will tell
+    String nextCursor = null;
+    if (rows.size() == cappedLimit) {
+      MatchRow last = rows.get(rows.size() - 1);
+      nextCursor = new Cursor(last.matchDateTime(), last.matchId()).encode();
+    }
+    return CalendarPageDto.builder()
+        .matches(rows.stream().map(MatchCalendarService::toDto).toList())
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  private static MatchDto toDto(MatchRow row) {
+    return MatchDto.builder()
+        .matchId(row.matchId())
+        .tournamentId(row.tournamentId())
+        .leagueId(row.leagueId())
+        .homeTeamId(row.homeTeamId())
+        .awayTeamId(row.awayTeamId())
+        .matchDateTime(row.matchDateTime())
+        .location(row.location())
+        .status(row.status())
+        .homeScore(row.homeScore())
+        .awayScore(row.awayScore())
+        .build();
+  }
+
+  // Opaque to clients: the kick-off time and id of the last match of the previous page
+  record Cursor(Instant matchDateTime, int matchId) {
+
+    String encode() {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((matchDateTime + "|" + matchId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static Cursor decode(String value) {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.US_ASCII);
+        int separator = decoded.indexOf('|');
+        return new Cursor(Instant.parse(decoded.substring(0, separator)),
+            Integer.parseInt(decoded.substring(separator + 1)));
+      } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+        throw new BadRequestException("Invalid cursor.");
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.match.MatchResultRequestDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.exception.ResultConflictException;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.MatchRepository.VersionedMatchRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchResultService {
+
+  private final MatchRepository matchRepository;
+  private final TournamentRepository tournamentRepository;
+  private final UserService userService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final OutboxPublisher outboxPublisher;
+  private final MeterRegistry meterRegistry;
+
+  // Attempts of a request without expectedVersion; each one loses to a concurrent write only
+  private static final int MAX_ATTEMPTS = 5;
+
+  public MatchDto getMatch(int matchId) {
+    VersionedMatchRow match = matchRepository.findWithResultVersion(matchId)
+        .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+    return toDto(match.match(), match.resultVersion());
+  }
+
+  // Stores (or corrects) the final score of a match of an active tournament.
+  //
+  // Optimistic: nothing is locked while the match is read and checked, and the update only applies if
+  // the result version is unchanged. When a concurrent change wins, the match is read again:
+  // - the same result is stored already: the requests commute, nothing more to do;
+  // - the request overwrites whatever is stored (no expectedVersion): checked and applied again on
+  //   the new version, so the event reflects what it actually replaced;
+  // - the request was based on the version that just changed: 409, the administrator has to look again.
+  @Transactional
+  public MatchDto recordResult(int matchId, MatchResultRequestDto request) {
+    VersionedMatchRow current = matchRepository.findWithResultVersion(matchId)
+        .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+    MatchRow match = current.match();
+    TournamentRow tournament = tournamentRepository.findById(match.tournamentId())
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", match.tournamentId()));
+    if (tournament.status() != TournamentStatus.ACTIVE) {
+      throw new BadRequestException("Results can only be recorded while the tournament is active.");
+    }
+    Integer adminId = userService.getCurrentUserEntity().getUserId();
+    Integer expectedVersion = request.getExpectedVersion();
+
+    for (int attempt = 1; ; attempt++) {
+      if (current.match().status() == MatchStatus.CANCELLED) {
+        throw new BadRequestException("Match " + matchId + " was cancelled.");
+      }
+      if (expectedVersion != null && expectedVersion != current.resultVersion()) {
+        if (hasResult(current.match(), request)) {
+          countConflict("commuted");
+          return toDto(current.match(), current.resultVersion());
+        }
+        countConflict("rejected");
+        throw new ResultConflictException(String.format(
+            "The result of match %d was changed to %s (version %d) since version %d; reload and try again.",
+            matchId, score(current.match()), current.resultVersion(), expectedVersion));
+      }
+      if (matchRepository.recordResult(matchId, match.tournamentId(), request.getHomeScore(),
+          request.getAwayScore(), adminId, current.resultVersion()) == 1) {
+        break;
+      }
+      current = matchRepository.findWithResultVersion(matchId)
+          .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+      if (hasResult(current.match(), request)) {
+        countConflict("commuted");
+        return toDto(current.match(), current.resultVersion());
+      }
+      if (expectedVersion == null && attempt == MAX_ATTEMPTS) {
+        countConflict("rejected");
+        throw new ResultConflictException("The result of match " + matchId
+            + " keeps being changed by other administrators; try again.");
+      }
+      if (expectedVersion == null) {
+        countConflict("retried");
+      }
+    }
+
+    MatchRow previous = current.match();
+    MatchResultRecordedEvent event = new MatchResultRecordedEvent(match.tournamentId(), match.leagueId(), matchId,
+        match.homeTeamId(), match.awayTeamId(), request.getHomeScore(), request.getAwayScore(),
+        previous.status() == MatchStatus.COMPLETED);
+    eventPublisher.publishEvent(event);
+    outboxPublisher.publish(OutboxEvents.MATCH, matchId, event);
+    log.info("Recorded result {}:{} for match {} of tournament {}", request.getHomeScore(), request.getAwayScore(),
+        matchId, match.tournamentId());
+
+    return MatchDto.builder()
+        .matchId(matchId)
+        .tournamentId(match.tournamentId())
+        .leagueId(match.leagueId())
+        .homeTeamId(match.homeTeamId())
+        .awayTeamId(match.awayTeamId())
+        .matchDateTime(previous.matchDateTime())
+        .location(previous.location())
+        .status(MatchStatus.COMPLETED)
+        .homeScore(request.getHomeScore())
+        .awayScore(request.getAwayScore())
+        .resultVersion(current.resultVersion() + 1)
+        .build();
+  }
+
+  private static boolean hasResult(MatchRow match, MatchResultRequestDto request) {
+    return match.status() == MatchStatus.COMPLETED
+        && request.getHomeScore().equals(match.homeScore())
+        && request.getAwayScore().equals(match.awayScore());
+  }
+
+  private static String score(MatchRow match) {
+    return match.status() == MatchStatus.COMPLETED
+        ? match.homeScore() + ":" + match.awayScore()
+        : match.status().name().toLowerCase();
+  }
+
+  private void countConflict(String outcome) {
+    meterRegistry.counter("match.result.conflicts", "outcome", outcome).increment();
+  }
+
+  private static MatchDto toDto(MatchRow match, int resultVersion) {
+    return MatchDto.builder()
+        .matchId(match.matchId())
+        .tournamentId(match.tournamentId())
+        .leagueId(match.leagueId())
+        .homeTeamId(match.homeTeamId())
+        .awayTeamId(match.awayTeamId())
+        .matchDateTime(match.matchDateTime())
+        .location(match.location())
+        .status(match.status())
+        .homeScore(match.homeScore())
+        .awayScore(match.awayScore())
+        .resultVersion(resultVersion)
+        .build();
+  }
+}
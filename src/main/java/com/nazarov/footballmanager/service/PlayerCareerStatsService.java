@@ -0,0 +1,107 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.dto.user.CareerSummaryDto;
+import com.nazarov.footballmanager.dto.user.SeasonStatsDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository.CareerStatsRow;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository.DriftRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Career statistics of players, read from the player_career_stats rollup instead of aggregating
+// match_stats on every profile view. The rollup is maintained as data is written; verify() compares
+// it with match_stats and reports (and optionally repairs) any drift.
+@Service
+@Slf4j
+public class PlayerCareerStatsService {
+
+  // Drifted rows logged per tournament; the rest are only counted
+  private static final int MAX_LOGGED_DRIFT = 10;
+
+  private final PlayerCareerStatsRepository playerCareerStatsRepository;
+  private final TransactionTemplate repairTransactionTemplate;
+  private final boolean repairDrift;
+  private final Counter driftCounter;
+
+  public PlayerCareerStatsService(PlayerCareerStatsRepository playerCareerStatsRepository,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.career-stats.repair-drift}") boolean repairDrift) {
+    this.playerCareerStatsRepository = playerCareerStatsRepository;
+    // The repair writes counts read in the same snapshot; an event written meanwhile makes it fail
+    // instead of being overwritten, and the next run repairs what is left
+    this.repairTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.repairTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.repairDrift = repairDrift;
+    this.driftCounter = Counter.builder("career.stats.drift").register(meterRegistry);
+  }
+
+  public CareerSummaryDto getCareerSummary(int playerId) {
+    List<CareerStatsRow> rows = playerCareerStatsRepository.findByPlayerId(playerId);
+    CareerSummaryDto summary = CareerSummaryDto.builder()
+        .seasons(rows.stream().map(PlayerCareerStatsService::toDto).toList())
+        .build();
+    for (CareerStatsRow row : rows) {
+      summary.setAppearances(summary.getAppearances() + row.appearances());
+      summary.setGoals(summary.getGoals() + row.goals());
+      summary.setAssists(summary.getAssists() + row.assists());
+      summary.setYellowCards(summary.getYellowCards() + row.yellowCards());
+      summary.setRedCards(summary.getRedCards() + row.redCards());
+    }
+    return summary;
+  }
+
+  // Runs inside the transaction that records the result. A correction does not change who played.
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    if (event.correction()) {
+      return;
+    }
+    int players = playerCareerStatsRepository.addAppearances(event.tournamentId(), event.matchId(),
+        event.homeTeamId(), event.awayTeamId());
+    log.debug("Counted an appearance for {} players in match {}", players, event.matchId());
+  }
+
+  // Appearances cannot be checked: assignments keep no history, so only event counts are compared
+  public int verify() {
+    int drifted = 0;
+    for (int tournamentId : playerCareerStatsRepository.findTournamentsWithAttachedPartitions()) {
+      List<DriftRow> drift = playerCareerStatsRepository.findDrift(tournamentId);
+      if (drift.isEmpty()) {
+        continue;
+      }
+      drifted += drift.size();
+      driftCounter.increment(drift.size());
+      log.warn("Career stats of {} players drifted from match_stats in tournament {}, e.g. {}", drift.size(),
+          tournamentId, drift.subList(0, Math.min(drift.size(), MAX_LOGGED_DRIFT)));
+      if (repairDrift) {
+        Integer repaired = repairTransactionTemplate.execute(
+            status -> playerCareerStatsRepository.repairEvents(tournamentId));
+        log.info("Repaired career stats of {} players in tournament {}", repaired, tournamentId);
+      }
+    }
+    return drifted;
+  }
+
+  private static SeasonStatsDto toDto(CareerStatsRow row) {
+    return SeasonStatsDto.builder()
+        .tournamentId(row.tournamentId())
+        .tournamentName(row.tournamentName())
+        .yearPeriod(row.yearPeriod())
+        .teamId(row.teamId())
+        .appearances(row.appearances())
+        .goals(row.goals())
+        .assists(row.assists())
+        .yellowCards(row.yellowCards())
+        .redCards(row.redCards())
+        .build();
+  }
+}
@@ -0,0 +1,35 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.LocalCache;
+import com.nazarov.footballmanager.domain.Role;
+import com.nazarov.footballmanager.repository.RoleRepository;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+// Roles are seeded by migrations and practically never change, so they are read once per instance.
+// The cached entities are detached; only use them as references, never modify them.
+@Service
+public class RoleService {
+
+  private final RoleRepository roleRepository;
+  private final LocalCache<String, Role> rolesByName = new LocalCache<>();
+
+  public RoleService(RoleRepository roleRepository, InvalidationBus invalidationBus) {
+    this.roleRepository = roleRepository;
+    invalidationBus.register(CacheRegions.ROLES, rolesByName::evict, rolesByName::clear);
+  }
+
+  public Optional<Role> findByName(String name) {
+    return Optional.ofNullable(rolesByName.get(name, key -> roleRepository.findByName(key).orElse(null)));
+  }
+
+  // Returns the number of roles loaded
+  public int preload() {
+    List<Role> roles = roleRepository.findAll();
+    roles.forEach(role -> rolesByName.get(role.getName(), key -> role));
+    return roles.size();
+  }
+}
@@ -0,0 +1,171 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.async.AsyncJobService;
+import com.nazarov.footballmanager.async.JobProgress;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.tournament.FinalizationResultDto;
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.event.TournamentChangedEvent;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.FinalPlacement;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Slf4j
+public class SeasonFinalizationService {
+
+  private final TournamentRepository tournamentRepository;
+  private final LeagueRepository leagueRepository;
+  private final LeagueTeamRepository leagueTeamRepository;
+  private final MatchRepository matchRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ForkJoinPool leagueTaskPool;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AsyncJobService asyncJobService;
+  private final int promotionSlots;
+
+  public static final String JOB_TYPE = "tournament-finalization";
+
+
+  public SeasonFinalizationService(TournamentRepository tournamentRepository,
+      LeagueRepository leagueRepository,
+      LeagueTeamRepository leagueTeamRepository,
+      MatchRepository matchRepository,
+      TransactionTemplate transactionTemplate,
+      ForkJoinPool leagueTaskPool,
+      ApplicationEventPublisher eventPublisher,
+      AsyncJobService asyncJobService,
+      @Value("${app.tournament.promotion-slots}") int promotionSlots) {
+    this.tournamentRepository = tournamentRepository;
+    this.leagueRepository = leagueRepository;
+    this.leagueTeamRepository = leagueTeamRepository;
+    this.matchRepository = matchRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.leagueTaskPool = leagueTaskPool;
+    this.eventPublisher = eventPublisher;
+    this.asyncJobService = asyncJobService;
+    this.promotionSlots = promotionSlots;
+  }
+
+  // Starts finalization as an async job. Re-running is safe: every run recomputes the tables
+  // from the results and overwrites final_rank / promotion_status.
+  public AsyncJobDto startFinalization(int tournamentId) {
+    TournamentRow tournament = tournamentRepository.findById(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    if (tournament.status() == TournamentStatus.SETUP) {
+      throw new BadRequestException("Tournament " + tournamentId + " has not started yet.");
+    }
+    int openMatches = matchRepository.countOpenMatches(tournamentId);
+    if (openMatches > 0) {
+      throw new BadRequestException(openMatches + " matches of tournament " + tournamentId + " are not completed yet.");
+    }
+    return asyncJobService.submit(JOB_TYPE, tournamentId, progress -> finalizeTournament(tournamentId, progress));
+  }
+
+  // Latest finalization job of the tournament, running or finished
+  public AsyncJobDto getFinalizationStatus(int tournamentId) {
+    return asyncJobService.findLatest(JOB_TYPE, tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Finalization job", "tournamentId", tournamentId));
+  }
+
+  private FinalizationResultDto finalizeTournament(int tournamentId, JobProgress progress) {
+    long start = System.nanoTime();
+    List<LeagueRow> leagues = leagueRepository.findByTournamentId(tournamentId);
+    progress.setTotal(leagues.size());
+    log.info("Starting finalization of tournament {} with {} leagues", tournamentId, leagues.size());
+
+    LevelRange levels = LevelRange.of(leagues);
+    AtomicInteger failedLeagues = new AtomicInteger();
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+    for (LeagueRow league : leagues) {
+      tasks.add(ForkJoinTask.adapt(() -> {
+        if (!finalizeLeague(tournamentId, league, levels)) {
+          failedLeagues.incrementAndGet();
+        }
+        progress.advance();
+      }));
+    }
+    // Forking has to happen from inside the pool, otherwise the tasks would run in the common pool
+    leagueTaskPool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+    if (failedLeagues.get() > 0) {
+      throw new IllegalStateException(failedLeagues.get() + " of " + leagues.size() + " leagues of tournament "
+          + tournamentId + " could not be finalized.");
+    }
+    tournamentRepository.updateStatus(tournamentId, TournamentStatus.COMPLETED);
+    eventPublisher.publishEvent(new TournamentChangedEvent(tournamentId));
+    eventPublisher.publishEvent(new TournamentCompletedEvent(tournamentId));
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.info("Finalized tournament {} in {} ms", tournamentId, elapsedMillis);
+    return FinalizationResultDto.builder()
+        .tournamentId(tournamentId)
+        .leagues(leagues.size())
+        .elapsedMillis(elapsedMillis)
+        .build();
+  }
+
+  private boolean finalizeLeague(int tournamentId, LeagueRow league, LevelRange levels) {
+    try {
+      // Reads happen outside the transaction, which only covers the batched update
+      List<StandingDto> table = StandingsCalculator.calculate(
+          leagueTeamRepository.findTeams(league.leagueId()),
+          matchRepository.findCompletedResults(tournamentId, league.leagueId()));
+      List<FinalPlacement> placements = placements(table, league.level(), levels);
+      transactionTemplate.executeWithoutResult(
+          status -> leagueTeamRepository.updateFinalPlacements(league.leagueId(), placements));
+      return true;
+    } catch (RuntimeException ex) {
+      log.error("Could not finalize league {} of tournament {}", league.leagueId(), tournamentId, ex);
+      return false;
+    }
+  }
+
+  List<FinalPlacement> placements(List<StandingDto> table, Integer level, LevelRange levels) {
+    boolean canPromote = level != null && level > levels.highest();
+    boolean canRelegate = level != null && level < levels.lowest();
+    int teamCount = table.size();
+
+    List<FinalPlacement> placements = new ArrayList<>(teamCount);
+    for (StandingDto standing : table) {
+      int rank = standing.getPosition();
+      PromotionStatus status = PromotionStatus.STAY;
+      if (canPromote && rank <= promotionSlots) {
+        status = PromotionStatus.PROMOTED;
+      } else if (canRelegate && rank > teamCount - promotionSlots) {
+        status = PromotionStatus.RELEGATED;
+      }
+      placements.add(new FinalPlacement(standing.getTeamId(), rank, status));
+    }
+    return placements;
+  }
+
+  // Smallest and largest league level of a tournament; level 1 is the top league
+  record LevelRange(int highest, int lowest) {
+    static LevelRange of(List<LeagueRow> leagues) {
+      List<Integer> levels = leagues.stream().map(LeagueRow::level).filter(Objects::nonNull).toList();
+      return new LevelRange(
+          levels.stream().mapToInt(Integer::intValue).min().orElse(0),
+          levels.stream().mapToInt(Integer::intValue).max().orElse(0));
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Manages the per-tournament partitions of matches and match_stats (see V4 migration). A completed
+// season leaves the database in two steps: detachSeason moves its partitions to the archive schema
+// once its archive file checks out, and dropDetachedSeasons drops them after a grace period, from
+// then on the archive file is the only copy.
+@Service
+@Slf4j
+public class SeasonPartitionService {
+
+  private final TournamentRepository tournamentRepository;
+  private final SeasonArchiveRepository seasonArchiveRepository;
+  private final SeasonArchiveService seasonArchiveService;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration dropDetachedAfter;
+
+  public SeasonPartitionService(TournamentRepository tournamentRepository,
+      SeasonArchiveRepository seasonArchiveRepository,
+      SeasonArchiveService seasonArchiveService,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.archive.drop-detached-after}") Duration dropDetachedAfter) {
+    this.tournamentRepository = tournamentRepository;
+    this.seasonArchiveRepository = seasonArchiveRepository;
+    this.seasonArchiveService = seasonArchiveService;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.dropDetachedAfter = dropDetachedAfter;
+  }
+
+  // Takes a completed season out of the live tables. The archive blob is read back and checked first,
+  // outside the transaction, as it is what keeps the season queryable afterwards. Everything that
+  // keeps matches of the season in memory drops them after commit, on SeasonDetachedEvent.
+  public void detachSeason(int tournamentId) {
+    TournamentRow tournament = tournamentRepository.findById(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    if (tournament.status() != TournamentStatus.COMPLETED) {
+      throw new BadRequestException("Only completed tournaments can be detached.");
+    }
+    if (!tournamentRepository.hasAttachedPartitions(tournamentId)) {
+      throw new BadRequestException("Tournament " + tournamentId + " has no attached partitions.");
+    }
+    if (!seasonArchiveService.isArchived(tournamentId)) {
+      throw new BadRequestException("Tournament " + tournamentId + " has no archive file yet.");
+    }
+    ArchiveVerificationDto verification = verifiedArchive(tournamentId);
+
+    transactionTemplate.executeWithoutResult(status -> {
+      int matches = seasonArchiveRepository.countMatches(tournamentId);
+      int stats = seasonArchiveRepository.countStats(tournamentId);
+      if (matches != verification.getMatchCount() || stats != verification.getStatCount()) {
+        throw new BadRequestException("The archive of tournament " + tournamentId + " holds "
+            + verification.getMatchCount() + " matches and " + verification.getStatCount()
+            + " stats, the database " + matches + " and " + stats + "; write the archive again.");
+      }
+      tournamentRepository.detachPartitions(tournamentId);
+      seasonArchiveRepository.markDetached(tournamentId);
+      eventPublisher.publishEvent(new SeasonDetachedEvent(tournamentId));
+    });
+    log.info("Detached match partitions of tournament {} into the archive schema", tournamentId);
+  }
+
+  // Drops the partitions detached longer than the grace period ago. Each archive is checked once
+  // more before its last database copy goes; a season whose archive fails is kept and logged.
+  public int dropDetachedSeasons() {
+    int dropped = 0;
+    for (int tournamentId : seasonArchiveRepository.findDetachedBefore(Instant.now().minus(dropDetachedAfter))) {
+      try {
+        verifiedArchive(tournamentId);
+        transactionTemplate.executeWithoutResult(
+            status -> seasonArchiveRepository.dropDetachedPartitions(tournamentId));
+        dropped++;
+        log.info("Dropped the detached partitions of tournament {}", tournamentId);
+      } catch (RuntimeException ex) {
+        log.error("Keeping the detached partitions of tournament {}: {}", tournamentId, ex.getMessage());
+      }
+    }
+    return dropped;
+  }
+
+  private ArchiveVerificationDto verifiedArchive(int tournamentId) {
+    ArchiveVerificationDto verification = seasonArchiveService.verifyStored(tournamentId);
+    if (!verification.isValid()) {
+      throw new BadRequestException("The archive of tournament " + tournamentId + " has corrupt sections "
+          + verification.getCorruptSections() + "; write the archive again.");
+    }
+    return verification;
+  }
+}
@@ -0,0 +1,80 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.tournament.RolloverRequestDto;
+import com.nazarov.footballmanager.dto.tournament.RolloverResultDto;
+import com.nazarov.footballmanager.event.TournamentChangedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.SeasonRolloverRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeasonRolloverService {
+
+  private final TournamentRepository tournamentRepository;
+  private final SeasonRolloverRepository seasonRolloverRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  // Creates next season's tournament, leagues and league teams from a finalized tournament.
+  // Runs a fixed number of INSERT ... SELECT statements regardless of the number of teams.
+  @Transactional
+  public RolloverResultDto rollover(int sourceTournamentId, RolloverRequestDto rolloverRequestDto) {
+    TournamentRow source = tournamentRepository.findById(sourceTournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", sourceTournamentId));
+    if (source.status() != TournamentStatus.COMPLETED) {
+      throw new BadRequestException("Only completed tournaments can be rolled over.");
+    }
+    int unfinalized = seasonRolloverRepository.countUnfinalizedTeams(sourceTournamentId);
+    if (unfinalized > 0) {
+      throw new BadRequestException(unfinalized + " teams have no promotion status, finalize the tournament first.");
+    }
+    List<Integer> duplicateLevels = seasonRolloverRepository.findDuplicateLevels(sourceTournamentId);
+    if (!duplicateLevels.isEmpty()) {
+      throw new BadRequestException("Several leagues share level(s) " + duplicateLevels + ", promotions are ambiguous.");
+    }
+
+    seasonRolloverRepository.findSuccessor(sourceTournamentId).ifPresent(successor -> {
+      throw alreadyRolledOver(sourceTournamentId);
+    });
+
+    int targetTournamentId;
+    try {
+      targetTournamentId = seasonRolloverRepository.insertTournament(
+          sourceTournamentId, rolloverRequestDto.getName(), rolloverRequestDto.getYearPeriod());
+    } catch (DuplicateKeyException ex) {
+      // A concurrent rollover of the same season committed first
+      throw alreadyRolledOver(sourceTournamentId);
+    }
+    int leagueCount = seasonRolloverRepository.copyLeagues(sourceTournamentId, targetTournamentId);
+    int teamCount = seasonRolloverRepository.copyTeamsAcrossLevels(sourceTournamentId, targetTournamentId)
+        + seasonRolloverRepository.copyTeamsOfUnlevelledLeagues(sourceTournamentId, targetTournamentId);
+
+    eventPublisher.publishEvent(new TournamentChangedEvent(targetTournamentId));
+
+    log.info("Rolled tournament {} over into tournament {} ({} leagues, {} teams)",
+        sourceTournamentId, targetTournamentId, leagueCount, teamCount);
+    return RolloverResultDto.builder()
+        .sourceTournamentId(sourceTournamentId)
+        .tournamentId(targetTournamentId)
+        .name(rolloverRequestDto.getName())
+        .yearPeriod(rolloverRequestDto.getYearPeriod())
+        .leagueCount(leagueCount)
+        .teamCount(teamCount)
+        .build();
+  }
+
+  private static BadRequestException alreadyRolledOver(int sourceTournamentId) {
+    return new BadRequestException("Tournament " + sourceTournamentId + " was already rolled over.");
+  }
+}
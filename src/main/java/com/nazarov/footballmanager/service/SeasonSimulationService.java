@@ -0,0 +1,200 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.simulation.LeagueSimulationDto;
+import com.nazarov.footballmanager.dto.simulation.SeasonSimulationDto;
+import com.nazarov.footballmanager.dto.simulation.TeamOutcomeDto;
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.FixtureRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import com.nazarov.footballmanager.service.SeasonFinalizationService.LevelRange;
+import com.nazarov.footballmanager.simulation.LeagueSimulation;
+import com.nazarov.footballmanager.simulation.LeagueSimulation.Outcome;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Title, promotion and relegation odds of an active tournament, from simulating the remaining fixtures.
+// A result only changes when a match result is recorded or a fixture moves, so it is cached per tournament
+// until then, on every instance.
+@Service
+@Slf4j
+public class SeasonSimulationService {
+
+  private final TournamentRepository tournamentRepository;
+  private final LeagueRepository leagueRepository;
+  private final LeagueTeamRepository leagueTeamRepository;
+  private final MatchRepository matchRepository;
+  private final ForkJoinPool computePool;
+  private final InvalidationBus invalidationBus;
+  private final int iterations;
+  private final int promotionSlots;
+
+  // Concurrent requests for the same tournament share one running simulation
+  private final Map<Integer, CompletableFuture<SeasonSimulationDto>> cache = new ConcurrentHashMap<>();
+
+  public SeasonSimulationService(TournamentRepository tournamentRepository,
+      LeagueRepository leagueRepository,
+      LeagueTeamRepository leagueTeamRepository,
+      MatchRepository matchRepository,
+      ForkJoinPool computePool,
+      InvalidationBus invalidationBus,
+      @Value("${app.simulation.iterations}") int iterations,
+      @Value("${app.tournament.promotion-slots}") int promotionSlots) {
+    this.tournamentRepository = tournamentRepository;
+    this.leagueRepository = leagueRepository;
+    this.leagueTeamRepository = leagueTeamRepository;
+    this.matchRepository = matchRepository;
+    this.computePool = computePool;
+    this.invalidationBus = invalidationBus;
+    this.iterations = iterations;
+    this.promotionSlots = promotionSlots;
+    invalidationBus.register(CacheRegions.SEASON_SIMULATION, key -> cache.remove(Integer.valueOf(key)), cache::clear);
+  }
+
+  public SeasonSimulationDto simulate(int tournamentId) {
+    TournamentRow tournament = tournamentRepository.findById(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    if (tournament.status() != TournamentStatus.ACTIVE) {
+      throw new BadRequestException("Only active tournaments can be simulated.");
+    }
+
+    CompletableFuture<SeasonSimulationDto> future = new CompletableFuture<>();
+    CompletableFuture<SeasonSimulationDto> cached = cache.putIfAbsent(tournamentId, future);
+    if (cached != null) {
+      return join(cached);
+    }
+    try {
+      future.complete(run(tournamentId));
+    } catch (RuntimeException ex) {
+      cache.remove(tournamentId, future);
+      future.completeExceptionally(ex);
+    }
+    return join(future);
+  }
+
+  // Evicted once the result commits
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    invalidationBus.invalidate(CacheRegions.SEASON_SIMULATION, event.tournamentId());
+  }
+
+  private SeasonSimulationDto run(int tournamentId) {
+    long start = System.nanoTime();
+    List<LeagueRow> leagues = leagueRepository.findByTournamentId(tournamentId);
+    LevelRange levels = LevelRange.of(leagues);
+    List<LeagueSimulationDto> results = new ArrayList<>(leagues.size());
+    for (LeagueRow league : leagues) {
+      // Each league simulation already spreads over every core, so leagues run one after another
+      results.add(simulateLeague(tournamentId, league, levels));
+    }
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.info("Simulated {} seasons of tournament {} ({} leagues) in {} ms", iterations, tournamentId,
+        leagues.size(), elapsedMillis);
+    return SeasonSimulationDto.builder()
+        .tournamentId(tournamentId)
+        .iterations(iterations)
+        .simulatedAt(Instant.now())
+        .elapsedMillis(elapsedMillis)
+        .leagues(results)
+        .build();
+  }
+
+  private LeagueSimulationDto simulateLeague(int tournamentId, LeagueRow league, LevelRange levels) {
+    List<LeagueTeamRow> teams = leagueTeamRepository.findTeams(league.leagueId());
+    List<StandingDto> table = StandingsCalculator.calculate(teams,
+        matchRepository.findCompletedResults(tournamentId, league.leagueId()));
+    List<FixtureRow> fixtures = matchRepository.findRemainingFixtures(tournamentId, league.leagueId());
+
+    // Team index = position in findTeams, which is ordered by team id as the simulation requires
+    int teamCount = teams.size();
+    Map<Integer, Integer> indexByTeamId = new HashMap<>();
+    for (int i = 0; i < teamCount; i++) {
+      indexByTeamId.put(teams.get(i).teamId(), i);
+    }
+    int[] played = new int[teamCount];
+    int[] points = new int[teamCount];
+    int[] goalsFor = new int[teamCount];
+    int[] goalsAgainst = new int[teamCount];
+    for (StandingDto standing : table) {
+      int index = indexByTeamId.get(standing.getTeamId());
+      played[index] = standing.getPlayed();
+      points[index] = standing.getPoints();
+      goalsFor[index] = standing.getGoalsFor();
+      goalsAgainst[index] = standing.getGoalsAgainst();
+    }
+    List<FixtureRow> leagueFixtures = fixtures.stream()
+        .filter(f -> indexByTeamId.containsKey(f.homeTeamId()) && indexByTeamId.containsKey(f.awayTeamId()))
+        .toList();
+    int[] fixtureHome = new int[leagueFixtures.size()];
+    int[] fixtureAway = new int[leagueFixtures.size()];
+    for (int i = 0; i < leagueFixtures.size(); i++) {
+      fixtureHome[i] = indexByTeamId.get(leagueFixtures.get(i).homeTeamId());
+      fixtureAway[i] = indexByTeamId.get(leagueFixtures.get(i).awayTeamId());
+    }
+
+    Outcome outcome = new LeagueSimulation(played, points, goalsFor, goalsAgainst, fixtureHome, fixtureAway)
+        .run(iterations, tournamentId * 31L + league.leagueId(), computePool);
+
+    boolean canPromote = league.level() != null && league.level() > levels.highest();
+    boolean canRelegate = league.level() != null && league.level() < levels.lowest();
+    List<TeamOutcomeDto> teamOutcomes = new ArrayList<>(teamCount);
+    for (StandingDto standing : table) {
+      int index = indexByTeamId.get(standing.getTeamId());
+      double[] positions = new double[teamCount];
+      for (int position = 0; position < teamCount; position++) {
+        positions[position] = outcome.probability(index, position, position + 1);
+      }
+      teamOutcomes.add(TeamOutcomeDto.builder()
+          .currentPosition(standing.getPosition())
+          .teamId(standing.getTeamId())
+          .teamName(standing.getTeamName())
+          .currentPoints(standing.getPoints())
+          .expectedPoints(outcome.expectedPoints(index))
+          .titleProbability(positions.length > 0 ? positions[0] : 0)
+          .promotionProbability(canPromote ? outcome.probability(index, 0, promotionSlots) : 0)
+          .relegationProbability(canRelegate ? outcome.probability(index, teamCount - promotionSlots, teamCount) : 0)
+          .positionProbabilities(positions)
+          .build());
+    }
+    return LeagueSimulationDto.builder()
+        .leagueId(league.leagueId())
+        .leagueName(league.name())
+        .level(league.level())
+        .remainingMatches(leagueFixtures.size())
+        .teams(teamOutcomes)
+        .build();
+  }
+
+  private static SeasonSimulationDto join(CompletableFuture<SeasonSimulationDto> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchResultRow;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds a league table from completed results: 3 points for a win, 1 for a draw.
+// Ties are broken by goal difference, goals scored and finally team id, so the order is stable across re-runs.
+public final class StandingsCalculator {
+
+  public static final int POINTS_FOR_WIN = 3;
+  public static final int POINTS_FOR_DRAW = 1;
+
+  private static final Comparator<StandingDto> TABLE_ORDER = Comparator
+      .comparingInt(StandingDto::getPoints).reversed()
+      .thenComparing(Comparator.comparingInt(StandingDto::getGoalDifference).reversed())
+      .thenComparing(Comparator.comparingInt(StandingDto::getGoalsFor).reversed())
+      .thenComparing(StandingDto::getTeamId);
+
+  private StandingsCalculator() {
+  }
+
+  public static List<StandingDto> calculate(List<LeagueTeamRow> teams, List<MatchResultRow> results) {
+    Map<Integer, StandingDto> byTeamId = new LinkedHashMap<>();
+    for (LeagueTeamRow team : teams) {
+      byTeamId.put(team.teamId(), StandingDto.builder().teamId(team.teamId()).teamName(team.teamName()).build());
+    }
+
+    for (MatchResultRow result : results) {
+      StandingDto home = byTeamId.get(result.homeTeamId());
+      StandingDto away = byTeamId.get(result.awayTeamId());
+      if (home == null || away == null) {
+        continue; // Result involves a team that is not registered in this league
+      }
+      record(home, result.homeScore(), result.awayScore());
+      record(away, result.awayScore(), result.homeScore());
+    }
+
+    List<StandingDto> table = new ArrayList<>(byTeamId.values());
+    table.sort(TABLE_ORDER);
+    for (int i = 0; i < table.size(); i++) {
+      table.get(i).setPosition(i + 1);
+    }
+    return table;
+  }
+
+  private static void record(StandingDto standing, int scored, int conceded) {
+    standing.setPlayed(standing.getPlayed() + 1);
+    standing.setGoalsFor(standing.getGoalsFor() + scored);
+    standing.setGoalsAgainst(standing.getGoalsAgainst() + conceded);
+    standing.setGoalDifference(standing.getGoalsFor() - standing.getGoalsAgainst());
+    if (scored > conceded) {
+      standing.setWon(standing.getWon() + 1);
+      standing.setPoints(standing.getPoints() + POINTS_FOR_WIN);
+    } else if (scored == conceded) {
+      standing.setDrawn(standing.getDrawn() + 1);
+      standing.setPoints(standing.getPoints() + POINTS_FOR_DRAW);
+    } else {
+      standing.setLost(standing.getLost() + 1);
+    }
+  }
+}
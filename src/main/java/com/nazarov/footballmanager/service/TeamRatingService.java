@@ -0,0 +1,340 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.async.AsyncJobService;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.rating.RatingRecomputeResultDto;
+import com.nazarov.footballmanager.dto.rating.TeamRatingDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.jobs.JobLeadership;
+import com.nazarov.footballmanager.jobs.JobLeadership.Lease;
+import com.nazarov.footballmanager.outbox.DispatchedEvent;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.TeamRatingRepository;
+import com.nazarov.footballmanager.repository.TeamRatingRepository.RatingState;
+import com.nazarov.footballmanager.repository.TeamRatingRepository.TeamRatingRow;
+import com.nazarov.footballmanager.repository.TeamRatingRepository.TournamentPlayOrder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Elo ratings of teams. A recorded result updates the two teams right away, in the same transaction;
+// a corrected result invalidates everything after it, so it triggers a full recompute instead. One
+// recompute runs at a time across the cluster, and results recorded while it replays are re-applied
+// on top of it before it replaces the ratings.
+@Service
+@Slf4j
+public class TeamRatingService {
+
+  private final TeamRatingRepository teamRatingRepository;
+  private final LeagueRepository leagueRepository;
+  private final SeasonArchiveRepository seasonArchiveRepository;
+  private final SeasonArchiveService seasonArchiveService;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnlyTransactionTemplate;
+  private final ForkJoinPool leagueTaskPool;
+  private final AsyncJobService asyncJobService;
+  private final JobLeadership jobLeadership;
+  private final EloCalculator eloCalculator;
+  private final double initialRating;
+
+  private static final String RECOMPUTE_JOB_TYPE = "rating-recompute";
+  // Not the name of RatingRecomputeJob, whose run already holds that lock on another connection
+  private static final String RECOMPUTE_LOCK = "rating-replay";
+
+  public TeamRatingService(TeamRatingRepository teamRatingRepository,
+      LeagueRepository leagueRepository,
+      SeasonArchiveRepository seasonArchiveRepository,
+      SeasonArchiveService seasonArchiveService,
+      TransactionTemplate transactionTemplate,
+      ForkJoinPool leagueTaskPool,
+      AsyncJobService asyncJobService,
+      JobLeadership jobLeadership,
+      @Value("${app.rating.initial}") double initialRating,
+      @Value("${app.rating.k-factor}") double kFactor,
+      @Value("${app.rating.home-advantage}") double homeAdvantage) {
+    this.teamRatingRepository = teamRatingRepository;
+    this.leagueRepository = leagueRepository;
+    this.seasonArchiveRepository = seasonArchiveRepository;
+    this.seasonArchiveService = seasonArchiveService;
+    this.transactionTemplate = transactionTemplate;
+    this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.readOnlyTransactionTemplate.setReadOnly(true);
+    this.leagueTaskPool = leagueTaskPool;
+    this.asyncJobService = asyncJobService;
+    this.jobLeadership = jobLeadership;
+    this.eloCalculator = new EloCalculator(kFactor, homeAdvantage);
+    this.initialRating = initialRating;
+  }
+
+  public List<TeamRatingDto> getRatings(int limit) {
+    return teamRatingRepository.findAll(limit).stream().map(TeamRatingService::toDto).toList();
+  }
+
+  public TeamRatingDto getRating(int teamId) {
+    return teamRatingRepository.findByTeamId(teamId)
+        .map(TeamRatingService::toDto)
+        .orElseThrow(() -> new ResourceNotFoundException("Team rating", "teamId", teamId));
+  }
+
+  // Runs inside the transaction that records the result, so rating and result commit (or roll back) together
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    if (event.correction()) {
+      return;
+    }
+    teamRatingRepository.lockForIncrement();
+    Map<Integer, Double> ratings = teamRatingRepository.lockRatings(event.homeTeamId(), event.awayTeamId());
+    double delta = eloCalculator.homeDelta(
+        ratings.getOrDefault(event.homeTeamId(), initialRating),
+        ratings.getOrDefault(event.awayTeamId(), initialRating),
+        event.homeScore(), event.awayScore());
+    teamRatingRepository.applyDelta(event.homeTeamId(), initialRating, delta, event.matchId());
+    teamRatingRepository.applyDelta(event.awayTeamId(), initialRating, -delta, event.matchId());
+  }
+
+  // Delivered through the outbox, so only one instance recomputes per correction. Runs on the
+  // dispatcher thread: a failed recompute, or one refused because another is running and may have
+  // read the old result, fails the delivery and the outbox retries it.
+  @EventListener
+  public void onMatchResultCorrected(DispatchedEvent<MatchResultRecordedEvent> dispatched) {
+    MatchResultRecordedEvent event = dispatched.payload();
+    if (!event.correction()) {
+      return;
+    }
+    log.info("Result of match {} was corrected, recomputing ratings", event.matchId());
+    recompute();
+  }
+
+  // Recompute requested over HTTP; concurrent requests share one job
+  public AsyncJobDto startRecompute() {
+    return asyncJobService.submit(RECOMPUTE_JOB_TYPE, RECOMPUTE_JOB_TYPE, progress -> recompute());
+  }
+
+  // Replays every completed result oldest season first, detached seasons from their archive files.
+  // Leagues of one tournament share no teams, so they are replayed in parallel, each through its own
+  // cursor. The advisory lock keeps it to one recompute in the cluster, released with the connection
+  // if the instance dies.
+  public RatingRecomputeResultDto recompute() {
+    Optional<Lease> lease = jobLeadership.tryAcquire(RECOMPUTE_LOCK);
+    if (lease.isEmpty()) {
+      throw new BadRequestException("A rating recompute is already running.");
+    }
+    try (Lease held = lease.get()) {
+      // Forking has to happen from inside the pool, otherwise the tasks would run in the common pool
+      return leagueTaskPool.submit(this::replayHistory).join();
+    }
+  }
+
+  private RatingRecomputeResultDto replayHistory() {
+    long start = System.nanoTime();
+    // Results committed after this may be missing from the league cursors
+    Instant replayFrom = teamRatingRepository.findOldestTransactionStart();
+    // Only this thread writes it, between seasons; league tasks read it while their season replays
+    Map<Integer, MutableRating> ratings = new HashMap<>();
+    BitSet replayed = new BitSet();
+    long matches = 0;
+    List<Season> seasons = seasonsInPlayOrder();
+    int leagueCount = 0;
+
+    for (Season season : seasons) {
+      List<LeagueReplay> replays;
+      if (season.archived()) {
+        replays = replayArchive(season.tournamentId(), ratings);
+      } else {
+        replays = replayLive(season.tournamentId(), ratings);
+        // Detached while its leagues were read, so some cursors may have found the partitions gone
+        if (isDetached(season.tournamentId())) {
+          replays = replayArchive(season.tournamentId(), ratings);
+        }
+      }
+      leagueCount += replays.size();
+      for (LeagueReplay replay : replays) {
+        ratings.putAll(replay.ratings);
+        replayed.or(replay.replayed);
+        matches += replay.matches;
+      }
+    }
+
+    // With the lock, every result transaction that applied a delta has committed and new ones wait,
+    // so the results the cursors missed are exactly the recorded ones not replayed
+    AtomicLong reapplied = new AtomicLong();
+    Map<Integer, RatingState> states = transactionTemplate.execute(status -> {
+      teamRatingRepository.lockForReplace();
+      teamRatingRepository.streamResultsRecordedSince(replayFrom, rs -> {
+        int matchId = rs.getInt("match_id");
+        if (!replayed.get(matchId)) {
+          replay(ratings.computeIfAbsent(rs.getInt("home_team_id"), id -> new MutableRating(initialRating)),
+              ratings.computeIfAbsent(rs.getInt("away_team_id"), id -> new MutableRating(initialRating)),
+              matchId, rs.getInt("home_score"), rs.getInt("away_score"));
+          reapplied.incrementAndGet();
+        }
+      });
+      Map<Integer, RatingState> replaced = new HashMap<>();
+      ratings.forEach((teamId, rating) ->
+          replaced.put(teamId, new RatingState(rating.value, rating.matches, rating.lastMatchId)));
+      teamRatingRepository.replaceAll(replaced);
+      return replaced;
+    });
+    matches += reapplied.get();
+
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.info("Recomputed ratings of {} teams from {} matches in {} tournaments in {} ms, {} recorded meanwhile",
+        states.size(), matches, seasons.size(), elapsedMillis, reapplied.get());
+    return RatingRecomputeResultDto.builder()
+        .tournaments(seasons.size())
+        .leagues(leagueCount)
+        .matches(matches)
+        .teams(states.size())
+        .elapsedMillis(elapsedMillis)
+        .build();
+  }
+
+  // Live seasons by their first completed match, merged with the detached ones by the first in their archive
+  private List<Season> seasonsInPlayOrder() {
+    Set<Integer> detached = new HashSet<>(seasonArchiveRepository.findDetached());
+    List<Season> seasons = new ArrayList<>();
+    for (TournamentPlayOrder tournament : teamRatingRepository.findTournamentsInPlayOrder()) {
+      if (!detached.contains(tournament.tournamentId())) {
+        seasons.add(new Season(tournament.tournamentId(), tournament.firstMatchAt(), false));
+      }
+    }
+    for (int tournamentId : detached) {
+      archivedResults(tournamentId).stream().findFirst()
+          .ifPresent(first -> seasons.add(new Season(tournamentId, first.getMatchDateTime(), true)));
+    }
+    seasons.sort(Comparator.comparing(Season::firstMatchAt).thenComparingInt(Season::tournamentId));
+    return seasons;
+  }
+
+  private boolean isDetached(int tournamentId) {
+    return seasonArchiveRepository.findByTournamentId(tournamentId).map(row -> row.detachedAt() != null)
+        .orElse(false);
+  }
+
+  private List<LeagueReplay> replayLive(int tournamentId, Map<Integer, MutableRating> ratings) {
+    List<LeagueRow> leagues = leagueRepository.findByTournamentId(tournamentId);
+    List<LeagueReplay> replays = new ArrayList<>(leagues.size());
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(leagues.size());
+    for (LeagueRow league : leagues) {
+      LeagueReplay replay = new LeagueReplay(ratings);
+      replays.add(replay);
+      tasks.add(ForkJoinTask.adapt(() -> readOnlyTransactionTemplate.executeWithoutResult(status ->
+          teamRatingRepository.streamCompletedResults(tournamentId, league.leagueId(), rs -> replay.apply(
+              rs.getInt("match_id"), rs.getInt("home_team_id"), rs.getInt("away_team_id"),
+              rs.getInt("home_score"), rs.getInt("away_score"))))));
+    }
+    ForkJoinTask.invokeAll(tasks);
+    return replays;
+  }
+
+  // The archive is memory-mapped, so its leagues are replayed one after another on this thread
+  private List<LeagueReplay> replayArchive(int tournamentId, Map<Integer, MutableRating> ratings) {
+    Map<Integer, LeagueReplay> replays = new LinkedHashMap<>();
+    for (ArchivedMatchDto match : archivedResults(tournamentId)) {
+      replays.computeIfAbsent(match.getLeagueId(), leagueId -> new LeagueReplay(ratings)).apply(match.getMatchId(),
+          match.getHomeTeamId(), match.getAwayTeamId(), match.getHomeScore(), match.getAwayScore());
+    }
+    return new ArrayList<>(replays.values());
+  }
+
+  // Completed results of a detached season, oldest first like the live cursors
+  private List<ArchivedMatchDto> archivedResults(int tournamentId) {
+    return seasonArchiveService.getArchive(tournamentId).getMatches(null).stream()
+        .filter(match -> match.getStatus() == MatchStatus.COMPLETED
+            && match.getHomeScore() != null && match.getAwayScore() != null)
+        .sorted(Comparator.comparing(ArchivedMatchDto::getMatchDateTime)
+            .thenComparingInt(ArchivedMatchDto::getMatchId))
+        .toList();
+  }
+
+  private void replay(MutableRating home, MutableRating away, int matchId, int homeScore, int awayScore) {
+    double delta = eloCalculator.homeDelta(home.value, away.value, homeScore, awayScore);
+    home.apply(delta, matchId);
+    away.apply(-delta, matchId);
+  }
+
+  private static TeamRatingDto toDto(TeamRatingRow row) {
+    return TeamRatingDto.builder()
+        .teamId(row.teamId())
+        .teamName(row.teamName())
+        .rating(Math.round(row.rating() * 10) / 10.0)
+        .matchesRated(row.matchesRated())
+        .lastMatchId(row.lastMatchId())
+        .updatedAt(row.updatedAt())
+        .build();
+  }
+
+  private record Season(int tournamentId, Instant firstMatchAt, boolean archived) {}
+
+  // The replay of one league: copies of the ratings it changed, merged into the shared map once every
+  // league of the season is done, so no rating is ever written by two threads
+  private final class LeagueReplay {
+    private final Map<Integer, MutableRating> before;
+    private final Map<Integer, MutableRating> ratings = new HashMap<>();
+    private final BitSet replayed = new BitSet();
+    private long matches;
+
+    private LeagueReplay(Map<Integer, MutableRating> before) {
+      this.before = before;
+    }
+
+    private void apply(int matchId, int homeTeamId, int awayTeamId, int homeScore, int awayScore) {
+      replay(rating(homeTeamId), rating(awayTeamId), matchId, homeScore, awayScore);
+      replayed.set(matchId);
+      matches++;
+    }
+
+    private MutableRating rating(int teamId) {
+      return ratings.computeIfAbsent(teamId, id -> {
+        MutableRating previous = before.get(id);
+        return previous != null ? previous.copy() : new MutableRating(initialRating);
+      });
+    }
+  }
+
+  private static final class MutableRating {
+    private double value;
+    private int matches;
+    private Integer lastMatchId;
+
+    private MutableRating(double value) {
+      this.value = value;
+    }
+
+    private MutableRating copy() {
+      MutableRating copy = new MutableRating(value);
+      copy.matches = matches;
+      copy.lastMatchId = lastMatchId;
+      return copy;
+    }
+
+    private void apply(double delta, int matchId) {
+      value += delta;
+      matches++;
+      lastMatchId = matchId;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package com.nazarov.footballmanager.service;
+
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.LocalCache;
+import com.nazarov.footballmanager.cache.SingleFlight;
+import com.nazarov.footballmanager.cache.SingleFlights;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.tournament.LeagueDto;
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.event.TournamentChangedEvent;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// Read side of tournaments for the hot public pages: active tournaments, their leagues, standings and
+// upcoming fixtures. Everything is cached in process, warmed up at startup and evicted on every
+// instance through the invalidation bus when a result, fixture or tournament status changes.
+// Misses are single-flight: the burst of requests that follows an eviction at kickoff runs one query.
+@Service
+@Slf4j
+public class TournamentQueryService {
+
+  // Fixtures kept per league; requests can ask for fewer
+  public static final int UPCOMING_FIXTURES_CACHED = 50;
+  private static final String ACTIVE = "active";
+
+  private final TournamentRepository tournamentRepository;
+  private final LeagueRepository leagueRepository;
+  private final LeagueTeamRepository leagueTeamRepository;
+  private final MatchRepository matchRepository;
+  private final InvalidationBus invalidationBus;
+
+  private final LocalCache<String, List<TournamentDto>> activeTournaments = new LocalCache<>();
+  private final LocalCache<Integer, List<LeagueDto>> leaguesByTournament = new LocalCache<>();
+  private final LocalCache<Integer, LeagueEntry<StandingDto>> standingsByLeague = new LocalCache<>();
+  private final LocalCache<Integer, LeagueEntry<MatchDto>> fixturesByLeague = new LocalCache<>();
+
+  // The caches above keep the results, so the flights only coalesce and memoize nothing
+  private final SingleFlight<String, List<TournamentDto>> activeTournamentLoads;
+  private final SingleFlight<Integer, List<LeagueDto>> leagueLoads;
+  private final SingleFlight<Integer, LeagueEntry<StandingDto>> standingsLoads;
+  private final SingleFlight<Integer, LeagueEntry<MatchDto>> fixtureLoads;
+
+  // Cached per league, tagged with the tournament so a tournament-wide eviction finds it
+  private record LeagueEntry<T>(int tournamentId, List<T> items) {}
+
+  public TournamentQueryService(TournamentRepository tournamentRepository,
+      LeagueRepository leagueRepository,
+      LeagueTeamRepository leagueTeamRepository,
+      MatchRepository matchRepository,
+      InvalidationBus invalidationBus,
+      SingleFlights singleFlights) {
+    this.tournamentRepository = tournamentRepository;
+    this.leagueRepository = leagueRepository;
+    this.leagueTeamRepository = leagueTeamRepository;
+    this.matchRepository = matchRepository;
+    this.invalidationBus = invalidationBus;
+    this.activeTournamentLoads = singleFlights.create("active-tournaments", Duration.ZERO);
+    this.leagueLoads = singleFlights.create("leagues", Duration.ZERO);
+    this.standingsLoads = singleFlights.create("standings", Duration.ZERO);
+    this.fixtureLoads = singleFlights.create("upcoming-fixtures", Duration.ZERO);
+    // Loads in flight are dropped before the cache, so nobody who arrives after the eviction joins a load
+    // that read the old data and then stores its result
+    invalidationBus.register(CacheRegions.TOURNAMENT_CATALOG, key -> {
+      activeTournamentLoads.clear();
+      leagueLoads.evict(Integer.valueOf(key));
+      activeTournaments.clear();
+      leaguesByTournament.evict(Integer.valueOf(key));
+    }, () -> {
+      activeTournamentLoads.clear();
+      leagueLoads.clear();
+      activeTournaments.clear();
+      leaguesByTournament.clear();
+    });
+    invalidationBus.register(CacheRegions.STANDINGS, key -> {
+      standingsLoads.clear(); // Keyed by league, and only loads in flight are held
+      standingsByLeague.evictIf(entry -> entry.tournamentId() == Integer.parseInt(key));
+    }, () -> {
+      standingsLoads.clear();
+      standingsByLeague.clear();
+    });
+    invalidationBus.register(CacheRegions.UPCOMING_FIXTURES, key -> {
+      fixtureLoads.clear();
+      fixturesByLeague.evictIf(entry -> entry.tournamentId() == Integer.parseInt(key));
+    }, () -> {
+      fixtureLoads.clear();
+      fixturesByLeague.clear();
+    });
+  }
+
+  public List<TournamentDto> getActiveTournaments() {
+    return activeTournaments.get(ACTIVE, key -> activeTournamentLoads.get(key, status ->
+        tournamentRepository.findByStatus(TournamentStatus.ACTIVE).stream()
+            .map(row -> TournamentDto.builder()
+                .tournamentId(row.tournamentId())
+                .name(row.name())
+                .yearPeriod(row.yearPeriod())
+                .status(row.status())
+                .build())
+            .toList()));
+  }
+
+  public List<LeagueDto> getLeagues(int tournamentId) {
+    return leaguesByTournament.get(tournamentId, key -> leagueLoads.get(key, id -> {
+      tournamentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", id));
+      return leagueRepository.findByTournamentId(id).stream()
+          .map(row -> LeagueDto.builder()
+              .leagueId(row.leagueId())
+              .tournamentId(row.tournamentId())
+              .name(row.name())
+              .level(row.level())
+              .build())
+          .toList();
+    }));
+  }
+
+  public List<StandingDto> getStandings(int leagueId) {
+    return standingsByLeague.get(leagueId, key -> standingsLoads.get(key, id -> {
+      LeagueRow league = findLeague(id);
+      return new LeagueEntry<>(league.tournamentId(), List.copyOf(StandingsCalculator.calculate(
+          leagueTeamRepository.findTeams(id), matchRepository.findCompletedResults(league.tournamentId(), id))));
+    })).items();
+  }
+
+  // Fixtures that already kicked off drop out at read time; the entry itself only changes on writes
+  public List<MatchDto> getUpcomingFixtures(int leagueId, int limit) {
+    Instant now = Instant.now();
+    return fixturesByLeague.get(leagueId, key -> fixtureLoads.get(key, id -> {
+          LeagueRow league = findLeague(id);
+          return new LeagueEntry<>(league.tournamentId(), matchRepository.findUpcomingFixtures(league.tournamentId(),
+              id, now, UPCOMING_FIXTURES_CACHED).stream().map(TournamentQueryService::toDto).toList());
+        })).items().stream()
+        .filter(match -> !match.getMatchDateTime().isBefore(now))
+        .limit(limit)
+        .toList();
+  }
+
+  // Runs inside the transaction that stores the result; the bus evicts after commit
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    invalidationBus.invalidate(CacheRegions.STANDINGS, event.tournamentId());
+    invalidationBus.invalidate(CacheRegions.UPCOMING_FIXTURES, event.tournamentId());
+  }
+
+  // Runs inside the detach transaction; the bus evicts after commit
+  @EventListener
+  public void onSeasonDetached(SeasonDetachedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_CATALOG, event.tournamentId());
+    invalidationBus.invalidate(CacheRegions.STANDINGS, event.tournamentId());
+    invalidationBus.invalidate(CacheRegions.UPCOMING_FIXTURES, event.tournamentId());
+  }
+
+  @EventListener
+  public void onTournamentChanged(TournamentChangedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_CATALOG, event.tournamentId());
+  }
+
+  @EventListener
+  public void onTournamentCompleted(TournamentCompletedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_CATALOG, event.tournamentId());
+  }
+
+  private LeagueRow findLeague(int leagueId) {
+    return leagueRepository.findById(leagueId)
+        .orElseThrow(() -> new ResourceNotFoundException("League", "id", leagueId));
+  }
+
+  private static MatchDto toDto(MatchRow row) {
+    return MatchDto.builder()
+        .matchId(row.matchId())
+        .tournamentId(row.tournamentId())
+        .leagueId(row.leagueId())
+        .homeTeamId(row.homeTeamId())
+        .awayTeamId(row.awayTeamId())
+        .matchDateTime(row.matchDateTime())
+        .location(row.location())
+        .status(row.status())
+        .build();
+  }
+}
@@ -0,0 +1,312 @@
+package com.nazarov.footballmanager.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.LocalCache;
+import com.nazarov.footballmanager.cache.SingleFlight;
+import com.nazarov.footballmanager.cache.SingleFlights;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.tournament.LeagueDto;
+import com.nazarov.footballmanager.dto.tournament.LeagueSnapshotDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentSnapshotDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchResultRow;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// A whole tournament (leagues, standings, upcoming fixtures and results) as one document, built once
+// per change and kept in memory already serialized, brotli- and gzip-compressed, with its ETag.
+// Serving it copies bytes: no query, no JSON and no compression on the hot path, and a client
+// holding the current ETag gets a 304 without a body.
+@Service
+@Slf4j
+public class TournamentSnapshotService {
+
+  private static final String GZIP = "gzip";
+  private static final String BROTLI = "br";
+  // Without a native library for this platform snapshots are served gzipped only
+  private static final boolean BROTLI_AVAILABLE = Brotli4jLoader.isAvailable();
+
+  private final TournamentRepository tournamentRepository;
+  private final LeagueRepository leagueRepository;
+  private final LeagueTeamRepository leagueTeamRepository;
+  private final MatchRepository matchRepository;
+  private final InvalidationBus invalidationBus;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate snapshotTransactionTemplate;
+  private final Timer buildTimer;
+
+  private final LocalCache<Integer, Snapshot> snapshots = new LocalCache<>();
+  // The cache keeps the snapshots, so the flight only coalesces the rebuild after an eviction
+  private final SingleFlight<Integer, Snapshot> snapshotBuilds;
+
+  // One representation in memory; the ETag differs per encoding, as the bytes do. brotli is null
+  // where the encoder is not available.
+  public record Snapshot(String etag, byte[] json, byte[] gzip, byte[] brotli) {
+
+    // Brotli where the client takes it, being the smaller, then gzip, then identity
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding) {
+      String encoding = brotli != null && accepts(acceptEncoding, BROTLI) ? BROTLI
+          : accepts(acceptEncoding, GZIP) ? GZIP : null;
+      ResponseEntity.BodyBuilder response = ResponseEntity
+          .status(matches(ifNoneMatch) ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+          .eTag(tag(encoding))
+          .cacheControl(CacheControl.noCache()) // Revalidate each time; the 304 is cheap
+          .varyBy(HttpHeaders.ACCEPT_ENCODING);
+      if (matches(ifNoneMatch)) {
+        return response.build();
+      }
+      response.contentType(MediaType.APPLICATION_JSON);
+      if (encoding == null) {
+        return response.body(json);
+      }
+      return response.header(HttpHeaders.CONTENT_ENCODING, encoding).body(encoding.equals(BROTLI) ? brotli : gzip);
+    }
+
+    private String tag(String encoding) {
+      return encoding == null ? "\"" + etag + "\"" : "\"" + etag + "-" + encoding + "\"";
+    }
+
+    // Every encoding's tag names the same content, so all of them revalidate
+    private boolean matches(String ifNoneMatch) {
+      if (ifNoneMatch == null) {
+        return false;
+      }
+      for (String candidate : ifNoneMatch.split(",")) {
+        String tag = candidate.trim();
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+        if (tag.equals("*") || tag.equals(tag(null)) || tag.equals(tag(GZIP)) || tag.equals(tag(BROTLI))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  public TournamentSnapshotService(TournamentRepository tournamentRepository,
+      LeagueRepository leagueRepository,
+      LeagueTeamRepository leagueTeamRepository,
+      MatchRepository matchRepository,
+      InvalidationBus invalidationBus,
+      SingleFlights singleFlights,
+      ObjectMapper objectMapper,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry) {
+    this.tournamentRepository = tournamentRepository;
+    this.leagueRepository = leagueRepository;
+    this.leagueTeamRepository = leagueTeamRepository;
+    this.matchRepository = matchRepository;
+    this.invalidationBus = invalidationBus;
+    this.objectMapper = objectMapper;
+    // Every league is read from the same snapshot, so standings and fixtures never disagree
+    this.snapshotTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.snapshotTransactionTemplate.setReadOnly(true);
+    this.buildTimer = Timer.builder("tournament.snapshot.build")
+        .description("Reading, serializing and compressing a tournament snapshot")
+        .register(meterRegistry);
+    this.snapshotBuilds = singleFlights.create("tournament-snapshot", Duration.ZERO);
+    invalidationBus.register(CacheRegions.TOURNAMENT_SNAPSHOT, key -> {
+      snapshotBuilds.evict(Integer.valueOf(key));
+      snapshots.evict(Integer.valueOf(key));
+    }, () -> {
+      snapshotBuilds.clear();
+      snapshots.clear();
+    });
+    if (!BROTLI_AVAILABLE) {
+      log.warn("Brotli is not available on this platform, tournament snapshots are served gzipped only: {}",
+          String.valueOf(Brotli4jLoader.getUnavailabilityCause()));
+    }
+  }
+
+  public Snapshot getSnapshot(int tournamentId) {
+    return snapshots.get(tournamentId, key -> snapshotBuilds.get(key, id -> buildTimer.record(() -> build(id))));
+  }
+
+  // Runs inside the transaction that stores the result; the bus evicts after commit
+  @EventListener
+  public void onMatchResultRecorded(MatchResultRecordedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_SNAPSHOT, event.tournamentId());
+  }
+
+  @EventListener
+  public void onTournamentCompleted(TournamentCompletedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_SNAPSHOT, event.tournamentId());
+  }
+
+  @EventListener
+  public void onSeasonDetached(SeasonDetachedEvent event) {
+    invalidationBus.invalidate(CacheRegions.TOURNAMENT_SNAPSHOT, event.tournamentId());
+  }
+
+  // Straight from the tables rather than the other caches, which are evicted separately and could
+  // still hold data from before the change that evicted this snapshot
+  private Snapshot build(int tournamentId) {
+    TournamentSnapshotDto document = snapshotTransactionTemplate.execute(status -> read(tournamentId));
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(document);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot serialize the snapshot of tournament " + tournamentId, ex);
+    }
+    byte[] gzip = gzip(json);
+    byte[] brotli = BROTLI_AVAILABLE ? brotli(json) : null;
+    log.debug("Built snapshot of tournament {}: {} bytes, {} gzipped, {} brotli", tournamentId, json.length,
+        gzip.length, brotli != null ? brotli.length : "no");
+    return new Snapshot(etag(json), json, gzip, brotli);
+  }
+
+  private TournamentSnapshotDto read(int tournamentId) {
+    TournamentRow tournament = tournamentRepository.findById(tournamentId)
+        .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
+    List<LeagueSnapshotDto> leagues = new ArrayList<>();
+    for (LeagueRow league : leagueRepository.findByTournamentId(tournamentId)) {
+      List<MatchRow> matches = matchRepository.findByLeague(tournamentId, league.leagueId());
+      List<MatchRow> completed = matches.stream().filter(match -> match.status() == MatchStatus.COMPLETED).toList();
+      leagues.add(LeagueSnapshotDto.builder()
+          .league(LeagueDto.builder()
+              .leagueId(league.leagueId())
+              .tournamentId(league.tournamentId())
+              .name(league.name())
+              .level(league.level())
+              .build())
+          .standings(StandingsCalculator.calculate(leagueTeamRepository.findTeams(league.leagueId()),
+              completed.stream()
+                  .map(match -> new MatchResultRow(match.homeTeamId(), match.awayTeamId(), match.homeScore(),
+                      match.awayScore()))
+                  .toList()))
+          .upcomingFixtures(matches.stream()
+              .filter(match -> match.status() != MatchStatus.COMPLETED)
+              .map(TournamentSnapshotService::toDto)
+              .toList())
+          .results(completed.stream().map(TournamentSnapshotService::toDto).toList())
+          .build());
+    }
+    return TournamentSnapshotDto.builder()
+        .tournament(TournamentDto.builder()
+            .tournamentId(tournament.tournamentId())
+            .name(tournament.name())
+            .yearPeriod(tournament.yearPeriod())
+            .status(tournament.status())
+            .build())
+        .leagues(leagues)
+        .build();
+  }
+
+  private static MatchDto toDto(MatchRow row) {
+    return MatchDto.builder()
+        .matchId(row.matchId())
+        .tournamentId(row.tournamentId())
+        .leagueId(row.leagueId())
+        .homeTeamId(row.homeTeamId())
+        .awayTeamId(row.awayTeamId())
+        .matchDateTime(row.matchDateTime())
+        .location(row.location())
+        .status(row.status())
+        .homeScore(row.homeScore())
+        .awayScore(row.awayScore())
+        .build();
+  }
+
+  // Compressed once per change, so the slowest level costs nothing on the requests
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      out.write(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return compressed.toByteArray();
+  }
+
+  // Quality 11 takes far longer than gzip, which is fine once per change
+  private static byte[] brotli(byte[] json) {
+    try {
+      return Encoder.compress(json, new Encoder.Parameters().setQuality(11));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // Content hash: a rebuild that changed nothing keeps the tag, and every instance derives the same one
+  private static String etag(byte[] json) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  // "gzip", "br;q=0.8" or "*" with a non-zero quality
+  static boolean accepts(String acceptEncoding, String coding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    boolean wildcard = false;
+    for (String part : acceptEncoding.split(",")) {
+      String[] tokens = part.trim().split(";");
+      String name = tokens[0].trim();
+      boolean allowed = true;
+      for (int i = 1; i < tokens.length; i++) {
+        String parameter = tokens[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            allowed = Double.parseDouble(parameter.substring(2)) > 0;
+          } catch (NumberFormatException ex) {
+            allowed = false;
+          }
+        }
+      }
+      if (name.equalsIgnoreCase(coding)) {
+        return allowed;
+      }
+      if (name.equals("*")) {
+        wildcard = allowed;
+      }
+    }
+    return wildcard;
+  }
+}
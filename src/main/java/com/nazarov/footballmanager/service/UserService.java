@@ -1,45 +1,69 @@
 package com.nazarov.footballmanager.service;
 
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.SingleFlight;
+import com.nazarov.footballmanager.cache.SingleFlights;
 import com.nazarov.footballmanager.domain.Role;
 import com.nazarov.footballmanager.domain.User;
 import com.nazarov.footballmanager.dto.user.UserViewDto;
 import com.nazarov.footballmanager.exception.ResourceNotFoundException;
 import com.nazarov.footballmanager.repository.UserRepository;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
   private final UserRepository userRepository;
+  private final InvalidationBus invalidationBus;
+  private final PlayerCareerStatsService playerCareerStatsService;
 
-  @Transactional(readOnly = true)
+  // Clients poll their own profile; identical concurrent reads share one query and its result is
+  // briefly reused. Anything that changes what the profile shows must call evictProfile.
+  private final SingleFlight<String, UserViewDto> profiles;
+
+  public UserService(UserRepository userRepository, InvalidationBus invalidationBus,
+      PlayerCareerStatsService playerCareerStatsService, SingleFlights singleFlights) {
+    this.userRepository = userRepository;
+    this.invalidationBus = invalidationBus;
+    this.playerCareerStatsService = playerCareerStatsService;
+    this.profiles = singleFlights.create("user-profile");
+    invalidationBus.register(CacheRegions.USER_PROFILE, profiles::evict, profiles::clear);
+  }
+
+  // Not transactional: callers waiting for a shared load must not hold a connection meanwhile.
+  // Roles are fetched eagerly, so the mapping needs no open session.
   public UserViewDto getCurrentUserProfile() {
-    User currentUser = getCurrentUserEntity();
-    return mapUserToUserViewDto(currentUser);
+    return profiles.get(getCurrentUserEmail(), email -> mapUserToUserViewDto(findByEmail(email)));
   }
 
   // Helper method to get the currently authenticated User entity
   public User getCurrentUserEntity() {
+    return findByEmail(getCurrentUserEmail());
+  }
+
+  public void evictProfile(String email) {
+    invalidationBus.invalidate(CacheRegions.USER_PROFILE, email);
+  }
+
+  private String getCurrentUserEmail() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
       throw new IllegalStateException("No authenticated user found"); // Or handle differently
     }
 
-    String email;
     Object principal = authentication.getPrincipal();
     if (principal instanceof UserDetails) {
-      email = ((UserDetails) principal).getUsername();
-    } else {
-      email = principal.toString();
+      return ((UserDetails) principal).getUsername();
     }
+    return principal.toString();
+  }
 
+  private User findByEmail(String email) {
     return userRepository.findByEmail(email)
         .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
   }
@@ -56,8 +80,9 @@ public class UserService {
         .profilePictureUrl(user.getProfilePictureUrl())
         .contactNumber(user.getContactNumber())
         .roles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()))
+        .careerSummary(playerCareerStatsService.getCareerSummary(user.getUserId()))
         .build();
   }
 
   // Add other user-related service methods here (e.g., update profile)
-}
\ No newline at end of file
+}
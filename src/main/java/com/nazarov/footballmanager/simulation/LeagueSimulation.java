@@ -0,0 +1,271 @@
+package com.nazarov.footballmanager.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Monte Carlo simulation of the rest of a league season.
+//
+// Teams are addressed by index (0..n-1) and must be given in team id order, which is the final tie-breaker
+// of the league table (see StandingsCalculator). Every remaining fixture is played with Poisson-distributed
+// goals, using each team's scoring and conceding rate so far, shrunk towards the league average.
+// The goal distributions of every fixture are precomputed as cumulative tables with a guide table on top
+// (the goal count at the start of each of 256 probability buckets), so one random long (two 31-bit
+// uniforms) decides a match and sampling a side is a lookup plus a rarely taken correction step.
+//
+// All state lives in primitive arrays. Each fork-join leaf allocates its scratch arrays once and reuses them
+// for every season it simulates, so the hot loop allocates nothing.
+public final class LeagueSimulation {
+
+  // Weight of the league average in a team's rate, expressed in matches
+  private static final double PRIOR_MATCHES = 5.0;
+  private static final double DEFAULT_GOALS_PER_TEAM_MATCH = 1.4;
+  private static final double HOME_ADVANTAGE = 1.1;
+  private static final int MAX_GOALS = 12;
+  private static final int CDF_SIZE = MAX_GOALS + 1;
+  private static final double CDF_SCALE = 0x1p31;
+  private static final int GUIDE_BITS = 8;
+  private static final int GUIDE_SIZE = 1 << GUIDE_BITS;
+  // Points by Integer.signum(homeGoals - awayGoals) + 1: away win, draw, home win
+  private static final int[] HOME_POINTS = {0, 1, 3};
+  private static final int[] AWAY_POINTS = {3, 1, 0};
+  private static final int MIN_ITERATIONS_PER_TASK = 1_000;
+
+  private final int teamCount;
+  private final int[] basePoints;
+  private final int[] baseGoalsFor;
+  private final int[] baseGoalsAgainst;
+  private final int[] fixtureHome;
+  private final int[] fixtureAway;
+  // homeGoalCdf[fixture * CDF_SIZE + g]: P(home goals <= g) scaled to 2^31; likewise for the away side
+  private final int[] homeGoalCdf;
+  private final int[] awayGoalCdf;
+  // homeGoalGuide[fixture * GUIDE_SIZE + bucket]: goal count at the lower bound of the bucket
+  private final byte[] homeGoalGuide;
+  private final byte[] awayGoalGuide;
+
+  public LeagueSimulation(int[] played, int[] points, int[] goalsFor, int[] goalsAgainst,
+      int[] fixtureHome, int[] fixtureAway) {
+    this.teamCount = points.length;
+    this.basePoints = points.clone();
+    this.baseGoalsFor = goalsFor.clone();
+    this.baseGoalsAgainst = goalsAgainst.clone();
+    this.fixtureHome = fixtureHome.clone();
+    this.fixtureAway = fixtureAway.clone();
+
+    long totalGoals = 0;
+    long totalAppearances = 0;
+    for (int team = 0; team < teamCount; team++) {
+      totalGoals += goalsFor[team];
+      totalAppearances += played[team];
+    }
+    double average = totalAppearances > 0 ? (double) totalGoals / totalAppearances : DEFAULT_GOALS_PER_TEAM_MATCH;
+    average = Math.max(average, 0.1);
+
+    double[] attack = new double[teamCount];
+    double[] defence = new double[teamCount];
+    for (int team = 0; team < teamCount; team++) {
+      attack[team] = (goalsFor[team] + average * PRIOR_MATCHES) / (played[team] + PRIOR_MATCHES) / average;
+      defence[team] = (goalsAgainst[team] + average * PRIOR_MATCHES) / (played[team] + PRIOR_MATCHES) / average;
+    }
+
+    this.homeGoalCdf = new int[fixtureHome.length * CDF_SIZE];
+    this.awayGoalCdf = new int[fixtureHome.length * CDF_SIZE];
+    this.homeGoalGuide = new byte[fixtureHome.length * GUIDE_SIZE];
+    this.awayGoalGuide = new byte[fixtureHome.length * GUIDE_SIZE];
+    for (int fixture = 0; fixture < fixtureHome.length; fixture++) {
+      int home = fixtureHome[fixture];
+      int away = fixtureAway[fixture];
+      fillPoissonCdf(homeGoalCdf, fixture * CDF_SIZE, average * attack[home] * defence[away] * HOME_ADVANTAGE);
+      fillPoissonCdf(awayGoalCdf, fixture * CDF_SIZE, average * attack[away] * defence[home] / HOME_ADVANTAGE);
+      fillGuide(homeGoalCdf, homeGoalGuide, fixture);
+      fillGuide(awayGoalCdf, awayGoalGuide, fixture);
+    }
+  }
+
+  private static void fillPoissonCdf(int[] cdf, int offset, double lambda) {
+    double probability = Math.exp(-lambda);
+    double cumulative = 0;
+    for (int goals = 0; goals < CDF_SIZE; goals++) {
+      cumulative += probability;
+      cdf[offset + goals] = (int) Math.min(Integer.MAX_VALUE, cumulative * CDF_SCALE);
+      probability *= lambda / (goals + 1);
+    }
+    cdf[offset + MAX_GOALS] = Integer.MAX_VALUE; // everything above MAX_GOALS counts as MAX_GOALS
+  }
+
+  private static void fillGuide(int[] cdf, byte[] guide, int fixture) {
+    for (int bucket = 0; bucket < GUIDE_SIZE; bucket++) {
+      guide[fixture * GUIDE_SIZE + bucket] = (byte) scan(cdf, fixture * CDF_SIZE, 0, bucket << (31 - GUIDE_BITS));
+    }
+  }
+
+  public int getTeamCount() {
+    return teamCount;
+  }
+
+  public int getRemainingFixtures() {
+    return fixtureHome.length;
+  }
+
+  public Outcome run(int iterations, long seed, ForkJoinPool pool) {
+    int tasks = Math.max(1, pool.getParallelism() * 4);
+    int iterationsPerTask = Math.max(MIN_ITERATIONS_PER_TASK, (iterations + tasks - 1) / tasks);
+    return pool.invoke(new SimulationTask(iterations, iterationsPerTask, new SplittableRandom(seed)));
+  }
+
+  // Aggregated counts of all simulated seasons
+  public static final class Outcome {
+    private final int teamCount;
+    private final int iterations;
+    // positionCounts[team * teamCount + position]: seasons in which team finished at position (0 = first)
+    private final long[] positionCounts;
+    private final long[] pointsTotals;
+
+    private Outcome(int teamCount, int iterations) {
+      this.teamCount = teamCount;
+      this.iterations = iterations;
+      this.positionCounts = new long[teamCount * teamCount];
+      this.pointsTotals = new long[teamCount];
+    }
+
+    private Outcome merge(Outcome other) {
+      Outcome merged = new Outcome(teamCount, iterations + other.iterations);
+      for (int i = 0; i < positionCounts.length; i++) {
+        merged.positionCounts[i] = positionCounts[i] + other.positionCounts[i];
+      }
+      for (int i = 0; i < teamCount; i++) {
+        merged.pointsTotals[i] = pointsTotals[i] + other.pointsTotals[i];
+      }
+      return merged;
+    }
+
+    public int getIterations() {
+      return iterations;
+    }
+
+    // Probability of finishing at one of the positions in [fromPosition, toPosition), 0-based
+    public double probability(int team, int fromPosition, int toPosition) {
+      if (iterations == 0) {
+        return 0;
+      }
+      long seasons = 0;
+      for (int position = Math.max(0, fromPosition); position < Math.min(teamCount, toPosition); position++) {
+        seasons += positionCounts[team * teamCount + position];
+      }
+      return (double) seasons / iterations;
+    }
+
+    public double expectedPoints(int team) {
+      return iterations == 0 ? 0 : (double) pointsTotals[team] / iterations;
+    }
+  }
+
+  private final class SimulationTask extends RecursiveTask<Outcome> {
+    private final int iterations;
+    private final int iterationsPerTask;
+    private final SplittableRandom random;
+
+    private SimulationTask(int iterations, int iterationsPerTask, SplittableRandom random) {
+      this.iterations = iterations;
+      this.iterationsPerTask = iterationsPerTask;
+      this.random = random;
+    }
+
+    @Override
+    protected Outcome compute() {
+      if (iterations <= iterationsPerTask) {
+        return simulate();
+      }
+      int half = iterations / 2;
+      // Split before forking so the random streams, and therefore the result, only depend on the seed
+      SimulationTask left = new SimulationTask(half, iterationsPerTask, random.split());
+      SimulationTask right = new SimulationTask(iterations - half, iterationsPerTask, random.split());
+      left.fork();
+      Outcome rightOutcome = right.compute();
+      return left.join().merge(rightOutcome);
+    }
+
+    private Outcome simulate() {
+      Outcome outcome = new Outcome(teamCount, iterations);
+      int[] points = new int[teamCount];
+      int[] goalDifference = new int[teamCount];
+      int[] goalsFor = new int[teamCount];
+      int[] order = new int[teamCount];
+      for (int team = 0; team < teamCount; team++) {
+        order[team] = team;
+      }
+
+      for (int iteration = 0; iteration < iterations; iteration++) {
+        for (int team = 0; team < teamCount; team++) {
+          points[team] = basePoints[team];
+          goalsFor[team] = baseGoalsFor[team];
+          goalDifference[team] = baseGoalsFor[team] - baseGoalsAgainst[team];
+        }
+        for (int fixture = 0; fixture < fixtureHome.length; fixture++) {
+          int home = fixtureHome[fixture];
+          int away = fixtureAway[fixture];
+          long bits = random.nextLong();
+          int homeGoals = goals(homeGoalCdf, homeGoalGuide, fixture, (int) (bits >>> 33));
+          int awayGoals = goals(awayGoalCdf, awayGoalGuide, fixture, (int) bits & Integer.MAX_VALUE);
+          goalsFor[home] += homeGoals;
+          goalsFor[away] += awayGoals;
+          goalDifference[home] += homeGoals - awayGoals;
+          goalDifference[away] += awayGoals - homeGoals;
+          // Table lookup instead of if/else: results are close to random, so branches would mispredict
+          int result = Integer.signum(homeGoals - awayGoals) + 1;
+          points[home] += HOME_POINTS[result];
+          points[away] += AWAY_POINTS[result];
+        }
+        // The order of the previous season is a good starting point, so insertion sort does little work
+        sort(order, points, goalDifference, goalsFor);
+        for (int position = 0; position < teamCount; position++) {
+          int team = order[position];
+          outcome.positionCounts[team * teamCount + position]++;
+          outcome.pointsTotals[team] += points[team];
+        }
+      }
+      return outcome;
+    }
+
+  }
+
+  // Inverse transform sampling: the smallest goal count whose cumulative probability exceeds the uniform
+  private static int goals(int[] cdf, byte[] guide, int fixture, int uniform) {
+    int start = guide[fixture * GUIDE_SIZE + (uniform >>> (31 - GUIDE_BITS))];
+    return scan(cdf, fixture * CDF_SIZE, start, uniform);
+  }
+
+  private static int scan(int[] cdf, int offset, int start, int uniform) {
+    int goals = start;
+    while (goals < MAX_GOALS && uniform >= cdf[offset + goals]) {
+      goals++;
+    }
+    return goals;
+  }
+
+  private static void sort(int[] order, int[] points, int[] goalDifference, int[] goalsFor) {
+    for (int i = 1; i < order.length; i++) {
+      int team = order[i];
+      int j = i - 1;
+      while (j >= 0 && ranksAbove(team, order[j], points, goalDifference, goalsFor)) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = team;
+    }
+  }
+
+  private static boolean ranksAbove(int a, int b, int[] points, int[] goalDifference, int[] goalsFor) {
+    if (points[a] != points[b]) {
+      return points[a] > points[b];
+    }
+    if (goalDifference[a] != goalDifference[b]) {
+      return goalDifference[a] > goalDifference[b];
+    }
+    if (goalsFor[a] != goalsFor[b]) {
+      return goalsFor[a] > goalsFor[b];
+    }
+    return a < b;
+  }
+}
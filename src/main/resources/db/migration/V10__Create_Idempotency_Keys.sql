@@ -0,0 +1,18 @@
+-- Responses of write requests sent with an Idempotency-Key header. A retry with the same key and
+-- body gets the stored response back instead of running the request again. A row is IN_PROGRESS
+-- while the first request runs; if its instance dies the claim can be taken over after locked_until.
+CREATE TABLE idempotency_keys (
+    scope VARCHAR(512) NOT NULL, -- Method, path and caller, so keys of different clients never collide
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash BYTEA NOT NULL, -- SHA-256 of query and body
+    status VARCHAR(20) NOT NULL,
+    response_status INT NULL,
+    response_content_type VARCHAR(255) NULL,
+    response_location VARCHAR(1024) NULL,
+    response_body BYTEA NULL,
+    locked_until TIMESTAMPTZ NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,21 @@
+-- Calendar reads ("matches of a league, team or date range") walk one of these indexes in
+-- (match_date_time, match_id) order, which is also the keyset the API pages by. The INCLUDE lists
+-- were dropped again by V20 (result columns) and V24 (the rest): calendar rows are read from the heap.
+-- They replace the single-column indexes, which remain usable through the leading column.
+
+CREATE INDEX idx_matches_league_calendar ON matches (league_id, match_date_time, match_id)
+    INCLUDE (tournament_id, home_team_id, away_team_id, location, status, home_score, away_score);
+
+-- A team's calendar is the union of its home and away fixtures, each read in order from its own index
+CREATE INDEX idx_matches_home_team_calendar ON matches (home_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, away_team_id, location, status, home_score, away_score);
+CREATE INDEX idx_matches_away_team_calendar ON matches (away_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, location, status, home_score, away_score);
+
+-- Date window only, e.g. everything kicking off this weekend
+CREATE INDEX idx_matches_calendar ON matches (match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, away_team_id, location, status, home_score, away_score);
+
+DROP INDEX idx_matches_league_id;
+DROP INDEX idx_matches_home_team_id;
+DROP INDEX idx_matches_away_team_id;
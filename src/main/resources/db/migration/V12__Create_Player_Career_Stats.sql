@@ -0,0 +1,77 @@
+-- Per player and tournament totals behind the career summary of a profile, read with one index lookup.
+-- Event counts follow match_stats through a row trigger, so every write path (single inserts, batches,
+-- corrections) keeps them in step in its own transaction. Appearances come from player_team_assignments
+-- and are added by the application when a match is completed for the first time.
+CREATE TABLE player_career_stats (
+    player_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    tournament_id INTEGER NOT NULL REFERENCES tournaments(tournament_id) ON DELETE CASCADE,
+    team_id INTEGER NULL REFERENCES teams(team_id) ON DELETE SET NULL, -- Team of the latest appearance or event
+    appearances INTEGER NOT NULL DEFAULT 0,
+    goals INTEGER NOT NULL DEFAULT 0,
+    assists INTEGER NOT NULL DEFAULT 0,
+    yellow_cards INTEGER NOT NULL DEFAULT 0,
+    red_cards INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (player_id, tournament_id) -- A profile reads all of a player's rows through this index
+);
+CREATE INDEX idx_player_career_stats_tournament_id ON player_career_stats(tournament_id);
+
+CREATE OR REPLACE FUNCTION apply_player_career_stat(p_player_id INTEGER, p_tournament_id INTEGER, p_team_id INTEGER,
+                                                    p_stat_type match_stat_type, p_delta INTEGER)
+RETURNS VOID AS $$
+BEGIN
+  INSERT INTO player_career_stats AS pcs (player_id, tournament_id, team_id, goals, assists, yellow_cards, red_cards)
+  VALUES (p_player_id, p_tournament_id, p_team_id,
+          CASE WHEN p_stat_type = 'Goal' THEN p_delta ELSE 0 END,
+          CASE WHEN p_stat_type = 'Assist' THEN p_delta ELSE 0 END,
+          CASE WHEN p_stat_type = 'Yellow Card' THEN p_delta ELSE 0 END,
+          CASE WHEN p_stat_type = 'Red Card' THEN p_delta ELSE 0 END)
+  ON CONFLICT (player_id, tournament_id) DO UPDATE
+  SET goals = pcs.goals + EXCLUDED.goals,
+      assists = pcs.assists + EXCLUDED.assists,
+      yellow_cards = pcs.yellow_cards + EXCLUDED.yellow_cards,
+      red_cards = pcs.red_cards + EXCLUDED.red_cards,
+      team_id = CASE WHEN p_delta > 0 THEN EXCLUDED.team_id ELSE pcs.team_id END,
+      updated_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A moved or reclassified event is taken back from its old row and added to its new one
+CREATE OR REPLACE FUNCTION trigger_maintain_player_career_stats()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM apply_player_career_stat(OLD.player_id, OLD.tournament_id, OLD.team_id, OLD.stat_type, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM apply_player_career_stat(NEW.player_id, NEW.tournament_id, NEW.team_id, NEW.stat_type, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Defined on the partitioned parent, so every current and future tournament partition gets it.
+-- Detaching a season fires nothing, which keeps archived seasons in the career totals.
+CREATE TRIGGER maintain_player_career_stats
+AFTER INSERT OR DELETE OR UPDATE OF player_id, tournament_id, team_id, stat_type ON match_stats
+FOR EACH ROW
+EXECUTE FUNCTION trigger_maintain_player_career_stats();
+
+-- Backfill: events from match_stats, appearances from completed matches of each player's current team
+INSERT INTO player_career_stats (player_id, tournament_id, team_id, goals, assists, yellow_cards, red_cards)
+SELECT player_id, tournament_id, max(team_id),
+       count(*) FILTER (WHERE stat_type = 'Goal'),
+       count(*) FILTER (WHERE stat_type = 'Assist'),
+       count(*) FILTER (WHERE stat_type = 'Yellow Card'),
+       count(*) FILTER (WHERE stat_type = 'Red Card')
+FROM match_stats
+GROUP BY player_id, tournament_id;
+
+INSERT INTO player_career_stats AS pcs (player_id, tournament_id, team_id, appearances)
+SELECT pta.user_id, m.tournament_id, pta.team_id, count(*)
+FROM player_team_assignments pta
+JOIN matches m ON pta.team_id IN (m.home_team_id, m.away_team_id)
+WHERE m.status = 'Completed' AND m.match_date_time >= pta.assigned_at
+GROUP BY pta.user_id, m.tournament_id, pta.team_id
+ON CONFLICT (player_id, tournament_id) DO UPDATE
+SET appearances = EXCLUDED.appearances, team_id = EXCLUDED.team_id;
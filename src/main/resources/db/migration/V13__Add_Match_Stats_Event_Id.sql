@@ -0,0 +1,7 @@
+-- Events ingested through the live event log carry the id they were acknowledged with. The log is
+-- replayed after a crash, so an event may be inserted more than once; the index makes that a no-op.
+ALTER TABLE match_stats ADD COLUMN event_id UUID NULL;
+
+-- The partition key has to be part of a unique index on a partitioned table. Rows entered before
+-- have no event id and are not affected, NULLs never conflict.
+CREATE UNIQUE INDEX idx_match_stats_event_id ON match_stats (event_id, tournament_id);
@@ -0,0 +1,8 @@
+-- Optimistic locking of match results. result_version counts the changes of the result columns
+-- (home_score, away_score, status, recorded_by_admin_id); recording a result only succeeds if the
+-- version is still the one it was based on. Schedule edits do not touch these columns and leave the
+-- version alone, so they never conflict with a result being recorded.
+--
+-- Not added to the calendar indexes: the calendar does not return it, and indexing it would turn
+-- every recorded result into an index update.
+ALTER TABLE matches ADD COLUMN result_version INTEGER NOT NULL DEFAULT 0;
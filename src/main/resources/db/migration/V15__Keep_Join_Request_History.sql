@@ -0,0 +1,6 @@
+-- join_requests kept one row per (user, team, status), so a second approval or rejection of the same
+-- player for the same team had to delete the earlier one. Only pending requests need to be unique:
+-- answered requests are history and are kept.
+ALTER TABLE join_requests DROP CONSTRAINT IF EXISTS join_requests_user_id_team_id_status_key;
+
+CREATE UNIQUE INDEX idx_join_requests_pending ON join_requests (user_id, team_id) WHERE status = 'pending';
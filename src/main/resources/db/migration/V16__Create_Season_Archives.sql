@@ -0,0 +1,27 @@
+-- Season archive files live in the blob store, shared by all instances; this table says which blob
+-- holds the archive of a tournament, so every instance finds it. The counts are those written into
+-- the file and are compared with the live partitions before they are detached.
+CREATE TABLE season_archives (
+    tournament_id INTEGER PRIMARY KEY REFERENCES tournaments(tournament_id) ON DELETE CASCADE,
+    blob_key VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    match_count INTEGER NOT NULL,
+    stat_count INTEGER NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    detached_at TIMESTAMPTZ NULL, -- Partitions moved to the archive schema
+    dropped_at TIMESTAMPTZ NULL -- Detached partitions dropped; the archive file is the only copy
+);
+
+CREATE INDEX idx_season_archives_detached ON season_archives (detached_at) WHERE dropped_at IS NULL;
+
+-- Second step after detach_tournament_partitions (V4): removes the detached tables from the database
+CREATE OR REPLACE FUNCTION drop_detached_tournament_partitions(p_tournament_id INTEGER)
+RETURNS VOID AS $$
+BEGIN
+  IF to_regclass(format('public.%I', 'matches_t' || p_tournament_id)) IS NOT NULL THEN
+    RAISE EXCEPTION 'Tournament % still has attached partitions', p_tournament_id;
+  END IF;
+  EXECUTE format('DROP TABLE IF EXISTS archive.%I', 'match_stats_t' || p_tournament_id);
+  EXECUTE format('DROP TABLE IF EXISTS archive.%I', 'matches_t' || p_tournament_id);
+END;
+$$ LANGUAGE plpgsql;
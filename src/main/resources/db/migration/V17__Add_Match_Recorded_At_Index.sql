@@ -0,0 +1,3 @@
+-- A rating recompute re-applies the results recorded while it replayed history. It reads them
+-- under the lock that holds off new results, so the lookup must not scan every partition.
+CREATE INDEX idx_matches_recorded_at ON matches (recorded_at) WHERE status = 'Completed';
@@ -0,0 +1,2 @@
+-- Every instance polls for the keys revoked since its last poll
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations(revoked_at);
@@ -0,0 +1,4 @@
+-- Each claim of a key gets a fresh token. Completing or releasing the key, and extending its lock,
+-- only succeed for the token that claimed it, so a request whose claim was taken over cannot
+-- overwrite the response of the one that took over. Rows claimed before have no token and expire.
+ALTER TABLE idempotency_keys ADD COLUMN claim_token UUID NULL;
@@ -0,0 +1,50 @@
+-- Recording a result only changes status, scores and bookkeeping columns. None of them is indexed
+-- any longer, so the update can stay on its page as a HOT update instead of adding an entry to
+-- every index of the partition.
+
+-- The calendar indexes keep the columns that identify a fixture; the status filter and the scores
+-- of the page being returned are read from the heap, at most one fetch per returned row
+DROP INDEX idx_matches_league_calendar;
+DROP INDEX idx_matches_home_team_calendar;
+DROP INDEX idx_matches_away_team_calendar;
+DROP INDEX idx_matches_calendar;
+
+CREATE INDEX idx_matches_league_calendar ON matches (league_id, match_date_time, match_id)
+    INCLUDE (tournament_id, home_team_id, away_team_id, location);
+CREATE INDEX idx_matches_home_team_calendar ON matches (home_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, away_team_id, location);
+CREATE INDEX idx_matches_away_team_calendar ON matches (away_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, location);
+CREATE INDEX idx_matches_calendar ON matches (match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, away_team_id, location);
+
+-- A predicate on status counts as indexing it. The recompute reads a league's results in the
+-- same order through idx_matches_league_calendar.
+DROP INDEX idx_matches_league_date;
+
+-- BRIN is a summarizing index, which does not prevent HOT updates. Results are recorded roughly in
+-- fixture order, so block ranges of finished seasons are skipped when looking for recent results.
+DROP INDEX idx_matches_recorded_at;
+CREATE INDEX idx_matches_recorded_at ON matches USING brin (recorded_at);
+
+-- Room on each page for the updated row version
+CREATE OR REPLACE FUNCTION create_tournament_partitions(p_tournament_id INTEGER)
+RETURNS VOID AS $$
+BEGIN
+  EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF matches FOR VALUES IN (%s) WITH (fillfactor = 90)',
+                 'matches_t' || p_tournament_id, p_tournament_id);
+  EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF match_stats FOR VALUES IN (%s)',
+                 'match_stats_t' || p_tournament_id, p_tournament_id);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Existing partitions leave the space on pages written from now on
+DO $$
+DECLARE
+  partition_name REGCLASS;
+BEGIN
+  FOR partition_name IN SELECT inhrelid::regclass FROM pg_inherits WHERE inhparent = 'public.matches'::regclass LOOP
+    EXECUTE format('ALTER TABLE %s SET (fillfactor = 90)', partition_name);
+  END LOOP;
+END;
+$$;
@@ -0,0 +1,15 @@
+-- Live events that were acknowledged but could not be stored in match_stats, e.g. because the player
+-- was deleted in between. They are parked here with the reason instead of being dropped. No foreign
+-- keys: a missing referenced row is exactly why an event ends up here.
+CREATE TABLE live_event_rejects (
+    event_id UUID PRIMARY KEY,
+    tournament_id INTEGER NOT NULL,
+    match_id INTEGER NOT NULL,
+    player_id INTEGER NOT NULL,
+    team_id INTEGER NOT NULL,
+    stat_type match_stat_type NOT NULL,
+    minute_of_event INTEGER NULL,
+    received_at TIMESTAMPTZ NOT NULL,
+    reason TEXT NOT NULL,
+    rejected_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,5 @@
+-- The conflict check of a schedule edit looks for matches near the new kickoff that need either
+-- team or the venue. The team branches use the home and away calendar indexes; this one serves the
+-- venue branch, keyed the way ScheduleIndex compares venues, so the three can be combined with a
+-- bitmap OR instead of scanning every match in the time window.
+CREATE INDEX idx_matches_venue_calendar ON matches (lower(btrim(location)), match_date_time);
@@ -0,0 +1,4 @@
+-- The season a tournament was rolled over from. Unique, so a season has at most one successor even
+-- when two rollovers of it run at the same time.
+ALTER TABLE tournaments
+    ADD COLUMN previous_tournament_id INTEGER NULL UNIQUE REFERENCES tournaments(tournament_id) ON DELETE SET NULL;
@@ -0,0 +1,12 @@
+-- Since V20 every calendar read fetches status and the scores from the heap, so none of these indexes
+-- can answer a query on its own any more. The INCLUDEd columns only made them larger; the key
+-- columns still give the order and the keyset, and the heap fetch supplies the rest of the row.
+DROP INDEX idx_matches_league_calendar;
+DROP INDEX idx_matches_home_team_calendar;
+DROP INDEX idx_matches_away_team_calendar;
+DROP INDEX idx_matches_calendar;
+
+CREATE INDEX idx_matches_league_calendar ON matches (league_id, match_date_time, match_id);
+CREATE INDEX idx_matches_home_team_calendar ON matches (home_team_id, match_date_time, match_id);
+CREATE INDEX idx_matches_away_team_calendar ON matches (away_team_id, match_date_time, match_id);
+CREATE INDEX idx_matches_calendar ON matches (match_date_time, match_id);
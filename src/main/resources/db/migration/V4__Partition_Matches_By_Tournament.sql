@@ -0,0 +1,132 @@
+-- Partition matches and match_stats by tournament (one LIST partition per tournament/season).
+-- Queries on the current season only touch its partition, and completed seasons can be
+-- detached without rewriting the remaining data.
+
+-- Keep the id sequences alive when the old tables are dropped
+ALTER SEQUENCE matches_match_id_seq OWNED BY NONE;
+ALTER SEQUENCE match_stats_stat_id_seq OWNED BY NONE;
+
+ALTER TABLE match_stats RENAME TO match_stats_unpartitioned;
+ALTER TABLE matches RENAME TO matches_unpartitioned;
+
+CREATE TABLE matches (
+    match_id INTEGER NOT NULL DEFAULT nextval('matches_match_id_seq'),
+    tournament_id INTEGER NOT NULL REFERENCES tournaments(tournament_id) ON DELETE CASCADE, -- Partition key, denormalized from leagues
+    league_id INTEGER NOT NULL REFERENCES leagues(league_id) ON DELETE CASCADE,
+    home_team_id INTEGER NOT NULL REFERENCES teams(team_id) ON DELETE RESTRICT,
+    away_team_id INTEGER NOT NULL REFERENCES teams(team_id) ON DELETE RESTRICT,
+    match_date_time TIMESTAMPTZ NOT NULL,
+    location VARCHAR(255) NULL,
+    status match_status NOT NULL DEFAULT 'Scheduled',
+    home_score INTEGER NULL CHECK (home_score >= 0),
+    away_score INTEGER NULL CHECK (away_score >= 0),
+    recorded_by_admin_id INTEGER NULL REFERENCES users(user_id) ON DELETE SET NULL,
+    recorded_at TIMESTAMPTZ NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (match_id, tournament_id) -- The partition key must be part of the primary key
+) PARTITION BY LIST (tournament_id);
+
+CREATE TABLE match_stats (
+    stat_id INTEGER NOT NULL DEFAULT nextval('match_stats_stat_id_seq'),
+    tournament_id INTEGER NOT NULL, -- Partition key, always equal to the tournament of the match
+    match_id INTEGER NOT NULL,
+    player_id INTEGER NOT NULL REFERENCES users(user_id) ON DELETE RESTRICT,
+    team_id INTEGER NOT NULL REFERENCES teams(team_id) ON DELETE RESTRICT,
+    stat_type match_stat_type NOT NULL,
+    minute_of_event INTEGER NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (stat_id, tournament_id),
+    CONSTRAINT fk_match_stats_match FOREIGN KEY (match_id, tournament_id)
+        REFERENCES matches (match_id, tournament_id) ON DELETE CASCADE
+) PARTITION BY LIST (tournament_id);
+
+ALTER SEQUENCE matches_match_id_seq OWNED BY matches.match_id;
+ALTER SEQUENCE match_stats_stat_id_seq OWNED BY match_stats.stat_id;
+
+-- Rows of tournaments without their own partition end up here instead of failing
+CREATE TABLE matches_default PARTITION OF matches DEFAULT;
+CREATE TABLE match_stats_default PARTITION OF match_stats DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_tournament_partitions(p_tournament_id INTEGER)
+RETURNS VOID AS $$
+BEGIN
+  EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF matches FOR VALUES IN (%s)',
+                 'matches_t' || p_tournament_id, p_tournament_id);
+  EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF match_stats FOR VALUES IN (%s)',
+                 'match_stats_t' || p_tournament_id, p_tournament_id);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Every new tournament gets its partitions as part of its creation
+CREATE OR REPLACE FUNCTION trigger_create_tournament_partitions()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM create_tournament_partitions(NEW.tournament_id);
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER create_tournament_partitions
+AFTER INSERT ON tournaments
+FOR EACH ROW
+EXECUTE FUNCTION trigger_create_tournament_partitions();
+
+SELECT create_tournament_partitions(tournament_id) FROM tournaments;
+
+-- Move existing data into the partitioned tables
+INSERT INTO matches (match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+                     status, home_score, away_score, recorded_by_admin_id, recorded_at, created_at, updated_at)
+SELECT m.match_id, l.tournament_id, m.league_id, m.home_team_id, m.away_team_id, m.match_date_time, m.location,
+       m.status, m.home_score, m.away_score, m.recorded_by_admin_id, m.recorded_at, m.created_at, m.updated_at
+FROM matches_unpartitioned m
+JOIN leagues l ON l.league_id = m.league_id;
+
+INSERT INTO match_stats (stat_id, tournament_id, match_id, player_id, team_id, stat_type, minute_of_event, created_at)
+SELECT s.stat_id, l.tournament_id, s.match_id, s.player_id, s.team_id, s.stat_type, s.minute_of_event, s.created_at
+FROM match_stats_unpartitioned s
+JOIN matches_unpartitioned m ON m.match_id = s.match_id
+JOIN leagues l ON l.league_id = m.league_id;
+
+DROP TABLE match_stats_unpartitioned;
+DROP TABLE matches_unpartitioned;
+
+-- Indexes are created on the parents and propagate to every partition
+CREATE INDEX idx_matches_league_id ON matches(league_id);
+CREATE INDEX idx_matches_home_team_id ON matches(home_team_id);
+CREATE INDEX idx_matches_away_team_id ON matches(away_team_id);
+CREATE INDEX idx_match_stats_match_id ON match_stats(match_id);
+CREATE INDEX idx_match_stats_player_id ON match_stats(player_id);
+CREATE INDEX idx_match_stats_team_id ON match_stats(team_id);
+
+-- Detached seasons are kept in their own schema until they are exported or dropped
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE OR REPLACE FUNCTION detach_tournament_partitions(p_tournament_id INTEGER)
+RETURNS VOID AS $$
+DECLARE
+  matches_partition TEXT := 'matches_t' || p_tournament_id;
+  stats_partition TEXT := 'match_stats_t' || p_tournament_id;
+  fk RECORD;
+BEGIN
+  IF to_regclass(format('public.%I', matches_partition)) IS NULL THEN
+    RAISE EXCEPTION 'Tournament % has no attached partitions', p_tournament_id;
+  END IF;
+
+  EXECUTE format('ALTER TABLE match_stats DETACH PARTITION %I', stats_partition);
+  -- The detached stats still reference the partitioned matches table, which would block detaching the matches
+  FOR fk IN
+    SELECT conname FROM pg_constraint
+    WHERE conrelid = format('public.%I', stats_partition)::regclass
+      AND contype = 'f'
+      AND confrelid = 'public.matches'::regclass
+      AND conparentid = 0
+  LOOP
+    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', stats_partition, fk.conname);
+  END LOOP;
+  EXECUTE format('ALTER TABLE matches DETACH PARTITION %I', matches_partition);
+
+  EXECUTE format('ALTER TABLE %I SET SCHEMA archive', stats_partition);
+  EXECUTE format('ALTER TABLE %I SET SCHEMA archive', matches_partition);
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,13 @@
+-- Current Elo rating of every team that has played a rated match.
+-- Updated incrementally when a result is recorded; rebuilt from matches by a full recompute.
+CREATE TABLE team_ratings (
+    team_id INTEGER PRIMARY KEY REFERENCES teams(team_id) ON DELETE CASCADE,
+    rating DOUBLE PRECISION NOT NULL,
+    matches_rated INTEGER NOT NULL DEFAULT 0,
+    last_match_id INTEGER NULL, -- Last match applied to the rating
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_team_ratings_rating ON team_ratings(rating DESC);
+
+-- Chronological scan of one league's results during a recompute
+CREATE INDEX idx_matches_league_date ON matches(league_id, match_date_time, match_id) WHERE status = 'Completed';
@@ -0,0 +1,16 @@
+-- Transactional outbox: domain events are inserted in the same transaction as the change they describe
+-- and delivered to in-process listeners afterwards by OutboxDispatcher (at least once).
+CREATE TABLE outbox_events (
+    event_id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL, -- e.g. 'match', 'join_request', 'user'
+    aggregate_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL, -- Simple name of the payload class in the event package
+    payload JSONB NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP, -- Not delivered before; moved forward by leases and retries
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT NULL,
+    failed_at TIMESTAMPTZ NULL -- Set once the event ran out of attempts; it is then kept for inspection only
+);
+-- Delivered events are deleted, so this index only covers the (small) backlog
+CREATE INDEX idx_outbox_events_pending ON outbox_events(available_at, event_id) WHERE failed_at IS NULL;
@@ -0,0 +1,9 @@
+-- Revoked access tokens. A key is either 'jti:<token id>' (one token, e.g. after logout) or
+-- 'sub:<email>' (every token of the account issued up to revoked_at). Rows are useless once the
+-- tokens they cover have expired and are purged after expires_at.
+CREATE TABLE token_revocations (
+    revocation_key VARCHAR(320) PRIMARY KEY,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
@@ -0,0 +1,12 @@
+-- State of the cluster-wide background jobs. A job runs on whichever instance holds its advisory lock
+-- when next_run_at is due; the row is only advanced once a run finishes, so a run cut short by a
+-- crashed instance is picked up by another one.
+CREATE TABLE scheduled_jobs (
+    job_name VARCHAR(100) PRIMARY KEY,
+    next_run_at TIMESTAMPTZ NOT NULL,
+    last_started_at TIMESTAMPTZ NULL,
+    last_finished_at TIMESTAMPTZ NULL,
+    last_status VARCHAR(20) NULL,
+    last_error TEXT NULL,
+    last_owner VARCHAR(255) NULL -- Instance that ran the job last
+);
@@ -0,0 +1,25 @@
+-- Long-running operations started over HTTP. The request returns the job id straight away and
+-- clients poll the row. Progress and heartbeat are written by the instance running the job; a job
+-- whose heartbeat stops is failed by the reaper.
+CREATE TABLE async_jobs (
+    job_id UUID PRIMARY KEY,
+    job_type VARCHAR(100) NOT NULL,
+    dedup_key VARCHAR(255) NULL, -- Submissions with the same type and key share one active job
+    state VARCHAR(20) NOT NULL,
+    progress_done INT NOT NULL DEFAULT 0,
+    progress_total INT NULL,
+    result JSONB NULL,
+    error_status INT NULL, -- HTTP status the failure would have had as a synchronous request
+    error_title VARCHAR(100) NULL,
+    error_message TEXT NULL,
+    submitted_by VARCHAR(255) NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMPTZ NULL,
+    finished_at TIMESTAMPTZ NULL,
+    heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- At most one queued or running job per type and key, across all instances
+CREATE UNIQUE INDEX uq_async_jobs_active ON async_jobs (job_type, dedup_key) WHERE state IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_async_jobs_latest ON async_jobs (job_type, dedup_key, created_at DESC);
+CREATE INDEX idx_async_jobs_finished_at ON async_jobs (finished_at) WHERE finished_at IS NOT NULL;
@@ -0,0 +1,109 @@
+package com.nazarov.footballmanager.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.dto.analytics.AnalyticsFootprintDto;
+import com.nazarov.footballmanager.dto.analytics.LeaderboardEntryDto;
+import com.nazarov.footballmanager.dto.analytics.PlayerCareerDto;
+import com.nazarov.footballmanager.dto.analytics.TeamRecordDto;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AnalyticsSnapshotTest {
+
+  private AnalyticsSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    snapshot = new AnalyticsSnapshot.Builder()
+        .addTournament(1, "City League 2024")
+        .addTournament(2, "City League 2025")
+        .addTeam(10, "Alpha")
+        .addTeam(20, "Bravo")
+        .addMatch(1, 10, 20, 2, 1)
+        .addMatch(2, 20, 10, 0, 0)
+        .addMatch(2, 10, 20, 0, 3)
+        .addEvent(1, 100, "Striker", 10, MatchStatType.GOAL)
+        .addEvent(1, 100, "Striker", 10, MatchStatType.GOAL)
+        .addEvent(1, 200, "Winger", 20, MatchStatType.GOAL)
+        .addEvent(2, 100, "Striker", 10, MatchStatType.YELLOW_CARD)
+        .addEvent(2, 200, "Winger", 20, MatchStatType.GOAL)
+        .addEvent(2, 200, "Winger", 20, MatchStatType.GOAL)
+        .addEvent(2, 200, "Winger", 20, MatchStatType.GOAL)
+        .addEvent(2, 100, "Striker", 10, MatchStatType.ASSIST)
+        .build(5);
+  }
+
+  @Test
+  @DisplayName("playerCareer should aggregate totals and per-season stats")
+  void playerCareer_AggregatesSeasons() {
+    // Act
+    PlayerCareerDto career = snapshot.playerCareer(100).orElseThrow();
+
+    // Assert
+    assertEquals("Striker", career.getPlayerName());
+    assertEquals(2, career.getGoals());
+    assertEquals(1, career.getAssists());
+    assertEquals(1, career.getYellowCards());
+    assertThat(career.getSeasons()).hasSize(2);
+    assertEquals("City League 2025", career.getSeasons().get(1).getTournamentName());
+    assertEquals(0, career.getSeasons().get(1).getGoals());
+    assertThat(snapshot.playerCareer(999)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("teamRecord should count wins, draws and losses from both home and away matches")
+  void teamRecord_HomeAndAway() {
+    // Act
+    TeamRecordDto record = snapshot.teamRecord(10).orElseThrow();
+
+    // Assert
+    assertEquals("Alpha", record.getTeamName());
+    assertEquals(2, record.getSeasons());
+    assertEquals(3, record.getPlayed());
+    assertEquals(1, record.getWon());
+    assertEquals(1, record.getDrawn());
+    assertEquals(1, record.getLost());
+    assertEquals(2, record.getGoalsFor());
+    assertEquals(4, record.getGoalsAgainst());
+  }
+
+  @Test
+  @DisplayName("leaderboard should rank players by stat count")
+  void leaderboard_RanksPlayers() {
+    // Act
+    List<LeaderboardEntryDto> leaderboard = snapshot.leaderboard(MatchStatType.GOAL, 10);
+
+    // Assert
+    assertThat(leaderboard).extracting(LeaderboardEntryDto::getPlayerId).containsExactly(200, 100);
+    assertThat(leaderboard).extracting(LeaderboardEntryDto::getCount).containsExactly(4, 2);
+    assertThat(snapshot.leaderboard(MatchStatType.RED_CARD, 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("leaderboard should give the same result when split across many chunks")
+  void leaderboard_LargeDataset() {
+    // Arrange: 300k events, player p scores p goals for p in 1..774
+    AnalyticsSnapshot.Builder builder = new AnalyticsSnapshot.Builder().addTournament(1, "Big");
+    for (int player = 1; player <= 774; player++) {
+      for (int goal = 0; goal < player; goal++) {
+        builder.addEvent(1, player, "Player " + player, 10, MatchStatType.GOAL);
+      }
+    }
+    AnalyticsSnapshot big = builder.build(0);
+
+    // Act
+    List<LeaderboardEntryDto> leaderboard = big.leaderboard(MatchStatType.GOAL, 3);
+    AnalyticsFootprintDto footprint = big.footprint();
+
+    // Assert
+    assertThat(leaderboard).extracting(LeaderboardEntryDto::getCount).containsExactly(774, 773, 772);
+    assertEquals(299_925, footprint.getEvents());
+    // Each event costs 13 bytes of columns; dictionaries stay small
+    assertThat(footprint.getBytesPerMillionEvents()).isLessThan(16_000_000L);
+  }
+}
@@ -0,0 +1,132 @@
+package com.nazarov.footballmanager.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.archive.SeasonArchive;
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.cache.CacheRegions;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.analytics.LeaderboardEntryDto;
+import com.nazarov.footballmanager.dto.analytics.TeamRecordDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchStatDto;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.repository.AnalyticsRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonAnalyticsStoreTest {
+
+  @Mock
+  private AnalyticsRepository analyticsRepository;
+  @Mock
+  private SeasonArchiveRepository seasonArchiveRepository;
+  @Mock
+  private SeasonArchiveService seasonArchiveService;
+  @Mock
+  private InvalidationBus invalidationBus;
+
+  private SeasonAnalyticsStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new SeasonAnalyticsStore(analyticsRepository, seasonArchiveRepository, seasonArchiveService,
+        invalidationBus, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    store.shutdown();
+  }
+
+  @Test
+  @DisplayName("A detached season is read back from its archive, so a reload keeps its analytics")
+  void reload_detachedSeason_survives() throws SQLException {
+    doAnswer(rows(Map.of("tournament_id", 1, "name", "City League", "year_period", "2024")))
+        .when(analyticsRepository).streamCompletedTournaments(any());
+    doAnswer(rows(Map.of("team_id", 10, "name", "Alpha"), Map.of("team_id", 20, "name", "Bravo")))
+        .when(analyticsRepository).streamTeams(any());
+    doAnswer(rows(Map.of("tournament_id", 1, "home_team_id", 10, "away_team_id", 20, "home_score", 2,
+        "away_score", 1))).when(analyticsRepository).streamCompletedMatches(any());
+    doAnswer(rows(Map.of("tournament_id", 1, "player_id", 100, "player_name", "Striker", "team_id", 10,
+        "stat_type", MatchStatType.GOAL.getDbValue()))).when(analyticsRepository).streamCompletedMatchStats(any());
+    store.reload();
+    TeamRecordDto liveRecord = store.getTeamRecord(10);
+    List<LeaderboardEntryDto> liveLeaders = store.getLeaderboard(MatchStatType.GOAL, 10);
+
+    // The partitions are gone, the archive holds the season
+    doNothing().when(analyticsRepository).streamCompletedMatches(any());
+    doNothing().when(analyticsRepository).streamCompletedMatchStats(any());
+    when(seasonArchiveRepository.findDetached()).thenReturn(List.of(1));
+    SeasonArchive archive = mock(SeasonArchive.class);
+    when(seasonArchiveService.getArchive(1)).thenReturn(archive);
+    when(archive.getMatches(null)).thenReturn(List.of(ArchivedMatchDto.builder()
+        .matchId(7).leagueId(3).homeTeamId(10).awayTeamId(20).homeScore(2).awayScore(1)
+        .matchDateTime(Instant.parse("2024-04-01T10:00:00Z")).status(MatchStatus.COMPLETED).build()));
+    when(archive.getStats()).thenReturn(List.of(ArchivedMatchStatDto.builder()
+        .matchId(7).playerId(100).playerName("Striker").teamId(10).statType(MatchStatType.GOAL).build()));
+    store.reload();
+
+    assertEquals(liveRecord, store.getTeamRecord(10));
+    assertEquals(1, store.getTeamRecord(10).getWon());
+    assertEquals(liveLeaders, store.getLeaderboard(MatchStatType.GOAL, 10));
+    assertEquals(1, store.getFootprint().getTournaments());
+  }
+
+  @Test
+  @DisplayName("A detached season reloads the analytics of every instance")
+  void onSeasonDetached_invalidatesRegion() {
+    store.onSeasonDetached(new SeasonDetachedEvent(1));
+
+    verify(invalidationBus).invalidate(CacheRegions.ANALYTICS_SEASON, 1);
+  }
+
+  // Hands each row to the RowCallbackHandler the stream method was called with
+  @SafeVarargs
+  private static Answer<Void> rows(Map<String, Object>... rows) throws SQLException {
+    List<ResultSet> resultSets = new ArrayList<>();
+    for (Map<String, Object> row : rows) {
+      ResultSet rs = mock(ResultSet.class);
+      for (Map.Entry<String, Object> column : row.entrySet()) {
+        if (column.getValue() instanceof Integer value) {
+          when(rs.getInt(column.getKey())).thenReturn(value);
+        } else {
+          when(rs.getString(column.getKey())).thenReturn((String) column.getValue());
+        }
+      }
+      resultSets.add(rs);
+    }
+    return invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(0, RowCallbackHandler.class);
+      for (ResultSet rs : resultSets) {
+        handler.processRow(rs);
+      }
+      return null;
+    };
+  }
+}
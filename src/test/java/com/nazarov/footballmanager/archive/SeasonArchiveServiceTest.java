@@ -0,0 +1,108 @@
+package com.nazarov.footballmanager.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.media.LocalFileBlobStore;
+import com.nazarov.footballmanager.repository.ArchiveRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository.SeasonArchiveRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonArchiveServiceTest {
+
+  private static final String KEY = "0123456789abcdef.fmsa";
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private ArchiveRepository archiveRepository;
+  @Mock
+  private SeasonArchiveRepository seasonArchiveRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @TempDir
+  Path sharedStorage;
+  @TempDir
+  Path localCopies;
+
+  private LocalFileBlobStore blobStore;
+  private SeasonArchiveService seasonArchiveService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    blobStore = new LocalFileBlobStore(sharedStorage);
+    // An archive another instance wrote: in the blob store and in season_archives, not on this disk
+    Path written = new SeasonArchiveWriter(7, "City League", "2024/2025")
+        .addLeague(1, "Premier", 1)
+        .addMatch(100, 1, 10, 20, Instant.parse("2025-04-12T15:00:00Z"), 2, 1, MatchStatus.COMPLETED, "Arena")
+        .addStat(100, 500, "Striker", 10, MatchStatType.GOAL, 12)
+        .writeTo(Files.createTempDirectory(sharedStorage, "writer"));
+    Path staged = blobStore.createStagingFile();
+    Files.move(written, staged, StandardCopyOption.REPLACE_EXISTING);
+    blobStore.put(KEY, staged);
+    when(seasonArchiveRepository.findByTournamentId(7)).thenReturn(Optional.of(
+        new SeasonArchiveRow(7, KEY, Files.size(sharedStorage.resolve("01").resolve(KEY)), 1, 1, Instant.now(),
+            null)));
+    seasonArchiveService = new SeasonArchiveService(tournamentRepository, archiveRepository,
+        seasonArchiveRepository, blobStore, new TransactionTemplate(transactionManager), localCopies);
+  }
+
+  @Test
+  @DisplayName("Any instance reads an archive from the shared blob store and keeps a local copy")
+  void getArchive_fetchedFromBlobStore() {
+    assertTrue(seasonArchiveService.isArchived(7));
+
+    assertEquals("City League", seasonArchiveService.getArchive(7).getTournament().getName());
+    assertTrue(Files.isRegularFile(localCopies.resolve(KEY)));
+  }
+
+  @Test
+  @DisplayName("The stored blob is verified, with the counts it holds")
+  void verifyStored_validBlob() {
+    ArchiveVerificationDto verification = seasonArchiveService.verifyStored(7);
+
+    assertTrue(verification.isValid());
+    assertEquals(1, verification.getMatchCount());
+    assertEquals(1, verification.getStatCount());
+  }
+
+  @Test
+  @DisplayName("A corrupt blob fails verification and is never mapped")
+  void corruptBlob_detected() throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(sharedStorage.resolve("01").resolve(KEY).toFile(), "rw")) {
+      raf.seek(raf.length() - 1);
+      int last = raf.readByte();
+      raf.seek(raf.length() - 1);
+      raf.write(last ^ 0x01);
+    }
+
+    assertFalse(seasonArchiveService.verifyStored(7).isValid());
+    assertThrows(ArchiveFormatException.class, () -> seasonArchiveService.getArchive(7));
+    assertFalse(Files.exists(localCopies.resolve(KEY)));
+  }
+}
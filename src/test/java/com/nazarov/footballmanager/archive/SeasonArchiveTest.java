@@ -0,0 +1,151 @@
+package com.nazarov.footballmanager.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchStatDto;
+import com.nazarov.footballmanager.dto.archive.ArchivedTournamentDto;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeasonArchiveTest {
+
+  private static final Instant KICKOFF = Instant.parse("2025-04-12T15:00:00Z");
+
+  @TempDir
+  Path directory;
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() {
+    file = new SeasonArchiveWriter(7, "City League", "2024/2025")
+        .addLeague(1, "Premier", 1)
+        .addLeague(2, "Friendly Cup", null)
+        .addStanding(1, 10, "Alpha", 1, PromotionStatus.STAY)
+        .addStanding(1, 20, "Bravo", 2, PromotionStatus.RELEGATED)
+        .addStanding(2, 30, "Charlie", null, null)
+        .addMatch(100, 1, 10, 20, KICKOFF, 2, 1, MatchStatus.COMPLETED, "Central Park")
+        .addMatch(101, 1, 20, 10, KICKOFF.plusSeconds(86_400), null, null, MatchStatus.CANCELLED, null)
+        .addStat(100, 500, "Striker", 10, MatchStatType.GOAL, 12)
+        .addStat(100, 500, "Striker", 10, MatchStatType.YELLOW_CARD, null)
+        .addStat(100, 600, "Winger", 20, MatchStatType.GOAL, 80)
+        .writeTo(directory);
+  }
+
+  @Test
+  @DisplayName("Round-trips tournament, leagues and standings through the file")
+  void getTournament_roundTrip() {
+    ArchivedTournamentDto tournament = SeasonArchive.open(file).getTournament();
+
+    assertEquals(7, tournament.getTournamentId());
+    assertEquals("City League", tournament.getName());
+    assertEquals("2024/2025", tournament.getYearPeriod());
+    assertEquals(2, tournament.getMatchCount());
+    assertEquals(3, tournament.getStatCount());
+    assertThat(tournament.getLeagues()).hasSize(2);
+    assertEquals(1, tournament.getLeagues().get(0).getLevel());
+    assertThat(tournament.getLeagues().get(1).getLevel()).isNull();
+    assertThat(tournament.getLeagues().get(0).getStandings())
+        .extracting(s -> s.getTeamName() + ":" + s.getFinalRank() + ":" + s.getPromotionStatus())
+        .containsExactly("Alpha:1:STAY", "Bravo:2:RELEGATED");
+    assertThat(tournament.getLeagues().get(1).getStandings().get(0).getPromotionStatus()).isNull();
+  }
+
+  @Test
+  @DisplayName("Reads matches and player events, keeping nulls")
+  void getMatchesAndStats() {
+    SeasonArchive archive = SeasonArchive.open(file);
+
+    List<ArchivedMatchDto> matches = archive.getMatches(10);
+    assertThat(matches).extracting(ArchivedMatchDto::getMatchId).containsExactly(100, 101);
+    assertEquals(KICKOFF, matches.get(0).getMatchDateTime());
+    assertEquals("Central Park", matches.get(0).getLocation());
+    assertEquals(2, matches.get(0).getHomeScore());
+    assertThat(matches.get(1).getHomeScore()).isNull();
+    assertThat(matches.get(1).getLocation()).isNull();
+    assertEquals(MatchStatus.CANCELLED, matches.get(1).getStatus());
+    assertThat(archive.getMatches(99)).isEmpty();
+
+    List<ArchivedMatchStatDto> stats = archive.getPlayerStats(500);
+    assertThat(stats).extracting(ArchivedMatchStatDto::getStatType)
+        .containsExactly(MatchStatType.GOAL, MatchStatType.YELLOW_CARD);
+    assertEquals(12, stats.get(0).getMinuteOfEvent());
+    assertThat(stats.get(1).getMinuteOfEvent()).isNull();
+    assertThat(archive.getStats()).extracting(ArchivedMatchStatDto::getPlayerId).containsExactly(500, 500, 600);
+  }
+
+  @Test
+  @DisplayName("Key index lookups find records added out of key order and keep file order")
+  void lookups_useKeyIndexes() {
+    SeasonArchiveWriter writer = new SeasonArchiveWriter(8, "County League", "2025")
+        .addLeague(3, "North", 1)
+        .addLeague(1, "South", 1);
+    for (int i = 0; i < 50; i++) {
+      writer.addStanding(i % 2 == 0 ? 3 : 1, 1000 + i, "Team " + i, i / 2 + 1, PromotionStatus.STAY)
+          .addMatch(200 + i, 3, 1000 + i, 1000 + (i + 1) % 50, KICKOFF.plusSeconds(i * 3600L), 1, 0,
+              MatchStatus.COMPLETED, "Ground " + i)
+          .addStat(200 + i, 700 + i % 7, "Player " + i % 7, 1000 + i, MatchStatType.GOAL, i);
+    }
+    SeasonArchive archive = SeasonArchive.open(writer.writeTo(directory));
+
+    assertThat(archive.getStandings(1)).hasSize(25)
+        .extracting(s -> s.getTeamId()).startsWith(1001, 1003, 1005);
+    assertThat(archive.getMatches(1000)).extracting(ArchivedMatchDto::getMatchId).containsExactly(200, 249);
+    assertThat(archive.getPlayerStats(703)).extracting(ArchivedMatchStatDto::getMatchId)
+        .containsExactly(203, 210, 217, 224, 231, 238, 245);
+    assertThat(archive.getPlayerStats(699)).isEmpty();
+    assertThat(archive.getMatches(null)).hasSize(50);
+    assertThat(archive.verify().isValid()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Writing leaves only the archive in the directory")
+  void writeTo_leavesNoTemporaryFile() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files).containsExactly(file);
+    }
+  }
+
+  @Test
+  @DisplayName("Verification reports the section whose bytes changed")
+  void verify_detectsCorruption() throws IOException {
+    assertThat(SeasonArchive.open(file).verify().isValid()).isTrue();
+
+    long size = Files.size(file);
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      // Last byte belongs to the UTF-8 data of the STRINGS section
+      raf.seek(size - 1);
+      int last = raf.readByte();
+      raf.seek(size - 1);
+      raf.write(last ^ 0x01);
+    }
+
+    ArchiveVerificationDto verification = SeasonArchive.open(file).verify();
+    assertThat(verification.isValid()).isFalse();
+    assertThat(verification.getCorruptSections()).containsExactly("STRINGS");
+  }
+
+  @Test
+  @DisplayName("Rejects files that are not archives")
+  void open_rejectsForeignFile() throws IOException {
+    Path foreign = Files.write(directory.resolve("foreign.fmsa"), new byte[256]);
+
+    assertThrows(ArchiveFormatException.class, () -> SeasonArchive.open(foreign));
+  }
+}
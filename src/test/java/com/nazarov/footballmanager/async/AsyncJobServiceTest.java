@@ -0,0 +1,152 @@
+package com.nazarov.footballmanager.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto.State;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.UnexpectedErrorLogger;
+import com.nazarov.footballmanager.repository.AsyncJobRepository;
+import com.nazarov.footballmanager.repository.AsyncJobRepository.AsyncJobRow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncJobServiceTest {
+
+  @Mock
+  private AsyncJobRepository asyncJobRepository;
+
+  private ExecutorService executor;
+  private AsyncJobService asyncJobService;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    asyncJobService = new AsyncJobService(asyncJobRepository, new ObjectMapper(), executor,
+        new UnexpectedErrorLogger(Duration.ofMinutes(1)), Duration.ZERO);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private AsyncJobRow row(UUID jobId, State state) {
+    return new AsyncJobRow(jobId, "import", state, 0, null, null, null, null, null, Instant.now(), null, null);
+  }
+
+  private void givenAccepted() {
+    when(asyncJobRepository.insertIfNoneActive(any(), eq("import"), eq("7"), isNull())).thenReturn(true);
+    when(asyncJobRepository.findById(any())).thenAnswer(invocation ->
+        Optional.of(row(invocation.getArgument(0), State.QUEUED)));
+  }
+
+  private void awaitJobs() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("A job's return value is stored as its JSON result")
+  void submit_Success_StoresResult() throws Exception {
+    givenAccepted();
+
+    AsyncJobDto job = asyncJobService.submit("import", 7, progress -> {
+      progress.setTotal(2);
+      progress.advance();
+      progress.advance();
+      return Map.of("imported", 2);
+    });
+    awaitJobs();
+
+    assertEquals(State.QUEUED, job.getState());
+    verify(asyncJobRepository).markRunning(job.getJobId());
+    verify(asyncJobRepository).complete(job.getJobId(), 2, 2, "{\"imported\":2}");
+  }
+
+  @Test
+  @DisplayName("A failed job keeps the status and message GlobalExceptionHandler would have answered with")
+  void submit_Failure_StoresError() throws Exception {
+    givenAccepted();
+
+    AsyncJobDto job = asyncJobService.submit("import", 7, progress -> {
+      throw new BadRequestException("Row 3 has no team name.");
+    });
+    awaitJobs();
+
+    verify(asyncJobRepository).fail(job.getJobId(), 400, "Bad Request", "Row 3 has no team name.");
+    verify(asyncJobRepository, never()).complete(any(), anyInt(), any(), any());
+  }
+
+  @Test
+  @DisplayName("An unexpected failure is stored with the generic message, never its cause")
+  void submit_UnexpectedFailure_StoresGenericMessage() throws Exception {
+    givenAccepted();
+
+    AsyncJobDto job = asyncJobService.submit("import", 7, progress -> {
+      throw new IllegalStateException("relation \"teams_tmp\" does not exist");
+    });
+    awaitJobs();
+
+    verify(asyncJobRepository).fail(job.getJobId(), 500, "Internal Server Error", "An unexpected error occurred.");
+  }
+
+  @Test
+  @DisplayName("A submission while an identical job is active returns that job and runs nothing")
+  void submit_Duplicate_ReturnsActiveJob() throws Exception {
+    UUID activeJobId = UUID.randomUUID();
+    when(asyncJobRepository.insertIfNoneActive(any(), eq("import"), eq("7"), isNull())).thenReturn(false);
+    when(asyncJobRepository.findActive("import", "7")).thenReturn(Optional.of(row(activeJobId, State.RUNNING)));
+
+    AsyncJobDto job = asyncJobService.submit("import", 7, progress -> {
+      throw new AssertionError("must not run");
+    });
+    awaitJobs();
+
+    assertEquals(activeJobId, job.getJobId());
+    assertEquals(State.RUNNING, job.getState());
+    verify(asyncJobRepository, never()).markRunning(any());
+  }
+
+  @Test
+  @DisplayName("A submission beyond the queue capacity fails the job with 503")
+  void submit_QueueFull_FailsJob() {
+    givenAccepted();
+    ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1));
+    saturated.shutdown(); // Rejects everything, like a full queue
+    AsyncJobService service = new AsyncJobService(asyncJobRepository, new ObjectMapper(), saturated,
+        new UnexpectedErrorLogger(Duration.ofMinutes(1)), Duration.ZERO);
+
+    AsyncJobDto job = service.submit("import", 7, progress -> null);
+
+    ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+    verify(asyncJobRepository).fail(eq(job.getJobId()), eq(503), eq("Service Unavailable"), message.capture());
+    assertEquals("Too many jobs are queued, try again later.", message.getValue());
+  }
+}
@@ -0,0 +1,94 @@
+package com.nazarov.footballmanager.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.tournament.LeagueDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.service.RoleService;
+import com.nazarov.footballmanager.service.TournamentQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+
+  @Mock
+  private RoleService roleService;
+  @Mock
+  private TournamentQueryService tournamentQueryService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  private CacheWarmup warmup(boolean enabled) {
+    return new CacheWarmup(roleService, tournamentQueryService, meterRegistry, enabled, 2, Duration.ofSeconds(10));
+  }
+
+  private void givenOneActiveTournamentWithTwoLeagues() {
+    when(roleService.preload()).thenReturn(2);
+    when(tournamentQueryService.getActiveTournaments()).thenReturn(List.of(TournamentDto.builder()
+        .tournamentId(1).name("City League").yearPeriod("2025").status(TournamentStatus.ACTIVE).build()));
+    when(tournamentQueryService.getLeagues(1)).thenReturn(List.of(
+        LeagueDto.builder().leagueId(10).tournamentId(1).name("Premier").level(1).build(),
+        LeagueDto.builder().leagueId(11).tournamentId(1).name("Second").level(2).build()));
+  }
+
+  @Test
+  @DisplayName("Warm-up loads every league of every active tournament and times each cache")
+  void run_LoadsAllCaches() {
+    givenOneActiveTournamentWithTwoLeagues();
+
+    warmup(true).run(new DefaultApplicationArguments());
+
+    verify(tournamentQueryService).getStandings(10);
+    verify(tournamentQueryService).getStandings(11);
+    verify(tournamentQueryService).getUpcomingFixtures(10, TournamentQueryService.UPCOMING_FIXTURES_CACHED);
+    verify(tournamentQueryService).getUpcomingFixtures(11, TournamentQueryService.UPCOMING_FIXTURES_CACHED);
+    for (String cache : List.of("roles", "tournaments", "leagues", "standings", "upcoming-fixtures")) {
+      assertThat(meterRegistry.find("cache.warmup.duration").tag("cache", cache).timer())
+          .as(cache).isNotNull()
+          .extracting(timer -> timer.count()).isEqualTo(1L);
+    }
+  }
+
+  @Test
+  @DisplayName("A failing load does not fail startup and the other caches are still warmed")
+  void run_FailingLoad_DoesNotThrow() {
+    givenOneActiveTournamentWithTwoLeagues();
+    when(tournamentQueryService.getStandings(10)).thenThrow(new IllegalStateException("connection reset"));
+
+    warmup(true).run(new DefaultApplicationArguments());
+
+    verify(roleService).preload();
+    verify(tournamentQueryService).getStandings(11);
+    verify(tournamentQueryService).getUpcomingFixtures(10, TournamentQueryService.UPCOMING_FIXTURES_CACHED);
+    assertThat(meterRegistry.find("cache.warmup.duration").tag("cache", "standings").timer()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Disabled warm-up touches nothing")
+  void run_Disabled_DoesNothing() {
+    warmup(false).run(new DefaultApplicationArguments());
+
+    verifyNoInteractions(roleService, tournamentQueryService);
+    verify(tournamentQueryService, never()).getStandings(anyInt());
+  }
+}
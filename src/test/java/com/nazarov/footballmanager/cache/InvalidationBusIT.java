@@ -0,0 +1,92 @@
+package com.nazarov.footballmanager.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nazarov.footballmanager.FootballmanagerApplication;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Two application contexts against one database, standing in for two instances behind a load balancer
+@Testcontainers
+class InvalidationBusIT {
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+  private static ConfigurableApplicationContext first;
+  private static ConfigurableApplicationContext second;
+
+  @BeforeAll
+  static void startInstances() {
+    first = start();
+    second = start();
+  }
+
+  @AfterAll
+  static void stopInstances() {
+    second.close();
+    first.close();
+  }
+
+  @Test
+  @DisplayName("a committed invalidation should evict the key on the other instance")
+  void invalidate_reachesOtherInstance() throws InterruptedException {
+    Set<String> evictedOnSecond = ConcurrentHashMap.newKeySet();
+    first.getBean(InvalidationBus.class).register("it-commit", key -> { }, () -> { });
+    second.getBean(InvalidationBus.class).register("it-commit", evictedOnSecond::add, () -> evictedOnSecond.add("*"));
+
+    first.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+      first.getBean(InvalidationBus.class).invalidate("it-commit", 42);
+      first.getBean(InvalidationBus.class).invalidate("it-commit", 43);
+    });
+
+    awaitContains(evictedOnSecond, "42", "43");
+  }
+
+  @Test
+  @DisplayName("a rolled back invalidation should not reach the other instance")
+  void invalidate_rollbackStaysLocal() throws InterruptedException {
+    Set<String> evictedOnSecond = ConcurrentHashMap.newKeySet();
+    first.getBean(InvalidationBus.class).register("it-rollback", key -> { }, () -> { });
+    second.getBean(InvalidationBus.class).register("it-rollback", evictedOnSecond::add, () -> { });
+
+    first.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+      first.getBean(InvalidationBus.class).invalidate("it-rollback", 1);
+      status.setRollbackOnly();
+    });
+    first.getBean(InvalidationBus.class).invalidate("it-rollback", 2);
+
+    awaitContains(evictedOnSecond, "2");
+    assertThat(evictedOnSecond).doesNotContain("1");
+  }
+
+  private static ConfigurableApplicationContext start() {
+    return new SpringApplicationBuilder(FootballmanagerApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=" + postgres.getJdbcUrl(),
+            "spring.datasource.username=" + postgres.getUsername(),
+            "spring.datasource.password=" + postgres.getPassword())
+        .run();
+  }
+
+  private static void awaitContains(Set<String> evicted, String... keys) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!evicted.containsAll(Set.of(keys)) && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(evicted).contains(keys);
+  }
+}
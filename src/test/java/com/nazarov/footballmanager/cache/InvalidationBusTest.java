@@ -0,0 +1,103 @@
+package com.nazarov.footballmanager.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InvalidationBusTest {
+
+  private InvalidationBus bus;
+  private final List<String> evicted = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    bus = new InvalidationBus(new DataSourceProperties(), false, "fm_cache_invalidation", Duration.ofMillis(50),
+        Duration.ofSeconds(30));
+    bus.register("standings", evicted::add, () -> evicted.add("*"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("invalidate should evict right away outside of a transaction")
+  void invalidate_withoutTransaction() {
+    bus.invalidate("standings", 7);
+    bus.invalidateAll("standings");
+
+    assertThat(evicted).containsExactly("7", "*");
+  }
+
+  @Test
+  @DisplayName("invalidate should evict once after commit, with duplicates collapsed")
+  void invalidate_afterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    bus.invalidate("standings", 7);
+    bus.invalidate("standings", 7);
+    bus.invalidate("standings", 8);
+    assertThat(evicted).isEmpty();
+
+    complete(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertThat(evicted).containsExactly("7", "8");
+  }
+
+  @Test
+  @DisplayName("invalidate should evict nothing when the transaction rolls back")
+  void invalidate_rollback() {
+    TransactionSynchronizationManager.initSynchronization();
+    bus.invalidate("standings", 7);
+
+    complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertThat(evicted).isEmpty();
+  }
+
+  @Test
+  @DisplayName("messages should round-trip and split at the payload limit")
+  void message_roundTrip() {
+    Map<String, Set<String>> keys = new LinkedHashMap<>();
+    Set<String> emails = new LinkedHashSet<>();
+    for (int i = 0; i < 40; i++) {
+      emails.add("player" + i + "@club,one.org");
+    }
+    keys.put("user-principal", emails);
+    keys.put("season-simulation", new LinkedHashSet<>(Set.of("3", InvalidationMessage.ALL)));
+
+    List<String> messages = InvalidationMessage.encode("node1", keys, 200);
+
+    assertThat(messages).hasSizeGreaterThan(1).allSatisfy(message -> assertThat(message.length()).isLessThanOrEqualTo(200));
+    Map<String, Set<String>> decoded = new LinkedHashMap<>();
+    for (String message : messages) {
+      InvalidationMessage parsed = InvalidationMessage.decode(message);
+      assertThat(parsed.nodeId()).isEqualTo("node1");
+      parsed.keysByRegion().forEach((region, regionKeys) ->
+          decoded.computeIfAbsent(region, r -> new LinkedHashSet<>()).addAll(regionKeys));
+    }
+    assertThat(decoded.get("user-principal")).isEqualTo(emails);
+    assertThat(decoded.get("season-simulation")).containsExactly(InvalidationMessage.ALL);
+  }
+
+  private static void complete(int status) {
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+  }
+}
@@ -0,0 +1,95 @@
+package com.nazarov.footballmanager.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlights singleFlights = new SingleFlights(meterRegistry, Duration.ofMinutes(1));
+
+  private double calls(String outcome) {
+    return meterRegistry.get("single.flight.calls").tag("name", "standings").tag("outcome", outcome)
+        .counter().count();
+  }
+
+  @Test
+  @DisplayName("Concurrent callers for the same key share one load")
+  void get_ConcurrentCallersCoalesce() throws Exception {
+    SingleFlight<Integer, String> flight = singleFlights.create("standings", Duration.ZERO);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(callers.submit(() -> flight.get(7, key -> {
+          loads.incrementAndGet();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return "table-" + key;
+        })));
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (calls("coalesced") < 7 && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      for (Future<String> result : results) {
+        assertEquals("table-7", result.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+      assertEquals(1, calls("executed"));
+      assertEquals(7, calls("coalesced"));
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("A result is reused within the memoization window and reloaded after an eviction")
+  void get_MemoizesUntilEvicted() {
+    SingleFlight<Integer, Object> flight = singleFlights.create("standings");
+    AtomicInteger loads = new AtomicInteger();
+
+    Object first = flight.get(7, key -> new Object[] {loads.incrementAndGet()});
+    assertSame(first, flight.get(7, key -> new Object[] {loads.incrementAndGet()}));
+    flight.evict(7);
+    flight.get(7, key -> new Object[] {loads.incrementAndGet()});
+
+    assertEquals(2, loads.get());
+    assertEquals(1, calls("memoized"));
+  }
+
+  @Test
+  @DisplayName("A failed load is rethrown as is and not memoized")
+  void get_FailureIsNotMemoized() {
+    SingleFlight<Integer, String> flight = singleFlights.create("standings");
+
+    assertThrows(ResourceNotFoundException.class, () -> flight.get(7, key -> {
+      throw new ResourceNotFoundException("League", "id", key);
+    }));
+
+    assertEquals("table", flight.get(7, key -> "table"));
+    assertEquals(2, calls("executed"));
+  }
+}
@@ -0,0 +1,157 @@
+package com.nazarov.footballmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.analytics.PlayerSeasonStatsDto;
+import com.nazarov.footballmanager.dto.match.CalendarPageDto;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.user.CareerSummaryDto;
+import com.nazarov.footballmanager.dto.user.SeasonStatsDto;
+import com.nazarov.footballmanager.dto.user.UserViewDto;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Serialization throughput and payload size of JSON, CBOR and Smile for the payloads partners pull:
+// a calendar page of fixtures, player season stats and a user profile. Not a test; run by hand:
+//   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//   java -cp target/classes:target/test-classes:$(cat target/classpath.txt) \
+//       com.nazarov.footballmanager.config.WireFormatBenchmark
+// Each cell is the best of several timed rounds after warm-up, single-threaded.
+public class WireFormatBenchmark {
+
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int ROUNDS = 10;
+  private static final long ROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  private interface Operation {
+    void run() throws IOException;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+    mappers.put("json", builder().build());
+    mappers.put("cbor", builder().factory(new CBORFactory()).build());
+    mappers.put("smile", builder().factory(new SmileFactory()).build());
+
+    Map<String, Object> payloads = new LinkedHashMap<>();
+    payloads.put("calendar page, 500 matches", calendarPage(500));
+    payloads.put("season stats, 200 rows", seasonStats(200));
+    payloads.put("user profile, 10 seasons", userProfile(10));
+
+    System.out.printf("%-28s %-6s %10s %10s %12s %12s%n", "payload", "format", "bytes", "gzipped",
+        "encode/s", "decode/s");
+    for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+      Object value = payload.getValue();
+      for (Map.Entry<String, ObjectMapper> format : mappers.entrySet()) {
+        ObjectMapper mapper = format.getValue();
+        byte[] encoded = mapper.writeValueAsBytes(value);
+        double encodes = opsPerSecond(() -> mapper.writeValueAsBytes(value));
+        double decodes = opsPerSecond(() -> mapper.readValue(encoded, value.getClass()));
+        System.out.printf("%-28s %-6s %10d %10d %12.0f %12.0f%n", payload.getKey(), format.getKey(),
+            encoded.length, gzip(encoded).length, encodes, decodes);
+      }
+    }
+  }
+
+  // Configured as the application's mappers are, so the numbers describe what clients receive
+  private static Jackson2ObjectMapperBuilder builder() {
+    return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  private static double opsPerSecond(Operation operation) throws IOException {
+    double best = 0;
+    for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+      long operations = 0;
+      long start = System.nanoTime();
+      long elapsed;
+      do {
+        operation.run();
+        operations++;
+        elapsed = System.nanoTime() - start;
+      } while (elapsed < ROUND_NANOS);
+      if (round >= WARMUP_ROUNDS) {
+        best = Math.max(best, operations * 1e9 / elapsed);
+      }
+    }
+    return best;
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(bytes);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static CalendarPageDto calendarPage(int matches) {
+    Instant kickoff = Instant.parse("2025-05-01T18:00:00Z");
+    return CalendarPageDto.builder()
+        .matches(IntStream.range(0, matches).mapToObj(i -> MatchDto.builder()
+            .matchId(100_000 + i)
+            .tournamentId(12)
+            .leagueId(40 + i % 4)
+            .homeTeamId(i % 20 + 1)
+            .awayTeamId((i + 7) % 20 + 1)
+            .matchDateTime(kickoff.plusSeconds(5_400L * i))
+            .location("Stadium " + i % 20)
+            .status(i % 3 == 0 ? MatchStatus.COMPLETED : MatchStatus.SCHEDULED)
+            .homeScore(i % 3 == 0 ? i % 4 : null)
+            .awayScore(i % 3 == 0 ? i % 3 : null)
+            .build()).toList())
+        .nextCursor("MjAyNS0wNS0wMVQxODowMDowMFp8MTAwNDk5")
+        .build();
+  }
+
+  private static List<PlayerSeasonStatsDto> seasonStats(int rows) {
+    return IntStream.range(0, rows).mapToObj(i -> PlayerSeasonStatsDto.builder()
+        .tournamentId(i % 10 + 1)
+        .tournamentName("City League " + (2016 + i % 10))
+        .goals(i % 17)
+        .assists(i % 11)
+        .yellowCards(i % 5)
+        .redCards(i % 2)
+        .build()).toList();
+  }
+
+  private static UserViewDto userProfile(int seasons) {
+    return UserViewDto.builder()
+        .id(4711)
+        .name("Alex Morgan")
+        .email("alex.morgan@example.com")
+        .dateOfBirth(LocalDate.of(1995, 10, 20))
+        .playingPosition("Midfielder")
+        .profilePictureUrl("/api/media/8c6f1d2a9b7e4f03a5d1c2b3e4f5a6b7.png")
+        .contactNumber("+44 20 7946 0958")
+        .roles(Set.of("ROLE_USER"))
+        .careerSummary(CareerSummaryDto.builder()
+            .appearances(seasons * 30)
+            .goals(seasons * 8)
+            .assists(seasons * 5)
+            .seasons(IntStream.range(0, seasons).mapToObj(i -> SeasonStatsDto.builder()
+                .tournamentId(i + 1)
+                .tournamentName("City League")
+                .yearPeriod(String.valueOf(2016 + i))
+                .teamId(3)
+                .appearances(30)
+                .goals(8)
+                .assists(5)
+                .yellowCards(2)
+                .build()).toList())
+            .build())
+        .build();
+  }
+}
@@ -0,0 +1,100 @@
+package com.nazarov.footballmanager.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.CalendarPageDto;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.user.CareerSummaryDto;
+import com.nazarov.footballmanager.dto.user.SeasonStatsDto;
+import com.nazarov.footballmanager.dto.user.UserViewDto;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class WireFormatConfigTest {
+
+  private final WireFormatConfig config = new WireFormatConfig();
+  private final MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter(builder().build());
+
+  // Like the builder Spring Boot injects: java.time module registered, dates as ISO strings
+  private static Jackson2ObjectMapperBuilder builder() {
+    return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  @Test
+  @DisplayName("A user profile round-trips through CBOR and Smile unchanged")
+  void userView_roundTrip() throws IOException {
+    UserViewDto user = UserViewDto.builder()
+        .id(7)
+        .name("Alex Morgan")
+        .email("alex@example.com")
+        .dateOfBirth(LocalDate.of(1995, 10, 20))
+        .playingPosition("Midfielder")
+        .roles(Set.of("ROLE_USER"))
+        .careerSummary(CareerSummaryDto.builder()
+            .appearances(30)
+            .goals(12)
+            .seasons(List.of(SeasonStatsDto.builder().tournamentId(1).tournamentName("City League")
+                .yearPeriod("2025").teamId(3).appearances(30).goals(12).build()))
+            .build())
+        .build();
+
+    assertEquals(user, roundTrip(config.cborHttpMessageConverter(builder()), user));
+    assertEquals(user, roundTrip(config.smileHttpMessageConverter(builder()), user));
+  }
+
+  @Test
+  @DisplayName("A calendar page is smaller in both binary encodings than in JSON")
+  void calendarPage_smallerThanJson() throws IOException {
+    CalendarPageDto page = CalendarPageDto.builder()
+        .matches(IntStream.range(0, 200).mapToObj(i -> MatchDto.builder()
+            .matchId(1000 + i)
+            .tournamentId(1)
+            .leagueId(10)
+            .homeTeamId(i % 20)
+            .awayTeamId((i + 7) % 20)
+            .matchDateTime(Instant.parse("2025-05-01T18:00:00Z").plusSeconds(3600L * i))
+            .location("Arena")
+            .status(MatchStatus.SCHEDULED)
+            .build()).toList())
+        .build();
+
+    int jsonSize = write(json, page, MediaType.APPLICATION_JSON).getBodyAsBytes().length;
+    MockHttpOutputMessage cbor = write(config.cborHttpMessageConverter(builder()), page, MediaType.APPLICATION_CBOR);
+    MockHttpOutputMessage smile = write(config.smileHttpMessageConverter(builder()), page,
+        new MediaType("application", "x-jackson-smile"));
+
+    assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+    assertTrue(cbor.getBodyAsBytes().length < jsonSize, cbor.getBodyAsBytes().length + " >= " + jsonSize);
+    assertTrue(smile.getBodyAsBytes().length < jsonSize, smile.getBodyAsBytes().length + " >= " + jsonSize);
+  }
+
+  private static UserViewDto roundTrip(AbstractJackson2HttpMessageConverter converter, UserViewDto user)
+      throws IOException {
+    MediaType mediaType = converter.getSupportedMediaTypes().get(0);
+    MockHttpInputMessage input = new MockHttpInputMessage(write(converter, user, mediaType).getBodyAsBytes());
+    input.getHeaders().setContentType(mediaType);
+    return (UserViewDto) converter.read(UserViewDto.class, input);
+  }
+
+  private static MockHttpOutputMessage write(AbstractJackson2HttpMessageConverter converter, Object body,
+      MediaType mediaType) throws IOException {
+    MockHttpOutputMessage output = new MockHttpOutputMessage();
+    converter.write(body, mediaType, output);
+    return output;
+  }
+}
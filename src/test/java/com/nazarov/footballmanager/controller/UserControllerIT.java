@@ -6,6 +6,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.nazarov.footballmanager.dto.user.UserViewDto;
 import com.nazarov.footballmanager.domain.Role;
 import com.nazarov.footballmanager.domain.User;
 import com.nazarov.footballmanager.repository.RoleRepository;
@@ -13,6 +15,7 @@ import com.nazarov.footballmanager.repository.UserRepository;
 import com.nazarov.footballmanager.security.jwt.JwtTokenProvider;
 import java.time.LocalDate;
 import java.util.Set;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -99,6 +102,24 @@ class UserControllerIT {
         .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
   }
 
+  @Test
+  @DisplayName("GET /api/users/me - CBOR requested - Same profile in CBOR")
+  void getCurrentUser_WhenCborAccepted_ShouldReturnCbor() throws Exception {
+    // Act
+    byte[] body = mockMvc.perform(get("/api/users/me")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + userJwtToken)
+            .accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    // Assert
+    UserViewDto profile = CBORMapper.builder().findAndAddModules().build().readValue(body, UserViewDto.class);
+    Assertions.assertEquals(testUser.getUserId(), profile.getId());
+    Assertions.assertEquals(testUser.getEmail(), profile.getEmail());
+    Assertions.assertEquals(LocalDate.of(1995, 10, 20), profile.getDateOfBirth());
+  }
+
   @Test
   @DisplayName("GET /api/users/me - Unauthenticated User")
   void getCurrentUser_WhenUnauthenticated_ShouldReturnUnauthorized() throws Exception {
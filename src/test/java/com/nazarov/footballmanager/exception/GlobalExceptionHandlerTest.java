@@ -0,0 +1,108 @@
+package com.nazarov.footballmanager.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+
+class GlobalExceptionHandlerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new ErrorMetrics(meterRegistry),
+      new UnexpectedErrorLogger(Duration.ofMinutes(1)));
+  private final ServletWebRequest request = new ServletWebRequest(
+      new MockHttpServletRequest("GET", "/api/leagues/\"7\"/standings"));
+
+  private double errors(String exception, String status) {
+    return meterRegistry.get("http.server.errors").tag("exception", exception).tag("status", status)
+        .counter().count();
+  }
+
+  @Test
+  @DisplayName("Expected exceptions carry no stack trace")
+  void domainExceptions_AreStackless() {
+    assertEquals(0, new BadRequestException("bad").getStackTrace().length);
+    assertEquals(0, new ResourceNotFoundException("League", "id", 7).getStackTrace().length);
+  }
+
+  @Test
+  @DisplayName("Pre-serialized bodies keep the error payload shape and escape the path")
+  void handleResourceNotFound_WritesStandardPayload() throws Exception {
+    ResponseEntity<byte[]> response = handler.handleResourceNotFoundException(
+        new ResourceNotFoundException("League", "id", 7), request);
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    JsonNode body = objectMapper.readTree(response.getBody());
+    Instant.parse(body.get("timestamp").asText());
+    assertEquals(404, body.get("status").asInt());
+    assertEquals("Not Found", body.get("error").asText());
+    assertEquals("League not found with id : '7'", body.get("message").asText());
+    assertEquals("uri=/api/leagues/\"7\"/standings", body.get("path").asText());
+    assertEquals(1, errors("ResourceNotFoundException", "404"));
+  }
+
+  @Test
+  @DisplayName("Fixed messages are serialized once, messages with request data per response")
+  void errorBody_CachesOnlyConstants() {
+    assertSame(ErrorBody.constant(HttpStatus.BAD_REQUEST, "Invalid cursor."),
+        ErrorBody.constant(HttpStatus.BAD_REQUEST, "Invalid cursor."));
+    assertNotSame(ErrorBody.of(HttpStatus.NOT_FOUND, "Match 7 was cancelled"),
+        ErrorBody.of(HttpStatus.NOT_FOUND, "Match 7 was cancelled"));
+  }
+
+  @Test
+  @DisplayName("Unmapped paths are 404 instead of falling through to the 500 handler")
+  void handleNoResourceFound_Is404() throws Exception {
+    ResponseEntity<byte[]> response = handler.handleNoResourceFound(
+        new NoResourceFoundException(HttpMethod.GET, "wp-login.php"), request);
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals("No endpoint matches the request.", objectMapper.readTree(response.getBody()).get("message").asText());
+    assertEquals(1, errors("NoResourceFoundException", "404"));
+  }
+
+  @Test
+  @DisplayName("Unexpected errors are 500 with a generic message and counted per type")
+  void handleGlobalException_CountsPerType() throws Exception {
+    handler.handleGlobalException(new IllegalStateException("boom"), request);
+    ResponseEntity<byte[]> response = handler.handleGlobalException(
+        new IllegalStateException("relation \"matches_t7\" does not exist"), request);
+
+    assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    assertEquals("An unexpected error occurred.", objectMapper.readTree(response.getBody()).get("message").asText());
+    assertEquals(2, errors("IllegalStateException", "500"));
+  }
+
+  @Test
+  @DisplayName("Repeats of an error from the same place share an origin, other places do not")
+  void originOf_GroupsByThrowingFrame() {
+    RuntimeException[] sameOrigin = new RuntimeException[2];
+    for (int i = 0; i < 2; i++) {
+      sameOrigin[i] = new IllegalStateException("attempt " + i);
+    }
+    RuntimeException elsewhere = new IllegalStateException("other");
+
+    assertEquals(UnexpectedErrorLogger.originOf(sameOrigin[0]), UnexpectedErrorLogger.originOf(sameOrigin[1]));
+    assertNotEquals(UnexpectedErrorLogger.originOf(sameOrigin[0]), UnexpectedErrorLogger.originOf(elsewhere));
+    assertTrue(UnexpectedErrorLogger.originOf(new RuntimeException(new IllegalStateException("cause")))
+        .contains("IllegalStateException"));
+  }
+}
@@ -0,0 +1,223 @@
+package com.nazarov.footballmanager.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.repository.IdempotencyKeyRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+  @Mock
+  private IdempotencyKeyRepository idempotencyKeyRepository;
+  @Mock
+  private RequestMappingHandlerMapping handlerMapping;
+
+  private IdempotencyStore store;
+  private IdempotencyFilter idempotencyFilter;
+  private final AtomicInteger handlerCalls = new AtomicInteger();
+
+  static class RegistrationController {
+    @Idempotent
+    public void register() {
+    }
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    store = new IdempotencyStore(idempotencyKeyRepository, Duration.ofHours(1),
+        Duration.ofSeconds(30), Duration.ofSeconds(5), 100);
+    idempotencyFilter = new IdempotencyFilter(store, handlerMapping, DataSize.ofKilobytes(64));
+    when(handlerMapping.getHandler(any())).thenReturn(new HandlerExecutionChain(
+        new HandlerMethod(new RegistrationController(), RegistrationController.class.getMethod("register"))));
+  }
+
+  private MockHttpServletRequest request(String key, String body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register");
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+    request.setContentType("application/json");
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+
+  // Stands in for the controller: reads the body and answers 201
+  private FilterChain registeringChain() {
+    return (request, response) -> {
+      handlerCalls.incrementAndGet();
+      String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+      HttpServletResponse httpResponse = (HttpServletResponse) response;
+      httpResponse.setStatus(201);
+      httpResponse.setHeader("Location", "/api/users/7");
+      httpResponse.setContentType("text/plain");
+      httpResponse.getWriter().write("registered " + body);
+    };
+  }
+
+  @Test
+  @DisplayName("A retry with the same key gets the stored response without running the handler")
+  void retry_ReplaysStoredResponse() throws Exception {
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), any(), any(), any())).thenReturn(true);
+    when(idempotencyKeyRepository.complete(anyString(), eq("k1"), any(), any())).thenReturn(true);
+
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    idempotencyFilter.doFilter(request("k1", "{\"a\":1}"), first, registeringChain());
+    MockHttpServletResponse retry = new MockHttpServletResponse();
+    idempotencyFilter.doFilter(request("k1", "{\"a\":1}"), retry, registeringChain());
+
+    assertEquals(1, handlerCalls.get());
+    assertEquals(201, first.getStatus());
+    assertEquals("registered {\"a\":1}", first.getContentAsString());
+    assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    assertEquals(201, retry.getStatus());
+    assertEquals("/api/users/7", retry.getHeader("Location"));
+    assertEquals("registered {\"a\":1}", retry.getContentAsString());
+    assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    verify(idempotencyKeyRepository).complete(eq("POST /api/auth/register - 127.0.0.1"), eq("k1"), any(), any());
+  }
+
+  @Test
+  @DisplayName("Reusing a key for a different body is rejected with 422")
+  void differentBody_Rejected() throws Exception {
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), any(), any(), any())).thenReturn(true);
+    when(idempotencyKeyRepository.complete(anyString(), eq("k1"), any(), any())).thenReturn(true);
+    idempotencyFilter.doFilter(request("k1", "{\"a\":1}"), new MockHttpServletResponse(), registeringChain());
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    idempotencyFilter.doFilter(request("k1", "{\"a\":2}"), response, registeringChain());
+
+    assertEquals(422, response.getStatus());
+    assertEquals(1, handlerCalls.get());
+  }
+
+  @Test
+  @DisplayName("Two anonymous clients reusing one key each run their own request")
+  void anonymousClients_SameKey_DoNotCollide() throws Exception {
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), any(), any(), any())).thenReturn(true);
+    when(idempotencyKeyRepository.complete(anyString(), eq("k1"), any(), any())).thenReturn(true);
+    MockHttpServletRequest first = request("k1", "{\"a\":1}");
+    first.setRemoteAddr("203.0.113.1");
+    MockHttpServletRequest second = request("k1", "{\"a\":2}");
+    second.setRemoteAddr("203.0.113.2");
+
+    idempotencyFilter.doFilter(first, new MockHttpServletResponse(), registeringChain());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    idempotencyFilter.doFilter(second, response, registeringChain());
+
+    assertEquals(2, handlerCalls.get());
+    assertEquals(201, response.getStatus());
+    assertEquals("registered {\"a\":2}", response.getContentAsString());
+    verify(idempotencyKeyRepository).complete(eq("POST /api/auth/register - 203.0.113.1"), eq("k1"), any(), any());
+    verify(idempotencyKeyRepository).complete(eq("POST /api/auth/register - 203.0.113.2"), eq("k1"), any(), any());
+  }
+
+  @Test
+  @DisplayName("A duplicate arriving while the first request runs waits for it instead of running twice")
+  void concurrentDuplicate_WaitsForFirst() throws Exception {
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), any(), any(), any())).thenReturn(true);
+    CountDownLatch handlerStarted = new CountDownLatch(1);
+    CountDownLatch releaseHandler = new CountDownLatch(1);
+    FilterChain slowChain = (request, response) -> {
+      handlerStarted.countDown();
+      try {
+        releaseHandler.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      registeringChain().doFilter(request, response);
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MockHttpServletResponse first = new MockHttpServletResponse();
+      MockHttpServletResponse duplicate = new MockHttpServletResponse();
+      Future<?> firstDone = executor.submit(() -> {
+        idempotencyFilter.doFilter(request("k1", "{\"a\":1}"), first, slowChain);
+        return null;
+      });
+      handlerStarted.await(5, TimeUnit.SECONDS);
+      Future<?> duplicateDone = executor.submit(() -> {
+        idempotencyFilter.doFilter(request("k1", "{\"a\":1}"), duplicate, slowChain);
+        return null;
+      });
+      Thread.sleep(100);
+      releaseHandler.countDown();
+      firstDone.get(5, TimeUnit.SECONDS);
+      duplicateDone.get(5, TimeUnit.SECONDS);
+
+      assertEquals(1, handlerCalls.get());
+      assertEquals(first.getContentAsString(), duplicate.getContentAsString());
+      assertEquals("true", duplicate.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+      verify(idempotencyKeyRepository, times(1)).claim(anyString(), eq("k1"), any(), any(), any(), any());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Server errors are not stored, so the retry runs the handler again")
+  void serverError_NotStored() throws Exception {
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), any(), any(), any())).thenReturn(true);
+    FilterChain failingChain = (request, response) -> {
+      handlerCalls.incrementAndGet();
+      ((HttpServletResponse) response).setStatus(503);
+    };
+
+    idempotencyFilter.doFilter(request("k1", "{}"), new MockHttpServletResponse(), failingChain);
+    idempotencyFilter.doFilter(request("k1", "{}"), new MockHttpServletResponse(), failingChain);
+
+    assertEquals(2, handlerCalls.get());
+    verify(idempotencyKeyRepository, times(2)).release(eq("POST /api/auth/register - 127.0.0.1"), eq("k1"), any());
+    verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("A running request keeps its claim alive, and one whose claim was taken over stores nothing")
+  void takenOverClaim_NotCompleted() throws Exception {
+    ArgumentCaptor<UUID> claimToken = ArgumentCaptor.forClass(UUID.class);
+    when(idempotencyKeyRepository.claim(anyString(), eq("k1"), any(), claimToken.capture(), any(), any()))
+        .thenReturn(true);
+    FilterChain heartbeatingChain = (request, response) -> {
+      store.heartbeat();
+      registeringChain().doFilter(request, response);
+    };
+
+    idempotencyFilter.doFilter(request("k1", "{}"), new MockHttpServletResponse(), heartbeatingChain);
+    idempotencyFilter.doFilter(request("k1", "{}"), new MockHttpServletResponse(), registeringChain());
+
+    verify(idempotencyKeyRepository).heartbeat(List.of(claimToken.getAllValues().get(0)), Duration.ofSeconds(30));
+    verify(idempotencyKeyRepository).complete(anyString(), eq("k1"), eq(claimToken.getAllValues().get(0)), any());
+    // The response of the overtaken request is not replayed, the retry is decided by the table again
+    assertEquals(2, handlerCalls.get());
+  }
+}
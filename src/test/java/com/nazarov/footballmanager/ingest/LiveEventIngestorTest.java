@@ -0,0 +1,243 @@
+package com.nazarov.footballmanager.ingest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.event.MatchStatsRecordedEvent;
+import com.nazarov.footballmanager.exception.ServiceUnavailableException;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.MatchStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class LiveEventIngestorTest {
+
+  private static final int UNKNOWN_PLAYER = 999;
+
+  @Mock
+  private MatchStatsRepository matchStatsRepository;
+  @Mock
+  private OutboxPublisher outboxPublisher;
+
+  @TempDir
+  private Path logDir;
+
+  private final Set<UUID> stored = ConcurrentHashMap.newKeySet();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private LiveEventIngestor ingestor;
+
+  @BeforeEach
+  void setUp() {
+    // Like the foreign key on player_id: a batch with an unknown player fails as a whole
+    lenient().doAnswer(invocation -> {
+      List<LiveEvent> events = invocation.getArgument(0);
+      if (events.stream().anyMatch(event -> event.playerId() == UNKNOWN_PLAYER)) {
+        throw new DataIntegrityViolationException("violates foreign key constraint");
+      }
+      return events.stream().filter(event -> stored.add(event.eventId())).toList();
+    }).when(matchStatsRepository).insertAll(anyList());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (ingestor != null) {
+      ingestor.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Concurrent events are acknowledged, stored and checkpointed")
+  void append_concurrentEvents_storedAndCheckpointed() throws Exception {
+    ingestor = newIngestor(10_000);
+    ingestor.start();
+    ExecutorService officials = Executors.newFixedThreadPool(8);
+    List<Future<LiveEvent>> acknowledged = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      int playerId = i % 20 + 1;
+      acknowledged.add(officials.submit(() -> ingestor.append(event(playerId))));
+    }
+    Set<Long> sequences = new HashSet<>();
+    for (Future<LiveEvent> future : acknowledged) {
+      sequences.add(future.get(5, TimeUnit.SECONDS).sequence());
+    }
+    officials.shutdown();
+
+    assertEquals(200, sequences.size());
+    awaitTrue(() -> stored.size() == 200);
+    assertEquals(200.0, meterRegistry.get("live.events.flushed").counter().count());
+    awaitTrue(() -> meterRegistry.get("live.events.backlog").gauge().value() == 0);
+
+    ingestor.stop();
+    ingestor = null;
+    try (LiveEventLog reopened = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      assertTrue(reopened.takeUnflushed().isEmpty());
+    }
+  }
+
+  @Test
+  @DisplayName("Events acknowledged before a crash are stored on the next start")
+  void start_unflushedEventsInLog_replayed() throws Exception {
+    List<LiveEvent> logged;
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      logged = eventLog.append(List.of(event(1), event(2), event(3)));
+      eventLog.checkpoint(logged.get(0).sequence());
+    }
+
+    ingestor = newIngestor(10_000);
+    ingestor.start();
+
+    awaitTrue(() -> stored.size() == 2);
+    assertEquals(Set.of(logged.get(1).eventId(), logged.get(2).eventId()), stored);
+    // New events continue after the replayed sequences
+    assertEquals(4, ingestor.append(event(4)).sequence());
+  }
+
+  @Test
+  @DisplayName("A torn frame at the end of a segment is cut off on recovery")
+  void open_tornTail_truncated() throws IOException {
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      eventLog.append(List.of(event(1), event(2)));
+    }
+    Path segment;
+    try (Stream<Path> files = Files.list(logDir)) {
+      segment = files.filter(file -> file.getFileName().toString().startsWith("segment-")).findFirst().orElseThrow();
+    }
+    Files.write(segment, new byte[] {0, 0, 0, 53, 1, 2, 3}, StandardOpenOption.APPEND);
+
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      assertEquals(List.of(1L, 2L), eventLog.takeUnflushed().stream().map(LiveEvent::sequence).toList());
+      assertEquals(2L * LiveEventLog.FRAME_SIZE, Files.size(segment));
+      assertEquals(3, eventLog.append(List.of(event(3))).get(0).sequence());
+    }
+  }
+
+  @Test
+  @DisplayName("An event with an unknown player is parked without holding back its batch")
+  void flush_invalidEvent_parkedAndOthersStored() throws Exception {
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      eventLog.append(List.of(event(1), event(UNKNOWN_PLAYER), event(3)));
+    }
+
+    ingestor = newIngestor(10_000);
+    ingestor.start();
+
+    awaitTrue(() -> meterRegistry.get("live.events.backlog").gauge().value() == 0);
+    assertEquals(2, stored.size());
+    assertEquals(1.0, meterRegistry.get("live.events.rejected").tag("reason", "invalid").counter().count());
+    verify(matchStatsRepository).reject(argThat(event -> event.playerId() == UNKNOWN_PLAYER), anyString());
+  }
+
+  @Test
+  @DisplayName("A flush publishes the newly stored events of each match once, replays publish nothing")
+  void flush_publishesStoredEventsPerMatch() throws Exception {
+    LiveEvent replayed = event(1);
+    stored.add(replayed.eventId());
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      eventLog.append(List.of(replayed, event(2), event(3),
+          new LiveEvent(0, UUID.randomUUID(), 1, 11, 4, 100, MatchStatType.YELLOW_CARD, 50, Instant.now())));
+    }
+
+    ingestor = newIngestor(10_000);
+    ingestor.start();
+
+    awaitTrue(() -> meterRegistry.get("live.events.backlog").gauge().value() == 0);
+    ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+    verify(outboxPublisher, times(2)).publish(eq(OutboxEvents.MATCH), any(), published.capture());
+    List<MatchStatsRecordedEvent> events = published.getAllValues().stream()
+        .map(MatchStatsRecordedEvent.class::cast)
+        .toList();
+    assertEquals(List.of(10, 11), events.stream().map(MatchStatsRecordedEvent::matchId).toList());
+    assertEquals(List.of(2, 3), events.get(0).stats().stream().map(MatchStatsRecordedEvent.Stat::playerId).toList());
+    assertEquals(1, events.get(1).stats().size());
+  }
+
+  @Test
+  @DisplayName("New events are refused with 503 once the backlog is full")
+  void append_backlogFull_serviceUnavailable() throws Exception {
+    try (LiveEventLog eventLog = LiveEventLog.open(logDir, DataSize.ofMegabytes(1).toBytes(), false)) {
+      eventLog.append(List.of(event(1), event(2)));
+    }
+    CountDownLatch databaseBack = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      databaseBack.await();
+      return List.of();
+    }).when(matchStatsRepository).insertAll(anyList());
+    ingestor = newIngestor(2);
+    ingestor.start();
+
+    // The recovered events count against the backlog until they are stored
+    assertThrows(ServiceUnavailableException.class, () -> ingestor.append(event(3)));
+    assertEquals(1.0, meterRegistry.get("live.events.rejected").tag("reason", "overload").counter().count());
+    databaseBack.countDown();
+  }
+
+  private LiveEventIngestor newIngestor(int maxBacklog) throws IOException {
+    return new LiveEventIngestor(matchStatsRepository, outboxPublisher, directTransactions(), meterRegistry, logDir,
+        DataSize.ofKilobytes(4), false, 50, maxBacklog, Duration.ofSeconds(5), Duration.ofSeconds(5));
+  }
+
+  private static TransactionTemplate directTransactions() {
+    return new TransactionTemplate() {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+  }
+
+  private static LiveEvent event(int playerId) {
+    return new LiveEvent(0, UUID.randomUUID(), 1, 10, playerId, 100, MatchStatType.GOAL, 42, Instant.now());
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.nazarov.footballmanager.jobs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.jobs.JobLeadership.Lease;
+import com.nazarov.footballmanager.repository.ScheduledJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobSchedulerTest {
+
+  @Mock
+  private JobLeadership jobLeadership;
+  @Mock
+  private ScheduledJobRepository scheduledJobRepository;
+  @Mock
+  private Lease lease;
+
+  private final AtomicInteger runs = new AtomicInteger();
+  private boolean failing;
+  private SimpleMeterRegistry meterRegistry;
+  private ClusterJob job;
+  private ClusterJobScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    job = new ClusterJob() {
+      @Override
+      public String name() {
+        return "purge";
+      }
+
+      @Override
+      public JobSchedule schedule() {
+        return JobSchedule.fixedRate(Duration.ofHours(1));
+      }
+
+      @Override
+      public void run() {
+        runs.incrementAndGet();
+        if (failing) {
+          throw new IllegalStateException("boom");
+        }
+      }
+    };
+    scheduler = new ClusterJobScheduler(List.of(job), jobLeadership, scheduledJobRepository, meterRegistry,
+        Duration.ofSeconds(1), 1);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    scheduler.stop();
+  }
+
+  @Test
+  @DisplayName("runIfDue should run a due job under its lock and advance it by one period")
+  void runIfDue_runsDueJob() {
+    Instant dueAt = Instant.now().minusSeconds(5);
+    when(jobLeadership.tryAcquire("purge")).thenReturn(Optional.of(lease));
+    when(scheduledJobRepository.findNextRunAt("purge")).thenReturn(Optional.of(dueAt));
+
+    scheduler.runIfDue(job);
+
+    assertThat(runs).hasValue(1);
+    verify(scheduledJobRepository).recordRun(eq("purge"), eq(dueAt.plus(Duration.ofHours(1))), any(), any(),
+        eq("SUCCEEDED"), isNull(), anyString());
+    verify(lease).close();
+    assertThat(meterRegistry.get("cluster.job.duration").tag("outcome", "succeeded").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("runIfDue should skip a job another instance holds or already ran")
+  void runIfDue_skipsWithoutLeadershipOrWhenNotDue() {
+    when(jobLeadership.tryAcquire("purge")).thenReturn(Optional.empty(), Optional.of(lease));
+    when(scheduledJobRepository.findNextRunAt("purge")).thenReturn(Optional.of(Instant.now().plusSeconds(600)));
+
+    scheduler.runIfDue(job);
+    scheduler.runIfDue(job);
+
+    assertThat(runs).hasValue(0);
+    verify(scheduledJobRepository, never()).recordRun(anyString(), any(), any(), any(), anyString(), any(), any());
+    verify(lease).close();
+  }
+
+  @Test
+  @DisplayName("runIfDue should record failures and still advance the job")
+  void runIfDue_recordsFailure() {
+    failing = true;
+    when(jobLeadership.tryAcquire("purge")).thenReturn(Optional.of(lease));
+    when(scheduledJobRepository.findNextRunAt("purge")).thenReturn(Optional.of(Instant.now()));
+
+    scheduler.runIfDue(job);
+
+    verify(scheduledJobRepository).recordRun(eq("purge"), any(), any(), any(), eq("FAILED"),
+        eq("java.lang.IllegalStateException: boom"), anyString());
+    assertThat(meterRegistry.get("cluster.job.failures").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("JobSchedule should skip due times missed while nothing ran")
+  void jobSchedule_skipsMissedTimes() {
+    JobSchedule hourly = JobSchedule.fixedRate(Duration.ofHours(1));
+    Instant dueAt = Instant.parse("2025-05-10T12:00:00Z");
+    assertThat(hourly.nextAfterRun(dueAt, dueAt.plusSeconds(30))).isEqualTo(Instant.parse("2025-05-10T13:00:00Z"));
+    assertThat(hourly.nextAfterRun(dueAt, dueAt.plus(Duration.ofHours(5))))
+        .isEqualTo(Instant.parse("2025-05-10T18:00:00Z"));
+
+    JobSchedule nightly = JobSchedule.cron("0 30 3 * * *", ZoneOffset.UTC);
+    assertThat(nightly.next(dueAt)).isEqualTo(Instant.parse("2025-05-11T03:30:00Z"));
+  }
+}
@@ -0,0 +1,92 @@
+package com.nazarov.footballmanager.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nazarov.footballmanager.media.MediaService.ServedMedia;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class BlobResponseWriterTest {
+
+  private static final String ETAG = "\"abc\"";
+
+  @TempDir
+  private Path storageDir;
+
+  private LocalFileBlobStore blobStore;
+  private final BlobResponseWriter writer = new BlobResponseWriter();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    blobStore = new LocalFileBlobStore(storageDir);
+    Path staged = blobStore.createStagingFile();
+    Files.writeString(staged, "0123456789", StandardCharsets.US_ASCII);
+    blobStore.put("ab.png", staged);
+  }
+
+  private MockHttpServletResponse get(String... headers) throws IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/media/ab.png");
+    for (int i = 0; i < headers.length; i += 2) {
+      request.addHeader(headers[i], headers[i + 1]);
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    writer.write(request, response, new ServedMedia(blobStore.open("ab.png").orElseThrow(), "image/png", ETAG, true));
+    return response;
+  }
+
+  @Test
+  @DisplayName("The whole blob is served with immutable caching headers")
+  void write_FullBody() throws IOException {
+    MockHttpServletResponse response = get();
+
+    assertEquals(200, response.getStatus());
+    assertEquals("0123456789", response.getContentAsString());
+    assertEquals(10, response.getContentLengthLong());
+    assertEquals(BlobResponseWriter.IMMUTABLE, response.getHeader("Cache-Control"));
+    assertEquals(ETAG, response.getHeader("ETag"));
+    assertEquals("bytes", response.getHeader("Accept-Ranges"));
+  }
+
+  @Test
+  @DisplayName("Byte ranges, open-ended ranges and suffix ranges are answered with 206")
+  void write_Ranges() throws IOException {
+    MockHttpServletResponse middle = get("Range", "bytes=2-4");
+    assertEquals(206, middle.getStatus());
+    assertEquals("234", middle.getContentAsString());
+    assertEquals("bytes 2-4/10", middle.getHeader("Content-Range"));
+
+    assertEquals("789", get("Range", "bytes=7-").getContentAsString());
+    assertEquals("89", get("Range", "bytes=-2").getContentAsString());
+    assertEquals("56789", get("Range", "bytes=5-100").getContentAsString());
+  }
+
+  @Test
+  @DisplayName("Ranges outside the blob get 416, malformed or multiple ranges get the whole body")
+  void write_UnsatisfiableAndIgnoredRanges() throws IOException {
+    MockHttpServletResponse outside = get("Range", "bytes=10-");
+    assertEquals(416, outside.getStatus());
+    assertEquals("bytes */10", outside.getHeader("Content-Range"));
+
+    assertEquals(200, get("Range", "bytes=0-1,4-5").getStatus());
+    assertEquals(200, get("Range", "items=0-1").getStatus());
+    assertEquals(200, get("Range", "bytes=0-1", "If-Range", "\"other\"").getStatus());
+  }
+
+  @Test
+  @DisplayName("A matching If-None-Match gets 304 without a body")
+  void write_NotModified() throws IOException {
+    MockHttpServletResponse response = get("If-None-Match", ETAG);
+
+    assertEquals(304, response.getStatus());
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+}
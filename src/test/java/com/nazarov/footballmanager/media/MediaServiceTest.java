@@ -0,0 +1,186 @@
+package com.nazarov.footballmanager.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.dto.media.MediaDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.media.MediaService.ServedMedia;
+import com.nazarov.footballmanager.repository.TeamRepository;
+import com.nazarov.footballmanager.repository.UserRepository;
+import com.nazarov.footballmanager.service.UserService;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class MediaServiceTest {
+
+  @Mock
+  private UserService userService;
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private TeamRepository teamRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @TempDir
+  private Path storageDir;
+
+  private ExecutorService thumbnailExecutor;
+  private MediaService mediaService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    thumbnailExecutor = Executors.newSingleThreadExecutor();
+    mediaService = new MediaService(new LocalFileBlobStore(storageDir), userService, userRepository, teamRepository,
+        new TransactionTemplate(transactionManager), thumbnailExecutor, DataSize.ofKilobytes(64), List.of(16, 32), 10_000_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    thumbnailExecutor.shutdownNow();
+  }
+
+  private static byte[] png(int width, int height) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", output);
+    return output.toByteArray();
+  }
+
+  private void awaitThumbnails() throws InterruptedException {
+    thumbnailExecutor.shutdown();
+    assertTrue(thumbnailExecutor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  private String nameOf(String url) {
+    return url.substring(MediaService.URL_PREFIX.length());
+  }
+
+  @Test
+  @DisplayName("A logo is stored under its content hash and its thumbnails fit their boxes")
+  void uploadTeamLogo_StoresContentAddressedImageAndThumbnails() throws Exception {
+    when(teamRepository.updateLogoUrl(anyInt(), anyString())).thenReturn(true);
+    byte[] image = png(100, 50);
+
+    MediaDto media = mediaService.uploadTeamLogo(3, "image/png", new ByteArrayInputStream(image));
+    awaitThumbnails();
+
+    assertThat(media.getUrl()).matches("/api/media/[0-9a-f]{64}\\.png");
+    assertEquals(image.length, media.getSize());
+    verify(teamRepository).updateLogoUrl(3, media.getUrl());
+
+    ServedMedia original = mediaService.open(nameOf(media.getUrl()));
+    try (Blob blob = original.blob(); InputStream input = blob.newInputStream()) {
+      assertThat(input.readAllBytes()).isEqualTo(image);
+    }
+    assertTrue(original.immutable());
+
+    ServedMedia thumbnail = mediaService.open(nameOf(media.getThumbnails().get(32)));
+    try (Blob blob = thumbnail.blob(); InputStream input = blob.newInputStream()) {
+      BufferedImage decoded = ImageIO.read(input);
+      assertEquals(32, decoded.getWidth());
+      assertEquals(16, decoded.getHeight());
+    }
+    assertTrue(thumbnail.immutable());
+  }
+
+  @Test
+  @DisplayName("A thumbnail that is not rendered yet is answered with the original, without long caching")
+  void open_MissingThumbnail_FallsBackToOriginal() throws Exception {
+    when(teamRepository.updateLogoUrl(anyInt(), anyString())).thenReturn(true);
+    thumbnailExecutor.shutdownNow(); // Nothing gets rendered
+
+    MediaDto media = mediaService.uploadTeamLogo(3, "image/png", new ByteArrayInputStream(png(10, 10)));
+
+    ServedMedia served = mediaService.open(nameOf(media.getThumbnails().get(16)));
+    try (Blob blob = served.blob()) {
+      assertEquals(media.getSize(), blob.size());
+    }
+    assertFalse(served.immutable());
+  }
+
+  @Test
+  @DisplayName("The image is stored before the transaction that points the team at it begins")
+  void uploadTeamLogo_StoresBeforeTransaction() throws Exception {
+    List<Long> storedWhenTransactionBegan = new ArrayList<>();
+    when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+      try (Stream<Path> files = Files.walk(storageDir)) {
+        storedWhenTransactionBegan.add(files.filter(Files::isRegularFile).count());
+      }
+      return null;
+    });
+    when(teamRepository.updateLogoUrl(anyInt(), anyString())).thenReturn(false);
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> mediaService.uploadTeamLogo(3, "image/png", new ByteArrayInputStream(png(10, 10))));
+    awaitThumbnails();
+
+    assertThat(storedWhenTransactionBegan).hasSize(1);
+    assertThat(storedWhenTransactionBegan.get(0)).isPositive();
+    verify(transactionManager).rollback(any());
+  }
+
+  @Test
+  @DisplayName("Content that does not match the declared type is rejected and nothing is kept")
+  void upload_WrongContent_Rejected() throws Exception {
+    BadRequestException exception = assertThrows(BadRequestException.class, () -> mediaService.uploadTeamLogo(3,
+        "image/jpeg", new ByteArrayInputStream(png(10, 10))));
+
+    assertEquals("The content is not a valid image/jpeg image.", exception.getMessage());
+    verify(teamRepository, never()).updateLogoUrl(anyInt(), anyString());
+    verify(transactionManager, never()).getTransaction(any());
+    try (Stream<Path> files = Files.walk(storageDir)) {
+      assertThat(files.filter(Files::isRegularFile)).isEmpty();
+    }
+  }
+
+  @Test
+  @DisplayName("Uploads over the size limit are cut off")
+  void upload_TooLarge_Rejected() {
+    byte[] large = new byte[65 * 1024];
+
+    assertThrows(BadRequestException.class,
+        () -> mediaService.uploadTeamLogo(3, "image/png", new ByteArrayInputStream(large)));
+  }
+
+  @Test
+  @DisplayName("Names that are not content hashes or configured sizes are not found")
+  void open_UnknownName_NotFound() {
+    assertThrows(ResourceNotFoundException.class, () -> mediaService.open("../secret.png"));
+    assertThrows(ResourceNotFoundException.class, () -> mediaService.open("a".repeat(64) + "-999.png"));
+  }
+}
@@ -0,0 +1,117 @@
+package com.nazarov.footballmanager.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.event.UserRegisteredEvent;
+import com.nazarov.footballmanager.repository.OutboxRepository;
+import com.nazarov.footballmanager.repository.OutboxRepository.OutboxRow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+  private static final Duration LEASE = Duration.ofSeconds(60);
+
+  @Mock
+  private OutboxRepository outboxRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private OutboxDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    // Runs callbacks directly, without a transaction manager
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class)) {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+    dispatcher = new OutboxDispatcher(outboxRepository, eventPublisher, new ObjectMapper(), transactionTemplate,
+        2, LEASE, 3);
+  }
+
+  @Test
+  @DisplayName("dispatchBatch should deliver typed payloads and delete delivered events")
+  void dispatchBatch_deliversAndDeletes() {
+    when(outboxRepository.claimBatch(2, LEASE)).thenReturn(List.of(
+        row(1, "MatchResultRecordedEvent",
+            "{\"tournamentId\":1,\"leagueId\":2,\"matchId\":3,\"homeTeamId\":10,\"awayTeamId\":20,"
+                + "\"homeScore\":2,\"awayScore\":1,\"correction\":false}", 1)));
+    List<Object> published = new ArrayList<>();
+    doAnswer(invocation -> published.add(invocation.getArgument(0))).when(eventPublisher).publishEvent(any(Object.class));
+
+    assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+    assertThat(published).hasSize(1);
+    DispatchedEvent<?> event = (DispatchedEvent<?>) published.get(0);
+    assertThat(event.payload()).isEqualTo(new MatchResultRecordedEvent(1, 2, 3, 10, 20, 2, 1, false));
+    assertThat(event.getResolvableType().isAssignableFrom(
+        ResolvableType.forClassWithGenerics(DispatchedEvent.class, MatchResultRecordedEvent.class))).isTrue();
+    verify(outboxRepository).deleteDelivered(List.of(1L));
+    verify(outboxRepository, never()).scheduleRetry(any(Long.class), any(), anyString());
+  }
+
+  @Test
+  @DisplayName("dispatchBatch should back off failed events and give up after the last attempt")
+  void dispatchBatch_retriesThenFails() {
+    when(outboxRepository.claimBatch(2, LEASE)).thenReturn(List.of(
+        row(1, "UserRegisteredEvent", "{\"userId\":7}", 1),
+        row(2, "UserRegisteredEvent", "{\"userId\":8}", 3)));
+    doAnswer(invocation -> {
+      throw new IllegalStateException("listener failed");
+    }).when(eventPublisher).publishEvent(any(Object.class));
+
+    dispatcher.dispatchBatch();
+
+    verify(outboxRepository).deleteDelivered(List.of());
+    verify(outboxRepository).scheduleRetry(eq(1L), eq(Duration.ofSeconds(2)), anyString());
+    verify(outboxRepository).markFailed(eq(2L), anyString());
+  }
+
+  @Test
+  @DisplayName("poll should keep claiming while batches come back full")
+  void poll_drainsFullBatches() {
+    OutboxRow first = row(1, "UserRegisteredEvent", "{\"userId\":1}", 1);
+    OutboxRow second = row(2, "UserRegisteredEvent", "{\"userId\":2}", 1);
+    OutboxRow third = row(3, "UserRegisteredEvent", "{\"userId\":3}", 1);
+    when(outboxRepository.claimBatch(2, LEASE)).thenReturn(List.of(first, second), List.of(third));
+
+    dispatcher.poll();
+
+    verify(outboxRepository, times(2)).claimBatch(2, LEASE);
+    verify(eventPublisher).publishEvent(new DispatchedEvent<>(3, "user", "3", third.createdAt(), 1,
+        new UserRegisteredEvent(3)));
+  }
+
+  private static OutboxRow row(long eventId, String eventType, String payload, int attempts) {
+    return new OutboxRow(eventId, "user", String.valueOf(eventId), eventType, payload,
+        Instant.parse("2025-05-10T12:00:00Z"), attempts);
+  }
+}
@@ -0,0 +1,236 @@
+package com.nazarov.footballmanager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nazarov.footballmanager.repository.MatchRepository.VersionedMatchRow;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Many administrators recording results of the same fixture at once, each request spending some time
+// on its checks between reading the match and writing it. Compares the result_version compare-and-set
+// with holding a row lock (SELECT ... FOR UPDATE) across the same work. The timed comparison is a
+// perf test and only runs with -Pperf.
+@Testcontainers
+@Slf4j
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MatchRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The writers need to see the committed fixture
+class MatchResultConcurrencyIT {
+
+  private static final int THREADS = 8;
+  private static final int WRITES_PER_THREAD = 25;
+  private static final long CHECK_MILLIS = 2;
+  private static final int ROUNDS = 5;
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+    registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+  }
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MatchRepository matchRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final ExecutorService admins = Executors.newFixedThreadPool(THREADS);
+  private int adminId;
+  private int tournamentId;
+  private int matchId;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    adminId = jdbcTemplate.queryForObject(
+        "INSERT INTO users (name, email, password_hash) VALUES ('Admin', ?, 'x') RETURNING user_id",
+        Integer.class, "admin-" + suffix + "@example.com");
+    tournamentId = jdbcTemplate.queryForObject(
+        "INSERT INTO tournaments (name, year_period, status) VALUES (?, '2025', 'Active') RETURNING tournament_id",
+        Integer.class, "Cup " + suffix);
+    int leagueId = jdbcTemplate.queryForObject(
+        "INSERT INTO leagues (tournament_id, name, level) VALUES (?, 'Premier', 1) RETURNING league_id",
+        Integer.class, tournamentId);
+    int home = jdbcTemplate.queryForObject("INSERT INTO teams (name) VALUES (?) RETURNING team_id",
+        Integer.class, "Home " + suffix);
+    int away = jdbcTemplate.queryForObject("INSERT INTO teams (name) VALUES (?) RETURNING team_id",
+        Integer.class, "Away " + suffix);
+    matchId = jdbcTemplate.queryForObject("""
+            INSERT INTO matches (tournament_id, league_id, home_team_id, away_team_id, match_date_time)
+            VALUES (?, ?, ?, ?, ?) RETURNING match_id
+            """,
+        Integer.class, tournamentId, leagueId, home, away, Timestamp.from(Instant.parse("2025-05-01T18:00:00Z")));
+  }
+
+  @AfterEach
+  void tearDown() {
+    admins.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Edits based on the same version: exactly one is applied")
+  void recordResult_sameExpectedVersion_oneApplied() throws Exception {
+    int applied = runConcurrently(THREADS, () -> matchRepository.recordResult(matchId, tournamentId,
+        scoreOf(Thread.currentThread()), 0, adminId, 0));
+
+    assertThat(applied).isEqualTo(1);
+    assertThat(resultVersion()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("No overwrite is lost, with a row lock or with compare-and-set")
+  void recordResult_concurrentOverwrites_noneLost() throws Exception {
+    int locked = runConcurrently(THREADS * WRITES_PER_THREAD, this::recordWithRowLock);
+    assertThat(locked).isEqualTo(THREADS * WRITES_PER_THREAD);
+    assertThat(resultVersion()).isEqualTo(locked);
+
+    int optimistic = runConcurrently(THREADS * WRITES_PER_THREAD, this::recordOptimistically);
+    assertThat(optimistic).isEqualTo(THREADS * WRITES_PER_THREAD);
+    assertThat(resultVersion()).isEqualTo(locked + optimistic);
+  }
+
+  // Throughput of both approaches after a warm-up round each, over rounds that alternate which one goes
+  // first, compared by median so one slow round (a checkpoint, a GC pause) cannot decide it:
+  // mvn verify -Pperf
+  @Test
+  @Tag("perf")
+  @DisplayName("Compare-and-set records more results per second than a row lock held across the checks")
+  void recordResult_optimisticFasterThanRowLock() throws Exception {
+    measure(this::recordWithRowLock);
+    measure(this::recordOptimistically);
+
+    double[] lockRates = new double[ROUNDS];
+    double[] optimisticRates = new double[ROUNDS];
+    for (int round = 0; round < ROUNDS; round++) {
+      if (round % 2 == 0) {
+        lockRates[round] = measure(this::recordWithRowLock);
+        optimisticRates[round] = measure(this::recordOptimistically);
+      } else {
+        optimisticRates[round] = measure(this::recordOptimistically);
+        lockRates[round] = measure(this::recordWithRowLock);
+      }
+    }
+
+    Arrays.sort(lockRates);
+    Arrays.sort(optimisticRates);
+    log.info("Results recorded per second over {} rounds: row lock median {} (min {}, max {}), "
+            + "optimistic median {} (min {}, max {})", ROUNDS,
+        Math.round(lockRates[ROUNDS / 2]), Math.round(lockRates[0]), Math.round(lockRates[ROUNDS - 1]),
+        Math.round(optimisticRates[ROUNDS / 2]), Math.round(optimisticRates[0]),
+        Math.round(optimisticRates[ROUNDS - 1]));
+    assertThat(optimisticRates[ROUNDS / 2]).isGreaterThan(lockRates[ROUNDS / 2]);
+  }
+
+  // Writes per second of one round; every write has to be applied
+  private double measure(Callable<Integer> write) throws Exception {
+    long start = System.nanoTime();
+    int applied = runConcurrently(THREADS * WRITES_PER_THREAD, write);
+    long nanos = System.nanoTime() - start;
+    assertThat(applied).isEqualTo(THREADS * WRITES_PER_THREAD);
+    return applied / (nanos / 1e9);
+  }
+
+  // The lock is held from the read until the commit, so the checks of all writers run one at a time
+  private int recordWithRowLock() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    return transaction.execute(status -> {
+      int version = jdbcTemplate.queryForObject(
+          "SELECT result_version FROM matches WHERE tournament_id = ? AND match_id = ? FOR UPDATE",
+          Integer.class, tournamentId, matchId);
+      check();
+      return jdbcTemplate.update("""
+              UPDATE matches SET home_score = ?, away_score = 0, status = 'Completed',
+                  result_version = result_version + 1
+              WHERE tournament_id = ? AND match_id = ? AND result_version = ?
+              """,
+          scoreOf(Thread.currentThread()), tournamentId, matchId, version);
+    });
+  }
+
+  // As MatchResultService does for a request without expectedVersion: the checks run unlocked and in
+  // parallel, and a lost race only re-reads the version
+  private int recordOptimistically() {
+    VersionedMatchRow match = matchRepository.findWithResultVersion(matchId).orElseThrow();
+    check();
+    while (matchRepository.recordResult(matchId, tournamentId, scoreOf(Thread.currentThread()), 0, adminId,
+        match.resultVersion()) == 0) {
+      match = matchRepository.findWithResultVersion(matchId).orElseThrow();
+    }
+    return 1;
+  }
+
+  private int runConcurrently(int writes, Callable<Integer> write) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < writes; i++) {
+      results.add(admins.submit(() -> {
+        start.await();
+        return write.call();
+      }));
+    }
+    start.countDown();
+    AtomicInteger applied = new AtomicInteger();
+    for (Future<Integer> result : results) {
+      applied.addAndGet(result.get(60, TimeUnit.SECONDS));
+    }
+    return applied.get();
+  }
+
+  // Stands in for the tournament, user and cancellation checks of a request
+  private static void check() {
+    try {
+      Thread.sleep(CHECK_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static int scoreOf(Thread thread) {
+    return (int) (thread.getId() % 10);
+  }
+
+  private int resultVersion() {
+    return jdbcTemplate.queryForObject("SELECT result_version FROM matches WHERE match_id = ?", Integer.class,
+        matchId);
+  }
+}
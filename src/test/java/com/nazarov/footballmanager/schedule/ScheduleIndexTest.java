@@ -0,0 +1,91 @@
+package com.nazarov.footballmanager.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto.Type;
+import com.nazarov.footballmanager.schedule.ScheduleIndex.Fixture;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ScheduleIndexTest {
+
+  private static final Instant NOON = Instant.parse("2025-05-10T12:00:00Z");
+
+  private ScheduleIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new ScheduleIndex(Duration.ofHours(2));
+    index.put(fixture(1, 10, 20, NOON, "Central Park"));
+    index.put(fixture(2, 30, 40, NOON.plus(Duration.ofHours(3)), "Riverside"));
+  }
+
+  private static Fixture fixture(int matchId, int home, int away, Instant kickoff, String location) {
+    return new Fixture(matchId, 1, home, away, kickoff, location, MatchStatus.SCHEDULED);
+  }
+
+  @Test
+  @DisplayName("Reports a team playing twice within one match window")
+  void conflicts_team() {
+    List<ScheduleConflictDto> conflicts =
+        index.conflicts(fixture(3, 20, 50, NOON.plus(Duration.ofMinutes(90)), "Elsewhere"), Set.of());
+
+    assertThat(conflicts).singleElement().satisfies(conflict -> {
+      assertThat(conflict.getType()).isEqualTo(Type.TEAM);
+      assertThat(conflict.getTeamId()).isEqualTo(20);
+      assertThat(conflict.getConflictingMatchId()).isEqualTo(1);
+    });
+  }
+
+  @Test
+  @DisplayName("Reports a double-booked venue regardless of case and spacing")
+  void conflicts_venue() {
+    List<ScheduleConflictDto> conflicts =
+        index.conflicts(fixture(3, 50, 60, NOON.minus(Duration.ofMinutes(30)), " central park"), Set.of());
+
+    assertThat(conflicts).extracting(ScheduleConflictDto::getType).containsExactly(Type.VENUE);
+  }
+
+  @Test
+  @DisplayName("Back-to-back matches, ignored matches and removed matches do not conflict")
+  void conflicts_none() {
+    assertThat(index.conflicts(fixture(3, 10, 30, NOON.plus(Duration.ofHours(2)), "Central Park"), Set.of()))
+        .extracting(ScheduleConflictDto::getConflictingMatchId)
+        .containsExactly(2);
+    assertThat(index.conflicts(fixture(3, 10, 30, NOON.plus(Duration.ofHours(2)), "Central Park"), Set.of(2)))
+        .isEmpty();
+
+    index.remove(1);
+    assertThat(index.conflicts(fixture(3, 10, 20, NOON, "Central Park"), Set.of())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Dropping a detached tournament frees the slots of its fixtures only")
+  void removeTournament_freesItsSlots() {
+    index.put(new Fixture(3, 2, 50, 60, NOON, "Riverside", MatchStatus.COMPLETED));
+
+    assertThat(index.removeTournament(1)).isEqualTo(2);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.conflicts(fixture(4, 10, 20, NOON, "Central Park"), Set.of())).isEmpty();
+    assertThat(index.conflicts(fixture(4, 50, 70, NOON, "Elsewhere"), Set.of()))
+        .extracting(ScheduleConflictDto::getConflictingMatchId).containsExactly(3);
+  }
+
+  @Test
+  @DisplayName("Moving a fixture re-indexes it under its new slot")
+  void put_replacesExistingSlot() {
+    index.put(fixture(1, 10, 20, NOON.plus(Duration.ofDays(1)), "Central Park"));
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.conflicts(fixture(3, 10, 20, NOON, "Central Park"), Set.of())).isEmpty();
+    assertThat(index.conflicts(fixture(3, 10, 20, NOON.plus(Duration.ofDays(1)), null), Set.of())).hasSize(2);
+  }
+}
@@ -0,0 +1,164 @@
+package com.nazarov.footballmanager.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.dto.match.ScheduleConflictDto;
+import com.nazarov.footballmanager.dto.match.ScheduleEditDto;
+import com.nazarov.footballmanager.dto.match.ScheduleValidationResultDto;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.exception.ScheduleConflictException;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.ScheduleRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceTest {
+
+  private static final Instant NOON = Instant.parse("2025-05-10T12:00:00Z");
+  private static final Instant EVENING = Instant.parse("2025-05-10T18:00:00Z");
+
+  @Mock
+  private ScheduleRepository scheduleRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+  @Mock
+  private LeagueTeamRepository leagueTeamRepository;
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private OutboxPublisher outboxPublisher;
+  @Mock
+  private InvalidationBus invalidationBus;
+
+  private ScheduleService scheduleService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Runs callbacks directly, without a transaction manager
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class)) {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+    scheduleService = new ScheduleService(scheduleRepository, leagueRepository, leagueTeamRepository,
+        tournamentRepository, transactionTemplate, outboxPublisher, invalidationBus, Duration.ofHours(2));
+
+    // Match 1: team 10 vs 20 at noon in the park, match 2: team 10 vs 30 in the evening at the stadium
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt("match_id")).thenReturn(1, 2);
+    when(rs.getInt("tournament_id")).thenReturn(1);
+    when(rs.getInt("home_team_id")).thenReturn(10, 10);
+    when(rs.getInt("away_team_id")).thenReturn(20, 30);
+    when(rs.getTimestamp("match_date_time")).thenReturn(Timestamp.from(NOON), Timestamp.from(EVENING));
+    when(rs.getString("location")).thenReturn("Park", "Stadium");
+    when(rs.getString("status")).thenReturn("Scheduled");
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(0);
+      handler.processRow(rs);
+      handler.processRow(rs);
+      return null;
+    }).when(scheduleRepository).streamOccupiedSlots(any());
+    scheduleService.reload();
+  }
+
+  private static ScheduleEditDto move(int matchId, Instant kickoff, String location) {
+    return ScheduleEditDto.builder().matchId(matchId).matchDateTime(kickoff).location(location).build();
+  }
+
+  @Test
+  @DisplayName("Swapping two fixtures is valid because moved fixtures are not checked against their old slots")
+  void reschedule_swap() {
+    when(scheduleRepository.updateSlot(anyInt(), anyInt(), any(), any())).thenReturn(1);
+
+    ScheduleValidationResultDto result = scheduleService.reschedule(List.of(
+        move(1, EVENING, "Stadium"), move(2, NOON, "Park")));
+
+    assertThat(result.isValid()).isTrue();
+    verify(scheduleRepository).updateSlot(1, 1, EVENING, "Stadium");
+    verify(scheduleRepository).updateSlot(2, 1, NOON, "Park");
+    assertThat(scheduleService.validate(List.of(move(1, EVENING, null))).isValid()).isTrue();
+  }
+
+  @Test
+  @DisplayName("A fixture that is gone from the database fails the reschedule instead of being reported as moved")
+  void reschedule_matchGone() {
+    when(scheduleRepository.updateSlot(1, 1, EVENING.plusSeconds(7200), "Park")).thenReturn(0);
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> scheduleService.reschedule(List.of(move(1, EVENING.plusSeconds(7200), "Park"))));
+
+    verify(outboxPublisher, never()).publish(any(), any(), any());
+    assertThat(scheduleService.validate(List.of(move(2, NOON, "Park"))).isValid()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Conflicts between moved fixtures are reported and nothing is written")
+  void reschedule_conflictInsideBatch() {
+    List<ScheduleEditDto> edits = List.of(move(1, EVENING.plusSeconds(3600), "Park"), move(2, EVENING, "Park"));
+
+    ScheduleValidationResultDto report = scheduleService.validate(edits);
+    assertThat(report.isValid()).isFalse();
+    assertThat(report.getConflicts()).extracting(ScheduleConflictDto::getType)
+        .containsExactlyInAnyOrder(ScheduleConflictDto.Type.TEAM, ScheduleConflictDto.Type.VENUE);
+
+    assertThrows(ScheduleConflictException.class, () -> scheduleService.reschedule(edits));
+    verify(scheduleRepository, never()).updateSlot(anyInt(), anyInt(), any(), any());
+  }
+
+  @Test
+  @DisplayName("A fixture another instance added is caught by the database check and indexed here")
+  void reschedule_conflictOnlyInDatabase() throws Exception {
+    // Match 3 (team 20 vs 40, late evening) was created elsewhere; this index has never seen it
+    Instant late = EVENING.plus(Duration.ofHours(3));
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt("match_id")).thenReturn(3);
+    when(rs.getInt("tournament_id")).thenReturn(1);
+    when(rs.getInt("home_team_id")).thenReturn(20);
+    when(rs.getInt("away_team_id")).thenReturn(40);
+    when(rs.getTimestamp("match_date_time")).thenReturn(Timestamp.from(late.plus(Duration.ofMinutes(30))));
+    when(rs.getString("location")).thenReturn("Arena");
+    when(rs.getString("status")).thenReturn("Scheduled");
+    doAnswer(invocation -> {
+      invocation.getArgument(5, RowCallbackHandler.class).processRow(rs);
+      return null;
+    }).when(scheduleRepository).streamOccupiedSlotsNear(eq(10), eq(20), eq("park"), any(), any(), any());
+    List<ScheduleEditDto> edits = List.of(move(1, late, "Park"));
+    assertThat(scheduleService.validate(edits).isValid()).isTrue();
+
+    ScheduleConflictException conflict = assertThrows(ScheduleConflictException.class,
+        () -> scheduleService.reschedule(edits));
+
+    verify(scheduleRepository).lockSchedule();
+    verify(scheduleRepository, never()).updateSlot(anyInt(), anyInt(), any(), any());
+    assertThat(conflict.getConflicts()).extracting(ScheduleConflictDto::getConflictingMatchId).containsExactly(3);
+    assertThat(scheduleService.validate(edits).isValid()).isFalse();
+  }
+}
@@ -0,0 +1,90 @@
+package com.nazarov.footballmanager.security;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheInvalidatorTest {
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+  @Mock
+  private UserDetailsServiceImpl userDetailsService;
+  @Mock
+  private UserService userService;
+  @Mock
+  private EntityPersister persister;
+
+  private UserCacheInvalidator userCacheInvalidator;
+
+  @BeforeEach
+  void setUp() {
+    userCacheInvalidator = new UserCacheInvalidator(entityManagerFactory, userDetailsService, userService);
+  }
+
+  private static User user(String email) {
+    return User.builder().userId(1).email(email).build();
+  }
+
+  @Test
+  @DisplayName("Updating a user evicts the cached principal and profile")
+  void update_EvictsUser() {
+    when(persister.getPropertyIndex("email")).thenReturn(0);
+    PostUpdateEvent event = new PostUpdateEvent(user("a@example.com"), 1, new Object[] {"a@example.com"},
+        new Object[] {"a@example.com"}, new int[0], persister, null);
+
+    userCacheInvalidator.onPostUpdate(event);
+
+    verify(userDetailsService).evictPrincipal("a@example.com");
+    verify(userService).evictProfile("a@example.com");
+  }
+
+  @Test
+  @DisplayName("Changing the email also evicts the principal cached under the old one")
+  void emailChange_EvictsOldEmail() {
+    when(persister.getPropertyIndex("email")).thenReturn(0);
+    PostUpdateEvent event = new PostUpdateEvent(user("new@example.com"), 1, new Object[] {"new@example.com"},
+        new Object[] {"old@example.com"}, new int[] {0}, persister, null);
+
+    userCacheInvalidator.onPostUpdate(event);
+
+    verify(userDetailsService).evictPrincipal("new@example.com");
+    verify(userDetailsService).evictPrincipal("old@example.com");
+  }
+
+  @Test
+  @DisplayName("Deleting a user evicts the cached principal")
+  void delete_EvictsUser() {
+    userCacheInvalidator.onPostDelete(new PostDeleteEvent(user("a@example.com"), 1, new Object[0], persister, null));
+
+    verify(userDetailsService).evictPrincipal("a@example.com");
+    verify(userService).evictProfile("a@example.com");
+  }
+
+  @Test
+  @DisplayName("A role change arrives as a collection update of the user and evicts it")
+  void roleChange_EvictsOwner() {
+    PostCollectionUpdateEvent event = mock(PostCollectionUpdateEvent.class);
+    when(event.getAffectedOwnerOrNull()).thenReturn(user("a@example.com"));
+
+    userCacheInvalidator.onPostUpdateCollection(event);
+
+    verify(userDetailsService).evictPrincipal("a@example.com");
+    verify(userService).evictProfile("a@example.com");
+  }
+}
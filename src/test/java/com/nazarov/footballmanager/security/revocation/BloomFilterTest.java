@@ -0,0 +1,29 @@
+package com.nazarov.footballmanager.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("BloomFilter should never miss an added key and stay near its false-positive rate")
+  void mightContain_noFalseNegatives() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("jti:" + i);
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(filter.mightContain("jti:" + i)).isTrue();
+    }
+    int falsePositives = 0;
+    for (int i = 10_000; i < 110_000; i++) {
+      if (filter.mightContain("jti:" + i)) {
+        falsePositives++;
+      }
+    }
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+  }
+}
@@ -0,0 +1,112 @@
+package com.nazarov.footballmanager.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.repository.TokenRevocationRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+  private static final Instant ISSUED = Instant.parse("2025-05-10T12:00:00Z");
+
+  @Mock
+  private TokenRevocationRepository tokenRevocationRepository;
+
+  private TokenRevocationService tokenRevocationService;
+
+  @BeforeEach
+  void setUp() {
+    // Evicts locally only, there is no database to broadcast through
+    InvalidationBus invalidationBus = new InvalidationBus(new DataSourceProperties(), false, "fm_cache_invalidation",
+        Duration.ofMillis(50), Duration.ofSeconds(30));
+    tokenRevocationService = new TokenRevocationService(tokenRevocationRepository, invalidationBus, 3600);
+  }
+
+  @Test
+  @DisplayName("isRevoked should ask the table for every token until the filter is loaded")
+  void isRevoked_beforeLoad() {
+    when(tokenRevocationRepository.findRevokedAt(anyString())).thenReturn(Optional.empty());
+
+    assertThat(tokenRevocationService.isRevoked("t1", "a@b.c", ISSUED)).isFalse();
+
+    verify(tokenRevocationRepository).findRevokedAt("jti:t1");
+    verify(tokenRevocationRepository).findRevokedAt("sub:a@b.c");
+  }
+
+  @Test
+  @DisplayName("isRevoked should answer unknown tokens from the filter and check positives in the table")
+  void isRevoked_filterFastPath() {
+    loadFilterWith("jti:revoked");
+    when(tokenRevocationRepository.findRevokedAt("jti:revoked")).thenReturn(Optional.of(ISSUED));
+
+    assertThat(tokenRevocationService.isRevoked("fresh", "a@b.c", ISSUED)).isFalse();
+    assertThat(tokenRevocationService.isRevoked("revoked", "a@b.c", ISSUED)).isTrue();
+
+    verify(tokenRevocationRepository, never()).findRevokedAt("jti:fresh");
+    verify(tokenRevocationRepository, never()).findRevokedAt("sub:a@b.c");
+  }
+
+  @Test
+  @DisplayName("revokeAllTokensOf should reject tokens issued up to the revocation, and only those")
+  void revokeAllTokensOf_cutoff() {
+    loadFilterWith();
+    tokenRevocationService.revokeAllTokensOf("a@b.c");
+    verify(tokenRevocationRepository).revoke(anyString(), any(Instant.class));
+    when(tokenRevocationRepository.findRevokedAt(anyString())).thenAnswer(invocation ->
+        "sub:a@b.c".equals(invocation.getArgument(0)) ? Optional.of(ISSUED) : Optional.empty());
+
+    assertThat(tokenRevocationService.isRevoked("t1", "a@b.c", ISSUED)).isTrue();
+    assertThat(tokenRevocationService.isRevoked("t2", "a@b.c", ISSUED.plusSeconds(1))).isFalse();
+  }
+
+  @Test
+  @DisplayName("pollRevocations should add keys whose notification never arrived, reading on from the oldest open transaction")
+  void pollRevocations_catchesMissedKeys() {
+    Instant loadedAt = Instant.parse("2025-05-10T12:00:00Z");
+    Instant polledAt = Instant.parse("2025-05-10T12:00:05Z");
+    when(tokenRevocationRepository.findOldestTransactionStart()).thenReturn(loadedAt, polledAt);
+    loadFilterWith();
+    doAnswer(invocation -> {
+      invocation.<Consumer<String>>getArgument(1).accept("jti:missed");
+      return null;
+    }).when(tokenRevocationRepository).forEachKeyRevokedSince(eq(loadedAt), any());
+    when(tokenRevocationRepository.findRevokedAt("jti:missed")).thenReturn(Optional.of(ISSUED));
+
+    tokenRevocationService.pollRevocations();
+    tokenRevocationService.pollRevocations();
+
+    assertThat(tokenRevocationService.isRevoked("missed", "a@b.c", ISSUED)).isTrue();
+    verify(tokenRevocationRepository).forEachKeyRevokedSince(eq(polledAt), any());
+  }
+
+  private void loadFilterWith(String... keys) {
+    when(tokenRevocationRepository.countActive()).thenReturn(keys.length);
+    doAnswer(invocation -> {
+      Consumer<String> consumer = invocation.getArgument(0);
+      for (String key : keys) {
+        consumer.accept(key);
+      }
+      return null;
+    }).when(tokenRevocationRepository).forEachActiveKey(any());
+    tokenRevocationService.rebuild();
+  }
+}
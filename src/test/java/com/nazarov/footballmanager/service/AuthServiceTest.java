@@ -16,11 +16,15 @@ import com.nazarov.footballmanager.domain.User;
 import com.nazarov.footballmanager.dto.user.JwtAuthenticationResponseDto;
 import com.nazarov.footballmanager.dto.user.LoginRequestDto;
 import com.nazarov.footballmanager.dto.user.UserRegistrationDto;
+import com.nazarov.footballmanager.event.UserRegisteredEvent;
 import com.nazarov.footballmanager.exception.BadRequestException;
 import com.nazarov.footballmanager.exception.ResourceNotFoundException;
-import com.nazarov.footballmanager.repository.RoleRepository;
+import com.nazarov.footballmanager.outbox.OutboxEvents;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
 import com.nazarov.footballmanager.repository.UserRepository;
+import com.nazarov.footballmanager.security.UserDetailsServiceImpl;
 import com.nazarov.footballmanager.security.jwt.JwtTokenProvider;
+import com.nazarov.footballmanager.security.revocation.TokenRevocationService;
 import java.util.Collections;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,11 +50,17 @@ class AuthServiceTest {
   @Mock
   private UserRepository userRepository;
   @Mock
-  private RoleRepository roleRepository;
+  private RoleService roleService;
   @Mock
   private PasswordEncoder passwordEncoder;
   @Mock
   private JwtTokenProvider tokenProvider;
+  @Mock
+  private OutboxPublisher outboxPublisher;
+  @Mock
+  private TokenRevocationService tokenRevocationService;
+  @Mock
+  private UserDetailsServiceImpl userDetailsService;
 
   @InjectMocks
   private AuthService authService;
@@ -98,7 +108,7 @@ class AuthServiceTest {
     // Arrange: Mock dependencies
     when(userRepository.existsByEmail(registrationDto.getEmail())).thenReturn(false);
     when(passwordEncoder.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
-    when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
+    when(roleService.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
     // Mock the save operation to return the user with an ID
     when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
       User userToSave = invocation.getArgument(0);
@@ -119,8 +129,9 @@ class AuthServiceTest {
     // Verify mock interactions
     verify(userRepository).existsByEmail(registrationDto.getEmail());
     verify(passwordEncoder).encode(registrationDto.getPassword());
-    verify(roleRepository).findByName("ROLE_USER");
+    verify(roleService).findByName("ROLE_USER");
     verify(userRepository).save(userArgumentCaptor.capture());
+    verify(outboxPublisher).publish(OutboxEvents.USER, 1, new UserRegisteredEvent(1));
   }
 
   @Test
@@ -139,7 +150,7 @@ class AuthServiceTest {
     // Verify no further interactions happened
     verify(userRepository).existsByEmail(registrationDto.getEmail());
     verify(passwordEncoder, never()).encode(anyString());
-    verify(roleRepository, never()).findByName(anyString());
+    verify(roleService, never()).findByName(anyString());
     verify(userRepository, never()).save(any(User.class));
   }
 
@@ -148,7 +159,7 @@ class AuthServiceTest {
   void registerUser_RoleNotFound() {
     // Arrange
     when(userRepository.existsByEmail(registrationDto.getEmail())).thenReturn(false);
-    when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.empty());
+    when(roleService.findByName("ROLE_USER")).thenReturn(Optional.empty());
 
     // Act & Assert
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -159,7 +170,7 @@ class AuthServiceTest {
 
     // Verify interactions
     verify(userRepository).existsByEmail(registrationDto.getEmail());
-    verify(roleRepository).findByName("ROLE_USER");
+    verify(roleService).findByName("ROLE_USER");
     verify(passwordEncoder, never()).encode(anyString()); // Should not encode if role not found
     verify(userRepository, never()).save(any(User.class));
   }
@@ -0,0 +1,31 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EloCalculatorTest {
+
+  private final EloCalculator calculator = new EloCalculator(20, 0);
+
+  @Test
+  @DisplayName("Equal teams: a win is worth half the K factor, a draw nothing")
+  void homeDelta_equalTeams() {
+    assertEquals(10.0, calculator.homeDelta(1500, 1500, 1, 0), 1e-9);
+    assertEquals(0.0, calculator.homeDelta(1500, 1500, 2, 2), 1e-9);
+    assertEquals(-10.0, calculator.homeDelta(1500, 1500, 0, 1), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Upsets and big wins move ratings more, home advantage lowers the home expectation")
+  void homeDelta_marginAndAdvantage() {
+    assertThat(calculator.homeDelta(1400, 1600, 1, 0)).isGreaterThan(calculator.homeDelta(1600, 1400, 1, 0));
+    assertEquals(15.0, calculator.homeDelta(1500, 1500, 2, 0), 1e-9);
+    assertEquals(17.5, calculator.homeDelta(1500, 1500, 3, 0), 1e-9);
+    assertThat(new EloCalculator(20, 60).homeDelta(1500, 1500, 1, 0))
+        .isCloseTo(8.29, Offset.offset(0.01));
+  }
+}
@@ -0,0 +1,158 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.JoinRequestStatus;
+import com.nazarov.footballmanager.domain.Role;
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.dto.joinrequest.ApprovalOutcome;
+import com.nazarov.footballmanager.dto.joinrequest.BatchApprovalResultDto;
+import com.nazarov.footballmanager.dto.joinrequest.JoinRequestOutcomeDto;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.JoinRequestBatchRepository;
+import com.nazarov.footballmanager.repository.JoinRequestBatchRepository.JoinRequestRow;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JoinRequestApprovalServiceTest {
+
+  @Mock
+  private JoinRequestBatchRepository joinRequestBatchRepository;
+  @Mock
+  private UserService userService;
+  @Mock
+  private OutboxPublisher outboxPublisher;
+
+  @InjectMocks
+  private JoinRequestApprovalService joinRequestApprovalService;
+
+  private User manager;
+
+  @BeforeEach
+  void setUp() {
+    manager = User.builder()
+        .userId(100)
+        .email("manager@example.com")
+        .roles(Collections.singleton(new Role(2, "ROLE_TEAM_MANAGER")))
+        .build();
+    when(userService.getCurrentUserEntity()).thenReturn(manager);
+  }
+
+  @Test
+  @DisplayName("approveRequests should approve the earliest request per player and reject the others")
+  void approveRequests_EarliestRequestWins() {
+    // Arrange: player 1 asked to join teams 10 and 11, player 2 asked to join team 10
+    List<JoinRequestRow> rows = List.of(
+        new JoinRequestRow(1, 1, 10, JoinRequestStatus.PENDING),
+        new JoinRequestRow(2, 1, 11, JoinRequestStatus.PENDING),
+        new JoinRequestRow(3, 2, 10, JoinRequestStatus.PENDING));
+    when(joinRequestBatchRepository.lockRequestsOfPlayers(anyCollection())).thenReturn(rows);
+    when(joinRequestBatchRepository.findManagedTeamIds(100)).thenReturn(Set.of(10, 11));
+    when(joinRequestBatchRepository.findAssignedUserIds(anyCollection())).thenReturn(Set.of());
+    when(joinRequestBatchRepository.insertAssignments(Map.of(1, 10, 2, 10))).thenReturn(Set.of(1, 2));
+
+    // Act
+    BatchApprovalResultDto result = joinRequestApprovalService.approveRequests(List.of(2, 3, 1));
+
+    // Assert
+    assertEquals(2, result.getApprovedCount());
+    assertThat(outcomesById(result)).containsExactlyInAnyOrderEntriesOf(Map.of(
+        1, ApprovalOutcome.APPROVED,
+        2, ApprovalOutcome.SUPERSEDED,
+        3, ApprovalOutcome.APPROVED));
+    assertThat(result.getAutoRejectedRequestIds()).containsExactly(2);
+    verify(joinRequestBatchRepository).updateStatus(Set.of(1, 3), JoinRequestStatus.APPROVED);
+    verify(joinRequestBatchRepository).updateStatus(Set.of(2), JoinRequestStatus.REJECTED);
+  }
+
+  @Test
+  @DisplayName("approveRequests should report missing, foreign, processed and assigned requests without writing")
+  void approveRequests_ReportsSkippedRequests() {
+    // Arrange
+    List<JoinRequestRow> rows = List.of(
+        new JoinRequestRow(1, 1, 99, JoinRequestStatus.PENDING),
+        new JoinRequestRow(2, 2, 10, JoinRequestStatus.REJECTED),
+        new JoinRequestRow(3, 3, 10, JoinRequestStatus.PENDING));
+    when(joinRequestBatchRepository.lockRequestsOfPlayers(anyCollection())).thenReturn(rows);
+    when(joinRequestBatchRepository.findManagedTeamIds(100)).thenReturn(Set.of(10));
+    when(joinRequestBatchRepository.findAssignedUserIds(anyCollection())).thenReturn(Set.of(3));
+
+    // Act
+    BatchApprovalResultDto result = joinRequestApprovalService.approveRequests(List.of(1, 2, 3, 4));
+
+    // Assert
+    assertEquals(0, result.getApprovedCount());
+    assertThat(outcomesById(result)).containsExactlyInAnyOrderEntriesOf(Map.of(
+        1, ApprovalOutcome.FORBIDDEN,
+        2, ApprovalOutcome.NOT_PENDING,
+        3, ApprovalOutcome.ALREADY_ASSIGNED,
+        4, ApprovalOutcome.NOT_FOUND));
+    verify(joinRequestBatchRepository, never()).insertAssignments(anyMap());
+    verify(joinRequestBatchRepository, never()).updateStatus(anyCollection(), any());
+  }
+
+  @Test
+  @DisplayName("approveRequests should keep older answered requests of the same player and team")
+  void approveRequests_KeepsAnsweredRequests() {
+    // Arrange: player 1 was approved for team 10 before, left, and asked again; an old rejection for team 11 exists
+    List<JoinRequestRow> rows = List.of(
+        new JoinRequestRow(1, 1, 10, JoinRequestStatus.APPROVED),
+        new JoinRequestRow(2, 1, 11, JoinRequestStatus.REJECTED),
+        new JoinRequestRow(5, 1, 10, JoinRequestStatus.PENDING),
+        new JoinRequestRow(6, 1, 11, JoinRequestStatus.PENDING));
+    when(joinRequestBatchRepository.lockRequestsOfPlayers(anyCollection())).thenReturn(rows);
+    when(joinRequestBatchRepository.findManagedTeamIds(100)).thenReturn(Set.of(10));
+    when(joinRequestBatchRepository.findAssignedUserIds(anyCollection())).thenReturn(Set.of());
+    when(joinRequestBatchRepository.insertAssignments(Map.of(1, 10))).thenReturn(Set.of(1));
+
+    // Act
+    BatchApprovalResultDto result = joinRequestApprovalService.approveRequests(List.of(5));
+
+    // Assert
+    assertEquals(1, result.getApprovedCount());
+    verify(joinRequestBatchRepository).updateStatus(Set.of(5), JoinRequestStatus.APPROVED);
+    verify(joinRequestBatchRepository).updateStatus(Set.of(6), JoinRequestStatus.REJECTED);
+  }
+
+  @Test
+  @DisplayName("approveRequests should report players assigned concurrently as already assigned")
+  void approveRequests_ConcurrentAssignment() {
+    // Arrange
+    List<JoinRequestRow> rows = List.of(new JoinRequestRow(1, 1, 10, JoinRequestStatus.PENDING));
+    when(joinRequestBatchRepository.lockRequestsOfPlayers(anyCollection())).thenReturn(rows);
+    when(joinRequestBatchRepository.findManagedTeamIds(100)).thenReturn(Set.of(10));
+    when(joinRequestBatchRepository.findAssignedUserIds(anyCollection())).thenReturn(Set.of());
+    when(joinRequestBatchRepository.insertAssignments(Map.of(1, 10))).thenReturn(Set.of());
+
+    // Act
+    BatchApprovalResultDto result = joinRequestApprovalService.approveRequests(List.of(1));
+
+    // Assert
+    assertEquals(0, result.getApprovedCount());
+    assertThat(outcomesById(result)).containsEntry(1, ApprovalOutcome.ALREADY_ASSIGNED);
+    verify(joinRequestBatchRepository).updateStatus(Set.of(), JoinRequestStatus.APPROVED);
+  }
+
+  private Map<Integer, ApprovalOutcome> outcomesById(BatchApprovalResultDto result) {
+    return result.getOutcomes().stream()
+        .collect(Collectors.toMap(JoinRequestOutcomeDto::getRequestId, JoinRequestOutcomeDto::getOutcome));
+  }
+}
@@ -0,0 +1,92 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.cache.SingleFlights;
+import com.nazarov.footballmanager.domain.MatchStatType;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.LiveEventAckDto;
+import com.nazarov.footballmanager.dto.match.LiveEventRequestDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.ingest.LiveEvent;
+import com.nazarov.footballmanager.ingest.LiveEventIngestor;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LiveEventServiceTest {
+
+  @Mock
+  private MatchRepository matchRepository;
+  @Mock
+  private TeamRepository teamRepository;
+  @Mock
+  private TournamentQueryService tournamentQueryService;
+  @Mock
+  private LiveEventIngestor liveEventIngestor;
+
+  private LiveEventService liveEventService;
+
+  @BeforeEach
+  void setUp() {
+    liveEventService = new LiveEventService(matchRepository, teamRepository, tournamentQueryService,
+        liveEventIngestor, new SingleFlights(new SimpleMeterRegistry(), Duration.ZERO), Duration.ZERO);
+    when(matchRepository.findById(7)).thenReturn(Optional.of(new MatchRow(7, 1, 10, 100, 200,
+        Instant.parse("2025-05-01T18:00:00Z"), "Main Stadium", MatchStatus.SCHEDULED, null, null)));
+    when(tournamentQueryService.getActiveTournaments())
+        .thenReturn(List.of(TournamentDto.builder().tournamentId(1).build()));
+    when(teamRepository.findPlayerIds(100)).thenReturn(Set.of(5, 6));
+  }
+
+  private static LiveEventRequestDto goal(int playerId) {
+    return LiveEventRequestDto.builder()
+        .eventId(UUID.randomUUID())
+        .playerId(playerId)
+        .teamId(100)
+        .statType(MatchStatType.GOAL)
+        .minute(12)
+        .build();
+  }
+
+  @Test
+  @DisplayName("An event of a player on the team is acknowledged once it is in the log")
+  void record_playerOnTeam_appended() {
+    LiveEventRequestDto request = goal(5);
+    when(liveEventIngestor.append(any())).thenAnswer(invocation -> invocation.<LiveEvent>getArgument(0).withSequence(1));
+
+    LiveEventAckDto ack = liveEventService.record(7, request);
+
+    assertEquals(request.getEventId(), ack.getEventId());
+    assertEquals(7, ack.getMatchId());
+  }
+
+  @Test
+  @DisplayName("An event of a player who is not on the team is refused before it is acknowledged")
+  void record_playerNotOnTeam_rejected() {
+    BadRequestException exception = assertThrows(BadRequestException.class,
+        () -> liveEventService.record(7, goal(9)));
+
+    assertEquals("Player 9 does not play for team 100.", exception.getMessage());
+    verify(liveEventIngestor, never()).append(any());
+  }
+}
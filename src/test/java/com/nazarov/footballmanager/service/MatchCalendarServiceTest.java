@@ -0,0 +1,119 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.match.CalendarPageDto;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.CalendarQuery;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MatchCalendarServiceTest {
+
+  private static final Instant FROM = Instant.parse("2026-08-01T00:00:00Z");
+  private static final Instant TO = Instant.parse("2026-09-01T00:00:00Z");
+
+  @Mock
+  private MatchRepository matchRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+
+  @InjectMocks
+  private MatchCalendarService matchCalendarService;
+
+  private static MatchRow match(int matchId, Instant kickOff) {
+    return new MatchRow(matchId, 4, 7, 10, 11, kickOff, "Arena", MatchStatus.COMPLETED, 2, 1);
+  }
+
+  @Test
+  @DisplayName("A league query is scoped to the league's tournament partition and pages by keyset")
+  void findMatches_LeaguePagesThroughCursor() {
+    when(leagueRepository.findById(7)).thenReturn(Optional.of(new LeagueRow(7, 4, "Premier", 1)));
+    Instant kickOff = Instant.parse("2026-08-08T15:00:00Z");
+    when(matchRepository.findCalendar(any())).thenReturn(List.of(match(1, FROM), match(2, kickOff)));
+
+    CalendarPageDto page = matchCalendarService.findMatches(7, null, List.of(MatchStatus.COMPLETED), FROM, TO,
+        null, 2);
+
+    ArgumentCaptor<CalendarQuery> query = ArgumentCaptor.forClass(CalendarQuery.class);
+    verify(matchRepository).findCalendar(query.capture());
+    assertEquals(new CalendarQuery(4, 7, null, EnumSet.of(MatchStatus.COMPLETED), FROM, TO, null, null, 2),
+        query.getValue());
+    assertEquals(2, page.getMatches().size());
+    assertEquals(2, page.getMatches().get(0).getHomeScore());
+    assertNotNull(page.getNextCursor());
+
+    // The cursor resumes right after the last match of the page
+    when(matchRepository.findCalendar(any())).thenReturn(List.of());
+    CalendarPageDto next = matchCalendarService.findMatches(7, null, null, FROM, TO, page.getNextCursor(), 2);
+
+    verify(matchRepository, times(2)).findCalendar(query.capture());
+    assertEquals(kickOff, query.getValue().afterDateTime());
+    assertEquals(2, query.getValue().afterMatchId());
+    assertNull(query.getValue().statuses());
+    assertNull(next.getNextCursor());
+  }
+
+  @Test
+  @DisplayName("A short page has no next cursor and the limit is clamped")
+  void findMatches_TeamWithoutLeague() {
+    when(matchRepository.findCalendar(any())).thenReturn(List.of(match(1, FROM)));
+
+    CalendarPageDto page = matchCalendarService.findMatches(null, 10, null, FROM, TO, null, 10_000);
+
+    ArgumentCaptor<CalendarQuery> query = ArgumentCaptor.forClass(CalendarQuery.class);
+    verify(matchRepository).findCalendar(query.capture());
+    assertNull(query.getValue().tournamentId());
+    assertEquals(10, query.getValue().teamId());
+    assertEquals(MatchCalendarService.MAX_LIMIT, query.getValue().limit());
+    assertNull(page.getNextCursor());
+    verifyNoInteractions(leagueRepository);
+  }
+
+  @Test
+  @DisplayName("Empty, inverted or overlong windows and forged cursors are rejected")
+  void findMatches_InvalidRequests() {
+    assertThrows(BadRequestException.class,
+        () -> matchCalendarService.findMatches(null, null, null, TO, FROM, null, 10));
+    assertThrows(BadRequestException.class,
+        () -> matchCalendarService.findMatches(null, null, null, FROM, FROM, null, 10));
+    assertThrows(BadRequestException.class, () -> matchCalendarService.findMatches(null, null, null, FROM,
+        FROM.plus(MatchCalendarService.MAX_WINDOW).plusSeconds(1), null, 10));
+    assertThrows(BadRequestException.class,
+        () -> matchCalendarService.findMatches(null, null, null, FROM, TO, "not-a-cursor", 10));
+    verifyNoInteractions(matchRepository);
+  }
+
+  @Test
+  @DisplayName("An unknown league is reported as not found")
+  void findMatches_UnknownLeague() {
+    when(leagueRepository.findById(99)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> matchCalendarService.findMatches(99, null, null, FROM, TO, null, 10));
+  }
+}
@@ -0,0 +1,211 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.dto.match.MatchDto;
+import com.nazarov.footballmanager.dto.match.MatchResultRequestDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.ResultConflictException;
+import com.nazarov.footballmanager.outbox.OutboxPublisher;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.MatchRepository.VersionedMatchRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MatchResultServiceTest {
+
+  private static final int THREADS = 8;
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private UserService userService;
+  @Mock
+  private OutboxPublisher outboxPublisher;
+
+  private final List<MatchResultRecordedEvent> events = Collections.synchronizedList(new ArrayList<>());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExecutorService admins = Executors.newFixedThreadPool(THREADS);
+  private InMemoryMatches matches;
+  private MatchResultService matchResultService;
+
+  // The compare-and-set of the result_version update, without a database
+  private static final class InMemoryMatches extends MatchRepository {
+
+    private volatile VersionedMatchRow row;
+
+    InMemoryMatches(VersionedMatchRow row) {
+      super(null);
+      this.row = row;
+    }
+
+    @Override
+    public Optional<VersionedMatchRow> findWithResultVersion(int matchId) {
+      VersionedMatchRow read = row;
+      Thread.yield(); // Widens the window between read and write, as the checks in between do
+      return Optional.of(read);
+    }
+
+    @Override
+    public synchronized int recordResult(int matchId, int tournamentId, int homeScore, int awayScore,
+        int recordedByAdminId, int expectedVersion) {
+      if (row.resultVersion() != expectedVersion) {
+        return 0;
+      }
+      MatchRow match = row.match();
+      row = new VersionedMatchRow(new MatchRow(match.matchId(), match.tournamentId(), match.leagueId(),
+          match.homeTeamId(), match.awayTeamId(), match.matchDateTime(), match.location(), MatchStatus.COMPLETED,
+          homeScore, awayScore), expectedVersion + 1);
+      return 1;
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    when(tournamentRepository.findById(4)).thenReturn(Optional.of(
+        new TournamentRow(4, "Spring Cup", "2025", TournamentStatus.ACTIVE)));
+    User admin = new User();
+    admin.setUserId(1);
+    when(userService.getCurrentUserEntity()).thenReturn(admin);
+    matches = new InMemoryMatches(new VersionedMatchRow(scheduled(), 0));
+    matchResultService = new MatchResultService(matches, tournamentRepository, userService,
+        event -> events.add((MatchResultRecordedEvent) event),
+        outboxPublisher, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    admins.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Concurrent overwrites are all applied in turn and each publishes what it replaced")
+  void recordResult_concurrentOverwrites_noLostUpdates() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<MatchDto>> results = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      int homeScore = i;
+      results.add(admins.submit(() -> {
+        start.await();
+        return matchResultService.recordResult(10, request(homeScore, 0, null));
+      }));
+    }
+    start.countDown();
+    int applied = 0;
+    for (Future<MatchDto> result : results) {
+      try {
+        result.get(10, TimeUnit.SECONDS);
+        applied++;
+      } catch (ExecutionException ex) {
+        assertTrue(ex.getCause() instanceof ResultConflictException, ex.getCause().toString());
+      }
+    }
+
+    // Every update that was applied published exactly one event, and only the first is not a correction
+    assertEquals(applied, matches.row.resultVersion());
+    assertEquals(applied, events.size());
+    assertEquals(1, events.stream().filter(event -> !event.correction()).count());
+  }
+
+  @Test
+  @DisplayName("Edits based on the same version: one wins, the others get a conflict")
+  void recordResult_concurrentEditsOfSameVersion_oneWins() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger conflicts = new AtomicInteger();
+    List<Future<MatchDto>> results = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      int homeScore = i + 1;
+      results.add(admins.submit(() -> {
+        start.await();
+        try {
+          return matchResultService.recordResult(10, request(homeScore, 0, 0));
+        } catch (ResultConflictException ex) {
+          conflicts.incrementAndGet();
+          return null;
+        }
+      }));
+    }
+    start.countDown();
+    List<MatchDto> winners = new ArrayList<>();
+    for (Future<MatchDto> result : results) {
+      MatchDto dto = result.get(10, TimeUnit.SECONDS);
+      if (dto != null) {
+        winners.add(dto);
+      }
+    }
+
+    assertEquals(1, winners.size());
+    assertEquals(THREADS - 1, conflicts.get());
+    assertEquals(1, matches.row.resultVersion());
+    assertEquals(winners.get(0).getHomeScore(), matches.row.match().homeScore());
+    assertEquals(1, events.size());
+    assertEquals(THREADS - 1.0, meterRegistry.get("match.result.conflicts").tag("outcome", "rejected")
+        .counter().count());
+  }
+
+  @Test
+  @DisplayName("A stale edit that asks for the result already stored commutes")
+  void recordResult_staleVersionSameResult_returnsCurrent() {
+    matches.recordResult(10, 4, 2, 1, 2, 0);
+
+    MatchDto result = matchResultService.recordResult(10, request(2, 1, 0));
+
+    assertEquals(1, result.getResultVersion());
+    assertTrue(events.isEmpty());
+    assertEquals(1.0, meterRegistry.get("match.result.conflicts").tag("outcome", "commuted").counter().count());
+  }
+
+  @Test
+  @DisplayName("A stale edit asking for a different result is refused")
+  void recordResult_staleVersionOtherResult_conflict() {
+    matches.recordResult(10, 4, 2, 1, 2, 0);
+
+    ResultConflictException ex = assertThrows(ResultConflictException.class,
+        () -> matchResultService.recordResult(10, request(3, 1, 0)));
+
+    assertTrue(ex.getMessage().contains("2:1 (version 1)"), ex.getMessage());
+    assertEquals(1, matches.row.resultVersion());
+    assertTrue(events.isEmpty());
+  }
+
+  private static MatchResultRequestDto request(int homeScore, int awayScore, Integer expectedVersion) {
+    return MatchResultRequestDto.builder()
+        .homeScore(homeScore)
+        .awayScore(awayScore)
+        .expectedVersion(expectedVersion)
+        .build();
+  }
+
+  private static MatchRow scheduled() {
+    return new MatchRow(10, 4, 7, 20, 21, Instant.parse("2025-05-01T18:00:00Z"), "Arena", MatchStatus.SCHEDULED,
+        null, null);
+  }
+}
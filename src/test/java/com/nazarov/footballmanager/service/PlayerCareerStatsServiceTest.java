@@ -0,0 +1,101 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.dto.user.CareerSummaryDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository.CareerStatsRow;
+import com.nazarov.footballmanager.repository.PlayerCareerStatsRepository.DriftRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerCareerStatsServiceTest {
+
+  @Mock
+  private PlayerCareerStatsRepository playerCareerStatsRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PlayerCareerStatsService playerCareerStatsService;
+
+  @BeforeEach
+  void setUp() {
+    // The service derives its repeatable-read template from the transaction manager
+    playerCareerStatsService = new PlayerCareerStatsService(playerCareerStatsRepository,
+        new TransactionTemplate(transactionManager), meterRegistry, true);
+  }
+
+  @Test
+  @DisplayName("The career summary lists every season and adds them up")
+  void getCareerSummary_TotalsSeasons() {
+    when(playerCareerStatsRepository.findByPlayerId(5)).thenReturn(List.of(
+        new CareerStatsRow(1, "City League", "2025", 10, 20, 7, 3, 2, 0),
+        new CareerStatsRow(2, "City League", "2026", 11, 8, 2, 1, 1, 1)));
+
+    CareerSummaryDto summary = playerCareerStatsService.getCareerSummary(5);
+
+    assertEquals(28, summary.getAppearances());
+    assertEquals(9, summary.getGoals());
+    assertEquals(4, summary.getAssists());
+    assertEquals(3, summary.getYellowCards());
+    assertEquals(1, summary.getRedCards());
+    assertEquals(2, summary.getSeasons().size());
+    assertEquals("2026", summary.getSeasons().get(1).getYearPeriod());
+    assertEquals(11, summary.getSeasons().get(1).getTeamId());
+  }
+
+  @Test
+  @DisplayName("A first result counts an appearance for both squads, a correction does not")
+  void onMatchResultRecorded_CountsAppearancesOnce() {
+    playerCareerStatsService.onMatchResultRecorded(new MatchResultRecordedEvent(3, 7, 40, 10, 11, 2, 1, false));
+    playerCareerStatsService.onMatchResultRecorded(new MatchResultRecordedEvent(3, 7, 41, 10, 11, 0, 0, true));
+
+    verify(playerCareerStatsRepository).addAppearances(3, 40, 10, 11);
+    verify(playerCareerStatsRepository, never()).addAppearances(3, 41, 10, 11);
+  }
+
+  @Test
+  @DisplayName("Drift is counted and repaired per tournament, tournaments in step are left alone")
+  void verify_RepairsDriftedTournaments() {
+    when(playerCareerStatsRepository.findTournamentsWithAttachedPartitions()).thenReturn(List.of(1, 2));
+    when(playerCareerStatsRepository.findDrift(1)).thenReturn(List.of());
+    when(playerCareerStatsRepository.findDrift(2)).thenReturn(List.of(
+        new DriftRow(5, 3, 2, 0, 0, 0, 0, 0, 0),
+        new DriftRow(6, 0, 1, 0, 0, 1, 1, 0, 0)));
+    when(playerCareerStatsRepository.repairEvents(2)).thenReturn(2);
+
+    int drifted = playerCareerStatsService.verify();
+
+    assertEquals(2, drifted);
+    assertEquals(2, meterRegistry.get("career.stats.drift").counter().count());
+    verify(playerCareerStatsRepository).repairEvents(2);
+    verify(playerCareerStatsRepository, never()).repairEvents(1);
+  }
+
+  @Test
+  @DisplayName("With repair disabled drift is only reported")
+  void verify_ReportOnly() {
+    playerCareerStatsService = new PlayerCareerStatsService(playerCareerStatsRepository,
+        new TransactionTemplate(transactionManager), meterRegistry, false);
+    when(playerCareerStatsRepository.findTournamentsWithAttachedPartitions()).thenReturn(List.of(2));
+    when(playerCareerStatsRepository.findDrift(2)).thenReturn(List.of(new DriftRow(5, 3, 2, 0, 0, 0, 0, 0, 0)));
+
+    assertEquals(1, playerCareerStatsService.verify());
+    verify(playerCareerStatsRepository, never()).repairEvents(anyInt());
+  }
+}
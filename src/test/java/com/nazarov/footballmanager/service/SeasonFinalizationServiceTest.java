@@ -0,0 +1,200 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.async.AsyncJobService;
+import com.nazarov.footballmanager.async.AsyncTask;
+import com.nazarov.footballmanager.async.JobProgress;
+import com.nazarov.footballmanager.domain.PromotionStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto;
+import com.nazarov.footballmanager.dto.job.AsyncJobDto.State;
+import com.nazarov.footballmanager.dto.job.JobErrorDto;
+import com.nazarov.footballmanager.event.TournamentChangedEvent;
+import com.nazarov.footballmanager.event.TournamentCompletedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.FinalPlacement;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonFinalizationServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+  @Mock
+  private LeagueTeamRepository leagueTeamRepository;
+  @Mock
+  private MatchRepository matchRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+  @Mock
+  private AsyncJobService asyncJobService;
+
+  private ForkJoinPool pool;
+  private SeasonFinalizationService seasonFinalizationService;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(2);
+    // Runs callbacks directly, without a transaction manager
+    TransactionTemplate transactionTemplate = new TransactionTemplate() {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+    seasonFinalizationService = new SeasonFinalizationService(tournamentRepository, leagueRepository,
+        leagueTeamRepository, matchRepository, transactionTemplate, pool, eventPublisher, asyncJobService, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("startFinalization should write ranks and promotion statuses for every league and complete the tournament")
+  void startFinalization_Success() throws Exception {
+    // Arrange: two levels with three teams each and no results, so tables are ordered by team id
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "Cup", "2025", TournamentStatus.ACTIVE)));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(
+        new LeagueRow(10, 1, "Premier", 1),
+        new LeagueRow(20, 1, "Division 1", 2)));
+    when(leagueTeamRepository.findTeams(10)).thenReturn(teams(1, 2, 3));
+    when(leagueTeamRepository.findTeams(20)).thenReturn(teams(4, 5, 6));
+    when(matchRepository.findCompletedResults(eq(1), anyInt())).thenReturn(List.of());
+
+    givenJobsRunInline();
+
+    // Act
+    AsyncJobDto job = seasonFinalizationService.startFinalization(1);
+
+    // Assert
+    assertEquals(State.SUCCEEDED, job.getState());
+    assertEquals(2, job.getProgressDone());
+
+    ArgumentCaptor<List<FinalPlacement>> premier = placementsCaptor();
+    verify(leagueTeamRepository).updateFinalPlacements(eq(10), premier.capture());
+    assertThat(premier.getValue()).extracting(FinalPlacement::promotionStatus)
+        .containsExactly(PromotionStatus.STAY, PromotionStatus.STAY, PromotionStatus.RELEGATED);
+
+    ArgumentCaptor<List<FinalPlacement>> division = placementsCaptor();
+    verify(leagueTeamRepository).updateFinalPlacements(eq(20), division.capture());
+    assertThat(division.getValue()).extracting(FinalPlacement::promotionStatus)
+        .containsExactly(PromotionStatus.PROMOTED, PromotionStatus.STAY, PromotionStatus.STAY);
+    assertThat(division.getValue()).extracting(FinalPlacement::finalRank).containsExactly(1, 2, 3);
+
+    verify(tournamentRepository).updateStatus(1, TournamentStatus.COMPLETED);
+    verify(eventPublisher).publishEvent(new TournamentChangedEvent(1));
+    verify(eventPublisher).publishEvent(new TournamentCompletedEvent(1));
+  }
+
+  @Test
+  @DisplayName("startFinalization should keep the tournament active when a league fails")
+  void startFinalization_LeagueFails() throws Exception {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "Cup", "2025", TournamentStatus.ACTIVE)));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(new LeagueRow(10, 1, "Premier", 1)));
+    when(leagueTeamRepository.findTeams(10)).thenReturn(teams(1, 2));
+    when(matchRepository.findCompletedResults(1, 10)).thenReturn(List.of());
+    doThrow(new IllegalStateException("database down"))
+        .when(leagueTeamRepository).updateFinalPlacements(eq(10), anyList());
+
+    givenJobsRunInline();
+
+    // Act
+    AsyncJobDto job = seasonFinalizationService.startFinalization(1);
+
+    // Assert
+    assertEquals(State.FAILED, job.getState());
+    assertEquals("1 of 1 leagues of tournament 1 could not be finalized.", job.getError().getMessage());
+    verify(tournamentRepository, never()).updateStatus(anyInt(), eq(TournamentStatus.COMPLETED));
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  @DisplayName("startFinalization should reject tournaments with unfinished matches")
+  void startFinalization_OpenMatches() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "Cup", "2025", TournamentStatus.ACTIVE)));
+    when(matchRepository.countOpenMatches(1)).thenReturn(3);
+
+    // Act & Assert
+    BadRequestException exception = assertThrows(BadRequestException.class,
+        () -> seasonFinalizationService.startFinalization(1));
+    assertEquals("3 matches of tournament 1 are not completed yet.", exception.getMessage());
+    verify(asyncJobService, never()).submit(any(), any(), any());
+  }
+
+  private List<LeagueTeamRow> teams(int... teamIds) {
+    return Arrays.stream(teamIds).mapToObj(id -> new LeagueTeamRow(id, "Team " + id)).toList();
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArgumentCaptor<List<FinalPlacement>> placementsCaptor() {
+    return ArgumentCaptor.forClass(List.class);
+  }
+
+  // Runs the job body on the calling thread and reports the outcome as the job would end up
+  private void givenJobsRunInline() {
+    when(asyncJobService.submit(eq(SeasonFinalizationService.JOB_TYPE), eq(1), any())).thenAnswer(invocation -> {
+      AsyncTask task = invocation.getArgument(2);
+      AtomicInteger done = new AtomicInteger();
+      JobProgress progress = new JobProgress() {
+        @Override
+        public void setTotal(int total) {
+        }
+
+        @Override
+        public void advance() {
+          done.incrementAndGet();
+        }
+      };
+      try {
+        task.run(progress);
+        return AsyncJobDto.builder().state(State.SUCCEEDED).progressDone(done.get()).build();
+      } catch (Exception ex) {
+        return AsyncJobDto.builder().state(State.FAILED).progressDone(done.get())
+            .error(JobErrorDto.builder().status(500).error("Internal Server Error").message(ex.getMessage()).build())
+            .build();
+      }
+    });
+  }
+}
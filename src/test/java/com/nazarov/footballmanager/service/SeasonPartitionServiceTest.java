@@ -0,0 +1,121 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.archive.ArchiveVerificationDto;
+import com.nazarov.footballmanager.event.SeasonDetachedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonPartitionServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private SeasonArchiveRepository seasonArchiveRepository;
+  @Mock
+  private SeasonArchiveService seasonArchiveService;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private SeasonPartitionService seasonPartitionService;
+
+  @BeforeEach
+  void setUp() {
+    seasonPartitionService = new SeasonPartitionService(tournamentRepository, seasonArchiveRepository,
+        seasonArchiveService, new TransactionTemplate(transactionManager), eventPublisher, Duration.ofDays(7));
+  }
+
+  private void givenDetachableTournament() {
+    when(tournamentRepository.findById(7))
+        .thenReturn(Optional.of(new TournamentRow(7, "City League", "2024/2025", TournamentStatus.COMPLETED)));
+    when(tournamentRepository.hasAttachedPartitions(7)).thenReturn(true);
+    when(seasonArchiveService.isArchived(7)).thenReturn(true);
+  }
+
+  private static ArchiveVerificationDto verification(boolean valid, int matches, int stats) {
+    return ArchiveVerificationDto.builder()
+        .tournamentId(7)
+        .valid(valid)
+        .matchCount(matches)
+        .statCount(stats)
+        .corruptSections(valid ? List.of() : List.of("MATCHES"))
+        .build();
+  }
+
+  @Test
+  @DisplayName("Detaching checks the stored archive against the live rows, then marks the season detached")
+  void detachSeason_archiveMatches() {
+    givenDetachableTournament();
+    when(seasonArchiveService.verifyStored(7)).thenReturn(verification(true, 380, 2100));
+    when(seasonArchiveRepository.countMatches(7)).thenReturn(380);
+    when(seasonArchiveRepository.countStats(7)).thenReturn(2100);
+
+    seasonPartitionService.detachSeason(7);
+
+    verify(tournamentRepository).detachPartitions(7);
+    verify(seasonArchiveRepository).markDetached(7);
+    verify(eventPublisher).publishEvent(new SeasonDetachedEvent(7));
+  }
+
+  @Test
+  @DisplayName("An archive with fewer rows than the database is not enough to detach")
+  void detachSeason_countMismatch() {
+    givenDetachableTournament();
+    when(seasonArchiveService.verifyStored(7)).thenReturn(verification(true, 380, 2100));
+    when(seasonArchiveRepository.countMatches(7)).thenReturn(380);
+    when(seasonArchiveRepository.countStats(7)).thenReturn(2101);
+
+    assertThrows(BadRequestException.class, () -> seasonPartitionService.detachSeason(7));
+    verify(tournamentRepository, never()).detachPartitions(anyInt());
+    verify(seasonArchiveRepository, never()).markDetached(anyInt());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  @DisplayName("A corrupt archive blob is never detached against")
+  void detachSeason_corruptArchive() {
+    givenDetachableTournament();
+    when(seasonArchiveService.verifyStored(7)).thenReturn(verification(false, 380, 2100));
+
+    assertThrows(BadRequestException.class, () -> seasonPartitionService.detachSeason(7));
+    verify(tournamentRepository, never()).detachPartitions(anyInt());
+  }
+
+  @Test
+  @DisplayName("Dropping keeps seasons whose archive no longer verifies and drops the rest")
+  void dropDetachedSeasons_skipsCorruptArchives() {
+    when(seasonArchiveRepository.findDetachedBefore(any())).thenReturn(List.of(7, 8));
+    when(seasonArchiveService.verifyStored(7)).thenReturn(verification(false, 380, 2100));
+    when(seasonArchiveService.verifyStored(8)).thenReturn(verification(true, 380, 2100));
+
+    assertEquals(1, seasonPartitionService.dropDetachedSeasons());
+    verify(seasonArchiveRepository, never()).dropDetachedPartitions(7);
+    verify(seasonArchiveRepository).dropDetachedPartitions(8);
+  }
+}
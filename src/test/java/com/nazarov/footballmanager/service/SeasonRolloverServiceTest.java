@@ -0,0 +1,146 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.tournament.RolloverRequestDto;
+import com.nazarov.footballmanager.dto.tournament.RolloverResultDto;
+import com.nazarov.footballmanager.event.TournamentChangedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.SeasonRolloverRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonRolloverServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private SeasonRolloverRepository seasonRolloverRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks
+  private SeasonRolloverService seasonRolloverService;
+
+  private final RolloverRequestDto rolloverRequestDto = RolloverRequestDto.builder()
+      .name("City League")
+      .yearPeriod("2026")
+      .build();
+
+  @Test
+  @DisplayName("rollover should clone a finalized tournament with set-based inserts")
+  void rollover_Success() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "City League", "2025", TournamentStatus.COMPLETED)));
+    when(seasonRolloverRepository.countUnfinalizedTeams(1)).thenReturn(0);
+    when(seasonRolloverRepository.findDuplicateLevels(1)).thenReturn(List.of());
+    when(seasonRolloverRepository.insertTournament(1, "City League", "2026")).thenReturn(2);
+    when(seasonRolloverRepository.copyLeagues(1, 2)).thenReturn(3);
+    when(seasonRolloverRepository.copyTeamsAcrossLevels(1, 2)).thenReturn(36);
+    when(seasonRolloverRepository.copyTeamsOfUnlevelledLeagues(1, 2)).thenReturn(4);
+
+    // Act
+    RolloverResultDto result = seasonRolloverService.rollover(1, rolloverRequestDto);
+
+    // Assert
+    assertEquals(2, result.getTournamentId());
+    assertEquals(1, result.getSourceTournamentId());
+    assertEquals(3, result.getLeagueCount());
+    assertEquals(40, result.getTeamCount());
+    verify(eventPublisher).publishEvent(new TournamentChangedEvent(2));
+  }
+
+  @Test
+  @DisplayName("rollover should reject tournaments that are not completed")
+  void rollover_NotCompleted() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "City League", "2025", TournamentStatus.ACTIVE)));
+
+    // Act & Assert
+    BadRequestException exception = assertThrows(BadRequestException.class,
+        () -> seasonRolloverService.rollover(1, rolloverRequestDto));
+    assertEquals("Only completed tournaments can be rolled over.", exception.getMessage());
+    verify(seasonRolloverRepository, never()).insertTournament(anyInt(), anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("rollover should reject a tournament that already has a next season")
+  void rollover_AlreadyRolledOver() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "City League", "2025", TournamentStatus.COMPLETED)));
+    when(seasonRolloverRepository.countUnfinalizedTeams(1)).thenReturn(0);
+    when(seasonRolloverRepository.findDuplicateLevels(1)).thenReturn(List.of());
+    when(seasonRolloverRepository.findSuccessor(1)).thenReturn(Optional.of(2));
+
+    // Act & Assert
+    BadRequestException exception = assertThrows(BadRequestException.class,
+        () -> seasonRolloverService.rollover(1, rolloverRequestDto));
+    assertEquals("Tournament 1 was already rolled over.", exception.getMessage());
+    verify(seasonRolloverRepository, never()).insertTournament(anyInt(), anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("rollover should reject the loser of two concurrent rollovers of one tournament")
+  void rollover_ConcurrentDuplicate() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "City League", "2025", TournamentStatus.COMPLETED)));
+    when(seasonRolloverRepository.countUnfinalizedTeams(1)).thenReturn(0);
+    when(seasonRolloverRepository.findDuplicateLevels(1)).thenReturn(List.of());
+    when(seasonRolloverRepository.findSuccessor(1)).thenReturn(Optional.empty());
+    when(seasonRolloverRepository.insertTournament(1, "City League", "2026"))
+        .thenThrow(new DuplicateKeyException("tournaments_previous_tournament_id_key"));
+
+    // Act & Assert
+    assertThrows(BadRequestException.class, () -> seasonRolloverService.rollover(1, rolloverRequestDto));
+    verify(seasonRolloverRepository, never()).copyLeagues(anyInt(), anyInt());
+  }
+
+  @Test
+  @DisplayName("rollover should reject tournaments whose leagues share a level")
+  void rollover_DuplicateLevels() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.of(
+        new TournamentRow(1, "City League", "2025", TournamentStatus.COMPLETED)));
+    when(seasonRolloverRepository.countUnfinalizedTeams(1)).thenReturn(0);
+    when(seasonRolloverRepository.findDuplicateLevels(1)).thenReturn(List.of(2));
+
+    // Act & Assert
+    assertThrows(BadRequestException.class, () -> seasonRolloverService.rollover(1, rolloverRequestDto));
+    verify(seasonRolloverRepository, never()).insertTournament(anyInt(), anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("rollover should throw ResourceNotFoundException for unknown tournaments")
+  void rollover_NotFound() {
+    // Arrange
+    when(tournamentRepository.findById(1)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+        () -> seasonRolloverService.rollover(1, rolloverRequestDto));
+    assertEquals("Tournament not found with id : '1'", exception.getMessage());
+  }
+}
@@ -0,0 +1,131 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.simulation.LeagueSimulationDto;
+import com.nazarov.footballmanager.dto.simulation.SeasonSimulationDto;
+import com.nazarov.footballmanager.dto.simulation.TeamOutcomeDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.FixtureRow;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchResultRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+@ExtendWith(MockitoExtension.class)
+class SeasonSimulationServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+  @Mock
+  private LeagueTeamRepository leagueTeamRepository;
+  @Mock
+  private MatchRepository matchRepository;
+
+  private ForkJoinPool pool;
+  private SeasonSimulationService seasonSimulationService;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(2);
+    // Evicts locally only, there is no database to broadcast through
+    InvalidationBus invalidationBus = new InvalidationBus(new DataSourceProperties(), false, "fm_cache_invalidation",
+        Duration.ofMillis(50), Duration.ofSeconds(30));
+    seasonSimulationService = new SeasonSimulationService(tournamentRepository, leagueRepository,
+        leagueTeamRepository, matchRepository, pool, invalidationBus, 5_000, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+  }
+
+  private void givenActiveTournamentWithTwoLevels() {
+    when(tournamentRepository.findById(1))
+        .thenReturn(Optional.of(new TournamentRow(1, "City League", "2025", TournamentStatus.ACTIVE)));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(
+        new LeagueRow(10, 1, "Premier", 1), new LeagueRow(11, 1, "Second", 2)));
+    when(leagueTeamRepository.findTeams(anyInt())).thenReturn(List.of(
+        new LeagueTeamRow(1, "Alpha"), new LeagueTeamRow(2, "Bravo"), new LeagueTeamRow(3, "Charlie")));
+    // Alpha is 6 points clear with one match left between Bravo and Charlie
+    when(matchRepository.findCompletedResults(anyInt(), anyInt())).thenReturn(List.of(
+        new MatchResultRow(1, 2, 2, 0), new MatchResultRow(1, 3, 1, 0)));
+    when(matchRepository.findRemainingFixtures(anyInt(), anyInt())).thenReturn(List.of(new FixtureRow(2, 3)));
+  }
+
+  @Test
+  @DisplayName("Simulation reports certain outcomes and promotion/relegation only where the level allows it")
+  void simulate_probabilities() {
+    givenActiveTournamentWithTwoLevels();
+
+    SeasonSimulationDto result = seasonSimulationService.simulate(1);
+
+    assertEquals(5_000, result.getIterations());
+    LeagueSimulationDto premier = result.getLeagues().get(0);
+    TeamOutcomeDto leader = premier.getTeams().get(0);
+    assertEquals(1, leader.getTeamId());
+    assertEquals(1.0, leader.getTitleProbability());
+    assertEquals(0.0, leader.getPromotionProbability());
+    assertEquals(0.0, leader.getRelegationProbability());
+    assertThat(premier.getTeams().get(1).getRelegationProbability() + premier.getTeams().get(2).getRelegationProbability())
+        .isCloseTo(1.0, Offset.offset(1e-9));
+
+    TeamOutcomeDto secondLevelLeader = result.getLeagues().get(1).getTeams().get(0);
+    assertEquals(1.0, secondLevelLeader.getPromotionProbability());
+    assertEquals(0.0, secondLevelLeader.getRelegationProbability());
+  }
+
+  @Test
+  @DisplayName("Result is cached until a match result is recorded")
+  void simulate_cachedUntilResultRecorded() {
+    givenActiveTournamentWithTwoLevels();
+
+    SeasonSimulationDto first = seasonSimulationService.simulate(1);
+    assertSame(first, seasonSimulationService.simulate(1));
+    verify(leagueRepository, times(1)).findByTournamentId(1);
+
+    seasonSimulationService.onMatchResultRecorded(new MatchResultRecordedEvent(1, 10, 99, 2, 3, 1, 0, false));
+    seasonSimulationService.simulate(1);
+    verify(leagueRepository, times(2)).findByTournamentId(1);
+  }
+
+  @Test
+  @DisplayName("Only active tournaments can be simulated")
+  void simulate_notActive() {
+    when(tournamentRepository.findById(1))
+        .thenReturn(Optional.of(new TournamentRow(1, "City League", "2025", TournamentStatus.COMPLETED)));
+
+    assertThrows(BadRequestException.class, () -> seasonSimulationService.simulate(1));
+    verify(leagueRepository, never()).findByTournamentId(anyInt());
+  }
+}
@@ -0,0 +1,54 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nazarov.footballmanager.dto.tournament.StandingDto;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchResultRow;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StandingsCalculatorTest {
+
+  private final List<LeagueTeamRow> teams = List.of(
+      new LeagueTeamRow(1, "Alpha"),
+      new LeagueTeamRow(2, "Bravo"),
+      new LeagueTeamRow(3, "Charlie"));
+
+  @Test
+  @DisplayName("calculate should award points and order by points, goal difference and goals scored")
+  void calculate_OrdersTable() {
+    // Arrange
+    List<MatchResultRow> results = List.of(
+        new MatchResultRow(1, 2, 2, 0),
+        new MatchResultRow(2, 3, 1, 1),
+        new MatchResultRow(3, 1, 3, 1));
+
+    // Act
+    List<StandingDto> table = StandingsCalculator.calculate(teams, results);
+
+    // Assert: Charlie and Alpha have 4 and 3 points, Bravo 1
+    assertThat(table).extracting(StandingDto::getTeamId).containsExactly(3, 1, 2);
+    assertThat(table).extracting(StandingDto::getPosition).containsExactly(1, 2, 3);
+    StandingDto charlie = table.get(0);
+    assertEquals(4, charlie.getPoints());
+    assertEquals(2, charlie.getPlayed());
+    assertEquals(1, charlie.getWon());
+    assertEquals(1, charlie.getDrawn());
+    assertEquals(4, charlie.getGoalsFor());
+    assertEquals(2, charlie.getGoalDifference());
+  }
+
+  @Test
+  @DisplayName("calculate should include teams without results and break full ties by team id")
+  void calculate_TeamsWithoutResults() {
+    // Act
+    List<StandingDto> table = StandingsCalculator.calculate(teams, List.of(new MatchResultRow(9, 3, 5, 0)));
+
+    // Assert: the result against an unknown team is ignored
+    assertThat(table).extracting(StandingDto::getTeamId).containsExactly(1, 2, 3);
+    assertThat(table).allMatch(standing -> standing.getPlayed() == 0 && standing.getPoints() == 0);
+  }
+}
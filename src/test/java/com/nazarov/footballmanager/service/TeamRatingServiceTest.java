@@ -0,0 +1,263 @@
+package com.nazarov.footballmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nazarov.footballmanager.archive.SeasonArchive;
+import com.nazarov.footballmanager.archive.SeasonArchiveService;
+import com.nazarov.footballmanager.async.AsyncJobService;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.dto.archive.ArchivedMatchDto;
+import com.nazarov.footballmanager.dto.rating.RatingRecomputeResultDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.BadRequestException;
+import com.nazarov.footballmanager.jobs.JobLeadership;
+import com.nazarov.footballmanager.jobs.JobLeadership.Lease;
+import com.nazarov.footballmanager.outbox.DispatchedEvent;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.SeasonArchiveRepository;
+import com.nazarov.footballmanager.repository.TeamRatingRepository;
+import com.nazarov.footballmanager.repository.TeamRatingRepository.RatingState;
+import com.nazarov.footballmanager.repository.TeamRatingRepository.TournamentPlayOrder;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalMatchers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TeamRatingServiceTest {
+
+  @Mock
+  private TeamRatingRepository teamRatingRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+  @Mock
+  private SeasonArchiveRepository seasonArchiveRepository;
+  @Mock
+  private SeasonArchiveService seasonArchiveService;
+  @Mock
+  private AsyncJobService asyncJobService;
+  @Mock
+  private JobLeadership jobLeadership;
+  @Mock
+  private Lease lease;
+
+  private ForkJoinPool pool;
+  private TeamRatingService teamRatingService;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(2);
+    // Runs callbacks directly, without a transaction manager
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class)) {
+      @Override
+      public <T> T execute(TransactionCallback<T> action) {
+        return action.doInTransaction(null);
+      }
+    };
+    teamRatingService = new TeamRatingService(teamRatingRepository, leagueRepository, seasonArchiveRepository,
+        seasonArchiveService, transactionTemplate, pool, asyncJobService, jobLeadership, 1500, 20, 0);
+    lenient().when(jobLeadership.tryAcquire("rating-replay")).thenReturn(Optional.of(lease));
+    lenient().when(teamRatingRepository.findOldestTransactionStart()).thenReturn(Instant.parse("2025-05-01T00:00:00Z"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  @DisplayName("A new result moves both teams by the same amount in opposite directions")
+  void onMatchResultRecorded_appliesDelta() {
+    when(teamRatingRepository.lockRatings(1, 2)).thenReturn(Map.of(1, 1500.0));
+
+    teamRatingService.onMatchResultRecorded(new MatchResultRecordedEvent(7, 70, 100, 1, 2, 1, 0, false));
+
+    InOrder order = inOrder(teamRatingRepository);
+    order.verify(teamRatingRepository).lockForIncrement();
+    order.verify(teamRatingRepository).applyDelta(eq(1), eq(1500.0), AdditionalMatchers.eq(10.0, 1e-9), eq(100));
+    verify(teamRatingRepository).applyDelta(eq(2), eq(1500.0), AdditionalMatchers.eq(-10.0, 1e-9), eq(100));
+  }
+
+  @Test
+  @DisplayName("A corrected result is not applied incrementally")
+  void onMatchResultRecorded_correctionSkipped() {
+    teamRatingService.onMatchResultRecorded(new MatchResultRecordedEvent(7, 70, 100, 1, 2, 1, 0, true));
+
+    verify(teamRatingRepository, never()).applyDelta(anyInt(), anyDouble(), anyDouble(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Recompute replays seasons in order and carries ratings into the next season")
+  @SuppressWarnings("unchecked")
+  void recompute_replaysHistory() throws SQLException {
+    when(teamRatingRepository.findTournamentsInPlayOrder()).thenReturn(List.of(
+        new TournamentPlayOrder(1, Instant.parse("2024-04-01T10:00:00Z")),
+        new TournamentPlayOrder(2, Instant.parse("2025-04-01T10:00:00Z"))));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(
+        new LeagueRow(10, 1, "Premier", 1), new LeagueRow(11, 1, "Second", 2)));
+    when(leagueRepository.findByTournamentId(2)).thenReturn(List.of(new LeagueRow(20, 2, "Premier", 1)));
+    givenResults(1, 10, new int[] {100, 1, 2, 1, 0});
+    givenResults(1, 11, new int[] {101, 3, 4, 0, 0});
+    givenResults(2, 20, new int[] {200, 2, 1, 1, 0});
+
+    RatingRecomputeResultDto result = teamRatingService.recompute();
+
+    assertEquals(2, result.getTournaments());
+    assertEquals(3, result.getLeagues());
+    assertEquals(3, result.getMatches());
+    assertEquals(4, result.getTeams());
+    ArgumentCaptor<Map<Integer, RatingState>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(teamRatingRepository).replaceAll(captor.capture());
+    Map<Integer, RatingState> ratings = captor.getValue();
+    // Team 2 beats the now higher rated team 1 in the second season and gains more than 10 points back
+    assertThat(ratings.get(2).rating()).isCloseTo(1500.0 - 10 + 10.58, Offset.offset(0.01));
+    assertThat(ratings.get(1).rating() + ratings.get(2).rating()).isCloseTo(3000.0, Offset.offset(1e-9));
+    assertEquals(2, ratings.get(1).matchesRated());
+    assertEquals(200, ratings.get(1).lastMatchId());
+    assertEquals(1500.0, ratings.get(3).rating(), 1e-9);
+  }
+
+  @Test
+  @DisplayName("A detached season is replayed from its archive, in play order with the live ones")
+  @SuppressWarnings("unchecked")
+  void recompute_replaysDetachedSeasonFromArchive() throws SQLException {
+    // Season 1 was detached, so the live tables only know season 2
+    when(seasonArchiveRepository.findDetached()).thenReturn(List.of(1));
+    when(teamRatingRepository.findTournamentsInPlayOrder()).thenReturn(List.of(
+        new TournamentPlayOrder(2, Instant.parse("2025-04-01T10:00:00Z"))));
+    SeasonArchive archive = mock(SeasonArchive.class);
+    when(seasonArchiveService.getArchive(1)).thenReturn(archive);
+    when(archive.getMatches(null)).thenReturn(List.of(
+        archived(101, 11, 3, 4, MatchStatus.SCHEDULED, null, null),
+        archived(100, 10, 1, 2, MatchStatus.COMPLETED, 1, 0)));
+    when(leagueRepository.findByTournamentId(2)).thenReturn(List.of(new LeagueRow(20, 2, "Premier", 1)));
+    givenResults(2, 20, new int[] {200, 2, 1, 1, 0});
+
+    RatingRecomputeResultDto result = teamRatingService.recompute();
+
+    assertEquals(2, result.getTournaments());
+    assertEquals(2, result.getMatches());
+    ArgumentCaptor<Map<Integer, RatingState>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(teamRatingRepository).replaceAll(captor.capture());
+    Map<Integer, RatingState> ratings = captor.getValue();
+    assertThat(ratings.get(2).rating()).isCloseTo(1500.0 - 10 + 10.58, Offset.offset(0.01));
+    assertEquals(2, ratings.get(1).matchesRated());
+    assertThat(ratings).doesNotContainKey(3);
+    verify(leagueRepository, never()).findByTournamentId(1);
+  }
+
+  @Test
+  @DisplayName("Results recorded while history was replayed are re-applied under the write lock, the rest once")
+  @SuppressWarnings("unchecked")
+  void recompute_reappliesResultsRecordedMeanwhile() throws SQLException {
+    when(teamRatingRepository.findTournamentsInPlayOrder()).thenReturn(List.of(
+        new TournamentPlayOrder(1, Instant.parse("2024-04-01T10:00:00Z"))));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(new LeagueRow(10, 1, "Premier", 1)));
+    givenResults(1, 10, new int[] {100, 1, 2, 1, 0});
+    // Match 100 was replayed already, match 101 committed after the league cursor had been opened
+    ResultSet replayedRow = mock(ResultSet.class);
+    when(replayedRow.getInt("match_id")).thenReturn(100);
+    ResultSet missedRow = resultRow(new int[] {101, 2, 1, 1, 0});
+    doAnswer(invocation -> {
+      RowCallbackHandler handler = invocation.getArgument(1, RowCallbackHandler.class);
+      handler.processRow(replayedRow);
+      handler.processRow(missedRow);
+      return null;
+    }).when(teamRatingRepository).streamResultsRecordedSince(eq(Instant.parse("2025-05-01T00:00:00Z")), any());
+
+    RatingRecomputeResultDto result = teamRatingService.recompute();
+
+    assertEquals(2, result.getMatches());
+    InOrder order = inOrder(teamRatingRepository, lease);
+    order.verify(teamRatingRepository).lockForReplace();
+    order.verify(teamRatingRepository).streamResultsRecordedSince(any(), any());
+    ArgumentCaptor<Map<Integer, RatingState>> captor = ArgumentCaptor.forClass(Map.class);
+    order.verify(teamRatingRepository).replaceAll(captor.capture());
+    order.verify(lease).close();
+    assertEquals(2, captor.getValue().get(1).matchesRated());
+    assertEquals(101, captor.getValue().get(2).lastMatchId());
+  }
+
+  @Test
+  @DisplayName("A recompute already running on another instance is refused")
+  void recompute_lockHeldElsewhere() {
+    when(jobLeadership.tryAcquire("rating-replay")).thenReturn(Optional.empty());
+
+    assertThrows(BadRequestException.class, () -> teamRatingService.recompute());
+    verify(teamRatingRepository, never()).replaceAll(any());
+  }
+
+  @Test
+  @DisplayName("A correction recomputes on the delivering thread, so a refused recompute fails the delivery")
+  void onMatchResultCorrected_failureReachesOutbox() {
+    when(jobLeadership.tryAcquire("rating-replay")).thenReturn(Optional.empty());
+    DispatchedEvent<MatchResultRecordedEvent> dispatched = new DispatchedEvent<>(1L, "match", "100",
+        Instant.now(), 1, new MatchResultRecordedEvent(7, 70, 100, 1, 2, 0, 0, true));
+
+    assertThrows(BadRequestException.class, () -> teamRatingService.onMatchResultCorrected(dispatched));
+  }
+
+  private void givenResults(int tournamentId, int leagueId, int[] row) throws SQLException {
+    ResultSet rs = resultRow(row);
+    doAnswer(invocation -> {
+      invocation.getArgument(2, RowCallbackHandler.class).processRow(rs);
+      return null;
+    }).when(teamRatingRepository).streamCompletedResults(eq(tournamentId), eq(leagueId), any());
+  }
+
+  private static ArchivedMatchDto archived(int matchId, int leagueId, int homeTeamId, int awayTeamId,
+      MatchStatus status, Integer homeScore, Integer awayScore) {
+    return ArchivedMatchDto.builder()
+        .matchId(matchId)
+        .leagueId(leagueId)
+        .homeTeamId(homeTeamId)
+        .awayTeamId(awayTeamId)
+        .matchDateTime(Instant.parse("2024-04-01T10:00:00Z").plusSeconds(matchId))
+        .status(status)
+        .homeScore(homeScore)
+        .awayScore(awayScore)
+        .build();
+  }
+
+  private static ResultSet resultRow(int[] row) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    when(rs.getInt("match_id")).thenReturn(row[0]);
+    when(rs.getInt("home_team_id")).thenReturn(row[1]);
+    when(rs.getInt("away_team_id")).thenReturn(row[2]);
+    when(rs.getInt("home_score")).thenReturn(row[3]);
+    when(rs.getInt("away_score")).thenReturn(row[4]);
+    return rs;
+  }
+}
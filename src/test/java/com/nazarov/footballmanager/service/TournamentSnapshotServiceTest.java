@@ -0,0 +1,203 @@
+package com.nazarov.footballmanager.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.SingleFlights;
+import com.nazarov.footballmanager.domain.MatchStatus;
+import com.nazarov.footballmanager.domain.TournamentStatus;
+import com.nazarov.footballmanager.dto.tournament.LeagueSnapshotDto;
+import com.nazarov.footballmanager.dto.tournament.TournamentSnapshotDto;
+import com.nazarov.footballmanager.event.MatchResultRecordedEvent;
+import com.nazarov.footballmanager.exception.ResourceNotFoundException;
+import com.nazarov.footballmanager.repository.LeagueRepository;
+import com.nazarov.footballmanager.repository.LeagueRepository.LeagueRow;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository;
+import com.nazarov.footballmanager.repository.LeagueTeamRepository.LeagueTeamRow;
+import com.nazarov.footballmanager.repository.MatchRepository;
+import com.nazarov.footballmanager.repository.MatchRepository.MatchRow;
+import com.nazarov.footballmanager.repository.TournamentRepository;
+import com.nazarov.footballmanager.repository.TournamentRepository.TournamentRow;
+import com.nazarov.footballmanager.service.TournamentSnapshotService.Snapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentSnapshotServiceTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+  @Mock
+  private LeagueRepository leagueRepository;
+  @Mock
+  private LeagueTeamRepository leagueTeamRepository;
+  @Mock
+  private MatchRepository matchRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder()
+      .findAndAddModules()
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+  private TournamentSnapshotService tournamentSnapshotService;
+
+  @BeforeEach
+  void setUp() {
+    // Evicts locally only, there is no database to broadcast through
+    InvalidationBus invalidationBus = new InvalidationBus(new DataSourceProperties(), false, "fm_cache_invalidation",
+        Duration.ofMillis(50), Duration.ofSeconds(30));
+    tournamentSnapshotService = new TournamentSnapshotService(tournamentRepository, leagueRepository,
+        leagueTeamRepository, matchRepository, invalidationBus,
+        new SingleFlights(new SimpleMeterRegistry(), Duration.ZERO), objectMapper,
+        new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+  }
+
+  private void givenTournamentWithOneLeague() {
+    when(tournamentRepository.findById(1))
+        .thenReturn(Optional.of(new TournamentRow(1, "City League", "2025", TournamentStatus.ACTIVE)));
+    when(leagueRepository.findByTournamentId(1)).thenReturn(List.of(new LeagueRow(10, 1, "Premier", 1)));
+    when(leagueTeamRepository.findTeams(10)).thenReturn(List.of(
+        new LeagueTeamRow(1, "Alpha"), new LeagueTeamRow(2, "Bravo"), new LeagueTeamRow(3, "Charlie")));
+    when(matchRepository.findByLeague(1, 10)).thenReturn(List.of(
+        match(100, 1, 2, MatchStatus.COMPLETED, 2, 0),
+        match(101, 2, 3, MatchStatus.SCHEDULED, null, null),
+        match(102, 3, 1, MatchStatus.POSTPONED, null, null)));
+  }
+
+  @Test
+  @DisplayName("The snapshot holds standings of every team, upcoming fixtures and results, also compressed")
+  void getSnapshot_wholeTournament() throws IOException {
+    givenTournamentWithOneLeague();
+
+    Snapshot snapshot = tournamentSnapshotService.getSnapshot(1);
+
+    TournamentSnapshotDto document = objectMapper.readValue(snapshot.json(), TournamentSnapshotDto.class);
+    assertEquals("City League", document.getTournament().getName());
+    LeagueSnapshotDto league = document.getLeagues().get(0);
+    assertEquals(3, league.getStandings().size());
+    assertEquals("Alpha", league.getStandings().get(0).getTeamName());
+    assertEquals(3, league.getStandings().get(0).getPoints());
+    assertEquals(List.of(101, 102), league.getUpcomingFixtures().stream().map(match -> match.getMatchId()).toList());
+    assertEquals(List.of(100), league.getResults().stream().map(match -> match.getMatchId()).toList());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+      assertArrayEquals(snapshot.json(), in.readAllBytes());
+    }
+    assertArrayEquals(snapshot.json(), Decoder.decompress(snapshot.brotli()).getDecompressedData());
+  }
+
+  @Test
+  @DisplayName("The snapshot is built once and rebuilt after a result is recorded")
+  void getSnapshot_cachedUntilResultRecorded() {
+    givenTournamentWithOneLeague();
+
+    Snapshot first = tournamentSnapshotService.getSnapshot(1);
+    assertSame(first, tournamentSnapshotService.getSnapshot(1));
+    verify(matchRepository, times(1)).findByLeague(1, 10);
+
+    tournamentSnapshotService.onMatchResultRecorded(new MatchResultRecordedEvent(1, 10, 101, 2, 3, 1, 1, false));
+    Snapshot rebuilt = tournamentSnapshotService.getSnapshot(1);
+
+    assertNotEquals(first, rebuilt);
+    verify(matchRepository, times(2)).findByLeague(1, 10);
+  }
+
+  @Test
+  @DisplayName("A rebuild that changed nothing keeps the ETag, so clients still get 304")
+  void getSnapshot_unchangedRebuildKeepsEtag() throws InterruptedException {
+    givenTournamentWithOneLeague();
+
+    Snapshot first = tournamentSnapshotService.getSnapshot(1);
+    Thread.sleep(5);
+    tournamentSnapshotService.onMatchResultRecorded(new MatchResultRecordedEvent(1, 10, 100, 1, 2, 2, 0, true));
+    Snapshot rebuilt = tournamentSnapshotService.getSnapshot(1);
+
+    assertEquals(first.etag(), rebuilt.etag());
+    assertArrayEquals(first.json(), rebuilt.json());
+    assertEquals(HttpStatus.NOT_MODIFIED,
+        rebuilt.toResponse("\"" + first.etag() + "-br\"", "br").getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Brotli is preferred over gzip, each encoding with a tag of its own")
+  void toResponse_acceptEncoding() {
+    givenTournamentWithOneLeague();
+    Snapshot snapshot = tournamentSnapshotService.getSnapshot(1);
+
+    ResponseEntity<byte[]> brotli = snapshot.toResponse(null, "gzip;q=1.0, br;q=0.8");
+    ResponseEntity<byte[]> gzipped = snapshot.toResponse(null, "br;q=0, gzip;q=0.8");
+    ResponseEntity<byte[]> identity = snapshot.toResponse(null, "gzip;q=0, identity");
+
+    assertEquals("br", brotli.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertSame(snapshot.brotli(), brotli.getBody());
+    assertEquals("\"" + snapshot.etag() + "-br\"", brotli.getHeaders().getETag());
+    assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertSame(snapshot.gzip(), gzipped.getBody());
+    assertEquals("\"" + snapshot.etag() + "-gzip\"", gzipped.getHeaders().getETag());
+    assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    assertSame(snapshot.json(), identity.getBody());
+    assertEquals("\"" + snapshot.etag() + "\"", identity.getHeaders().getETag());
+    assertTrue(identity.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+  }
+
+  @Test
+  @DisplayName("A current ETag of either encoding gets 304 without a body")
+  void toResponse_ifNoneMatch() {
+    givenTournamentWithOneLeague();
+    Snapshot snapshot = tournamentSnapshotService.getSnapshot(1);
+
+    ResponseEntity<byte[]> notModified = snapshot.toResponse("\"stale\", W/\"" + snapshot.etag() + "-gzip\"", null);
+    ResponseEntity<byte[]> modified = snapshot.toResponse("\"stale\"", "gzip");
+
+    assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    assertNull(notModified.getBody());
+    assertEquals(HttpStatus.OK, modified.getStatusCode());
+    assertFalse(modified.getBody().length == 0);
+  }
+
+  @Test
+  @DisplayName("Snapshot of an unknown tournament is not found")
+  void getSnapshot_unknownTournament() {
+    when(tournamentRepository.findById(99)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> tournamentSnapshotService.getSnapshot(99));
+  }
+
+  private static MatchRow match(int matchId, int home, int away, MatchStatus status, Integer homeScore,
+      Integer awayScore) {
+    return new MatchRow(matchId, 1, 10, home, away, Instant.parse("2025-05-01T18:00:00Z").plusSeconds(matchId),
+        "Arena", status, homeScore, awayScore);
+  }
+}
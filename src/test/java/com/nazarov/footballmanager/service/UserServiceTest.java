@@ -3,28 +3,36 @@ package com.nazarov.footballmanager.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.nazarov.footballmanager.cache.InvalidationBus;
+import com.nazarov.footballmanager.cache.SingleFlights;
 import com.nazarov.footballmanager.domain.Role;
 import com.nazarov.footballmanager.domain.User;
+import com.nazarov.footballmanager.dto.user.CareerSummaryDto;
 import com.nazarov.footballmanager.dto.user.UserViewDto;
 import com.nazarov.footballmanager.exception.ResourceNotFoundException;
 import com.nazarov.footballmanager.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +43,8 @@ class UserServiceTest {
 
   @Mock
   private UserRepository userRepository;
+  @Mock
+  private PlayerCareerStatsService playerCareerStatsService;
 
   @Mock
   private SecurityContext securityContext;
@@ -43,7 +53,6 @@ class UserServiceTest {
   @Mock
   private UserDetails userDetails;
 
-  @InjectMocks
   private UserService userService;
 
   private User user;
@@ -53,6 +62,9 @@ class UserServiceTest {
   void setUp() {
     // Set up mock security context before each test
     SecurityContextHolder.setContext(securityContext);
+    userService = new UserService(userRepository, new InvalidationBus(new DataSourceProperties(), false,
+        "fm_cache_invalidation", Duration.ofMillis(50), Duration.ofSeconds(30)), playerCareerStatsService,
+        new SingleFlights(new SimpleMeterRegistry(), Duration.ofSeconds(1)));
 
     userRole = new Role(1, "ROLE_USER");
     user = User.builder()
@@ -81,6 +93,8 @@ class UserServiceTest {
     when(authentication.getPrincipal()).thenReturn(userDetails); // Or directly use 'user' if User implements UserDetails correctly
     when(userDetails.getUsername()).thenReturn(userEmail); // Assuming username is email
     when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
+    CareerSummaryDto careerSummary = CareerSummaryDto.builder().appearances(12).goals(3).seasons(List.of()).build();
+    when(playerCareerStatsService.getCareerSummary(1)).thenReturn(careerSummary);
 
     // Act
     UserViewDto userProfile = userService.getCurrentUserProfile();
@@ -93,11 +107,32 @@ class UserServiceTest {
     assertEquals(user.getDateOfBirth(), userProfile.getDateOfBirth());
     assertEquals(user.getPlayingPosition(), userProfile.getPlayingPosition());
     assertThat(userProfile.getRoles()).containsExactly("ROLE_USER");
+    assertEquals(careerSummary, userProfile.getCareerSummary());
 
     // Verify
     verify(userRepository).findByEmail(userEmail);
   }
 
+  @Test
+  @DisplayName("getCurrentUserProfile should reuse a profile read moments ago")
+  void getCurrentUserProfile_Memoized() {
+    // Arrange
+    String userEmail = "current@example.com";
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.isAuthenticated()).thenReturn(true);
+    when(authentication.getPrincipal()).thenReturn(userDetails);
+    when(userDetails.getUsername()).thenReturn(userEmail);
+    when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
+
+    // Act
+    UserViewDto first = userService.getCurrentUserProfile();
+    UserViewDto second = userService.getCurrentUserProfile();
+
+    // Assert
+    assertSame(first, second);
+    verify(userRepository, times(1)).findByEmail(userEmail);
+  }
+
   @Test
   @DisplayName("getCurrentUserProfile should throw ResourceNotFoundException if authenticated user not in DB")
   void getCurrentUserProfile_AuthenticatedUserNotFoundInDb() {
@@ -0,0 +1,98 @@
+package com.nazarov.footballmanager.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+import com.nazarov.footballmanager.simulation.LeagueSimulation.Outcome;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class LeagueSimulationTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  @DisplayName("A team that cannot be caught wins the title in every simulated season")
+  void run_unassailableLeader() {
+    // Three teams, one fixture left between the two chasers
+    LeagueSimulation simulation = new LeagueSimulation(
+        new int[] {4, 4, 4}, new int[] {12, 3, 3}, new int[] {10, 4, 4}, new int[] {2, 8, 8},
+        new int[] {1}, new int[] {2});
+
+    Outcome outcome = simulation.run(10_000, 42, pool);
+
+    assertEquals(10_000, outcome.getIterations());
+    assertEquals(1.0, outcome.probability(0, 0, 1));
+    assertEquals(1.0, outcome.probability(1, 1, 3));
+    assertEquals(12.0, outcome.expectedPoints(0));
+  }
+
+  @Test
+  @DisplayName("Position probabilities add up to one and the result only depends on the seed")
+  void run_deterministicAndNormalized() {
+    LeagueSimulation simulation = fullSeason(6);
+
+    Outcome first = simulation.run(20_000, 7, pool);
+    Outcome second = simulation.run(20_000, 7, pool);
+
+    for (int team = 0; team < 6; team++) {
+      assertThat(first.probability(team, 0, 6)).isCloseTo(1.0, Offset.offset(1e-9));
+      assertEquals(first.probability(team, 0, 1), second.probability(team, 0, 1));
+      assertEquals(first.expectedPoints(team), second.expectedPoints(team));
+    }
+  }
+
+  @Test
+  @DisplayName("A full 20-team season has every fixture left to simulate")
+  void run_twentyTeamsFullSeason() {
+    LeagueSimulation simulation = fullSeason(20);
+
+    Outcome outcome = simulation.run(1_000, 2, pool);
+
+    assertEquals(1_000, outcome.getIterations());
+    assertEquals(380, simulation.getRemainingFixtures());
+  }
+
+  // Wall-clock budget, measured on the reference 4-core machine: mvn test -Pperf
+  @Test
+  @Tag("perf")
+  @DisplayName("Simulates 100k seasons of a 20-team league within a second")
+  void run_twentyTeamsWithinBudget() {
+    LeagueSimulation simulation = fullSeason(20);
+    simulation.run(100_000, 1, pool); // warm-up, so the JIT has compiled the hot loop
+
+    Outcome outcome = assertTimeout(Duration.ofSeconds(1), () -> simulation.run(100_000, 2, pool));
+
+    assertEquals(100_000, outcome.getIterations());
+    assertEquals(380, simulation.getRemainingFixtures());
+  }
+
+  // Start of a season: nothing played yet, a double round robin to go
+  private static LeagueSimulation fullSeason(int teams) {
+    int fixtures = teams * (teams - 1);
+    int[] home = new int[fixtures];
+    int[] away = new int[fixtures];
+    int fixture = 0;
+    for (int h = 0; h < teams; h++) {
+      for (int a = 0; a < teams; a++) {
+        if (h != a) {
+          home[fixture] = h;
+          away[fixture] = a;
+          fixture++;
+        }
+      }
+    }
+    return new LeagueSimulation(new int[teams], new int[teams], new int[teams], new int[teams], home, away);
+  }
+}
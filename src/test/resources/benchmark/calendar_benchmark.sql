@@ -0,0 +1,111 @@
+-- Calendar reads: single-column indexes (V4 layout) vs. the composite calendar indexes with their
+-- INCLUDE lists (V20 layout) and without them (V24 layout), and whether recording results stays HOT.
+--
+-- Self-contained, runs in a scratch schema and needs no application data:
+--   psql -d tournament_dev_db -f src/test/resources/benchmark/calendar_benchmark.sql
+--
+-- Dataset: 10 seasons x 40 leagues x 20 teams, 7 500 matches per league (3 000 000 matches),
+-- LIST partitioned by tournament like the real table.
+-- Expected plans after V20: "Index Scan" on the *_calendar indexes that stops after one page, a
+-- Merge Append of two ordered scans for the team query, and no Sort or Bitmap Heap Scan nodes.
+-- Before, the same queries read the heap through bitmap scans and sort the whole window.
+-- Expected after V24: the same plans, never index-only in either layout because status and the
+-- scores come from the heap, on indexes a fraction of the size.
+-- Expected after the result updates: n_tup_hot_upd close to n_tup_upd for the current season.
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE matches (
+    match_id INTEGER NOT NULL,
+    tournament_id INTEGER NOT NULL,
+    league_id INTEGER NOT NULL,
+    home_team_id INTEGER NOT NULL,
+    away_team_id INTEGER NOT NULL,
+    match_date_time TIMESTAMPTZ NOT NULL,
+    location VARCHAR(255) NULL,
+    status TEXT NOT NULL,
+    home_score INTEGER NULL,
+    away_score INTEGER NULL,
+    recorded_at TIMESTAMPTZ NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (match_id, tournament_id)
+) PARTITION BY LIST (tournament_id);
+
+DO $$
+BEGIN
+  FOR t IN 1..10 LOOP
+    EXECUTE format('CREATE TABLE matches_t%s PARTITION OF matches FOR VALUES IN (%s) WITH (fillfactor = 90)', t, t);
+  END LOOP;
+END;
+$$;
+
+-- League l belongs to tournament (l - 1) / 40 + 1 and has teams l * 20 .. l * 20 + 19;
+-- each season runs through one year with a kick-off every 70 minutes per league
+INSERT INTO matches (match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+                     status, home_score, away_score)
+SELECT m,
+       league / 40 + 1,
+       league + 1,
+       (league + 1) * 20 + (m % 20),
+       (league + 1) * 20 + ((m % 20) + 1 + (m / 20) % 19) % 20,
+       TIMESTAMPTZ '2017-01-01' + (league / 40) * INTERVAL '1 year' + (m % 7500) * INTERVAL '70 minutes',
+       'Stadium ' || (league + 1),
+       CASE WHEN league / 40 < 9 OR m % 7500 < 3750 THEN 'Completed' ELSE 'Scheduled' END,
+       CASE WHEN league / 40 < 9 OR m % 7500 < 3750 THEN m % 4 END,
+       CASE WHEN league / 40 < 9 OR m % 7500 < 3750 THEN m % 3 END
+FROM generate_series(0, 2999999) AS m,
+     LATERAL (SELECT m / 7500 AS league) AS l;
+
+\echo '=== Before: single-column indexes (V4 layout)'
+CREATE INDEX idx_matches_league_id ON matches(league_id);
+CREATE INDEX idx_matches_home_team_id ON matches(home_team_id);
+CREATE INDEX idx_matches_away_team_id ON matches(away_team_id);
+VACUUM ANALYZE matches;
+
+\ir calendar_benchmark_queries.sql
+
+\echo '=== V20: composite calendar indexes with INCLUDE lists'
+DROP INDEX idx_matches_league_id;
+DROP INDEX idx_matches_home_team_id;
+DROP INDEX idx_matches_away_team_id;
+CREATE INDEX idx_matches_league_calendar ON matches (league_id, match_date_time, match_id)
+    INCLUDE (tournament_id, home_team_id, away_team_id, location);
+CREATE INDEX idx_matches_home_team_calendar ON matches (home_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, away_team_id, location);
+CREATE INDEX idx_matches_away_team_calendar ON matches (away_team_id, match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, location);
+CREATE INDEX idx_matches_calendar ON matches (match_date_time, match_id)
+    INCLUDE (tournament_id, league_id, home_team_id, away_team_id, location);
+CREATE INDEX idx_matches_recorded_at ON matches USING brin (recorded_at);
+VACUUM ANALYZE matches;
+
+\ir calendar_benchmark_queries.sql
+\ir calendar_benchmark_sizes.sql
+
+\echo '=== V24: the same composite indexes without INCLUDE lists'
+DROP INDEX idx_matches_league_calendar;
+DROP INDEX idx_matches_home_team_calendar;
+DROP INDEX idx_matches_away_team_calendar;
+DROP INDEX idx_matches_calendar;
+CREATE INDEX idx_matches_league_calendar ON matches (league_id, match_date_time, match_id);
+CREATE INDEX idx_matches_home_team_calendar ON matches (home_team_id, match_date_time, match_id);
+CREATE INDEX idx_matches_away_team_calendar ON matches (away_team_id, match_date_time, match_id);
+CREATE INDEX idx_matches_calendar ON matches (match_date_time, match_id);
+VACUUM ANALYZE matches;
+
+\ir calendar_benchmark_queries.sql
+\ir calendar_benchmark_sizes.sql
+
+\echo '=== Recording the results of the current season, the way MatchRepository.recordResult does'
+UPDATE matches
+SET home_score = match_id % 4, away_score = match_id % 3, status = 'Completed',
+    recorded_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP
+WHERE tournament_id = 10 AND status = 'Scheduled' AND match_id % 10 = 0;
+SELECT pg_stat_force_next_flush();
+SELECT relname, n_tup_upd, n_tup_hot_upd FROM pg_stat_user_tables WHERE relname = 'matches_t10';
+
+RESET search_path;
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,50 @@
+-- The queries MatchRepository.findCalendar issues, run by calendar_benchmark.sql against both index layouts.
+-- League 365 belongs to tournament 10, the current season; team 7301 plays in it.
+
+\echo '--- League calendar for a month, partition pruned by tournament'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+       status, home_score, away_score
+FROM matches
+WHERE tournament_id = 10 AND league_id = 365
+  AND match_date_time >= '2026-03-01' AND match_date_time < '2026-04-01'
+ORDER BY match_date_time, match_id
+LIMIT 50;
+
+\echo '--- Next page of the same calendar, resumed from the keyset of the last row'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+       status, home_score, away_score
+FROM matches
+WHERE tournament_id = 10 AND league_id = 365
+  AND match_date_time >= '2026-03-01' AND match_date_time < '2026-04-01'
+  AND (match_date_time, match_id) > ('2026-03-03 09:10:00+00', 2737538)
+ORDER BY match_date_time, match_id
+LIMIT 50;
+
+\echo '--- Team calendar, home and away, over a whole year without a tournament'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+(SELECT match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+        status, home_score, away_score
+ FROM matches
+ WHERE home_team_id = 7301 AND status IN ('Scheduled', 'Postponed')
+   AND match_date_time >= '2026-01-01' AND match_date_time < '2027-01-01'
+ ORDER BY match_date_time, match_id LIMIT 50)
+UNION ALL
+(SELECT match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+        status, home_score, away_score
+ FROM matches
+ WHERE away_team_id = 7301 AND status IN ('Scheduled', 'Postponed')
+   AND match_date_time >= '2026-01-01' AND match_date_time < '2027-01-01'
+ ORDER BY match_date_time, match_id LIMIT 50)
+ORDER BY match_date_time, match_id
+LIMIT 50;
+
+\echo '--- Everything kicking off on one weekend, across all leagues'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT match_id, tournament_id, league_id, home_team_id, away_team_id, match_date_time, location,
+       status, home_score, away_score
+FROM matches
+WHERE match_date_time >= '2026-05-02' AND match_date_time < '2026-05-04'
+ORDER BY match_date_time, match_id
+LIMIT 200;
@@ -0,0 +1,10 @@
+-- Size of each calendar index summed over the partitions, run by calendar_benchmark.sql after each layout
+
+\echo '--- Calendar index sizes'
+SELECT parent.relname AS index_name, pg_size_pretty(sum(pg_relation_size(child.oid))) AS size
+FROM pg_class parent
+JOIN pg_inherits i ON i.inhparent = parent.oid
+JOIN pg_class child ON child.oid = i.inhrelid
+WHERE parent.relkind = 'I' AND parent.relname LIKE 'idx_matches_%calendar'
+GROUP BY parent.relname
+ORDER BY parent.relname;
@@ -0,0 +1,115 @@
+-- Current-season leaderboard: unpartitioned (V1 layout) vs. partitioned by tournament (V4 layout).
+--
+-- Self-contained, runs in a scratch schema and needs no application data:
+--   psql -d tournament_dev_db -f src/test/resources/benchmark/partitioning_benchmark.sql
+--
+-- Dataset: 10 seasons x 20 leagues x 380 matches, ~12 events per match (~910k events).
+-- Compare the EXPLAIN output of both queries: the partitioned one must only scan the
+-- *_t10 partitions ("Subplans Removed" / single partition in the plan) and read far fewer buffers.
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path TO bench;
+
+CREATE TABLE leagues (league_id INTEGER PRIMARY KEY, tournament_id INTEGER NOT NULL);
+INSERT INTO leagues SELECT l, (l - 1) / 20 + 1 FROM generate_series(1, 200) AS l;
+
+-- Before: V1 layout, the tournament is only reachable through leagues
+CREATE TABLE matches_flat (
+    match_id INTEGER PRIMARY KEY,
+    league_id INTEGER NOT NULL,
+    match_date_time TIMESTAMPTZ NOT NULL
+);
+CREATE TABLE match_stats_flat (
+    stat_id INTEGER PRIMARY KEY,
+    match_id INTEGER NOT NULL,
+    player_id INTEGER NOT NULL,
+    stat_type TEXT NOT NULL
+);
+
+INSERT INTO matches_flat
+SELECT m, (m - 1) / 380 + 1, TIMESTAMPTZ '2016-01-01' + ((m - 1) / 7600) * INTERVAL '1 year' + (m % 380) * INTERVAL '6 hours'
+FROM generate_series(1, 76000) AS m;
+
+INSERT INTO match_stats_flat
+SELECT s, (s - 1) / 12 + 1, (random() * 5000)::int,
+       (ARRAY['Goal', 'Assist', 'Yellow Card', 'Red Card'])[1 + (s % 4)]
+FROM generate_series(1, 912000) AS s;
+
+CREATE INDEX ON matches_flat(league_id);
+CREATE INDEX ON match_stats_flat(match_id);
+CREATE INDEX ON match_stats_flat(player_id);
+
+-- After: V4 layout, LIST partitioned by tournament_id
+CREATE TABLE matches_part (
+    match_id INTEGER NOT NULL,
+    tournament_id INTEGER NOT NULL,
+    league_id INTEGER NOT NULL,
+    match_date_time TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (match_id, tournament_id)
+) PARTITION BY LIST (tournament_id);
+CREATE TABLE match_stats_part (
+    stat_id INTEGER NOT NULL,
+    tournament_id INTEGER NOT NULL,
+    match_id INTEGER NOT NULL,
+    player_id INTEGER NOT NULL,
+    stat_type TEXT NOT NULL,
+    PRIMARY KEY (stat_id, tournament_id)
+) PARTITION BY LIST (tournament_id);
+
+DO $$
+BEGIN
+  FOR t IN 1..10 LOOP
+    EXECUTE format('CREATE TABLE matches_part_t%s PARTITION OF matches_part FOR VALUES IN (%s)', t, t);
+    EXECUTE format('CREATE TABLE match_stats_part_t%s PARTITION OF match_stats_part FOR VALUES IN (%s)', t, t);
+  END LOOP;
+END;
+$$;
+
+INSERT INTO matches_part
+SELECT m.match_id, l.tournament_id, m.league_id, m.match_date_time
+FROM matches_flat m JOIN leagues l USING (league_id);
+
+INSERT INTO match_stats_part
+SELECT s.stat_id, l.tournament_id, s.match_id, s.player_id, s.stat_type
+FROM match_stats_flat s JOIN matches_flat m USING (match_id) JOIN leagues l USING (league_id);
+
+CREATE INDEX ON matches_part(league_id);
+CREATE INDEX ON match_stats_part(match_id);
+CREATE INDEX ON match_stats_part(player_id);
+
+ANALYZE;
+
+\echo '--- Before: top scorers of the current season (tournament 10), unpartitioned'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT s.player_id, count(*) AS goals
+FROM match_stats_flat s
+JOIN matches_flat m ON m.match_id = s.match_id
+JOIN leagues l ON l.league_id = m.league_id
+WHERE l.tournament_id = 10 AND s.stat_type = 'Goal'
+GROUP BY s.player_id
+ORDER BY goals DESC
+LIMIT 20;
+
+\echo '--- After: same leaderboard on the partitioned table, only match_stats_part_t10 must appear'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT s.player_id, count(*) AS goals
+FROM match_stats_part s
+WHERE s.tournament_id = 10 AND s.stat_type = 'Goal'
+GROUP BY s.player_id
+ORDER BY goals DESC
+LIMIT 20;
+
+\echo '--- After: run-time pruning with a parameter, as issued by the application'
+PREPARE season_leaderboard(INTEGER) AS
+SELECT s.player_id, count(*) AS goals
+FROM match_stats_part s
+WHERE s.tournament_id = $1 AND s.stat_type = 'Goal'
+GROUP BY s.player_id
+ORDER BY goals DESC
+LIMIT 20;
+SET plan_cache_mode = force_generic_plan;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) EXECUTE season_leaderboard(10);
+
+RESET search_path;
+DROP SCHEMA bench CASCADE;